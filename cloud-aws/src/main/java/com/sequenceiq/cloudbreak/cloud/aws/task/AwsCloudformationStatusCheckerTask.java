@@ -1,6 +1,7 @@
 package com.sequenceiq.cloudbreak.cloud.aws.task;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,13 +16,16 @@ import com.amazonaws.services.cloudformation.model.StackEvent;
 import com.amazonaws.services.cloudformation.model.StackStatus;
 import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
 import com.sequenceiq.cloudbreak.cloud.exception.CloudConnectorException;
+import com.sequenceiq.cloudbreak.cloud.scheduler.PollingHints;
 import com.sequenceiq.cloudbreak.cloud.task.PollBooleanStateTask;
 
 @Component(AwsCloudformationStatusCheckerTask.NAME)
 @Scope(value = "prototype")
-public class AwsCloudformationStatusCheckerTask extends PollBooleanStateTask {
+public class AwsCloudformationStatusCheckerTask extends PollBooleanStateTask implements PollingHints {
     public static final String NAME = "awsCloudformationStatusCheckerTask";
 
+    private static final long EXPECTED_DURATION = TimeUnit.MINUTES.toMillis(10);
+
     private static final Logger LOGGER = LoggerFactory.getLogger(AwsCloudformationStatusCheckerTask.class);
 
     private AmazonCloudFormationClient client;
@@ -67,6 +71,16 @@ public class AwsCloudformationStatusCheckerTask extends PollBooleanStateTask {
         return result;
     }
 
+    @Override
+    public String pollingType() {
+        return "aws.cloudformation";
+    }
+
+    @Override
+    public long expectedDuration() {
+        return EXPECTED_DURATION;
+    }
+
     private String getErrorCauseStatusReason(List<StackEvent> stackEvents, StackStatus errorStatus) {
         StackEvent cause = null;
         for (StackEvent event : stackEvents) {
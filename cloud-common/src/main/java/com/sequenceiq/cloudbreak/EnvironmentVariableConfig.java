@@ -8,6 +8,18 @@ public class EnvironmentVariableConfig {
     public static final String CB_INTERMEDIATE_THREADPOOL_CAPACITY_SIZE = "4000";
     public static final String CB_CONTAINER_THREADPOOL_CORE_SIZE = "40";
     public static final String CB_CONTAINER_THREADPOOL_CAPACITY_SIZE = "4000";
+    public static final String CB_CONTINUATION_THREADPOOL_CORE_SIZE = "20";
+    public static final String CB_CONTINUATION_THREADPOOL_CAPACITY_SIZE = "4000";
+    public static final String CB_EXECUTOR_MODE = "fixed";
+    public static final String CB_ELASTIC_THREADPOOL_MAX_SIZE = "400";
+    public static final String CB_ELASTIC_THREADPOOL_KEEPALIVE_SECONDS = "60";
+    public static final String CB_EXECUTOR_REJECTION_POLICY = "fail-fast";
+    public static final String CB_EXECUTOR_REJECTION_TIMEOUT_MS = "30000";
+    public static final String CB_POLLING_SCHEDULER_POOL_SIZE = "10";
+    public static final String CB_POLLING_STRATEGY = "backoff";
+    public static final String CB_POLLING_BACKOFF_MULTIPLIER = "2";
+    public static final String CB_POLLING_MAX_INTERVAL_MS = "60000";
+    public static final String CB_POLLING_TIMER_TICK_MS = "100";
 
     public static final String CB_CERT_DIR = "/certs/";
     public static final String CB_TLS_PRIVATE_KEY_FILE = "client-key.pem";
@@ -21,6 +33,19 @@ public class EnvironmentVariableConfig {
     public static final String CB_DB_ENV_USER = "postgres";
     public static final String CB_DB_ENV_PASS = "";
     public static final String CB_DB_ENV_DB = "postgres";
+    public static final String CB_DB_POOL_MIN_IDLE = "5";
+    public static final String CB_DB_POOL_MAX_ACTIVE = "50";
+    public static final String CB_DB_POOL_MAX_WAIT_MS = "30000";
+    public static final String CB_DB_POOL_VALIDATION_QUERY = "SELECT 1";
+    public static final String CB_DB_POOL_VALIDATION_INTERVAL_MS = "30000";
+    public static final String CB_DB_POOL_EVICTION_INTERVAL_MS = "30000";
+    public static final String CB_DB_POOL_MIN_EVICTABLE_IDLE_MS = "60000";
+    public static final String CB_DB_POOL_STATEMENT_CACHE_SIZE = "50";
+    public static final String CB_DB_JDBC_BATCH_SIZE = "50";
+    public static final String CB_DB_ENTITY_CACHE_TTL_SECONDS = "600";
+    public static final String CB_DB_ENTITY_CACHE_MAX_ENTRIES = "1000";
+    public static final String CB_DB_QUERY_CACHE_TTL_SECONDS = "600";
+    public static final String CB_DB_QUERY_CACHE_MAX_ENTRIES = "5000";
 
     public static final String CB_AWS_SPOTINSTANCE_ENABLED = "false";
 
@@ -52,6 +77,14 @@ public class EnvironmentVariableConfig {
 
     public static final String CB_DOCKER_RELOCATE = "true";
 
+    public static final String CB_AMBARI_PROGRESS_HEARTBEAT_MS = "60000";
+
+    public static final String CB_FLOW_LOCK_PROVIDER = "local";
+    public static final String CB_FLOW_LOCK_LEASE_MS = "60000";
+    public static final String CB_FLOW_LOCK_RENEW_INTERVAL_MS = "20000";
+    public static final String CB_FLOW_LOCK_POLL_INTERVAL_MS = "1000";
+    public static final String CB_FLOW_EXECUTION_MODE = "locked";
+
     public static final String CB_ARM_CENTRAL_STORAGE = "cbstore";
     public static final String CB_ARM_TEMPLATE_PATH = "templates/arm-v2.ftl";
     public static final String CB_ARM_PARAMETER_PATH = "templates/parameters.ftl";
@@ -60,7 +93,13 @@ public class EnvironmentVariableConfig {
     public static final String CB_OPENSTACK_API_DEBUG = "false";
 
     public static final String CB_EVENTBUS_THREADPOOL_CORE_SIZE = "100";
+    public static final String CB_EVENTBUS_THREADPOOL_CAPACITY_SIZE = "1000";
+    public static final String CB_EVENTBUS_PLATFORM_THREADPOOL_CORE_SIZE = "40";
+    public static final String CB_EVENTBUS_EVENTS_THREADPOOL_CORE_SIZE = "10";
+    public static final String CB_EVENTBUS_PERSISTENCE_THREADPOOL_CORE_SIZE = "20";
     public static final String CB_CLOUD_API_EXECUTORSERVICE_POOL_SIZE = "40";
+    public static final String CB_RESOURCE_PERSISTENCE_BATCH_SIZE = "100";
+    public static final String CB_RESOURCE_PERSISTENCE_FLUSH_INTERVAL_MS = "50";
 
     public static final String CB_MAX_AZURE_RESOURCE_NAME_LENGTH = "50";
     public static final String CB_MAX_GCP_RESOURCE_NAME_LENGTH = "63";
@@ -69,6 +108,10 @@ public class EnvironmentVariableConfig {
 
     public static final String CB_ADDRESS_RESOLVING_TIMEOUT = "60000";
 
+    public static final String CB_USAGE_GENERATION_BATCH_SIZE = "50";
+    public static final String CB_USAGE_GENERATION_FETCH_SIZE = "1000";
+    public static final String CB_USAGE_GENERATION_PARALLELISM = "4";
+
     public static final String CB_PLATFORM_DEFAULT_VARIANTS = "OPENSTACK:HEAT";
 
     private EnvironmentVariableConfig() {
@@ -0,0 +1,106 @@
+package com.sequenceiq.cloudbreak.cloud.executor;
+
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_EXECUTOR_REJECTION_POLICY;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_EXECUTOR_REJECTION_TIMEOUT_MS;
+
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Creates and owns the thread pools of the application, so their state can be published and they can be shut down in one place.
+ */
+@Component
+public class ExecutorRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorRegistry.class);
+
+    @Value("${cb.executor.rejection.policy:" + CB_EXECUTOR_REJECTION_POLICY + "}")
+    private String rejectionPolicy;
+
+    @Value("${cb.executor.rejection.timeout.ms:" + CB_EXECUTOR_REJECTION_TIMEOUT_MS + "}")
+    private long rejectionTimeout;
+
+    @Inject
+    private Environment environment;
+
+    private final ConcurrentMap<String, ThreadPoolExecutor> executors = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, ExecutorStatistics> statistics = new ConcurrentSkipListMap<>();
+
+    public ThreadPoolExecutor newThreadPool(String name, int corePoolSize, int maxPoolSize, int keepAliveSeconds, boolean allowCoreThreadTimeOut,
+            int queueCapacity) {
+        return newThreadPool(name, corePoolSize, maxPoolSize, keepAliveSeconds, allowCoreThreadTimeOut, queueCapacity, rejectionPolicy);
+    }
+
+    public ThreadPoolExecutor newThreadPool(String name, int corePoolSize, int maxPoolSize, int keepAliveSeconds, boolean allowCoreThreadTimeOut,
+            int queueCapacity, String defaultRejectionPolicy) {
+        BlockingQueue<Runnable> queue = queueCapacity > 0 ? new LinkedBlockingQueue<Runnable>(queueCapacity) : new SynchronousQueue<Runnable>();
+        ExecutorStatistics stats = new ExecutorStatistics();
+        ThreadPoolExecutor executor = new MonitoredThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveSeconds, queue, threadFactory(name),
+                rejectionHandler(name, stats, defaultRejectionPolicy), stats);
+        executor.allowCoreThreadTimeOut(allowCoreThreadTimeOut);
+        return register(name, executor, stats);
+    }
+
+    public ScheduledThreadPoolExecutor newScheduledThreadPool(String name, int poolSize) {
+        ExecutorStatistics stats = new ExecutorStatistics();
+        return register(name, new MonitoredScheduledThreadPoolExecutor(poolSize, threadFactory(name), rejectionHandler(name, stats, rejectionPolicy), stats),
+                stats);
+    }
+
+    public Set<String> getNames() {
+        return executors.keySet();
+    }
+
+    public ThreadPoolExecutor getExecutor(String name) {
+        return executors.get(name);
+    }
+
+    public ExecutorStatistics getStatistics(String name) {
+        return statistics.get(name);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor executor : executors.values()) {
+            executor.shutdown();
+        }
+    }
+
+    private <E extends ThreadPoolExecutor> E register(String name, E executor, ExecutorStatistics stats) {
+        ThreadPoolExecutor previous = executors.put(name, executor);
+        if (previous != null) {
+            LOGGER.warn("The {} pool has been replaced, the previous one is shut down.", name);
+            previous.shutdown();
+        }
+        statistics.put(name, stats);
+        return executor;
+    }
+
+    private ThreadFactory threadFactory(String name) {
+        return new ThreadFactoryBuilder().setNameFormat(name + "-%d").build();
+    }
+
+    private PolicyRejectionHandler rejectionHandler(String name, ExecutorStatistics stats, String defaultRejectionPolicy) {
+        String policy = environment.getProperty("cb.executor." + name + ".rejection.policy", defaultRejectionPolicy);
+        LOGGER.info("The {} pool uses the {} rejection policy.", name, policy);
+        return new PolicyRejectionHandler(name, RejectionPolicy.of(policy), rejectionTimeout, stats);
+    }
+}
@@ -0,0 +1,20 @@
+package com.sequenceiq.cloudbreak.cloud.executor;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Thrown when a pool of the {@link ExecutorRegistry} can not accept a task.
+ */
+public class ExecutorSaturatedException extends RejectedExecutionException {
+
+    private final String poolName;
+
+    public ExecutorSaturatedException(String poolName, String message) {
+        super(message);
+        this.poolName = poolName;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+}
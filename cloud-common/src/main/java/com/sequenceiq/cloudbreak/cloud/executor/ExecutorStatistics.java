@@ -0,0 +1,94 @@
+package com.sequenceiq.cloudbreak.cloud.executor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the queue wait and run times of the tasks of a pool until the next {@link #drain()}.
+ */
+public class ExecutorStatistics {
+
+    private final AtomicLong tasks = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicLong waitSum = new AtomicLong();
+    private final AtomicLong waitMax = new AtomicLong();
+    private final AtomicLong runSum = new AtomicLong();
+    private final AtomicLong runMax = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public void recordWait(long millis) {
+        waits.incrementAndGet();
+        waitSum.addAndGet(millis);
+        updateMax(waitMax, millis);
+    }
+
+    public void recordRun(long millis) {
+        tasks.incrementAndGet();
+        runSum.addAndGet(millis);
+        updateMax(runMax, millis);
+    }
+
+    public void recordRejection() {
+        rejected.incrementAndGet();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Returns the times collected since the last call and resets them.
+     */
+    public Sample drain() {
+        long count = tasks.getAndSet(0);
+        long waitCount = waits.getAndSet(0);
+        return new Sample(count, average(waitSum.getAndSet(0), waitCount), waitMax.getAndSet(0), average(runSum.getAndSet(0), count),
+                runMax.getAndSet(0));
+    }
+
+    private long average(long sum, long count) {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    private void updateMax(AtomicLong max, long value) {
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    public static final class Sample {
+        private final long tasks;
+        private final long waitAvg;
+        private final long waitMax;
+        private final long runAvg;
+        private final long runMax;
+
+        private Sample(long tasks, long waitAvg, long waitMax, long runAvg, long runMax) {
+            this.tasks = tasks;
+            this.waitAvg = waitAvg;
+            this.waitMax = waitMax;
+            this.runAvg = runAvg;
+            this.runMax = runMax;
+        }
+
+        public long getTasks() {
+            return tasks;
+        }
+
+        public long getWaitAvg() {
+            return waitAvg;
+        }
+
+        public long getWaitMax() {
+            return waitMax;
+        }
+
+        public long getRunAvg() {
+            return runAvg;
+        }
+
+        public long getRunMax() {
+            return runMax;
+        }
+    }
+}
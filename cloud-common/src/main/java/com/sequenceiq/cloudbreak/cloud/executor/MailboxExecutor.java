@@ -0,0 +1,159 @@
+package com.sequenceiq.cloudbreak.cloud.executor;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the tasks of the same key one after the other in submission order on a shared executor, while the tasks of different keys
+ * run in parallel.
+ */
+public class MailboxExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MailboxExecutor.class);
+    private static final int BATCH_SIZE = 16;
+    private static final ThreadLocal<Object> CURRENT_KEY = new ThreadLocal<>();
+
+    private final String name;
+    private final Executor executor;
+    private final ConcurrentMap<Object, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public MailboxExecutor(String name, Executor executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the key of the mailbox drained by the current thread, or null if the thread is not draining a mailbox.
+     */
+    public static Object currentKey() {
+        return CURRENT_KEY.get();
+    }
+
+    public void execute(Object key, Runnable task) {
+        while (true) {
+            Mailbox mailbox = mailboxes.get(key);
+            if (mailbox == null) {
+                Mailbox newMailbox = new Mailbox(key);
+                mailbox = mailboxes.putIfAbsent(key, newMailbox);
+                if (mailbox == null) {
+                    mailbox = newMailbox;
+                }
+            }
+            if (mailbox.add(task)) {
+                return;
+            }
+        }
+    }
+
+    public int getMailboxCount() {
+        return mailboxes.size();
+    }
+
+    public int getBacklogSize() {
+        int backlog = 0;
+        for (Mailbox mailbox : mailboxes.values()) {
+            backlog += mailbox.size();
+        }
+        return backlog;
+    }
+
+    private final class Mailbox implements Runnable {
+        private final Object key;
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean closed;
+
+        private Mailbox(Object key) {
+            this.key = key;
+        }
+
+        private boolean add(Runnable task) {
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                tasks.add(task);
+                if (scheduled) {
+                    return true;
+                }
+                scheduled = true;
+            }
+            schedule();
+            return true;
+        }
+
+        private synchronized int size() {
+            return tasks.size();
+        }
+
+        private void schedule() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                LOGGER.warn("The {} executor rejected the mailbox of {}, draining it on the caller thread.", name, key);
+                run();
+            }
+        }
+
+        @Override
+        public void run() {
+            Object previousKey = CURRENT_KEY.get();
+            CURRENT_KEY.set(key);
+            boolean drained = false;
+            try {
+                for (int i = 0; i < BATCH_SIZE && !drained; i++) {
+                    Runnable task = poll();
+                    if (task == null) {
+                        drained = true;
+                    } else {
+                        runTask(task);
+                    }
+                }
+            } finally {
+                CURRENT_KEY.set(previousKey);
+                if (!drained) {
+                    reschedule();
+                }
+            }
+        }
+
+        private void runTask(Runnable task) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.error(String.format("Task of the %s mailbox of %s failed.", name, key), e);
+            }
+        }
+
+        private Runnable poll() {
+            synchronized (this) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    scheduled = false;
+                    closed = true;
+                    mailboxes.remove(key, this);
+                }
+                return task;
+            }
+        }
+
+        private void reschedule() {
+            synchronized (this) {
+                if (tasks.isEmpty()) {
+                    scheduled = false;
+                    closed = true;
+                    mailboxes.remove(key, this);
+                    return;
+                }
+            }
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.sequenceiq.cloudbreak.cloud.executor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Scheduled thread pool that records how late its tasks start after their scheduled time and how long they run.
+ */
+class MonitoredScheduledThreadPoolExecutor extends ScheduledThreadPoolExecutor {
+
+    private final ExecutorStatistics statistics;
+
+    MonitoredScheduledThreadPoolExecutor(int corePoolSize, ThreadFactory threadFactory, RejectedExecutionHandler rejectionHandler,
+            ExecutorStatistics statistics) {
+        super(corePoolSize, threadFactory, rejectionHandler);
+        this.statistics = statistics;
+    }
+
+    @Override
+    protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task) {
+        return new TimedTask<>(task);
+    }
+
+    @Override
+    protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable, RunnableScheduledFuture<V> task) {
+        return new TimedTask<>(task);
+    }
+
+    private final class TimedTask<V> implements RunnableScheduledFuture<V> {
+        private final RunnableScheduledFuture<V> task;
+
+        private TimedTask(RunnableScheduledFuture<V> task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            statistics.recordWait(Math.max(-task.getDelay(TimeUnit.MILLISECONDS), 0));
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                statistics.recordRun(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return task.isPeriodic();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return task.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return task.compareTo(other instanceof TimedTask ? ((TimedTask<?>) other).task : other);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return task.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return task.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return task.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return task.get();
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return task.get(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.sequenceiq.cloudbreak.cloud.executor;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread pool that records how long its tasks wait in the queue and how long they run.
+ */
+class MonitoredThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private final ExecutorStatistics statistics;
+
+    MonitoredThreadPoolExecutor(int corePoolSize, int maxPoolSize, long keepAliveSeconds, BlockingQueue<Runnable> queue,
+            ThreadFactory threadFactory, RejectedExecutionHandler rejectionHandler, ExecutorStatistics statistics) {
+        super(corePoolSize, maxPoolSize, keepAliveSeconds, TimeUnit.SECONDS, queue, threadFactory, rejectionHandler);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(new TimedTask(command, System.nanoTime()));
+    }
+
+    private final class TimedTask implements Runnable {
+        private final Runnable task;
+        private final long submitted;
+
+        private TimedTask(Runnable task, long submitted) {
+            this.task = task;
+            this.submitted = submitted;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            statistics.recordWait(TimeUnit.NANOSECONDS.toMillis(start - submitted));
+            try {
+                task.run();
+            } finally {
+                statistics.recordRun(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.sequenceiq.cloudbreak.cloud.executor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Handles the tasks rejected by a saturated pool according to its {@link RejectionPolicy}.
+ */
+class PolicyRejectionHandler implements RejectedExecutionHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PolicyRejectionHandler.class);
+
+    private final String poolName;
+    private final RejectionPolicy policy;
+    private final long timeout;
+    private final ExecutorStatistics statistics;
+
+    PolicyRejectionHandler(String poolName, RejectionPolicy policy, long timeout, ExecutorStatistics statistics) {
+        this.poolName = poolName;
+        this.policy = policy;
+        this.timeout = timeout;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw reject("The %s pool is shut down.");
+        }
+        switch (policy) {
+            case CALLER_RUNS:
+                LOGGER.debug("The {} pool is saturated, the task runs on the caller thread.", poolName);
+                task.run();
+                break;
+            case BLOCK:
+                offer(task, executor);
+                break;
+            default:
+                throw reject("The %s pool is saturated, please retry later.");
+        }
+    }
+
+    private void offer(Runnable task, ThreadPoolExecutor executor) {
+        try {
+            if (!executor.getQueue().offer(task, timeout, TimeUnit.MILLISECONDS)) {
+                throw reject("The %s pool is saturated and the task could not be queued within " + timeout + " ms, please retry later.");
+            }
+            if (executor.getPoolSize() == 0) {
+                executor.prestartCoreThread();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("Interrupted while waiting for the %s pool.");
+        }
+    }
+
+    private ExecutorSaturatedException reject(String message) {
+        statistics.recordRejection();
+        return new ExecutorSaturatedException(poolName, String.format(message, poolName));
+    }
+}
@@ -0,0 +1,14 @@
+package com.sequenceiq.cloudbreak.cloud.executor;
+
+/**
+ * What happens with a task when every thread of its pool is busy and its queue is full.
+ */
+public enum RejectionPolicy {
+    CALLER_RUNS,
+    BLOCK,
+    FAIL_FAST;
+
+    public static RejectionPolicy of(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
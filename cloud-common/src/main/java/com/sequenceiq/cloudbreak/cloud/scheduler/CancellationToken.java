@@ -0,0 +1,61 @@
+package com.sequenceiq.cloudbreak.cloud.scheduler;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Cancellation token of a stack, cancelling it cancels the registered futures of the stack and interrupts their threads.
+ */
+public class CancellationToken {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CancellationToken.class);
+
+    private final Long stackId;
+    private final Set<Future<?>> futures = Collections.newSetFromMap(new ConcurrentHashMap<Future<?>, Boolean>());
+    private volatile boolean cancelled;
+
+    public CancellationToken(Long stackId) {
+        this.stackId = stackId;
+    }
+
+    public <F extends Future<?>> F register(final F future) {
+        futures.add(future);
+        if (future instanceof ListenableFuture) {
+            ((ListenableFuture<?>) future).addListener(new Runnable() {
+                @Override
+                public void run() {
+                    futures.remove(future);
+                }
+            }, MoreExecutors.sameThreadExecutor());
+        }
+        if (cancelled) {
+            future.cancel(true);
+        }
+        return future;
+    }
+
+    public void unregister(Future<?> future) {
+        futures.remove(future);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        LOGGER.info("Stack {} is cancelled, cancelling {} running tasks.", stackId, futures.size());
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+        futures.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package com.sequenceiq.cloudbreak.cloud.scheduler;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks a random wait between the base interval and three times the previous wait, up to the max interval.
+ */
+public class DecorrelatedJitterPollingStrategy implements PollingStrategy {
+
+    private static final int GROWTH = 3;
+
+    private final long baseInterval;
+    private final long maxInterval;
+
+    public DecorrelatedJitterPollingStrategy(long baseInterval, long maxInterval) {
+        this.baseInterval = baseInterval;
+        this.maxInterval = Math.max(baseInterval, maxInterval);
+    }
+
+    @Override
+    public long nextDelay(int attempt, long previousDelay) {
+        long upper = Math.max(baseInterval, previousDelay * GROWTH);
+        long delay = upper > baseInterval ? baseInterval + ThreadLocalRandom.current().nextLong(upper - baseInterval + 1) : baseInterval;
+        return Math.min(maxInterval, delay);
+    }
+}
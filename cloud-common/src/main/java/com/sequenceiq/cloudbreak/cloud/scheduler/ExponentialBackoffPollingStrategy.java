@@ -0,0 +1,25 @@
+package com.sequenceiq.cloudbreak.cloud.scheduler;
+
+/**
+ * Starts with the initial interval and multiplies it after every status check, up to the max interval.
+ */
+public class ExponentialBackoffPollingStrategy implements PollingStrategy {
+
+    private final long initialInterval;
+    private final double multiplier;
+    private final long maxInterval;
+
+    public ExponentialBackoffPollingStrategy(long initialInterval, double multiplier, long maxInterval) {
+        this.initialInterval = initialInterval;
+        this.multiplier = multiplier;
+        this.maxInterval = Math.max(initialInterval, maxInterval);
+    }
+
+    @Override
+    public long nextDelay(int attempt, long previousDelay) {
+        if (previousDelay <= 0) {
+            return initialInterval;
+        }
+        return (long) Math.min(maxInterval, previousDelay * multiplier);
+    }
+}
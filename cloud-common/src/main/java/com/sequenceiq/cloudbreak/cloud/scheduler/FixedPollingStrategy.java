@@ -0,0 +1,15 @@
+package com.sequenceiq.cloudbreak.cloud.scheduler;
+
+public class FixedPollingStrategy implements PollingStrategy {
+
+    private final long interval;
+
+    public FixedPollingStrategy(long interval) {
+        this.interval = interval;
+    }
+
+    @Override
+    public long nextDelay(int attempt, long previousDelay) {
+        return interval;
+    }
+}
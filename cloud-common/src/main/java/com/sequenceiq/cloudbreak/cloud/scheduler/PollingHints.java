@@ -0,0 +1,17 @@
+package com.sequenceiq.cloudbreak.cloud.scheduler;
+
+/**
+ * Implemented by the polling tasks that opt in to the configurable polling strategies.
+ */
+public interface PollingHints {
+
+    /**
+     * The type of the task that selects its polling strategy.
+     */
+    String pollingType();
+
+    /**
+     * The expected duration of the polled operation in milliseconds, or 0 if it is unknown.
+     */
+    long expectedDuration();
+}
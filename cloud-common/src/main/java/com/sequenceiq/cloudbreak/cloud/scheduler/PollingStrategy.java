@@ -0,0 +1,14 @@
+package com.sequenceiq.cloudbreak.cloud.scheduler;
+
+/**
+ * Decides how long a poller waits before its next status check.
+ */
+public interface PollingStrategy {
+
+    /**
+     * @param attempt       the number of the status check that follows the wait, starting from 1
+     * @param previousDelay the wait before the previous status check in milliseconds, 0 before the first one
+     * @return the wait before the status check in milliseconds
+     */
+    long nextDelay(int attempt, long previousDelay);
+}
@@ -1,14 +1,20 @@
 package com.sequenceiq.cloudbreak.cloud.store;
 
+import static com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup.CANCELLED;
+
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationToken;
 import com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup;
 
 public final class InMemoryStateStore {
 
     private static final Map<Long, PollGroup> STATE_STORE = new ConcurrentHashMap<>();
 
+    private static final ConcurrentMap<Long, CancellationToken> CANCELLATION_TOKENS = new ConcurrentHashMap<>();
+
     private InMemoryStateStore() {
 
     }
@@ -17,11 +23,51 @@ public final class InMemoryStateStore {
         return STATE_STORE.get(key);
     }
 
+    /**
+     * Stores the poll group of the stack, moving the stack to CANCELLED cancels its cancellation token.
+     */
     public static void put(Long key, PollGroup value) {
         STATE_STORE.put(key, value);
+        if (CANCELLED.equals(value)) {
+            getCancellationToken(key).cancel();
+        } else {
+            CancellationToken token = CANCELLATION_TOKENS.get(key);
+            if (token != null && token.isCancelled()) {
+                CANCELLATION_TOKENS.remove(key, token);
+            }
+        }
     }
 
     public static void delete(Long key) {
         STATE_STORE.remove(key);
+        CancellationToken token = CANCELLATION_TOKENS.remove(key);
+        if (token != null) {
+            token.cancel();
+        }
+    }
+
+    /**
+     * Drops the cancelled token of the stack unless the stack itself is cancelled, so the next work of the stack gets a new token.
+     */
+    public static void renewCancellationToken(Long key) {
+        CancellationToken token = CANCELLATION_TOKENS.get(key);
+        if (token != null && token.isCancelled() && !CANCELLED.equals(STATE_STORE.get(key))) {
+            CANCELLATION_TOKENS.remove(key, token);
+        }
+    }
+
+    public static CancellationToken getCancellationToken(Long key) {
+        CancellationToken token = CANCELLATION_TOKENS.get(key);
+        if (token == null) {
+            CancellationToken newToken = new CancellationToken(key);
+            token = CANCELLATION_TOKENS.putIfAbsent(key, newToken);
+            if (token == null) {
+                token = newToken;
+                if (CANCELLED.equals(STATE_STORE.get(key))) {
+                    token.cancel();
+                }
+            }
+        }
+        return token;
     }
 }
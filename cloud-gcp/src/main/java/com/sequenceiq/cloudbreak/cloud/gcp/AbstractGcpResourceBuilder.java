@@ -2,8 +2,10 @@ package com.sequenceiq.cloudbreak.cloud.gcp;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.inject.Inject;
 
@@ -11,7 +13,12 @@ import org.apache.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.services.compute.ComputeRequest;
 import com.google.api.services.compute.model.Operation;
 import com.sequenceiq.cloudbreak.cloud.CloudPlatformAware;
 import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
@@ -33,7 +40,12 @@ import com.sequenceiq.cloudbreak.common.type.ResourceType;
 public abstract class AbstractGcpResourceBuilder implements CloudPlatformAware {
 
     protected static final String OPERATION_ID = "opid";
+    protected static final String OPERATION_SCOPE = "opscope";
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractGcpResourceBuilder.class);
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final String GLOBAL_SCOPE = "global";
+    private static final String REGION_SCOPE = "region";
+    private static final String ZONE_SCOPE = "zone";
 
     @Inject
     private GcpResourceNameService resourceNameService;
@@ -54,10 +66,11 @@ public abstract class AbstractGcpResourceBuilder implements CloudPlatformAware {
 
     protected List<CloudResourceStatus> checkResources(ResourceType type, GcpContext context, AuthenticatedContext auth, List<CloudResource> resources) {
         List<CloudResourceStatus> result = new ArrayList<>();
+        Map<DynamicModel, OperationResult> operations = checkOperations(context, resources);
         for (CloudResource resource : resources) {
             LOGGER.info("Check {} resource: {}", type, resource);
             try {
-                Operation operation = check(context, resource);
+                Operation operation = operations.get(resource).get();
                 boolean finished = GcpStackUtil.analyzeOperation(operation);
                 ResourceStatus successStatus = context.isBuild() ? ResourceStatus.CREATED : ResourceStatus.DELETED;
                 result.add(new CloudResourceStatus(resource, finished ? successStatus : ResourceStatus.IN_PROGRESS));
@@ -77,8 +90,70 @@ public abstract class AbstractGcpResourceBuilder implements CloudPlatformAware {
         return result;
     }
 
+    /**
+     * Looks up the operations of the resources, the ones with a recorded scope with one batch request.
+     */
+    protected Map<DynamicModel, OperationResult> checkOperations(GcpContext context, List<? extends DynamicModel> resources) {
+        Map<DynamicModel, OperationResult> results = new IdentityHashMap<>();
+        BatchRequest batch = null;
+        for (DynamicModel resource : resources) {
+            final OperationResult result = new OperationResult();
+            results.put(resource, result);
+            String scope = resource.getStringParameter(OPERATION_SCOPE);
+            try {
+                if (scope == null || resources.size() == 1) {
+                    result.operation = check(context, resource);
+                    continue;
+                }
+                if (batch == null) {
+                    batch = context.getCompute().batch();
+                }
+                operationRequest(context, resource.getStringParameter(OPERATION_ID), scope).queue(batch, new JsonBatchCallback<Operation>() {
+                    @Override
+                    public void onSuccess(Operation operation, HttpHeaders responseHeaders) {
+                        result.operation = operation;
+                    }
+
+                    @Override
+                    public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) {
+                        result.failure = new GcpResourceException(e.getMessage());
+                    }
+                });
+                if (batch.size() >= MAX_BATCH_SIZE) {
+                    executeBatch(batch, results);
+                    batch = null;
+                }
+            } catch (Exception e) {
+                result.failure = e;
+            }
+        }
+        if (batch != null) {
+            executeBatch(batch, results);
+        }
+        return results;
+    }
+
+    private void executeBatch(BatchRequest batch, Map<DynamicModel, OperationResult> results) {
+        LOGGER.info("Checking {} operations in one batch request", batch.size());
+        try {
+            batch.execute();
+        } catch (IOException e) {
+            for (OperationResult result : results.values()) {
+                if (result.operation == null && result.failure == null) {
+                    result.failure = e;
+                }
+            }
+        }
+    }
+
     protected Operation check(GcpContext context, DynamicModel resource) throws IOException {
         String operation = resource.getStringParameter(OPERATION_ID);
+        String scope = resource.getStringParameter(OPERATION_SCOPE);
+        if (scope != null) {
+            Operation execute = operationRequest(context, operation, scope).execute();
+            checkError(execute);
+            return execute;
+        }
         try {
             Operation execute = GcpStackUtil.globalOperations(context.getCompute(), context.getProjectId(), operation).execute();
             checkError(execute);
@@ -106,6 +181,34 @@ public abstract class AbstractGcpResourceBuilder implements CloudPlatformAware {
         }
     }
 
+    private ComputeRequest<Operation> operationRequest(GcpContext context, String operation, String scope) throws IOException {
+        Location location = context.getLocation();
+        switch (scope) {
+            case ZONE_SCOPE:
+                return GcpStackUtil.zoneOperations(context.getCompute(), context.getProjectId(), operation, location.getAvailabilityZone());
+            case REGION_SCOPE:
+                return GcpStackUtil.regionOperations(context.getCompute(), context.getProjectId(), operation, location.getRegion());
+            default:
+                return GcpStackUtil.globalOperations(context.getCompute(), context.getProjectId(), operation);
+        }
+    }
+
+    private String operationScope(Operation operation) {
+        if (operation.getZone() != null) {
+            return ZONE_SCOPE;
+        } else if (operation.getRegion() != null) {
+            return REGION_SCOPE;
+        }
+        return GLOBAL_SCOPE;
+    }
+
+    private Map<String, Object> operationParameters(Operation operation) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(OPERATION_ID, operation.getName());
+        parameters.put(OPERATION_SCOPE, operationScope(operation));
+        return parameters;
+    }
+
     protected void checkError(Operation execute) {
         if (execute.getError() != null) {
             String msg = null;
@@ -131,14 +234,13 @@ public abstract class AbstractGcpResourceBuilder implements CloudPlatformAware {
     protected CloudResource createOperationAwareCloudResource(CloudResource resource, Operation operation) {
         return new CloudResource.Builder()
                 .cloudResource(resource)
-                .params(Collections.<String, Object>singletonMap(OPERATION_ID, operation.getName()))
+                .params(operationParameters(operation))
                 .persistent(false)
                 .build();
     }
 
     protected CloudInstance createOperationAwareCloudInstance(CloudInstance instance, Operation operation) {
-        return new CloudInstance(instance.getInstanceId(), instance.getTemplate(),
-                Collections.<String, Object>singletonMap(OPERATION_ID, operation.getName()));
+        return new CloudInstance(instance.getInstanceId(), instance.getTemplate(), operationParameters(operation));
     }
 
     protected void exceptionHandler(GoogleJsonResponseException ex, String name, ResourceType resourceType) {
@@ -149,4 +251,16 @@ public abstract class AbstractGcpResourceBuilder implements CloudPlatformAware {
         }
     }
 
+    protected class OperationResult {
+        private Operation operation;
+        private Exception failure;
+
+        public Operation get() throws Exception {
+            if (failure != null) {
+                throw failure;
+            }
+            checkError(operation);
+            return operation;
+        }
+    }
 }
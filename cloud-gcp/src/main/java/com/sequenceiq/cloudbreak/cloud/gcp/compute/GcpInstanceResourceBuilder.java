@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +37,7 @@ import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.InstanceTemplate;
 import com.sequenceiq.cloudbreak.cloud.model.Location;
 import com.sequenceiq.cloudbreak.cloud.model.Region;
+import com.sequenceiq.cloudbreak.cloud.model.generic.DynamicModel;
 import com.sequenceiq.cloudbreak.common.type.InstanceGroupType;
 import com.sequenceiq.cloudbreak.common.type.ResourceType;
 
@@ -122,18 +124,22 @@ public class GcpInstanceResourceBuilder extends AbstractGcpComputeBuilder {
 
     @Override
     public List<CloudVmInstanceStatus> checkInstances(GcpContext context, AuthenticatedContext auth, List<CloudInstance> instances) {
-        CloudInstance cloudInstance = instances.get(0);
-        try {
-            LOGGER.info("Checking instance: {}", cloudInstance);
-            Operation operation = check(context, cloudInstance);
-            boolean finished = GcpStackUtil.analyzeOperation(operation);
-            InstanceStatus status = finished ? context.isBuild() ? InstanceStatus.STARTED : InstanceStatus.STOPPED : InstanceStatus.IN_PROGRESS;
-            LOGGER.info("Instance: {} status: {}", instances, status);
-            return asList(new CloudVmInstanceStatus(cloudInstance, status));
-        } catch (Exception e) {
-            LOGGER.info("Failed to check instance state of {}", cloudInstance);
-            return asList(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.IN_PROGRESS));
+        List<CloudVmInstanceStatus> statuses = new ArrayList<>();
+        Map<DynamicModel, OperationResult> operations = checkOperations(context, instances);
+        for (CloudInstance cloudInstance : instances) {
+            try {
+                LOGGER.info("Checking instance: {}", cloudInstance);
+                Operation operation = operations.get(cloudInstance).get();
+                boolean finished = GcpStackUtil.analyzeOperation(operation);
+                InstanceStatus status = finished ? context.isBuild() ? InstanceStatus.STARTED : InstanceStatus.STOPPED : InstanceStatus.IN_PROGRESS;
+                LOGGER.info("Instance: {} status: {}", cloudInstance, status);
+                statuses.add(new CloudVmInstanceStatus(cloudInstance, status));
+            } catch (Exception e) {
+                LOGGER.info("Failed to check instance state of {}", cloudInstance);
+                statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.IN_PROGRESS));
+            }
         }
+        return statuses;
     }
 
     @Override
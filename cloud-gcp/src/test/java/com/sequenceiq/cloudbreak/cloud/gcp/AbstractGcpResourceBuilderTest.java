@@ -0,0 +1,103 @@
+package com.sequenceiq.cloudbreak.cloud.gcp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.api.services.compute.Compute;
+import com.google.api.services.compute.model.Operation;
+import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
+import com.sequenceiq.cloudbreak.cloud.gcp.context.GcpContext;
+import com.sequenceiq.cloudbreak.cloud.model.AvailabilityZone;
+import com.sequenceiq.cloudbreak.cloud.model.CloudResource;
+import com.sequenceiq.cloudbreak.cloud.model.CloudResourceStatus;
+import com.sequenceiq.cloudbreak.cloud.model.Location;
+import com.sequenceiq.cloudbreak.cloud.model.Region;
+import com.sequenceiq.cloudbreak.cloud.model.ResourceStatus;
+import com.sequenceiq.cloudbreak.common.type.ResourceType;
+
+public class AbstractGcpResourceBuilderTest {
+
+    private static final String PROJECT_ID = "project";
+    private static final String REGION = "us-central1";
+    private static final String ZONE = "us-central1-a";
+    private static final int FINISHED = 100;
+
+    private TestGcpResourceBuilder underTest;
+    private Compute compute;
+    private GcpContext context;
+
+    @Before
+    public void before() {
+        underTest = new TestGcpResourceBuilder();
+        compute = mock(Compute.class);
+        Location location = Location.location(Region.region(REGION), AvailabilityZone.availabilityZone(ZONE));
+        context = new GcpContext("stack", location, PROJECT_ID, compute, 1, true);
+    }
+
+    @Test
+    public void testOperationAwareResourceShouldRecordTheScopeOfTheOperation() {
+        //WHEN
+        CloudResource zonal = underTest.createOperationAwareCloudResource(resource("disk"), new Operation().setName("op1").setZone(ZONE));
+        CloudResource regional = underTest.createOperationAwareCloudResource(resource("ip"), new Operation().setName("op2").setRegion(REGION));
+        CloudResource global = underTest.createOperationAwareCloudResource(resource("network"), new Operation().setName("op3"));
+        //THEN
+        assertEquals("op1", zonal.getStringParameter(AbstractGcpResourceBuilder.OPERATION_ID));
+        assertEquals("zone", zonal.getStringParameter(AbstractGcpResourceBuilder.OPERATION_SCOPE));
+        assertEquals("region", regional.getStringParameter(AbstractGcpResourceBuilder.OPERATION_SCOPE));
+        assertEquals("global", global.getStringParameter(AbstractGcpResourceBuilder.OPERATION_SCOPE));
+    }
+
+    @Test
+    public void testCheckShouldLookUpTheOperationInItsRecordedScopeOnly() throws Exception {
+        //GIVEN
+        Operation operation = new Operation().setName("op1").setZone(ZONE).setProgress(FINISHED);
+        CloudResource resource = underTest.createOperationAwareCloudResource(resource("disk"), operation);
+        Compute.ZoneOperations zoneOperations = mock(Compute.ZoneOperations.class);
+        Compute.ZoneOperations.Get get = mock(Compute.ZoneOperations.Get.class);
+        given(compute.zoneOperations()).willReturn(zoneOperations);
+        given(zoneOperations.get(PROJECT_ID, ZONE, "op1")).willReturn(get);
+        given(get.execute()).willReturn(operation);
+        //WHEN
+        Operation result = underTest.check(context, resource);
+        //THEN
+        assertSame(operation, result);
+        verify(compute, never()).globalOperations();
+        verify(compute, never()).regionOperations();
+    }
+
+    @Test
+    public void testCheckResourcesShouldReportTheStatusOfEveryResource() throws Exception {
+        //GIVEN
+        Operation operation = new Operation().setName("op1").setProgress(FINISHED);
+        CloudResource resource = underTest.createOperationAwareCloudResource(resource("network"), operation);
+        Compute.GlobalOperations globalOperations = mock(Compute.GlobalOperations.class);
+        Compute.GlobalOperations.Get get = mock(Compute.GlobalOperations.Get.class);
+        given(compute.globalOperations()).willReturn(globalOperations);
+        given(globalOperations.get(PROJECT_ID, "op1")).willReturn(get);
+        given(get.execute()).willReturn(operation);
+        AuthenticatedContext auth = new AuthenticatedContext(new CloudContext(1L, "stack", "GCP", "owner"), null);
+        //WHEN
+        List<CloudResourceStatus> statuses = underTest.checkResources(ResourceType.GCP_NETWORK, context, auth, Arrays.asList(resource));
+        //THEN
+        assertEquals(1, statuses.size());
+        assertEquals(ResourceStatus.CREATED, statuses.get(0).getStatus());
+    }
+
+    private CloudResource resource(String name) {
+        return new CloudResource.Builder().type(ResourceType.GCP_DISK).name(name).build();
+    }
+
+    private static class TestGcpResourceBuilder extends AbstractGcpResourceBuilder {
+    }
+}
@@ -0,0 +1,55 @@
+package com.sequenceiq.cloudbreak.cloud.scheduler;
+
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_POLLING_BACKOFF_MULTIPLIER;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_POLLING_MAX_INTERVAL_MS;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_POLLING_STRATEGY;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the {@link PollingStrategy} of a polling task from the configuration of its {@link PollingHints}.
+ */
+@Component
+public class PollingStrategyFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PollingStrategyFactory.class);
+
+    private static final String PREFIX = "cb.polling.";
+    private static final int EXPECTED_DURATION_DIVISOR = 10;
+
+    @Inject
+    private Environment environment;
+
+    public PollingStrategy forTask(Object task, long interval) {
+        if (!(task instanceof PollingHints)) {
+            return new FixedPollingStrategy(interval);
+        }
+        PollingHints hints = (PollingHints) task;
+        String prefix = PREFIX + hints.pollingType() + ".";
+        String strategy = environment.getProperty(prefix + "strategy", environment.getProperty(PREFIX + "strategy", CB_POLLING_STRATEGY));
+        long maxInterval = environment.getProperty(prefix + "max.interval.ms", Long.class, defaultMaxInterval(hints, interval));
+        switch (strategy.toLowerCase()) {
+            case "fixed":
+                return new FixedPollingStrategy(interval);
+            case "backoff":
+                double multiplier = environment.getProperty(prefix + "multiplier", Double.class, Double.valueOf(CB_POLLING_BACKOFF_MULTIPLIER));
+                return new ExponentialBackoffPollingStrategy(interval, multiplier, maxInterval);
+            case "jitter":
+                return new DecorrelatedJitterPollingStrategy(interval, maxInterval);
+            default:
+                LOGGER.warn("Unknown polling strategy '{}' for {}, falling back to fixed interval polling.", strategy, hints.pollingType());
+                return new FixedPollingStrategy(interval);
+        }
+    }
+
+    private long defaultMaxInterval(PollingHints hints, long interval) {
+        long expectedDuration = hints.expectedDuration();
+        long maxInterval = expectedDuration > 0 ? expectedDuration / EXPECTED_DURATION_DIVISOR : Long.parseLong(CB_POLLING_MAX_INTERVAL_MS);
+        return Math.max(interval, maxInterval);
+    }
+}
@@ -0,0 +1,18 @@
+package com.sequenceiq.cloudbreak.cloud.service;
+
+import java.util.List;
+
+/**
+ * Batch counterpart of {@link Persister} to be implemented by the persistence provider module.
+ * Every call is expected to be persisted in a single transaction.
+ *
+ * @param <T> the type of the (wrapped) data to be persisted.
+ */
+public interface BatchPersister<T> {
+
+    void persistAll(List<T> data);
+
+    void updateAll(List<T> data);
+
+    void deleteAll(List<T> data);
+}
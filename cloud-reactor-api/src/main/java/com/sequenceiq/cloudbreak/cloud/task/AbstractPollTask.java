@@ -1,9 +1,7 @@
 package com.sequenceiq.cloudbreak.cloud.task;
 
-import static com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup.CANCELLED;
-
 import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
-import com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup;
+import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationToken;
 import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
 
 public abstract class AbstractPollTask<T> implements PollTask<T> {
@@ -28,10 +26,12 @@ public abstract class AbstractPollTask<T> implements PollTask<T> {
 
     @Override
     public boolean cancelled() {
-        if (!cancellable) {
-            return false;
-        }
-        PollGroup pollGroup = InMemoryStateStore.get(getAuthenticatedContext().getCloudContext().getId());
-        return pollGroup != null && CANCELLED.equals(pollGroup);
+        CancellationToken token = cancellationToken();
+        return token != null && token.isCancelled();
+    }
+
+    @Override
+    public CancellationToken cancellationToken() {
+        return cancellable ? InMemoryStateStore.getCancellationToken(getAuthenticatedContext().getCloudContext().getId()) : null;
     }
 }
@@ -1,9 +1,16 @@
 package com.sequenceiq.cloudbreak.cloud.task;
 
+import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationToken;
+
 public interface Check<T> {
 
     boolean completed(T t);
 
     boolean cancelled();
 
+    /**
+     * The token that cancels the polling when the stack is cancelled, or null if the polling is not cancellable.
+     */
+    CancellationToken cancellationToken();
+
 }
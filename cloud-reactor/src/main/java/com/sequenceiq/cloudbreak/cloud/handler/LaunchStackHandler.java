@@ -8,6 +8,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.sequenceiq.cloudbreak.cloud.CloudConnector;
 import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
 import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
@@ -52,7 +54,7 @@ public class LaunchStackHandler implements CloudPlatformEventHandler<LaunchStack
     }
 
     @Override
-    public void accept(Event<LaunchStackRequest> launchStackRequestEvent) {
+    public void accept(final Event<LaunchStackRequest> launchStackRequestEvent) {
         LOGGER.info("Received event: {}", launchStackRequestEvent);
         LaunchStackRequest request = launchStackRequestEvent.getData();
         CloudContext cloudContext = request.getCloudContext();
@@ -71,17 +73,42 @@ public class LaunchStackHandler implements CloudPlatformEventHandler<LaunchStack
             List<CloudResource> resources = ResourceLists.transform(resourceStatus);
             PollTask<ResourcesStatePollerResult> task = statusCheckFactory.newPollResourcesStateTask(ac, resources, true);
             ResourcesStatePollerResult statePollerResult = ResourcesStatePollerResults.build(cloudContext, resourceStatus);
-            if (!task.completed(statePollerResult)) {
-                statePollerResult = syncPollingScheduler.schedule(task);
+            if (task.completed(statePollerResult)) {
+                launchFinished(launchStackRequestEvent, statePollerResult);
+            } else {
+                Futures.addCallback(syncPollingScheduler.scheduleAsync(task), new FutureCallback<ResourcesStatePollerResult>() {
+                    @Override
+                    public void onSuccess(ResourcesStatePollerResult result) {
+                        try {
+                            launchFinished(launchStackRequestEvent, result);
+                        } catch (RuntimeException e) {
+                            launchFailed(launchStackRequestEvent, e);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        launchFailed(launchStackRequestEvent, t instanceof Exception ? (Exception) t : new CloudConnectorException(t));
+                    }
+                });
             }
-            LaunchStackResult result = ResourcesStatePollerResults.transformToLaunchStackResult(request, statePollerResult);
-            request.getResult().onNext(result);
-            eventBus.notify(result.selector(), new Event(launchStackRequestEvent.getHeaders(), result));
-            LOGGER.info("Launching the stack successfully finished for {}", cloudContext);
         } catch (Exception e) {
-            LaunchStackResult failure = new LaunchStackResult(e, request);
-            request.getResult().onNext(failure);
-            eventBus.notify(failure.selector(), new Event(launchStackRequestEvent.getHeaders(), failure));
+            launchFailed(launchStackRequestEvent, e);
         }
     }
+
+    private void launchFinished(Event<LaunchStackRequest> launchStackRequestEvent, ResourcesStatePollerResult statePollerResult) {
+        LaunchStackRequest request = launchStackRequestEvent.getData();
+        LaunchStackResult result = ResourcesStatePollerResults.transformToLaunchStackResult(request, statePollerResult);
+        request.getResult().onNext(result);
+        eventBus.notify(result.selector(), new Event(launchStackRequestEvent.getHeaders(), result));
+        LOGGER.info("Launching the stack successfully finished for {}", request.getCloudContext());
+    }
+
+    private void launchFailed(Event<LaunchStackRequest> launchStackRequestEvent, Exception e) {
+        LaunchStackRequest request = launchStackRequestEvent.getData();
+        LaunchStackResult failure = new LaunchStackResult(e, request);
+        request.getResult().onNext(failure);
+        eventBus.notify(failure.selector(), new Event(launchStackRequestEvent.getHeaders(), failure));
+    }
 }
@@ -4,16 +4,10 @@ import javax.inject.Inject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Component;
 
+import com.sequenceiq.cloudbreak.cloud.notification.ResourceNotificationBatcher;
 import com.sequenceiq.cloudbreak.cloud.notification.model.ResourceNotification;
-import com.sequenceiq.cloudbreak.cloud.notification.model.ResourcePersisted;
-import com.sequenceiq.cloudbreak.cloud.retry.ErrorTask;
-import com.sequenceiq.cloudbreak.cloud.retry.ExceptionCheckTask;
-import com.sequenceiq.cloudbreak.cloud.retry.RetryTask;
-import com.sequenceiq.cloudbreak.cloud.retry.RetryUtil;
-import com.sequenceiq.cloudbreak.cloud.service.Persister;
 
 import reactor.bus.Event;
 import reactor.fn.Consumer;
@@ -23,45 +17,11 @@ public class ResourcePersistenceHandler implements Consumer<Event<ResourceNotifi
     private static final Logger LOGGER = LoggerFactory.getLogger(ResourcePersistenceHandler.class);
 
     @Inject
-    private Persister<ResourceNotification> cloudResourcePersisterService;
+    private ResourceNotificationBatcher resourceNotificationBatcher;
 
     @Override
-    public void accept(final Event<ResourceNotification> event) {
+    public void accept(Event<ResourceNotification> event) {
         LOGGER.info("Resource notification event received: {}", event);
-        final ResourceNotification notification = event.getData();
-
-        RetryUtil.withDefaultRetries()
-                .retry(new RetryTask() {
-                    @Override
-                    public void run() throws Exception {
-                        ResourceNotification notificationPersisted = null;
-                        switch (notification.getType()) {
-                            case CREATE:
-                                notificationPersisted = cloudResourcePersisterService.persist(notification);
-                                break;
-                            case UPDATE:
-                                notificationPersisted = cloudResourcePersisterService.update(notification);
-                                break;
-                            case DELETE:
-                                notificationPersisted = cloudResourcePersisterService.delete(notification);
-                                break;
-                            default:
-                                throw new IllegalArgumentException("Unsupported notification type: " + notification.getType());
-                        }
-                        notificationPersisted.getPromise().onNext(new ResourcePersisted());
-                    }
-                })
-                .checkIfRecoverable(new ExceptionCheckTask() {
-                    @Override
-                    public boolean check(Exception e) {
-                        return e instanceof TransientDataAccessException;
-                    }
-                })
-                .ifNotRecoverable(new ErrorTask() {
-                    @Override
-                    public void run(Exception e) {
-                        notification.getPromise().onError(e);
-                    }
-                }).run();
+        resourceNotificationBatcher.add(event.getData());
     }
 }
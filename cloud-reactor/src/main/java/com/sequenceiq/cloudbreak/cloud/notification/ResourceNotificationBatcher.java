@@ -0,0 +1,184 @@
+package com.sequenceiq.cloudbreak.cloud.notification;
+
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_RESOURCE_PERSISTENCE_BATCH_SIZE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_RESOURCE_PERSISTENCE_FLUSH_INTERVAL_MS;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.cloud.notification.model.ResourceNotification;
+import com.sequenceiq.cloudbreak.cloud.notification.model.ResourceNotificationType;
+import com.sequenceiq.cloudbreak.cloud.notification.model.ResourcePersisted;
+import com.sequenceiq.cloudbreak.cloud.retry.ErrorTask;
+import com.sequenceiq.cloudbreak.cloud.retry.ExceptionCheckTask;
+import com.sequenceiq.cloudbreak.cloud.retry.RetryTask;
+import com.sequenceiq.cloudbreak.cloud.retry.RetryUtil;
+import com.sequenceiq.cloudbreak.cloud.service.BatchPersister;
+
+/**
+ * Write-behind queue for the resource notifications, they are persisted in batches grouped by stack, in order.
+ */
+@Component
+public class ResourceNotificationBatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceNotificationBatcher.class);
+
+    @Value("${cb.resource.persistence.batch.size:" + CB_RESOURCE_PERSISTENCE_BATCH_SIZE + "}")
+    private int batchSize;
+
+    @Value("${cb.resource.persistence.flush.interval.ms:" + CB_RESOURCE_PERSISTENCE_FLUSH_INTERVAL_MS + "}")
+    private long flushInterval;
+
+    @Inject
+    private BatchPersister<ResourceNotification> cloudResourcePersisterService;
+
+    private final BlockingQueue<ResourceNotification> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread flusher;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        }, "resourcePersistenceFlusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        flusher.interrupt();
+    }
+
+    public void add(ResourceNotification notification) {
+        queue.add(notification);
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                flush(nextBatch());
+            } catch (InterruptedException e) {
+                LOGGER.info("Resource persistence flusher has been interrupted.");
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to flush resource notifications.", e);
+            }
+        }
+        List<ResourceNotification> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            LOGGER.info("Flushing {} remaining resource notifications before shutdown.", remaining.size());
+            flush(remaining);
+        }
+    }
+
+    private List<ResourceNotification> nextBatch() throws InterruptedException {
+        List<ResourceNotification> batch = new ArrayList<>(batchSize);
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushInterval);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            ResourceNotification next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void flush(List<ResourceNotification> batch) {
+        LOGGER.debug("Flushing {} resource notifications.", batch.size());
+        for (List<ResourceNotification> group : group(batch)) {
+            persist(group);
+        }
+    }
+
+    private List<List<ResourceNotification>> group(List<ResourceNotification> batch) {
+        Map<Long, List<List<ResourceNotification>>> groupsByStack = new LinkedHashMap<>();
+        for (ResourceNotification notification : batch) {
+            Long stackId = notification.getCloudContext().getId();
+            List<List<ResourceNotification>> stackGroups = groupsByStack.get(stackId);
+            if (stackGroups == null) {
+                stackGroups = new ArrayList<>();
+                groupsByStack.put(stackId, stackGroups);
+            }
+            List<ResourceNotification> lastGroup = stackGroups.isEmpty() ? null : stackGroups.get(stackGroups.size() - 1);
+            if (lastGroup == null || lastGroup.get(0).getType() != notification.getType()) {
+                lastGroup = new ArrayList<>();
+                stackGroups.add(lastGroup);
+            }
+            lastGroup.add(notification);
+        }
+        List<List<ResourceNotification>> groups = new ArrayList<>();
+        for (List<List<ResourceNotification>> stackGroups : groupsByStack.values()) {
+            groups.addAll(stackGroups);
+        }
+        return groups;
+    }
+
+    private void persist(final List<ResourceNotification> group) {
+        final ResourceNotificationType type = group.get(0).getType();
+        RetryUtil.withDefaultRetries()
+                .retry(new RetryTask() {
+                    @Override
+                    public void run() throws Exception {
+                        switch (type) {
+                            case CREATE:
+                                cloudResourcePersisterService.persistAll(group);
+                                break;
+                            case UPDATE:
+                                cloudResourcePersisterService.updateAll(group);
+                                break;
+                            case DELETE:
+                                cloudResourcePersisterService.deleteAll(group);
+                                break;
+                            default:
+                                throw new IllegalArgumentException("Unsupported notification type: " + type);
+                        }
+                        for (ResourceNotification notification : group) {
+                            notification.getPromise().onNext(new ResourcePersisted());
+                        }
+                    }
+                })
+                .checkIfRecoverable(new ExceptionCheckTask() {
+                    @Override
+                    public boolean check(Exception e) {
+                        return e instanceof TransientDataAccessException;
+                    }
+                })
+                .ifNotRecoverable(new ErrorTask() {
+                    @Override
+                    public void run(Exception e) {
+                        for (ResourceNotification notification : group) {
+                            notification.getPromise().onError(e);
+                        }
+                    }
+                }).run();
+    }
+}
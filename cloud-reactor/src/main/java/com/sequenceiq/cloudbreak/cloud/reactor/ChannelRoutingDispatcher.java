@@ -0,0 +1,293 @@
+package com.sequenceiq.cloudbreak.cloud.reactor;
+
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_EVENTBUS_EVENTS_THREADPOOL_CORE_SIZE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_EVENTBUS_PERSISTENCE_THREADPOOL_CORE_SIZE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_EVENTBUS_PLATFORM_THREADPOOL_CORE_SIZE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_EVENTBUS_THREADPOOL_CAPACITY_SIZE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_EVENTBUS_THREADPOOL_CORE_SIZE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_FLOW_EXECUTION_MODE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
+import com.sequenceiq.cloudbreak.cloud.event.CloudPlatformRequest;
+import com.sequenceiq.cloudbreak.cloud.executor.ExecutorRegistry;
+import com.sequenceiq.cloudbreak.cloud.executor.MailboxExecutor;
+import com.sequenceiq.cloudbreak.cloud.executor.RejectionPolicy;
+
+import reactor.bus.Event;
+import reactor.core.Dispatcher;
+import reactor.core.dispatch.ThreadPoolExecutorDispatcher;
+import reactor.fn.Consumer;
+
+/**
+ * Dispatches the events of the EventBus on a thread pool per channel, so a slow cloud provider can not use up the threads of the
+ * others. In serial flow execution mode the flow events of a stack are processed in order by a {@link MailboxExecutor}.
+ */
+@Component
+public class ChannelRoutingDispatcher implements Dispatcher {
+
+    public static final String FLOWS = "flows";
+    public static final String EVENTS = "events";
+    public static final String PERSISTENCE = "persistence";
+    public static final String MAILBOX_HEADER = "mailbox";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChannelRoutingDispatcher.class);
+
+    private static final String CLOUDBREAK_EVENT = "CLOUDBREAK_EVENT";
+    private static final String RESOURCE_PERSISTED = "resource-persisted";
+    private static final String SERIAL_EXECUTION_MODE = "serial";
+    private static final String POOL_PREFIX = "eventbus-";
+    private static final int KEEPALIVE_SECONDS = 60;
+
+    @Value("${cb.eventbus.threadpool.core.size:" + CB_EVENTBUS_THREADPOOL_CORE_SIZE + "}")
+    private int flowsPoolSize;
+
+    @Value("${cb.eventbus.platform.threadpool.core.size:" + CB_EVENTBUS_PLATFORM_THREADPOOL_CORE_SIZE + "}")
+    private int platformPoolSize;
+
+    @Value("${cb.eventbus.events.threadpool.core.size:" + CB_EVENTBUS_EVENTS_THREADPOOL_CORE_SIZE + "}")
+    private int eventsPoolSize;
+
+    @Value("${cb.eventbus.persistence.threadpool.core.size:" + CB_EVENTBUS_PERSISTENCE_THREADPOOL_CORE_SIZE + "}")
+    private int persistencePoolSize;
+
+    @Value("${cb.eventbus.threadpool.capacity.size:" + CB_EVENTBUS_THREADPOOL_CAPACITY_SIZE + "}")
+    private int queueCapacity;
+
+    @Value("${cb.flow.execution.mode:" + CB_FLOW_EXECUTION_MODE + "}")
+    private String flowExecutionMode;
+
+    @Inject
+    private ExecutorRegistry executorRegistry;
+
+    @Inject
+    private Environment environment;
+
+    private final Map<String, Dispatcher> dispatchers = new ConcurrentHashMap<>();
+
+    private volatile MailboxExecutor mailboxes;
+
+    @Override
+    public <E> void dispatch(E data, Consumer<E> eventConsumer, Consumer<Throwable> errorConsumer) {
+        String channel = channelOf(data);
+        Object mailbox = mailboxOf(channel, data);
+        if (mailbox != null) {
+            getMailboxes().execute(mailbox, new DispatchTask<>(data, eventConsumer, errorConsumer));
+        } else {
+            getDispatcher(channel).dispatch(data, eventConsumer, errorConsumer);
+        }
+    }
+
+    @Override
+    public <E> void tryDispatch(E data, Consumer<E> eventConsumer, Consumer<Throwable> errorConsumer) {
+        String channel = channelOf(data);
+        Object mailbox = mailboxOf(channel, data);
+        if (mailbox != null) {
+            getMailboxes().execute(mailbox, new DispatchTask<>(data, eventConsumer, errorConsumer));
+        } else {
+            getDispatcher(channel).tryDispatch(data, eventConsumer, errorConsumer);
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        getDispatcher(FLOWS).execute(command);
+    }
+
+    public Dispatcher getDispatcher(String channel) {
+        Dispatcher dispatcher = dispatchers.get(channel);
+        if (dispatcher == null) {
+            synchronized (dispatchers) {
+                dispatcher = dispatchers.get(channel);
+                if (dispatcher == null) {
+                    dispatcher = createDispatcher(channel);
+                    dispatchers.put(channel, dispatcher);
+                }
+            }
+        }
+        return dispatcher;
+    }
+
+    public String channelOf(Object data) {
+        if (data instanceof Event) {
+            Event<?> event = (Event<?>) data;
+            if (CLOUDBREAK_EVENT.equals(event.getKey())) {
+                return EVENTS;
+            } else if (RESOURCE_PERSISTED.equals(event.getKey())) {
+                return PERSISTENCE;
+            } else if (event.getData() instanceof CloudPlatformRequest) {
+                CloudContext cloudContext = ((CloudPlatformRequest<?>) event.getData()).getCloudContext();
+                if (cloudContext != null && cloudContext.getPlatform() != null && cloudContext.getPlatform().value() != null) {
+                    return platformChannel(cloudContext);
+                }
+            }
+        }
+        return FLOWS;
+    }
+
+    /**
+     * Returns the mailbox of an event, or null if it is not processed serially.
+     */
+    public Object mailboxOf(String channel, Object data) {
+        if (SERIAL_EXECUTION_MODE.equalsIgnoreCase(flowExecutionMode) && FLOWS.equals(channel) && data instanceof Event) {
+            Event<?> event = (Event<?>) data;
+            return event.getHeaders().contains(MAILBOX_HEADER) ? event.getHeaders().get(MAILBOX_HEADER) : null;
+        }
+        return null;
+    }
+
+    @Override
+    public long remainingSlots() {
+        long remaining = Long.MAX_VALUE;
+        for (Dispatcher dispatcher : dispatchers()) {
+            remaining = Math.min(remaining, dispatcher.remainingSlots());
+        }
+        return remaining;
+    }
+
+    @Override
+    public long backlogSize() {
+        long backlog = mailboxes == null ? 0 : mailboxes.getBacklogSize();
+        for (Dispatcher dispatcher : dispatchers()) {
+            backlog += dispatcher.backlogSize();
+        }
+        return backlog;
+    }
+
+    @Override
+    public boolean supportsOrdering() {
+        return false;
+    }
+
+    @Override
+    public boolean inContext() {
+        for (Dispatcher dispatcher : dispatchers()) {
+            if (dispatcher.inContext()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean alive() {
+        for (Dispatcher dispatcher : dispatchers()) {
+            if (!dispatcher.alive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void shutdown() {
+        for (Dispatcher dispatcher : dispatchers()) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Override
+    public boolean awaitAndShutdown() {
+        return awaitAndShutdown(Integer.MAX_VALUE, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public boolean awaitAndShutdown(long timeout, TimeUnit unit) {
+        boolean terminated = true;
+        for (Dispatcher dispatcher : dispatchers()) {
+            terminated &= dispatcher.awaitAndShutdown(timeout, unit);
+        }
+        return terminated;
+    }
+
+    @Override
+    public void forceShutdown() {
+        for (Dispatcher dispatcher : dispatchers()) {
+            dispatcher.forceShutdown();
+        }
+    }
+
+    private MailboxExecutor getMailboxes() {
+        if (mailboxes == null) {
+            synchronized (dispatchers) {
+                if (mailboxes == null) {
+                    LOGGER.info("Flow events are processed serially per stack.");
+                    mailboxes = new MailboxExecutor(POOL_PREFIX + FLOWS, getDispatcher(FLOWS));
+                }
+            }
+        }
+        return mailboxes;
+    }
+
+    private Dispatcher createDispatcher(String channel) {
+        int poolSize = environment.getProperty("cb.eventbus." + channel + ".threadpool.core.size", Integer.class, defaultPoolSize(channel));
+        int capacity = environment.getProperty("cb.eventbus." + channel + ".threadpool.capacity.size", Integer.class, queueCapacity);
+        LOGGER.info("Creating the EventBus dispatcher of the {} channel with {} threads and a queue of {}.", channel, poolSize, capacity);
+        return new ThreadPoolExecutorDispatcher(poolSize, poolSize, executorRegistry.newThreadPool(POOL_PREFIX + channel, poolSize, poolSize,
+                KEEPALIVE_SECONDS, false, capacity, RejectionPolicy.CALLER_RUNS.name()));
+    }
+
+    private int defaultPoolSize(String channel) {
+        switch (channel) {
+            case FLOWS:
+                return flowsPoolSize;
+            case EVENTS:
+                return eventsPoolSize;
+            case PERSISTENCE:
+                return persistencePoolSize;
+            default:
+                return platformPoolSize;
+        }
+    }
+
+    private String platformChannel(CloudContext cloudContext) {
+        String platform = cloudContext.getPlatform().value().toLowerCase();
+        String variant = cloudContext.getVariant() == null ? null : cloudContext.getVariant().value();
+        if (variant == null || variant.isEmpty() || variant.equalsIgnoreCase(platform)) {
+            return platform;
+        }
+        return platform + "-" + variant.toLowerCase();
+    }
+
+    private List<Dispatcher> dispatchers() {
+        return new ArrayList<>(dispatchers.values());
+    }
+
+    private static final class DispatchTask<E> implements Runnable {
+        private final E data;
+        private final Consumer<E> eventConsumer;
+        private final Consumer<Throwable> errorConsumer;
+
+        private DispatchTask(E data, Consumer<E> eventConsumer, Consumer<Throwable> errorConsumer) {
+            this.data = data;
+            this.eventConsumer = eventConsumer;
+            this.errorConsumer = errorConsumer;
+        }
+
+        @Override
+        public void run() {
+            try {
+                eventConsumer.accept(data);
+            } catch (Exception e) {
+                if (errorConsumer == null) {
+                    LOGGER.error("Failed to process the event: " + data, e);
+                } else {
+                    errorConsumer.accept(e);
+                }
+            }
+        }
+    }
+}
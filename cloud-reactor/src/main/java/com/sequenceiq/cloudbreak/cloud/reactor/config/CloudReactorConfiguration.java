@@ -2,7 +2,7 @@ package com.sequenceiq.cloudbreak.cloud.reactor.config;
 
 import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_CLOUD_API_EXECUTORSERVICE_POOL_SIZE;
 
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import javax.inject.Inject;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -10,7 +10,7 @@ import org.springframework.context.annotation.Configuration;
 
 import com.google.common.util.concurrent.ListeningScheduledExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sequenceiq.cloudbreak.cloud.executor.ExecutorRegistry;
 
 @Configuration
 public class CloudReactorConfiguration {
@@ -18,10 +18,11 @@ public class CloudReactorConfiguration {
     @Value("${cb.cloud.api.executorservice.pool.size:" + CB_CLOUD_API_EXECUTORSERVICE_POOL_SIZE + "}")
     private int executorServicePoolSize;
 
+    @Inject
+    private ExecutorRegistry executorRegistry;
+
     @Bean
     ListeningScheduledExecutorService listeningScheduledExecutorService() {
-        return MoreExecutors
-                .listeningDecorator(new ScheduledThreadPoolExecutor(executorServicePoolSize,
-                        new ThreadFactoryBuilder().setNameFormat("cloud-reactor-%d").build()));
+        return MoreExecutors.listeningDecorator(executorRegistry.newScheduledThreadPool("cloud-reactor", executorServicePoolSize));
     }
 }
@@ -1,24 +1,23 @@
 package com.sequenceiq.cloudbreak.cloud.reactor.config;
 
-import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_EVENTBUS_THREADPOOL_CORE_SIZE;
+import javax.inject.Inject;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.sequenceiq.cloudbreak.cloud.handler.ConsumerNotFoundHandler;
+import com.sequenceiq.cloudbreak.cloud.reactor.ChannelRoutingDispatcher;
 
 import reactor.Environment;
 import reactor.bus.EventBus;
 import reactor.bus.spec.EventBusSpec;
-import reactor.core.dispatch.ThreadPoolExecutorDispatcher;
 import reactor.fn.timer.Timer;
 
 @Configuration
 public class EventBusConfig {
 
-    @Value("${cb.eventbus.threadpool.core.size:" + CB_EVENTBUS_THREADPOOL_CORE_SIZE + "}")
-    private int eventBusThreadPoolSize;
+    @Inject
+    private ChannelRoutingDispatcher channelRoutingDispatcher;
 
     @Bean
     public Timer timer(Environment env) {
@@ -34,13 +33,9 @@ public class EventBusConfig {
     public EventBus reactor(Environment env) {
         return new EventBusSpec()
                 .env(env)
-                .dispatcher(getEventBusDispatcher())
+                .dispatcher(channelRoutingDispatcher)
                 .traceEventPath()
                 .consumerNotFoundHandler(new ConsumerNotFoundHandler())
                 .get();
     }
-
-    private ThreadPoolExecutorDispatcher getEventBusDispatcher() {
-        return new ThreadPoolExecutorDispatcher(eventBusThreadPoolSize, eventBusThreadPoolSize, "reactorDispatcher");
-    }
 }
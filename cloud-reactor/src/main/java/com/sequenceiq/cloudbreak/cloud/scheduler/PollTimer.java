@@ -0,0 +1,101 @@
+package com.sequenceiq.cloudbreak.cloud.scheduler;
+
+/**
+ * A pending timer of the {@link TimerPollingScheduler}, linked into its wheel slot so it can be cancelled in constant time.
+ */
+public final class PollTimer {
+
+    private final SchedulerRepository schedulerRepository;
+    private final Long stackId;
+    private final Runnable task;
+    private final long deadline;
+    private int level;
+    private int slot;
+    private PollTimer previous;
+    private PollTimer next;
+    private boolean pending = true;
+    private boolean expired;
+
+    PollTimer(SchedulerRepository schedulerRepository, Long stackId, Runnable task, long deadline) {
+        this.schedulerRepository = schedulerRepository;
+        this.stackId = stackId;
+        this.task = task;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Removes the timer from the wheel. Returns false if the timer is already expired or cancelled.
+     */
+    public boolean cancel() {
+        return schedulerRepository.remove(this);
+    }
+
+    public Long getStackId() {
+        return stackId;
+    }
+
+    public Runnable getTask() {
+        return task;
+    }
+
+    public boolean isExpired() {
+        synchronized (schedulerRepository) {
+            return expired;
+        }
+    }
+
+    public boolean isCancelled() {
+        synchronized (schedulerRepository) {
+            return !pending && !expired;
+        }
+    }
+
+    long getDeadline() {
+        return deadline;
+    }
+
+    int getLevel() {
+        return level;
+    }
+
+    int getSlot() {
+        return slot;
+    }
+
+    void link(int level, int slot, PollTimer next) {
+        this.level = level;
+        this.slot = slot;
+        this.previous = null;
+        this.next = next;
+        if (next != null) {
+            next.previous = this;
+        }
+    }
+
+    PollTimer getPrevious() {
+        return previous;
+    }
+
+    void setPrevious(PollTimer previous) {
+        this.previous = previous;
+    }
+
+    PollTimer getNext() {
+        return next;
+    }
+
+    void setNext(PollTimer next) {
+        this.next = next;
+    }
+
+    boolean isPending() {
+        return pending;
+    }
+
+    void done(boolean expired) {
+        this.pending = false;
+        this.expired = expired;
+        this.previous = null;
+        this.next = null;
+    }
+}
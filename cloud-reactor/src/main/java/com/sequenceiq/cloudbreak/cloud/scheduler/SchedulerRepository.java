@@ -1,9 +1,156 @@
 package com.sequenceiq.cloudbreak.cloud.scheduler;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.springframework.stereotype.Repository;
 
+/**
+ * Stores the pending timers of the {@link TimerPollingScheduler} in a hierarchical timer wheel, grouped by stack.
+ */
 @Repository
 public class SchedulerRepository {
 
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private final PollTimer[][] wheel = new PollTimer[LEVELS][WHEEL_SIZE];
+    private final Map<Long, Set<PollTimer>> groups = new HashMap<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * Adds a timer that expires after the given number of ticks, at least after the next tick.
+     */
+    public synchronized PollTimer add(Long stackId, Runnable task, long ticks) {
+        PollTimer timer = new PollTimer(this, stackId, task, currentTick + Math.max(ticks, 1));
+        place(timer);
+        if (stackId != null) {
+            Set<PollTimer> group = groups.get(stackId);
+            if (group == null) {
+                group = new LinkedHashSet<>();
+                groups.put(stackId, group);
+            }
+            group.add(timer);
+        }
+        size++;
+        return timer;
+    }
+
+    public synchronized boolean remove(PollTimer timer) {
+        if (!timer.isPending()) {
+            return false;
+        }
+        unlink(timer);
+        ungroup(timer);
+        timer.done(false);
+        size--;
+        return true;
+    }
+
+    public synchronized List<PollTimer> removeGroup(Long stackId) {
+        Set<PollTimer> group = groups.remove(stackId);
+        if (group == null) {
+            return Collections.emptyList();
+        }
+        for (PollTimer timer : group) {
+            unlink(timer);
+            timer.done(false);
+        }
+        size -= group.size();
+        return new ArrayList<>(group);
+    }
+
+    /**
+     * Turns the wheel until the given tick and returns the timers that expired meanwhile.
+     */
+    public synchronized List<PollTimer> advance(long tick) {
+        List<PollTimer> expired = new ArrayList<>();
+        while (currentTick < tick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                    for (PollTimer timer : detach(level, slotOf(currentTick, level))) {
+                        place(timer);
+                    }
+                }
+            }
+            for (PollTimer timer : detach(0, slotOf(currentTick, 0))) {
+                if (timer.getDeadline() > currentTick) {
+                    place(timer);
+                } else {
+                    ungroup(timer);
+                    timer.done(true);
+                    size--;
+                    expired.add(timer);
+                }
+            }
+        }
+        return expired;
+    }
+
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(PollTimer timer) {
+        long ticks = Math.min(timer.getDeadline() - currentTick, MAX_TICKS);
+        int level = 0;
+        while (ticks >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = slotOf(currentTick + ticks, level);
+        timer.link(level, slot, wheel[level][slot]);
+        wheel[level][slot] = timer;
+    }
+
+    private void unlink(PollTimer timer) {
+        PollTimer previous = timer.getPrevious();
+        PollTimer next = timer.getNext();
+        if (previous == null) {
+            wheel[timer.getLevel()][timer.getSlot()] = next;
+        } else {
+            previous.setNext(next);
+        }
+        if (next != null) {
+            next.setPrevious(previous);
+        }
+    }
+
+    private void ungroup(PollTimer timer) {
+        if (timer.getStackId() != null) {
+            Set<PollTimer> group = groups.get(timer.getStackId());
+            group.remove(timer);
+            if (group.isEmpty()) {
+                groups.remove(timer.getStackId());
+            }
+        }
+    }
+
+    private List<PollTimer> detach(int level, int slot) {
+        List<PollTimer> timers = new ArrayList<>();
+        PollTimer timer = wheel[level][slot];
+        wheel[level][slot] = null;
+        while (timer != null) {
+            timers.add(timer);
+            timer = timer.getNext();
+        }
+        return timers;
+    }
 
+    private int slotOf(long tick, int level) {
+        return (int) ((tick >> (WHEEL_BITS * level)) & WHEEL_MASK);
+    }
 }
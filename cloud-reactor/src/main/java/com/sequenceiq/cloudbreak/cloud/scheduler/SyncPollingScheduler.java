@@ -8,8 +8,13 @@ import javax.inject.Inject;
 
 import org.springframework.stereotype.Component;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListenableScheduledFuture;
 import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import com.sequenceiq.cloudbreak.cloud.task.FetchTask;
 import com.sequenceiq.cloudbreak.cloud.task.PollTask;
 
@@ -23,35 +28,133 @@ public class SyncPollingScheduler<T> {
     @Inject
     private ListeningScheduledExecutorService scheduler;
 
+    @Inject
+    private PollingStrategyFactory pollingStrategyFactory;
+
     public T schedule(PollTask<T> task) throws ExecutionException, InterruptedException, TimeoutException {
         return schedule(task, POLLING_INTERVAL, MAX_POLLING_ATTEMPT, FAILURE_TOLERANT_ATTEMPT);
     }
 
     public T schedule(PollTask<T> task, int interval, int maxAttempt, int maxFailureTolerant) throws ExecutionException, InterruptedException, TimeoutException {
-        T result = null;
-        int actualFailureTolerant = 0;
-        for (int i = 0; i < maxAttempt; i++) {
-            if (task.cancelled()) {
-                throw new CancellationException("Task was cancelled.");
-            }
-            try {
-                ListenableScheduledFuture<T> ft = schedule(task, interval);
-                result = ft.get();
-                if (task.completed(result)) {
-                    return result;
-                }
-            } catch (Exception ex) {
-                actualFailureTolerant++;
-                if (actualFailureTolerant >= maxFailureTolerant) {
-                    throw ex;
-                }
+        ListenableFuture<T> future = scheduleAsync(task, interval, maxAttempt, maxFailureTolerant);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            throw e;
+        } catch (java.util.concurrent.CancellationException e) {
+            throw new CancellationException("Task was cancelled.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                throw (CancellationException) e.getCause();
+            } else if (e.getCause() instanceof TimeoutException) {
+                throw (TimeoutException) e.getCause();
             }
+            throw e;
         }
-        throw new TimeoutException(String.format("Task did not finished within %d seconds", interval * maxAttempt));
+    }
+
+    public ListenableFuture<T> scheduleAsync(PollTask<T> task) {
+        return scheduleAsync(task, POLLING_INTERVAL, MAX_POLLING_ATTEMPT, FAILURE_TOLERANT_ATTEMPT);
+    }
+
+    /**
+     * Polls the task until it completes without holding a thread between the attempts. The returned future fails with
+     * {@link TimeoutException} if the task did not complete within interval * maxAttempt seconds.
+     */
+    public ListenableFuture<T> scheduleAsync(PollTask<T> task, int interval, int maxAttempt, int maxFailureTolerant) {
+        AsyncPolling polling = new AsyncPolling(task, interval, maxAttempt, maxFailureTolerant);
+        polling.next();
+        return polling.getResult();
     }
 
     public ListenableScheduledFuture<T> schedule(FetchTask<T> task, int interval) {
         return scheduler.schedule(task, interval, TimeUnit.SECONDS);
     }
 
+    private final class AsyncPolling implements FutureCallback<T>, Runnable {
+        private final PollTask<T> task;
+        private final PollingStrategy strategy;
+        private final long timeBudget;
+        private final int maxAttempt;
+        private final int maxFailureTolerant;
+        private final SettableFuture<T> result = SettableFuture.create();
+        private volatile ListenableScheduledFuture<T> attempt;
+        private int attempts;
+        private int failures;
+        private long delay;
+        private long waited;
+
+        private AsyncPolling(PollTask<T> task, int interval, int maxAttempt, int maxFailureTolerant) {
+            this.task = task;
+            this.strategy = pollingStrategyFactory.forTask(task, TimeUnit.SECONDS.toMillis(interval));
+            this.timeBudget = TimeUnit.SECONDS.toMillis((long) interval * maxAttempt);
+            this.maxAttempt = maxAttempt;
+            this.maxFailureTolerant = maxFailureTolerant;
+            result.addListener(this, MoreExecutors.sameThreadExecutor());
+            CancellationToken token = task.cancellationToken();
+            if (token != null) {
+                token.register(result);
+            }
+        }
+
+        private void next() {
+            try {
+                if (result.isDone()) {
+                    return;
+                } else if (task.cancelled()) {
+                    result.setException(new CancellationException("Task was cancelled."));
+                } else if (attempts >= maxAttempt || timeBudget > 0 && waited >= timeBudget) {
+                    result.setException(new TimeoutException(String.format("Task did not finished within %d seconds",
+                            TimeUnit.MILLISECONDS.toSeconds(waited))));
+                } else {
+                    attempts++;
+                    delay = strategy.nextDelay(attempts, delay);
+                    waited += delay;
+                    attempt = scheduler.schedule(task, delay, TimeUnit.MILLISECONDS);
+                    Futures.addCallback(attempt, this);
+                }
+            } catch (RuntimeException e) {
+                result.setException(e);
+            }
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            try {
+                if (task.completed(value)) {
+                    result.set(value);
+                } else {
+                    next();
+                }
+            } catch (RuntimeException e) {
+                onFailure(e);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            if (result.isDone()) {
+                return;
+            }
+            failures++;
+            if (failures >= maxFailureTolerant) {
+                result.setException(t);
+            } else {
+                next();
+            }
+        }
+
+        @Override
+        public void run() {
+            ListenableScheduledFuture<T> scheduled = attempt;
+            if (result.isCancelled() && scheduled != null) {
+                scheduled.cancel(true);
+            }
+        }
+
+        private ListenableFuture<T> getResult() {
+            return result;
+        }
+    }
 }
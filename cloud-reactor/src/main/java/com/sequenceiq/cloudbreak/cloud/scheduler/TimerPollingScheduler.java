@@ -1,53 +1,119 @@
 package com.sequenceiq.cloudbreak.cloud.scheduler;
 
-import java.util.concurrent.CountDownLatch;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_POLLING_TIMER_TICK_MS;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.annotation.Scope;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import reactor.bus.EventBus;
-import reactor.fn.Consumer;
-import reactor.fn.Pausable;
-import reactor.fn.timer.Timer;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
 
+/**
+ * Schedules poll and timeout tasks on a timer wheel, so the pending timers cost one periodic tick instead of one scheduled future
+ * each. The ticker only runs while a timer is pending.
+ */
 @Component
-@Scope(value = "prototype")
-public class TimerPollingScheduler implements Consumer<Long> {
+public class TimerPollingScheduler implements Runnable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TimerPollingScheduler.class);
 
+    @Value("${cb.polling.timer.tick.ms:" + CB_POLLING_TIMER_TICK_MS + "}")
+    private long tickDuration;
+
     @Inject
-    private Timer timer;
+    private ListeningScheduledExecutorService scheduler;
 
     @Inject
-    private EventBus eventBus;
+    private SchedulerRepository schedulerRepository;
+
+    private volatile long startTime;
 
-    private CountDownLatch latch;
+    private ScheduledFuture<?> ticker;
 
-    private Pausable selfSchedule;
+    @PreDestroy
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.cancel(false);
+            ticker = null;
+        }
+    }
+
+    /**
+     * Runs the task after the delay, rounded up to the tick duration.
+     */
+    public PollTimer schedule(Long stackId, Runnable task, long delay, TimeUnit unit) {
+        long millis = unit.toMillis(delay);
+        long ticks = (millis + tickDuration - 1) / tickDuration;
+        PollTimer timer = schedulerRepository.add(stackId, task, ticks);
+        startTicker();
+        return timer;
+    }
+
+    /**
+     * Drops the pending timers of the stack and returns the number of dropped timers.
+     */
+    public int cancel(Long stackId) {
+        List<PollTimer> timers = schedulerRepository.removeGroup(stackId);
+        if (!timers.isEmpty()) {
+            LOGGER.info("{} pending timers of stack {} have been cancelled.", timers.size(), stackId);
+        }
+        return timers.size();
+    }
+
+    public int size() {
+        return schedulerRepository.size();
+    }
 
     @Override
-    public void accept(Long aLong) {
-        latch.countDown();
-        LOGGER.info("Schedule received: {}, count: {}", this, latch.getCount());
-        if (latch.getCount() == 0) {
-            cancel();
+    public void run() {
+        try {
+            expire(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) / tickDuration);
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to expire the timers.", e);
         }
+        stopTickerIfIdle();
+    }
 
+    synchronized boolean isTicking() {
+        return ticker != null;
+    }
 
+    void expire(long tick) {
+        for (PollTimer timer : schedulerRepository.advance(tick)) {
+            Long stackId = timer.getStackId();
+            if (stackId != null && InMemoryStateStore.getCancellationToken(stackId).isCancelled()) {
+                LOGGER.info("Stack {} is cancelled, its timers are dropped.", stackId);
+                cancel(stackId);
+                continue;
+            }
+            try {
+                scheduler.execute(timer.getTask());
+            } catch (RejectedExecutionException e) {
+                LOGGER.error("Failed to run the expired timer of stack {}.", stackId, e);
+            }
+        }
     }
 
-    public void schedule(int count, int period) {
-        this.latch = new CountDownLatch(count);
-        selfSchedule = timer.schedule(this, period, TimeUnit.SECONDS);
+    private synchronized void startTicker() {
+        if (ticker == null) {
+            startTime = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(schedulerRepository.getCurrentTick() * tickDuration);
+            ticker = scheduler.scheduleAtFixedRate(this, tickDuration, tickDuration, TimeUnit.MILLISECONDS);
+        }
     }
 
-    public void cancel() {
-        selfSchedule.cancel();
+    private synchronized void stopTickerIfIdle() {
+        if (schedulerRepository.size() == 0) {
+            stop();
+        }
     }
 }
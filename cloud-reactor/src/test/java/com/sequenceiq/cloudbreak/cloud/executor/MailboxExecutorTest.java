@@ -0,0 +1,108 @@
+package com.sequenceiq.cloudbreak.cloud.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class MailboxExecutorTest {
+
+    private static final Long KEY = 1L;
+
+    private MailboxExecutor underTest;
+    private Queue<Runnable> workerQueue;
+    private List<String> executed;
+
+    @Before
+    public void before() {
+        workerQueue = new ArrayDeque<>();
+        executed = new ArrayList<>();
+        underTest = new MailboxExecutor("test", new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                workerQueue.add(command);
+            }
+        });
+    }
+
+    @Test
+    public void testTasksOfAKeyShouldRunInSubmissionOrder() {
+        //GIVEN
+        underTest.execute(KEY, task("first"));
+        underTest.execute(KEY, task("second"));
+        //WHEN
+        drainWorkerQueue();
+        //THEN
+        assertEquals(Arrays.asList("first", "second"), executed);
+        assertEquals(0, underTest.getMailboxCount());
+    }
+
+    @Test
+    public void testMailboxShouldBeRescheduledAfterAFailedTask() {
+        //GIVEN
+        underTest.execute(KEY, new Runnable() {
+            @Override
+            public void run() {
+                throw new RuntimeException("failed");
+            }
+        });
+        underTest.execute(KEY, task("second"));
+        //WHEN
+        drainWorkerQueue();
+        //THEN
+        assertEquals(Arrays.asList("second"), executed);
+        assertEquals(0, underTest.getMailboxCount());
+    }
+
+    @Test
+    public void testMailboxShouldBeRescheduledWhenATaskThrowsAnError() {
+        //GIVEN
+        underTest.execute(KEY, new Runnable() {
+            @Override
+            public void run() {
+                throw new TestError();
+            }
+        });
+        underTest.execute(KEY, task("second"));
+        //WHEN
+        try {
+            workerQueue.poll().run();
+            fail("The error should have been propagated to the worker");
+        } catch (TestError e) {
+            drainWorkerQueue();
+        }
+        underTest.execute(KEY, task("third"));
+        drainWorkerQueue();
+        //THEN
+        assertEquals(Arrays.asList("second", "third"), executed);
+        assertEquals(0, underTest.getMailboxCount());
+    }
+
+    private void drainWorkerQueue() {
+        Runnable mailbox = workerQueue.poll();
+        while (mailbox != null) {
+            mailbox.run();
+            mailbox = workerQueue.poll();
+        }
+    }
+
+    private Runnable task(final String name) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                executed.add(name);
+            }
+        };
+    }
+
+    private static class TestError extends Error {
+    }
+}
@@ -53,6 +53,7 @@ import com.sequenceiq.cloudbreak.cloud.model.ResourceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.Variant;
 import com.sequenceiq.cloudbreak.cloud.model.Volume;
 import com.sequenceiq.cloudbreak.cloud.notification.PersistenceNotifier;
+import com.sequenceiq.cloudbreak.cloud.service.BatchPersister;
 import com.sequenceiq.cloudbreak.cloud.service.Persister;
 import com.sequenceiq.cloudbreak.common.type.AdjustmentType;
 import com.sequenceiq.cloudbreak.common.type.ResourceType;
@@ -96,6 +97,9 @@ public class TestApplicationContext {
     @Mock
     private Persister persister;
 
+    @Mock
+    private BatchPersister batchPersister;
+
     @Inject
     private ParameterGenerator g;
 
@@ -179,4 +183,9 @@ public class TestApplicationContext {
         return persister;
     }
 
+    @Bean
+    public BatchPersister getBatchPersister() {
+        return batchPersister;
+    }
+
 }
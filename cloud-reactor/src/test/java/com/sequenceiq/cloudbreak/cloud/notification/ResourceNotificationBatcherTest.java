@@ -0,0 +1,125 @@
+package com.sequenceiq.cloudbreak.cloud.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
+import com.sequenceiq.cloudbreak.cloud.model.CloudResource;
+import com.sequenceiq.cloudbreak.cloud.notification.model.ResourceNotification;
+import com.sequenceiq.cloudbreak.cloud.notification.model.ResourceNotificationType;
+import com.sequenceiq.cloudbreak.cloud.service.BatchPersister;
+import com.sequenceiq.cloudbreak.common.type.ResourceType;
+
+public class ResourceNotificationBatcherTest {
+
+    private static final long TIMEOUT = 5000;
+
+    @InjectMocks
+    private ResourceNotificationBatcher underTest;
+
+    @Mock
+    private BatchPersister<ResourceNotification> batchPersister;
+
+    @Before
+    public void setUp() {
+        underTest = new ResourceNotificationBatcher();
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(underTest, "batchSize", 4);
+        ReflectionTestUtils.setField(underTest, "flushInterval", 100L);
+    }
+
+    @After
+    public void tearDown() {
+        underTest.stop();
+    }
+
+    @Test
+    public void testNotificationsAreGroupedByStackAndType() throws Exception {
+        ResourceNotification first = notification(1L, "first", ResourceNotificationType.CREATE);
+        ResourceNotification second = notification(1L, "second", ResourceNotificationType.CREATE);
+        ResourceNotification other = notification(2L, "other", ResourceNotificationType.CREATE);
+        ResourceNotification update = notification(1L, "first", ResourceNotificationType.UPDATE);
+        underTest.add(first);
+        underTest.add(second);
+        underTest.add(other);
+        underTest.add(update);
+
+        underTest.start();
+
+        for (ResourceNotification notification : Arrays.asList(first, second, other, update)) {
+            assertTrue(notification.getPromise().awaitSuccess(TIMEOUT, TimeUnit.MILLISECONDS));
+        }
+        InOrder inOrder = inOrder(batchPersister);
+        inOrder.verify(batchPersister).persistAll(Arrays.asList(first, second));
+        inOrder.verify(batchPersister).updateAll(Arrays.asList(update));
+        verify(batchPersister).persistAll(Arrays.asList(other));
+    }
+
+    @Test
+    public void testBatchIsFlushedWhenTheIntervalElapses() throws Exception {
+        ResourceNotification notification = notification(1L, "first", ResourceNotificationType.DELETE);
+        underTest.start();
+
+        underTest.add(notification);
+
+        assertTrue(notification.getPromise().awaitSuccess(TIMEOUT, TimeUnit.MILLISECONDS));
+        verify(batchPersister).deleteAll(Arrays.asList(notification));
+    }
+
+    @Test
+    public void testPromisesFailWhenTheGroupCannotBePersisted() throws Exception {
+        ResourceNotification first = notification(1L, "first", ResourceNotificationType.CREATE);
+        ResourceNotification second = notification(1L, "second", ResourceNotificationType.CREATE);
+        doThrow(new IllegalStateException("failed")).when(batchPersister).persistAll(anyList());
+        underTest.add(first);
+        underTest.add(second);
+
+        underTest.start();
+
+        for (ResourceNotification notification : Arrays.asList(first, second)) {
+            try {
+                notification.getPromise().awaitSuccess(TIMEOUT, TimeUnit.MILLISECONDS);
+                fail("The promise should have been completed with an error");
+            } catch (IllegalStateException e) {
+                assertEquals("failed", e.getMessage());
+            }
+        }
+        verify(batchPersister, times(1)).persistAll(anyList());
+    }
+
+    @Test
+    public void testTransientFailuresAreRetried() throws Exception {
+        ResourceNotification notification = notification(1L, "first", ResourceNotificationType.CREATE);
+        doThrow(new QueryTimeoutException("timeout")).doNothing().when(batchPersister).persistAll(anyList());
+        underTest.add(notification);
+
+        underTest.start();
+
+        assertTrue(notification.getPromise().awaitSuccess(TIMEOUT, TimeUnit.MILLISECONDS));
+        verify(batchPersister, times(2)).persistAll(Arrays.asList(notification));
+    }
+
+    private ResourceNotification notification(Long stackId, String name, ResourceNotificationType type) {
+        CloudResource resource = new CloudResource.Builder().type(ResourceType.HEAT_STACK).name(name).build();
+        return new ResourceNotification(resource, new CloudContext(stackId, "stack", "OPENSTACK", "owner"), type);
+    }
+}
@@ -0,0 +1,165 @@
+package com.sequenceiq.cloudbreak.cloud.reactor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
+import com.sequenceiq.cloudbreak.cloud.event.CloudPlatformRequest;
+import com.sequenceiq.cloudbreak.cloud.executor.ExecutorRegistry;
+import com.sequenceiq.cloudbreak.cloud.executor.MailboxExecutor;
+
+import reactor.bus.Event;
+import reactor.fn.Consumer;
+
+public class ChannelRoutingDispatcherTest {
+
+    private static final int POOL_SIZE = 1;
+    private static final int QUEUE_CAPACITY = 10;
+    private static final long TIMEOUT = 5000L;
+    private static final int SERIAL_POOL_SIZE = 4;
+    private static final int SERIAL_EVENT_COUNT = 200;
+    private static final Long STACK_ID = 1L;
+    private static final Long OTHER_STACK_ID = 2L;
+
+    private ChannelRoutingDispatcher underTest;
+    private ExecutorRegistry executorRegistry;
+
+    @Before
+    public void before() {
+        underTest = new ChannelRoutingDispatcher();
+        executorRegistry = new ExecutorRegistry();
+        ReflectionTestUtils.setField(executorRegistry, "environment", new StandardEnvironment());
+        ReflectionTestUtils.setField(executorRegistry, "rejectionPolicy", "fail-fast");
+        ReflectionTestUtils.setField(underTest, "executorRegistry", executorRegistry);
+        ReflectionTestUtils.setField(underTest, "environment", new StandardEnvironment());
+        ReflectionTestUtils.setField(underTest, "flowsPoolSize", POOL_SIZE);
+        ReflectionTestUtils.setField(underTest, "platformPoolSize", POOL_SIZE);
+        ReflectionTestUtils.setField(underTest, "eventsPoolSize", POOL_SIZE);
+        ReflectionTestUtils.setField(underTest, "persistencePoolSize", POOL_SIZE);
+        ReflectionTestUtils.setField(underTest, "queueCapacity", QUEUE_CAPACITY);
+        ReflectionTestUtils.setField(underTest, "flowExecutionMode", "locked");
+    }
+
+    @After
+    public void after() {
+        underTest.shutdown();
+        executorRegistry.shutdown();
+    }
+
+    @Test
+    public void testChannelOfShouldRouteTheEventsByKeyAndPlatformVariant() {
+        //GIVEN
+        //WHEN
+        //THEN
+        assertEquals(ChannelRoutingDispatcher.EVENTS, underTest.channelOf(event("CLOUDBREAK_EVENT", "event")));
+        assertEquals(ChannelRoutingDispatcher.PERSISTENCE, underTest.channelOf(event("resource-persisted", "notification")));
+        assertEquals(ChannelRoutingDispatcher.FLOWS, underTest.channelOf(event("PROVISIONING_SETUP", "context")));
+        assertEquals("aws", underTest.channelOf(event("LAUNCHSTACKREQUEST", request("AWS", "AWS"))));
+        assertEquals("gcp", underTest.channelOf(event("LAUNCHSTACKREQUEST", request("GCP", null))));
+        assertEquals("openstack-heat", underTest.channelOf(event("LAUNCHSTACKREQUEST", request("OPENSTACK", "HEAT"))));
+    }
+
+    @Test
+    public void testBlockedPlatformShouldNotStallTheOtherChannels() throws Exception {
+        //GIVEN
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch processed = new CountDownLatch(2);
+        Consumer<Event<?>> blocking = new Consumer<Event<?>>() {
+            @Override
+            public void accept(Event<?> event) {
+                try {
+                    release.await(TIMEOUT, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        Consumer<Event<?>> counting = new Consumer<Event<?>>() {
+            @Override
+            public void accept(Event<?> event) {
+                processed.countDown();
+            }
+        };
+        //WHEN
+        underTest.dispatch(event("LAUNCHSTACKREQUEST", request("OPENSTACK", "HEAT")), blocking, null);
+        underTest.dispatch(event("LAUNCHSTACKREQUEST", request("AWS", "AWS")), counting, null);
+        underTest.dispatch(event("CLOUDBREAK_EVENT", "event"), counting, null);
+        //THEN
+        assertTrue(processed.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertEquals(POOL_SIZE, executorRegistry.getExecutor("eventbus-openstack-heat").getMaximumPoolSize());
+        assertEquals(QUEUE_CAPACITY, executorRegistry.getExecutor("eventbus-aws").getQueue().remainingCapacity());
+    }
+
+    @Test
+    public void testSerialModeShouldProcessTheEventsOfAStackInOrder() throws Exception {
+        //GIVEN
+        ReflectionTestUtils.setField(underTest, "flowExecutionMode", "serial");
+        ReflectionTestUtils.setField(underTest, "flowsPoolSize", SERIAL_POOL_SIZE);
+        ReflectionTestUtils.setField(underTest, "queueCapacity", SERIAL_EVENT_COUNT * 2);
+        final List<Integer> processedEvents = Collections.synchronizedList(new ArrayList<Integer>());
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+        final CountDownLatch processed = new CountDownLatch(SERIAL_EVENT_COUNT * 2);
+        Consumer<Event<Integer>> consumer = new Consumer<Event<Integer>>() {
+            @Override
+            public void accept(Event<Integer> event) {
+                if (STACK_ID.equals(event.getHeaders().get(ChannelRoutingDispatcher.MAILBOX_HEADER))) {
+                    if (running.incrementAndGet() > 1 || !STACK_ID.equals(MailboxExecutor.currentKey())) {
+                        overlapped.set(true);
+                    }
+                    processedEvents.add(event.getData());
+                    running.decrementAndGet();
+                }
+                processed.countDown();
+            }
+        };
+        //WHEN
+        for (int i = 0; i < SERIAL_EVENT_COUNT; i++) {
+            underTest.dispatch(flowEvent(STACK_ID, i), consumer, null);
+            underTest.dispatch(flowEvent(OTHER_STACK_ID, i), consumer, null);
+        }
+        //THEN
+        assertTrue(processed.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertFalse(overlapped.get());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < SERIAL_EVENT_COUNT; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, processedEvents);
+        assertEquals(STACK_ID, underTest.mailboxOf(ChannelRoutingDispatcher.FLOWS, flowEvent(STACK_ID, 0)));
+        assertNull(underTest.mailboxOf(ChannelRoutingDispatcher.FLOWS, event("PROVISIONING_SETUP", "context")));
+    }
+
+    private Event<Integer> flowEvent(Long stackId, int data) {
+        Event.Headers headers = new Event.Headers();
+        headers.set(ChannelRoutingDispatcher.MAILBOX_HEADER, stackId);
+        Event<Integer> event = new Event<>(headers, data);
+        event.setKey("STACK_START");
+        return event;
+    }
+
+    private Event<?> event(String key, Object data) {
+        return Event.wrap(data).setKey(key);
+    }
+
+    private CloudPlatformRequest<Object> request(String platform, String variant) {
+        return new CloudPlatformRequest<>(new CloudContext(1L, "stack", platform, "owner", variant, null), null);
+    }
+}
@@ -0,0 +1,111 @@
+package com.sequenceiq.cloudbreak.cloud.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class PollingStrategyFactoryTest {
+
+    private static final long INTERVAL = 1000;
+    private static final long MINUTE = 60000;
+
+    private PollingStrategyFactory underTest;
+    private MockEnvironment environment;
+
+    @Before
+    public void before() {
+        underTest = new PollingStrategyFactory();
+        environment = new MockEnvironment();
+        ReflectionTestUtils.setField(underTest, "environment", environment);
+    }
+
+    @Test
+    public void testTasksWithoutHintsShouldBePolledAtTheFixedInterval() {
+        //WHEN
+        PollingStrategy strategy = underTest.forTask(new Object(), INTERVAL);
+        //THEN
+        assertEquals(INTERVAL, strategy.nextDelay(1, 0));
+        assertEquals(INTERVAL, strategy.nextDelay(2, INTERVAL));
+    }
+
+    @Test
+    public void testHintedTasksShouldBackOffUpToATenthOfTheExpectedDuration() {
+        //GIVEN
+        PollingHints hints = new TestHints(10 * MINUTE);
+        //WHEN
+        PollingStrategy strategy = underTest.forTask(hints, INTERVAL);
+        //THEN
+        assertEquals(INTERVAL, strategy.nextDelay(1, 0));
+        assertEquals(2 * INTERVAL, strategy.nextDelay(2, INTERVAL));
+        assertEquals(MINUTE, strategy.nextDelay(3, 50 * INTERVAL));
+    }
+
+    @Test
+    public void testMaxIntervalAndMultiplierShouldBeConfigurablePerType() {
+        //GIVEN
+        environment.setProperty("cb.polling.test.max.interval.ms", "5000");
+        environment.setProperty("cb.polling.test.multiplier", "3");
+        //WHEN
+        PollingStrategy strategy = underTest.forTask(new TestHints(0), INTERVAL);
+        //THEN
+        assertEquals(3 * INTERVAL, strategy.nextDelay(2, INTERVAL));
+        assertEquals(5 * INTERVAL, strategy.nextDelay(3, 3 * INTERVAL));
+    }
+
+    @Test
+    public void testFixedStrategyShouldBeConfigurablePerType() {
+        //GIVEN
+        environment.setProperty("cb.polling.test.strategy", "fixed");
+        //WHEN
+        PollingStrategy strategy = underTest.forTask(new TestHints(10 * MINUTE), INTERVAL);
+        //THEN
+        assertEquals(INTERVAL, strategy.nextDelay(2, INTERVAL));
+    }
+
+    @Test
+    public void testUnknownStrategyShouldFallBackToFixedInterval() {
+        //GIVEN
+        environment.setProperty("cb.polling.strategy", "unknown");
+        //WHEN
+        PollingStrategy strategy = underTest.forTask(new TestHints(10 * MINUTE), INTERVAL);
+        //THEN
+        assertEquals(INTERVAL, strategy.nextDelay(2, INTERVAL));
+    }
+
+    @Test
+    public void testJitterShouldStayBetweenTheBaseAndTheMaxInterval() {
+        //GIVEN
+        environment.setProperty("cb.polling.test.strategy", "jitter");
+        PollingStrategy strategy = underTest.forTask(new TestHints(10 * MINUTE), INTERVAL);
+        long delay = 0;
+        //WHEN
+        for (int attempt = 1; attempt <= 100; attempt++) {
+            delay = strategy.nextDelay(attempt, delay);
+            //THEN
+            assertTrue(delay >= INTERVAL && delay <= MINUTE);
+        }
+    }
+
+    private static class TestHints implements PollingHints {
+
+        private final long expectedDuration;
+
+        TestHints(long expectedDuration) {
+            this.expectedDuration = expectedDuration;
+        }
+
+        @Override
+        public String pollingType() {
+            return "test";
+        }
+
+        @Override
+        public long expectedDuration() {
+            return expectedDuration;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.sequenceiq.cloudbreak.cloud.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.sequenceiq.cloudbreak.cloud.task.PollTask;
+
+public class SyncPollingSchedulerTest {
+
+    private static final int WAIT_SECONDS = 5;
+
+    private SyncPollingScheduler<String> underTest;
+    private ListeningScheduledExecutorService scheduler;
+    private PollTask<String> task;
+
+    @Before
+    public void before() {
+        underTest = new SyncPollingScheduler<>();
+        scheduler = MoreExecutors.listeningDecorator(Executors.newScheduledThreadPool(1));
+        PollingStrategyFactory pollingStrategyFactory = new PollingStrategyFactory();
+        ReflectionTestUtils.setField(pollingStrategyFactory, "environment", new MockEnvironment());
+        ReflectionTestUtils.setField(underTest, "scheduler", scheduler);
+        ReflectionTestUtils.setField(underTest, "pollingStrategyFactory", pollingStrategyFactory);
+        task = mock(PollTask.class);
+    }
+
+    @After
+    public void after() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testScheduleAsyncShouldCompleteWithTheFirstCompletedResult() throws Exception {
+        //GIVEN
+        given(task.call()).willReturn("pending", "done");
+        given(task.completed("pending")).willReturn(false);
+        given(task.completed("done")).willReturn(true);
+        //WHEN
+        String result = underTest.scheduleAsync(task, 0, 10, 1).get(WAIT_SECONDS, TimeUnit.SECONDS);
+        //THEN
+        assertEquals("done", result);
+        verify(task, times(2)).call();
+    }
+
+    @Test
+    public void testScheduleAsyncShouldToleratePollingFailures() throws Exception {
+        //GIVEN
+        given(task.call()).willThrow(new IllegalStateException("unreachable")).willReturn("done");
+        given(task.completed("done")).willReturn(true);
+        //WHEN
+        String result = underTest.scheduleAsync(task, 0, 10, 2).get(WAIT_SECONDS, TimeUnit.SECONDS);
+        //THEN
+        assertEquals("done", result);
+    }
+
+    @Test
+    public void testScheduleAsyncShouldFailWhenTheTaskIsCancelled() throws Exception {
+        //GIVEN
+        given(task.cancelled()).willReturn(true);
+        //WHEN
+        try {
+            underTest.scheduleAsync(task, 0, 10, 1).get(WAIT_SECONDS, TimeUnit.SECONDS);
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            //THEN
+            assertTrue(e.getCause() instanceof CancellationException);
+            verify(task, never()).call();
+        }
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void testScheduleShouldThrowTimeoutAfterMaxAttempts() throws Exception {
+        //GIVEN
+        given(task.call()).willReturn("pending");
+        //WHEN
+        underTest.schedule(task, 0, 3, 1);
+    }
+
+    @Test
+    public void testCancellingTheFutureShouldStopThePolling() throws Exception {
+        //GIVEN
+        given(task.call()).willReturn("pending");
+        ListenableFuture<String> future = underTest.scheduleAsync(task, 1, 10, 1);
+        //WHEN
+        future.cancel(false);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(2));
+        //THEN
+        assertTrue(future.isCancelled());
+        verify(task, atMost(1)).call();
+    }
+
+    @Test(expected = CancellationException.class)
+    public void testScheduleShouldBeCancelledWhenTheCancellationTokenIsCancelled() throws Exception {
+        //GIVEN
+        final CancellationToken token = new CancellationToken(1L);
+        given(task.cancellationToken()).willReturn(token);
+        given(task.call()).willReturn("pending");
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                token.cancel();
+            }
+        }, 1, TimeUnit.SECONDS);
+        //WHEN
+        underTest.schedule(task, 1, 10, 1);
+    }
+
+    @Test
+    public void testScheduleAsyncShouldBeCancelledRightAwayWhenTheTokenIsAlreadyCancelled() throws Exception {
+        //GIVEN
+        CancellationToken token = new CancellationToken(1L);
+        token.cancel();
+        given(task.cancellationToken()).willReturn(token);
+        //WHEN
+        ListenableFuture<String> future = underTest.scheduleAsync(task, 0, 10, 1);
+        //THEN
+        assertTrue(future.isCancelled());
+        verify(task, never()).call();
+    }
+}
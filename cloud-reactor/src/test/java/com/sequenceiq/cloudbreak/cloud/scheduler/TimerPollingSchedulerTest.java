@@ -0,0 +1,156 @@
+package com.sequenceiq.cloudbreak.cloud.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.util.concurrent.ListenableScheduledFuture;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
+
+public class TimerPollingSchedulerTest {
+
+    private static final long TICK = 100L;
+    private static final Long STACK_ID = 1L;
+    private static final Long OTHER_STACK_ID = 2L;
+    private static final int TIMER_COUNT = 20000;
+
+    private TimerPollingScheduler underTest;
+    private ListeningScheduledExecutorService scheduler;
+    private SchedulerRepository schedulerRepository;
+
+    @Before
+    public void before() {
+        underTest = new TimerPollingScheduler();
+        scheduler = mock(ListeningScheduledExecutorService.class);
+        schedulerRepository = new SchedulerRepository();
+        ReflectionTestUtils.setField(underTest, "tickDuration", TICK);
+        ReflectionTestUtils.setField(underTest, "scheduler", scheduler);
+        ReflectionTestUtils.setField(underTest, "schedulerRepository", schedulerRepository);
+    }
+
+    @After
+    public void after() {
+        InMemoryStateStore.delete(STACK_ID);
+    }
+
+    @Test
+    public void testTickerShouldBeStartedByTheFirstTimerAndStoppedWhenNoTimerIsPending() {
+        //GIVEN
+        ListenableScheduledFuture<?> ticker = mock(ListenableScheduledFuture.class);
+        doReturn(ticker).when(scheduler).scheduleAtFixedRate(underTest, TICK, TICK, TimeUnit.MILLISECONDS);
+        boolean tickingBeforeSchedule = underTest.isTicking();
+        //WHEN
+        PollTimer timer = underTest.schedule(STACK_ID, mock(Runnable.class), TICK, TimeUnit.MILLISECONDS);
+        underTest.schedule(STACK_ID, mock(Runnable.class), TICK, TimeUnit.MILLISECONDS);
+        underTest.cancel(STACK_ID);
+        underTest.run();
+        boolean tickingWhenIdle = underTest.isTicking();
+        underTest.schedule(STACK_ID, mock(Runnable.class), TICK, TimeUnit.MILLISECONDS);
+        //THEN
+        assertFalse(tickingBeforeSchedule);
+        assertFalse(timer.isExpired());
+        assertFalse(tickingWhenIdle);
+        assertTrue(underTest.isTicking());
+        verify(ticker).cancel(false);
+        verify(scheduler, times(2)).scheduleAtFixedRate(underTest, TICK, TICK, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testExpireShouldRunTheTaskWhenItsDelayElapsed() {
+        //GIVEN
+        Runnable task = mock(Runnable.class);
+        PollTimer timer = underTest.schedule(STACK_ID, task, 1, TimeUnit.SECONDS);
+        //WHEN
+        underTest.expire(9);
+        verify(scheduler, never()).execute(task);
+        underTest.expire(10);
+        //THEN
+        verify(scheduler).execute(task);
+        assertTrue(timer.isExpired());
+        assertEquals(0, underTest.size());
+    }
+
+    @Test
+    public void testExpireShouldCascadeTheTimersOfTheHigherLevels() {
+        //GIVEN
+        long[] delays = {63, 64, 65, 4095, 4096, 4097, 300000, 20000000};
+        Runnable[] tasks = new Runnable[delays.length];
+        for (int i = 0; i < delays.length; i++) {
+            tasks[i] = mock(Runnable.class);
+            underTest.schedule(STACK_ID, tasks[i], delays[i] * TICK, TimeUnit.MILLISECONDS);
+        }
+        //WHEN
+        //THEN
+        for (int i = 0; i < delays.length; i++) {
+            underTest.expire(delays[i] - 1);
+            verify(scheduler, never()).execute(tasks[i]);
+            underTest.expire(delays[i]);
+            verify(scheduler).execute(tasks[i]);
+        }
+        assertEquals(0, underTest.size());
+    }
+
+    @Test
+    public void testCancelShouldDropEveryTimerOfTheStack() {
+        //GIVEN
+        Runnable task = mock(Runnable.class);
+        Runnable otherTask = mock(Runnable.class);
+        for (int i = 0; i < TIMER_COUNT; i++) {
+            underTest.schedule(STACK_ID, task, i * TICK, TimeUnit.MILLISECONDS);
+        }
+        PollTimer other = underTest.schedule(OTHER_STACK_ID, otherTask, TICK, TimeUnit.MILLISECONDS);
+        //WHEN
+        int cancelled = underTest.cancel(STACK_ID);
+        underTest.expire(TIMER_COUNT);
+        //THEN
+        assertEquals(TIMER_COUNT, cancelled);
+        verify(scheduler, never()).execute(task);
+        verify(scheduler).execute(otherTask);
+        assertTrue(other.isExpired());
+    }
+
+    @Test
+    public void testCancelledTimerShouldNotRun() {
+        //GIVEN
+        Runnable task = mock(Runnable.class);
+        Runnable otherTask = mock(Runnable.class);
+        PollTimer timer = underTest.schedule(STACK_ID, task, TICK, TimeUnit.MILLISECONDS);
+        underTest.schedule(STACK_ID, otherTask, TICK, TimeUnit.MILLISECONDS);
+        //WHEN
+        assertTrue(timer.cancel());
+        underTest.expire(1);
+        //THEN
+        assertTrue(timer.isCancelled());
+        assertFalse(timer.cancel());
+        verify(scheduler, never()).execute(task);
+        verify(scheduler).execute(otherTask);
+    }
+
+    @Test
+    public void testExpireShouldDropTheTimersOfACancelledStack() {
+        //GIVEN
+        Runnable task = mock(Runnable.class);
+        underTest.schedule(STACK_ID, task, TICK, TimeUnit.MILLISECONDS);
+        underTest.schedule(STACK_ID, task, 2 * TICK, TimeUnit.MILLISECONDS);
+        InMemoryStateStore.put(STACK_ID, PollGroup.CANCELLED);
+        //WHEN
+        underTest.expire(1);
+        //THEN
+        verify(scheduler, never()).execute(any(Runnable.class));
+        assertEquals(0, underTest.size());
+    }
+}
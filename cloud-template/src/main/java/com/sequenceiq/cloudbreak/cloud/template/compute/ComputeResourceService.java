@@ -7,6 +7,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -30,6 +31,8 @@ import com.sequenceiq.cloudbreak.cloud.model.Group;
 import com.sequenceiq.cloudbreak.cloud.model.Image;
 import com.sequenceiq.cloudbreak.cloud.model.Platform;
 import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationException;
+import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationToken;
+import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
 import com.sequenceiq.cloudbreak.cloud.template.ComputeResourceBuilder;
 import com.sequenceiq.cloudbreak.cloud.template.context.ResourceBuilderContext;
 import com.sequenceiq.cloudbreak.cloud.template.init.ResourceBuilders;
@@ -72,8 +75,7 @@ public class ComputeResourceService {
             List<CloudInstance> instances = group.getInstances();
             for (int i = 0; i < instances.size(); i++) {
                 ResourceCreateThread thread = createThread(ResourceCreateThread.NAME, instances.get(i).getTemplate().getPrivateId(), group, ctx, auth, image);
-                Future<ResourceRequestResult<List<CloudResourceStatus>>> future = resourceBuilderExecutor.submit(thread);
-                futures.add(future);
+                futures.add(thread.start());
                 if (isRequestFullWithCloudPlatform(builders.size(), futures.size(), ctx)) {
                     Map<FutureResult, List<List<CloudResourceStatus>>> futureResultListMap = waitForRequests(futures);
                     results.addAll(flatList(futureResultListMap.get(FutureResult.SUCCESS)));
@@ -96,6 +98,7 @@ public class ComputeResourceService {
         List<CloudResourceStatus> results = new ArrayList<>();
         List<Future<ResourceRequestResult<List<CloudResourceStatus>>>> futures = new ArrayList<>();
         Platform platform = auth.getCloudContext().getPlatform();
+        CancellationToken token = cancellable ? InMemoryStateStore.getCancellationToken(auth.getCloudContext().getId()) : null;
         List<ComputeResourceBuilder> builders = resourceBuilders.compute(platform);
         int numberOfBuilders = builders.size();
         for (int i = numberOfBuilders - 1; i >= 0; i--) {
@@ -103,14 +106,13 @@ public class ComputeResourceService {
             List<CloudResource> resourceList = getResources(builder.resourceType(), resources);
             for (CloudResource cloudResource : resourceList) {
                 ResourceDeleteThread thread = createThread(ResourceDeleteThread.NAME, context, auth, cloudResource, builder, cancellable);
-                Future<ResourceRequestResult<List<CloudResourceStatus>>> future = resourceBuilderExecutor.submit(thread);
-                futures.add(future);
+                futures.add(submit(thread, token));
                 if (isRequestFull(futures.size(), context)) {
-                    results.addAll(flatList(waitForRequests(futures).get(FutureResult.SUCCESS)));
+                    results.addAll(flatList(waitForRequests(futures, token).get(FutureResult.SUCCESS)));
                 }
             }
             // wait for builder type to finish before starting the next one
-            results.addAll(flatList(waitForRequests(futures).get(FutureResult.SUCCESS)));
+            results.addAll(flatList(waitForRequests(futures, token).get(FutureResult.SUCCESS)));
         }
         return results;
     }
@@ -138,6 +140,7 @@ public class ComputeResourceService {
         List<CloudVmInstanceStatus> results = new ArrayList<>();
         List<Future<ResourceRequestResult<List<CloudVmInstanceStatus>>>> futures = new ArrayList<>();
         Platform platform = auth.getCloudContext().getPlatform();
+        CancellationToken token = InMemoryStateStore.getCancellationToken(auth.getCloudContext().getId());
         List<ComputeResourceBuilder> builders = resourceBuilders.compute(platform);
         if (!context.isBuild()) {
             Collections.reverse(builders);
@@ -148,21 +151,29 @@ public class ComputeResourceService {
                 CloudInstance instance = getCloudInstance(cloudResource, instances);
                 if (instance != null) {
                     ResourceStopStartThread thread = createThread(ResourceStopStartThread.NAME, context, auth, cloudResource, instance, builder);
-                    Future<ResourceRequestResult<List<CloudVmInstanceStatus>>> future = resourceBuilderExecutor.submit(thread);
-                    futures.add(future);
+                    futures.add(submit(thread, token));
                     if (isRequestFull(futures.size(), context)) {
-                        results.addAll(flatVmList(waitForRequests(futures).get(FutureResult.SUCCESS)));
+                        results.addAll(flatVmList(waitForRequests(futures, token).get(FutureResult.SUCCESS)));
                     }
                 } else {
                     break;
                 }
             }
         }
-        results.addAll(flatVmList(waitForRequests(futures).get(FutureResult.SUCCESS)));
+        results.addAll(flatVmList(waitForRequests(futures, token).get(FutureResult.SUCCESS)));
         return results;
     }
 
+    private <T> Future<T> submit(Callable<T> thread, CancellationToken token) {
+        Future<T> future = resourceBuilderExecutor.submit(thread);
+        return token == null ? future : token.register(future);
+    }
+
     private <T> Map<FutureResult, List<T>> waitForRequests(List<Future<ResourceRequestResult<T>>> futures) throws Exception {
+        return waitForRequests(futures, null);
+    }
+
+    private <T> Map<FutureResult, List<T>> waitForRequests(List<Future<ResourceRequestResult<T>>> futures, CancellationToken token) throws Exception {
         Map<FutureResult, List<T>> result = new HashMap<>();
         result.put(FutureResult.FAILED, new ArrayList<T>());
         result.put(FutureResult.SUCCESS, new ArrayList<T>());
@@ -177,12 +188,20 @@ public class ComputeResourceService {
                     result.get(FutureResult.SUCCESS).add(resourceRequestResult.getResult());
                 }
             }
+        } catch (java.util.concurrent.CancellationException e) {
+            throw new CancellationException("The requests have been cancelled.");
         } catch (InterruptedException | ExecutionException e) {
-            if (e instanceof CancellationException) {
-                throw e;
+            if (e.getCause() instanceof CancellationException) {
+                throw (CancellationException) e.getCause();
             } else {
                 LOGGER.error("Failed to execute the request", e);
             }
+        } finally {
+            if (token != null) {
+                for (Future<ResourceRequestResult<T>> future : futures) {
+                    token.unregister(future);
+                }
+            }
         }
         LOGGER.info("{} requests have finished, continue with next group", requests);
         futures.clear();
@@ -1,19 +1,22 @@
 package com.sequenceiq.cloudbreak.cloud.template.compute;
 
-import static com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup.CANCELLED;
-import static java.lang.String.format;
-
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import javax.inject.Inject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Scope;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Component;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
 import com.sequenceiq.cloudbreak.cloud.template.context.ResourceBuilderContext;
 import com.sequenceiq.cloudbreak.cloud.model.CloudResource;
@@ -23,17 +26,17 @@ import com.sequenceiq.cloudbreak.cloud.model.Image;
 import com.sequenceiq.cloudbreak.cloud.model.ResourceStatus;
 import com.sequenceiq.cloudbreak.cloud.notification.PersistenceNotifier;
 import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationException;
-import com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup;
-import com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler;
 import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
-import com.sequenceiq.cloudbreak.cloud.task.PollTask;
 import com.sequenceiq.cloudbreak.cloud.template.ComputeResourceBuilder;
 import com.sequenceiq.cloudbreak.cloud.template.init.ResourceBuilders;
-import com.sequenceiq.cloudbreak.cloud.template.task.ResourcePollTaskFactory;
+import com.sequenceiq.cloudbreak.cloud.template.task.ResourceStatusAggregator;
 
+/**
+ * Builds the compute resources of one instance without holding a thread while the resources of a builder are polled.
+ */
 @Component(ResourceCreateThread.NAME)
 @Scope(value = "prototype")
-public class ResourceCreateThread implements Callable<ResourceRequestResult<List<CloudResourceStatus>>> {
+public class ResourceCreateThread {
 
     public static final String NAME = "resourceCreateThread";
     private static final Logger LOGGER = LoggerFactory.getLogger(ResourceCreateThread.class);
@@ -41,17 +44,21 @@ public class ResourceCreateThread implements Callable<ResourceRequestResult<List
     @Inject
     private ResourceBuilders resourceBuilders;
     @Inject
-    private SyncPollingScheduler<List<CloudResourceStatus>> syncPollingScheduler;
-    @Inject
-    private ResourcePollTaskFactory resourcePollTaskFactory;
+    private ResourceStatusAggregator resourceStatusAggregator;
     @Inject
     private PersistenceNotifier resourceNotifier;
+    @Inject
+    private AsyncTaskExecutor resourceBuilderExecutor;
 
     private final long privateId;
     private final Group group;
     private final ResourceBuilderContext context;
     private final AuthenticatedContext auth;
     private final Image image;
+    private final List<CloudResourceStatus> results = new ArrayList<>();
+    private final List<CloudResource> buildableResources = new ArrayList<>();
+    private final SettableFuture<ResourceRequestResult<List<CloudResourceStatus>>> result = SettableFuture.create();
+    private volatile Future<?> step;
 
     public ResourceCreateThread(long privateId, Group group, ResourceBuilderContext context, AuthenticatedContext auth, Image image) {
         this.privateId = privateId;
@@ -61,43 +68,91 @@ public class ResourceCreateThread implements Callable<ResourceRequestResult<List
         this.image = image;
     }
 
-    @Override
-    public ResourceRequestResult<List<CloudResourceStatus>> call() throws Exception {
-        List<CloudResourceStatus> results = new ArrayList<>();
-        List<CloudResource> buildableResources = new ArrayList<>();
-        try {
-            for (ComputeResourceBuilder builder : resourceBuilders.compute(auth.getCloudContext().getPlatform())) {
-                LOGGER.info("Building {} resources of {} instance group", builder.resourceType(), group.getName());
-                List<CloudResource> list = builder.create(context, privateId, auth, group, image);
-                buildableResources.addAll(list);
-                createResource(auth, list);
-
-                PollGroup pollGroup = InMemoryStateStore.get(auth.getCloudContext().getId());
-                if (pollGroup != null && CANCELLED.equals(pollGroup)) {
-                    throw new CancellationException(format("Building of %s has been cancelled", list));
+    /**
+     * Starts building the resources, the returned future fails with {@link CancellationException} if the build is cancelled.
+     */
+    public ListenableFuture<ResourceRequestResult<List<CloudResourceStatus>>> start() {
+        result.addListener(new Runnable() {
+            @Override
+            public void run() {
+                Future<?> current = step;
+                if (result.isCancelled() && current != null) {
+                    current.cancel(true);
                 }
+            }
+        }, MoreExecutors.sameThreadExecutor());
+        InMemoryStateStore.getCancellationToken(auth.getCloudContext().getId()).register(result);
+        submit(resourceBuilders.compute(auth.getCloudContext().getPlatform()), 0);
+        return result;
+    }
 
-                List<CloudResource> resources = builder.build(context, privateId, auth, group, image, list);
-                updateResource(auth, resources);
-                context.addComputeResources(privateId, resources);
-                PollTask<List<CloudResourceStatus>> task = resourcePollTaskFactory.newPollResourceTask(builder, auth, resources, context, true);
-                List<CloudResourceStatus> pollerResult = syncPollingScheduler.schedule(task);
-                for (CloudResourceStatus resourceStatus : pollerResult) {
-                    resourceStatus.setPrivateId(privateId);
+    private void submit(final List<ComputeResourceBuilder> builders, final int index) {
+        try {
+            step = resourceBuilderExecutor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    build(builders, index);
                 }
-                results.addAll(pollerResult);
+            });
+        } catch (RuntimeException e) {
+            buildFailed(e);
+        }
+    }
+
+    private void build(final List<ComputeResourceBuilder> builders, final int index) {
+        if (result.isDone()) {
+            return;
+        } else if (index >= builders.size()) {
+            result.set(new ResourceRequestResult<>(FutureResult.SUCCESS, results));
+            return;
+        }
+        try {
+            ComputeResourceBuilder builder = builders.get(index);
+            LOGGER.info("Building {} resources of {} instance group", builder.resourceType(), group.getName());
+            List<CloudResource> list = builder.create(context, privateId, auth, group, image);
+            buildableResources.addAll(list);
+            createResource(auth, list);
+            if (result.isDone()) {
+                return;
             }
-        } catch (CancellationException e) {
-            throw e;
+            List<CloudResource> resources = builder.build(context, privateId, auth, group, image, list);
+            updateResource(auth, resources);
+            context.addComputeResources(privateId, resources);
+            ListenableFuture<List<CloudResourceStatus>> polling = resourceStatusAggregator.checkResources(builder, context, auth, resources, true);
+            step = polling;
+            Futures.addCallback(polling, new FutureCallback<List<CloudResourceStatus>>() {
+                @Override
+                public void onSuccess(List<CloudResourceStatus> pollerResult) {
+                    for (CloudResourceStatus resourceStatus : pollerResult) {
+                        resourceStatus.setPrivateId(privateId);
+                    }
+                    results.addAll(pollerResult);
+                    submit(builders, index + 1);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    buildFailed(t);
+                }
+            });
         } catch (Exception e) {
-            LOGGER.error("", e);
-            results.clear();
-            for (CloudResource buildableResource : buildableResources) {
-                results.add(new CloudResourceStatus(buildableResource, ResourceStatus.FAILED, e.getMessage(), privateId));
-            }
-            return new ResourceRequestResult<>(FutureResult.FAILED, results);
+            buildFailed(e);
+        }
+    }
+
+    private void buildFailed(Throwable t) {
+        if (result.isDone()) {
+            return;
+        } else if (t instanceof CancellationException || t instanceof java.util.concurrent.CancellationException) {
+            result.setException(new CancellationException(String.format("Building of %s has been cancelled", buildableResources)));
+            return;
+        }
+        LOGGER.error("", t);
+        results.clear();
+        for (CloudResource buildableResource : buildableResources) {
+            results.add(new CloudResourceStatus(buildableResource, ResourceStatus.FAILED, t.getMessage(), privateId));
         }
-        return new ResourceRequestResult<>(FutureResult.SUCCESS, results);
+        result.set(new ResourceRequestResult<>(FutureResult.FAILED, results));
     }
 
     private List<CloudResource> createResource(AuthenticatedContext auth, List<CloudResource> cloudResources) throws Exception {
@@ -1,6 +1,5 @@
 package com.sequenceiq.cloudbreak.cloud.template.compute;
 
-import static com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup.CANCELLED;
 import static java.util.Arrays.asList;
 
 import java.util.List;
@@ -19,12 +18,9 @@ import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
 import com.sequenceiq.cloudbreak.cloud.model.CloudResource;
 import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
-import com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup;
-import com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler;
 import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
-import com.sequenceiq.cloudbreak.cloud.task.PollTask;
 import com.sequenceiq.cloudbreak.cloud.template.ComputeResourceBuilder;
-import com.sequenceiq.cloudbreak.cloud.template.task.ResourcePollTaskFactory;
+import com.sequenceiq.cloudbreak.cloud.template.task.ResourceStatusAggregator;
 
 @Component(ResourceStopStartThread.NAME)
 @Scope(value = "prototype")
@@ -34,9 +30,7 @@ public class ResourceStopStartThread implements Callable<ResourceRequestResult<L
     private static final Logger LOGGER = LoggerFactory.getLogger(ResourceStopStartThread.class);
 
     @Inject
-    private SyncPollingScheduler<List<CloudVmInstanceStatus>> syncPollingScheduler;
-    @Inject
-    private ResourcePollTaskFactory resourcePollTaskFactory;
+    private ResourceStatusAggregator resourceStatusAggregator;
 
     private final ResourceBuilderContext context;
     private final AuthenticatedContext auth;
@@ -56,15 +50,13 @@ public class ResourceStopStartThread implements Callable<ResourceRequestResult<L
     @Override
     public ResourceRequestResult<List<CloudVmInstanceStatus>> call() throws Exception {
         LOGGER.info("{} compute resource {}", context.isBuild() ? "Starting" : "Stopping", resource);
-        PollGroup pollGroup = InMemoryStateStore.get(auth.getCloudContext().getId());
-        if (pollGroup != null && CANCELLED.equals(pollGroup)) {
+        if (InMemoryStateStore.getCancellationToken(auth.getCloudContext().getId()).isCancelled()) {
             List<CloudVmInstanceStatus> result = createResult(InstanceStatus.UNKNOWN);
             return new ResourceRequestResult<>(FutureResult.SUCCESS, result);
         }
         CloudVmInstanceStatus status = context.isBuild() ? builder.start(context, auth, instance) : builder.stop(context, auth, instance);
         if (status != null) {
-            PollTask<List<CloudVmInstanceStatus>> task = resourcePollTaskFactory.newPollComputeStatusTask(builder, auth, context, status.getCloudInstance());
-            List<CloudVmInstanceStatus> pollResult = syncPollingScheduler.schedule(task);
+            List<CloudVmInstanceStatus> pollResult = resourceStatusAggregator.checkInstances(builder, context, auth, status.getCloudInstance(), true).get();
             return new ResourceRequestResult<>(FutureResult.SUCCESS, pollResult);
         }
         return new ResourceRequestResult<>(FutureResult.SUCCESS, createResult(InstanceStatus.UNKNOWN));
@@ -1,6 +1,5 @@
 package com.sequenceiq.cloudbreak.cloud.template.network;
 
-import static com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup.CANCELLED;
 import static java.util.Arrays.asList;
 
 import java.util.ArrayList;
@@ -19,7 +18,7 @@ import com.sequenceiq.cloudbreak.cloud.model.Network;
 import com.sequenceiq.cloudbreak.cloud.model.Platform;
 import com.sequenceiq.cloudbreak.cloud.model.Security;
 import com.sequenceiq.cloudbreak.cloud.notification.PersistenceNotifier;
-import com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup;
+import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationToken;
 import com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler;
 import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
 import com.sequenceiq.cloudbreak.cloud.task.PollTask;
@@ -46,9 +45,9 @@ public class NetworkResourceService {
             AuthenticatedContext auth, Network network, Security security) throws Exception {
         CloudContext cloudContext = auth.getCloudContext();
         List<CloudResourceStatus> results = new ArrayList<>();
+        CancellationToken token = InMemoryStateStore.getCancellationToken(cloudContext.getId());
         for (NetworkResourceBuilder builder : resourceBuilders.network(cloudContext.getPlatform())) {
-            PollGroup pollGroup = InMemoryStateStore.get(auth.getCloudContext().getId());
-            if (pollGroup != null && CANCELLED.equals(pollGroup)) {
+            if (token.isCancelled()) {
                 break;
             }
             CloudResource buildableResource = builder.create(context, auth);
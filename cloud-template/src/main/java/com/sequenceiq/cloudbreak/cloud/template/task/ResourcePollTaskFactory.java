@@ -9,12 +9,9 @@ import org.springframework.stereotype.Component;
 
 import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
 import com.sequenceiq.cloudbreak.cloud.template.context.ResourceBuilderContext;
-import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
 import com.sequenceiq.cloudbreak.cloud.model.CloudResource;
 import com.sequenceiq.cloudbreak.cloud.model.CloudResourceStatus;
-import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.task.PollTask;
-import com.sequenceiq.cloudbreak.cloud.template.ComputeResourceBuilder;
 import com.sequenceiq.cloudbreak.cloud.template.ResourceChecker;
 
 @Component
@@ -27,11 +24,6 @@ public class ResourcePollTaskFactory {
         return createPollTask(PollResourceTask.NAME, authenticatedContext, checker, cloudResource, context, cancellable);
     }
 
-    public PollTask<List<CloudVmInstanceStatus>> newPollComputeStatusTask(ComputeResourceBuilder builder, AuthenticatedContext authenticatedContext,
-            ResourceBuilderContext context, CloudInstance instance) {
-        return createPollTask(PollComputeStatusTask.NAME, authenticatedContext, builder, context, instance);
-    }
-
     @SuppressWarnings("unchecked")
     private <T> T createPollTask(String name, Object... args) {
         return (T) applicationContext.getBean(name, args);
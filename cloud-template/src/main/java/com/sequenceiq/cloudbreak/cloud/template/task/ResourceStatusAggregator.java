@@ -0,0 +1,254 @@
+package com.sequenceiq.cloudbreak.cloud.template.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.google.common.util.concurrent.SettableFuture;
+import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
+import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
+import com.sequenceiq.cloudbreak.cloud.model.CloudResource;
+import com.sequenceiq.cloudbreak.cloud.model.CloudResourceStatus;
+import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
+import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
+import com.sequenceiq.cloudbreak.cloud.template.ComputeResourceBuilder;
+import com.sequenceiq.cloudbreak.cloud.template.ResourceChecker;
+import com.sequenceiq.cloudbreak.cloud.template.context.ResourceBuilderContext;
+
+/**
+ * Polls the resources of the compute resource threads in batches: the requests of the same stack, builder and contexts are
+ * checked with one call at every tick.
+ */
+@Component
+public class ResourceStatusAggregator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceStatusAggregator.class);
+
+    private static final int POLLING_INTERVAL = 5;
+    private static final int MAX_POLLING_ATTEMPT = 1000;
+    private static final int FAILURE_TOLERANT_ATTEMPT = 3;
+
+    @Inject
+    private ListeningScheduledExecutorService scheduler;
+
+    private final Map<List<Object>, Batch<?, ?>> batches = new HashMap<>();
+
+    public ListenableFuture<List<CloudResourceStatus>> checkResources(final ResourceChecker checker, final ResourceBuilderContext context,
+            final AuthenticatedContext auth, List<CloudResource> resources, boolean cancellable) {
+        List<Object> key = Arrays.<Object>asList(auth.getCloudContext().getId(), checker, context, auth, CloudResource.class);
+        Batch<CloudResource, CloudResourceStatus> batch = new Batch<CloudResource, CloudResourceStatus>(key) {
+            @Override
+            protected List<CloudResourceStatus> check(List<CloudResource> items) {
+                return checker.checkResources(context, auth, items);
+            }
+
+            @Override
+            protected CloudResource itemOf(CloudResourceStatus status) {
+                return status.getCloudResource();
+            }
+
+            @Override
+            protected boolean isTransient(CloudResourceStatus status) {
+                return status.getStatus().isTransient();
+            }
+        };
+        return submit(batch, resources, auth, cancellable);
+    }
+
+    public ListenableFuture<List<CloudVmInstanceStatus>> checkInstances(final ComputeResourceBuilder builder, final ResourceBuilderContext context,
+            final AuthenticatedContext auth, CloudInstance instance, boolean cancellable) {
+        List<Object> key = Arrays.<Object>asList(auth.getCloudContext().getId(), builder, context, auth, CloudInstance.class);
+        Batch<CloudInstance, CloudVmInstanceStatus> batch = new Batch<CloudInstance, CloudVmInstanceStatus>(key) {
+            @Override
+            protected List<CloudVmInstanceStatus> check(List<CloudInstance> items) {
+                return builder.checkInstances(context, auth, items);
+            }
+
+            @Override
+            protected CloudInstance itemOf(CloudVmInstanceStatus status) {
+                return status.getCloudInstance();
+            }
+
+            @Override
+            protected boolean isTransient(CloudVmInstanceStatus status) {
+                return status.getStatus().isTransient();
+            }
+        };
+        return submit(batch, Arrays.asList(instance), auth, cancellable);
+    }
+
+    private <R, S> ListenableFuture<List<S>> submit(Batch<R, S> newBatch, List<R> items, AuthenticatedContext auth, boolean cancellable) {
+        ListenableFuture<List<S>> result;
+        synchronized (batches) {
+            Batch<R, S> batch = (Batch<R, S>) batches.get(newBatch.key);
+            if (batch == null) {
+                batch = newBatch;
+                batches.put(batch.key, batch);
+                scheduler.schedule(batch, POLLING_INTERVAL, TimeUnit.SECONDS);
+            }
+            result = batch.add(items);
+        }
+        if (cancellable) {
+            InMemoryStateStore.getCancellationToken(auth.getCloudContext().getId()).register(result);
+        }
+        return result;
+    }
+
+    private abstract class Batch<R, S> implements Runnable {
+        private final List<Object> key;
+        private final List<Request> requests = new ArrayList<>();
+
+        private Batch(List<Object> key) {
+            this.key = key;
+        }
+
+        protected abstract List<S> check(List<R> items);
+
+        protected abstract R itemOf(S status);
+
+        protected abstract boolean isTransient(S status);
+
+        private ListenableFuture<List<S>> add(List<R> items) {
+            Request request = new Request(items);
+            requests.add(request);
+            return request.result;
+        }
+
+        @Override
+        public void run() {
+            List<Request> current;
+            synchronized (batches) {
+                current = new ArrayList<>(requests);
+            }
+            try {
+                tick(current);
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to check the status of the resources", e);
+                for (Request request : current) {
+                    request.result.setException(e);
+                }
+            }
+            synchronized (batches) {
+                Iterator<Request> iterator = requests.iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().result.isDone()) {
+                        iterator.remove();
+                    }
+                }
+                if (!requests.isEmpty()) {
+                    try {
+                        scheduler.schedule(this, POLLING_INTERVAL, TimeUnit.SECONDS);
+                        return;
+                    } catch (RuntimeException e) {
+                        LOGGER.error("Failed to schedule the next status check", e);
+                        for (Request request : requests) {
+                            request.result.setException(e);
+                        }
+                    }
+                }
+                batches.remove(key);
+            }
+        }
+
+        private void tick(List<Request> current) {
+            List<Request> active = new ArrayList<>();
+            List<R> items = new ArrayList<>();
+            for (Request request : current) {
+                if (!request.result.isDone()) {
+                    active.add(request);
+                    items.addAll(request.items);
+                }
+            }
+            if (active.isEmpty()) {
+                return;
+            }
+            LOGGER.info("Checking the status of {} resources of {} requests in one batch", items.size(), active.size());
+            Map<R, S> statuses;
+            try {
+                statuses = index(check(items));
+            } catch (Exception e) {
+                LOGGER.warn("Batched status check failed, checking the requests one by one: {}", e.getMessage());
+                for (Request request : active) {
+                    checkOne(request);
+                }
+                return;
+            }
+            for (Request request : active) {
+                if (active.size() > 1 && !statuses.keySet().containsAll(request.items)) {
+                    checkOne(request);
+                } else {
+                    request.update(statuses);
+                }
+            }
+        }
+
+        private void checkOne(Request request) {
+            try {
+                request.update(index(check(request.items)));
+            } catch (Exception e) {
+                request.failed(e);
+            }
+        }
+
+        private Map<R, S> index(List<S> statuses) {
+            Map<R, S> result = new IdentityHashMap<>();
+            for (S status : statuses) {
+                result.put(itemOf(status), status);
+            }
+            return result;
+        }
+
+        private final class Request {
+            private final List<R> items;
+            private final SettableFuture<List<S>> result = SettableFuture.create();
+            private int attempts;
+            private int failures;
+
+            private Request(List<R> items) {
+                this.items = items;
+            }
+
+            private void update(Map<R, S> statuses) {
+                attempts++;
+                List<S> itemStatuses = new ArrayList<>();
+                boolean finished = true;
+                for (R item : items) {
+                    S status = statuses.get(item);
+                    if (status == null || isTransient(status)) {
+                        finished = false;
+                    }
+                    if (status != null) {
+                        itemStatuses.add(status);
+                    }
+                }
+                if (finished) {
+                    result.set(itemStatuses);
+                } else if (attempts >= MAX_POLLING_ATTEMPT) {
+                    result.setException(new TimeoutException(String.format("Task did not finished within %d seconds",
+                            POLLING_INTERVAL * MAX_POLLING_ATTEMPT)));
+                }
+            }
+
+            private void failed(Exception e) {
+                failures++;
+                if (failures >= FAILURE_TOLERANT_ATTEMPT) {
+                    result.setException(e);
+                }
+            }
+        }
+    }
+}
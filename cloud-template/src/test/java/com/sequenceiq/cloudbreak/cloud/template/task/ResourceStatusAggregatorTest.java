@@ -0,0 +1,255 @@
+package com.sequenceiq.cloudbreak.cloud.template.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
+import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
+import com.sequenceiq.cloudbreak.cloud.model.CloudResource;
+import com.sequenceiq.cloudbreak.cloud.model.CloudResourceStatus;
+import com.sequenceiq.cloudbreak.cloud.model.ResourceStatus;
+import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
+import com.sequenceiq.cloudbreak.cloud.template.ResourceChecker;
+import com.sequenceiq.cloudbreak.cloud.template.context.ResourceBuilderContext;
+import com.sequenceiq.cloudbreak.common.type.ResourceType;
+
+public class ResourceStatusAggregatorTest {
+
+    private static final Long STACK_ID = 1L;
+
+    @InjectMocks
+    private ResourceStatusAggregator underTest;
+
+    @Mock
+    private ListeningScheduledExecutorService scheduler;
+
+    @Mock
+    private ResourceChecker<ResourceBuilderContext> checker;
+
+    private final Map<String, ResourceStatus> statuses = new HashMap<>();
+    private final Set<String> failingResources = new HashSet<>();
+    private final List<List<String>> checkedResources = new ArrayList<>();
+    private final List<ResourceBuilderContext> checkedContexts = new ArrayList<>();
+
+    private boolean firstResourceOnly;
+    private int executedTasks;
+    private AuthenticatedContext auth;
+    private ResourceBuilderContext context;
+
+    @Before
+    public void before() {
+        underTest = new ResourceStatusAggregator();
+        MockitoAnnotations.initMocks(this);
+        auth = new AuthenticatedContext(new CloudContext(STACK_ID, "stack", "GCP", "owner"), new CloudCredential(1L, "credential", "key", "user"));
+        context = new ResourceBuilderContext("stack", null, 1);
+        when(checker.checkResources(any(ResourceBuilderContext.class), any(AuthenticatedContext.class), anyList())).thenAnswer(
+                new Answer<List<CloudResourceStatus>>() {
+                    @Override
+                    public List<CloudResourceStatus> answer(InvocationOnMock invocation) {
+                        return check((ResourceBuilderContext) invocation.getArguments()[0], (List<CloudResource>) invocation.getArguments()[2]);
+                    }
+                });
+    }
+
+    @After
+    public void after() {
+        InMemoryStateStore.delete(STACK_ID);
+    }
+
+    @Test
+    public void testRequestsOfTheSameContextsShouldBeCheckedInOneBatch() throws Exception {
+        //GIVEN
+        CloudResource first = resource("first", ResourceStatus.CREATED);
+        CloudResource second = resource("second", ResourceStatus.CREATED);
+        CloudResource third = resource("third", ResourceStatus.CREATED);
+        //WHEN
+        ListenableFuture<List<CloudResourceStatus>> firstResult = underTest.checkResources(checker, context, auth, Arrays.asList(first), false);
+        ListenableFuture<List<CloudResourceStatus>> otherResult = underTest.checkResources(checker, context, auth, Arrays.asList(second, third), false);
+        runScheduledTasks(1);
+        //THEN
+        assertEquals(Arrays.asList(Arrays.asList("first", "second", "third")), checkedResources);
+        assertStatuses(firstResult, first);
+        assertStatuses(otherResult, second, third);
+    }
+
+    @Test
+    public void testRequestsOfDifferentContextsShouldBeCheckedWithTheirOwnContext() throws Exception {
+        //GIVEN
+        CloudResource first = resource("first", ResourceStatus.CREATED);
+        CloudResource second = resource("second", ResourceStatus.CREATED);
+        ResourceBuilderContext otherContext = new ResourceBuilderContext("stack", null, 1);
+        //WHEN
+        ListenableFuture<List<CloudResourceStatus>> firstResult = underTest.checkResources(checker, context, auth, Arrays.asList(first), false);
+        ListenableFuture<List<CloudResourceStatus>> otherResult = underTest.checkResources(checker, otherContext, auth, Arrays.asList(second), false);
+        runScheduledTasks(2);
+        //THEN
+        assertEquals(Arrays.asList(Arrays.asList("first"), Arrays.asList("second")), checkedResources);
+        assertSame(context, checkedContexts.get(0));
+        assertSame(otherContext, checkedContexts.get(1));
+        assertStatuses(firstResult, first);
+        assertStatuses(otherResult, second);
+    }
+
+    @Test
+    public void testRequestsWithoutStatusInTheBatchShouldBeCheckedOneByOne() throws Exception {
+        //GIVEN
+        firstResourceOnly = true;
+        CloudResource first = resource("first", ResourceStatus.CREATED);
+        CloudResource second = resource("second", ResourceStatus.CREATED);
+        ListenableFuture<List<CloudResourceStatus>> firstResult = underTest.checkResources(checker, context, auth, Arrays.asList(first), false);
+        ListenableFuture<List<CloudResourceStatus>> otherResult = underTest.checkResources(checker, context, auth, Arrays.asList(second), false);
+        //WHEN
+        runScheduledTasks(1);
+        //THEN
+        assertEquals(Arrays.asList(Arrays.asList("first"), Arrays.asList("second")), checkedResources);
+        assertStatuses(firstResult, first);
+        assertStatuses(otherResult, second);
+    }
+
+    @Test
+    public void testRequestShouldWaitUntilItsResourcesLeaveTheTransientState() throws Exception {
+        //GIVEN
+        CloudResource first = resource("first", ResourceStatus.CREATED);
+        CloudResource second = resource("second", ResourceStatus.IN_PROGRESS);
+        ListenableFuture<List<CloudResourceStatus>> firstResult = underTest.checkResources(checker, context, auth, Arrays.asList(first), false);
+        ListenableFuture<List<CloudResourceStatus>> otherResult = underTest.checkResources(checker, context, auth, Arrays.asList(second), false);
+        //WHEN
+        runScheduledTasks(1);
+        boolean doneWhileInProgress = otherResult.isDone();
+        statuses.put("second", ResourceStatus.CREATED);
+        runScheduledTasks(2);
+        //THEN
+        assertFalse(doneWhileInProgress);
+        assertEquals(Arrays.asList(Arrays.asList("first", "second"), Arrays.asList("second")), checkedResources);
+        assertStatuses(firstResult, first);
+        assertStatuses(otherResult, second);
+    }
+
+    @Test
+    public void testFailingRequestShouldNotFailTheOtherRequestsOfTheBatch() throws Exception {
+        //GIVEN
+        CloudResource first = resource("first", ResourceStatus.CREATED);
+        CloudResource failing = resource("failing", ResourceStatus.CREATED);
+        failingResources.add("failing");
+        ListenableFuture<List<CloudResourceStatus>> firstResult = underTest.checkResources(checker, context, auth, Arrays.asList(first), false);
+        ListenableFuture<List<CloudResourceStatus>> failingResult = underTest.checkResources(checker, context, auth, Arrays.asList(failing), false);
+        //WHEN
+        runScheduledTasks(1);
+        boolean failedAfterOneAttempt = failingResult.isDone();
+        runScheduledTasks(2);
+        runScheduledTasks(3);
+        //THEN
+        assertFalse(failedAfterOneAttempt);
+        assertStatuses(firstResult, first);
+        try {
+            failingResult.get();
+            fail("The request of the failing resource should have failed");
+        } catch (ExecutionException e) {
+            assertEquals("failing", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testCancelledRequestsShouldNotBeCheckedAnymore() throws Exception {
+        //GIVEN
+        CloudResource resource = resource("first", ResourceStatus.IN_PROGRESS);
+        ListenableFuture<List<CloudResourceStatus>> result = underTest.checkResources(checker, context, auth, Arrays.asList(resource), true);
+        //WHEN
+        InMemoryStateStore.getCancellationToken(STACK_ID).cancel();
+        runScheduledTasks(1);
+        //THEN
+        assertTrue(result.isCancelled());
+        assertTrue(checkedResources.isEmpty());
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testNewRequestAfterTheBatchCompletedShouldScheduleANewBatch() throws Exception {
+        //GIVEN
+        CloudResource first = resource("first", ResourceStatus.CREATED);
+        CloudResource second = resource("second", ResourceStatus.CREATED);
+        underTest.checkResources(checker, context, auth, Arrays.asList(first), false);
+        runScheduledTasks(1);
+        //WHEN
+        ListenableFuture<List<CloudResourceStatus>> result = underTest.checkResources(checker, context, auth, Arrays.asList(second), false);
+        runScheduledTasks(2);
+        //THEN
+        assertStatuses(result, second);
+        verify(checker, times(2)).checkResources(any(ResourceBuilderContext.class), any(AuthenticatedContext.class), anyList());
+    }
+
+    private void runScheduledTasks(int expectedScheduleCount) {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(expectedScheduleCount)).schedule(captor.capture(), anyLong(), eq(TimeUnit.SECONDS));
+        List<Runnable> tasks = captor.getAllValues();
+        for (Runnable task : tasks.subList(executedTasks, tasks.size())) {
+            task.run();
+        }
+        executedTasks = tasks.size();
+    }
+
+    private List<CloudResourceStatus> check(ResourceBuilderContext checkContext, List<CloudResource> resources) {
+        List<String> names = new ArrayList<>();
+        List<CloudResourceStatus> result = new ArrayList<>();
+        for (CloudResource resource : resources) {
+            if (failingResources.contains(resource.getName())) {
+                throw new IllegalStateException(resource.getName());
+            }
+            names.add(resource.getName());
+            result.add(new CloudResourceStatus(resource, statuses.get(resource.getName())));
+            if (firstResourceOnly) {
+                break;
+            }
+        }
+        checkedResources.add(names);
+        checkedContexts.add(checkContext);
+        return result;
+    }
+
+    private CloudResource resource(String name, ResourceStatus status) {
+        statuses.put(name, status);
+        return new CloudResource.Builder().type(ResourceType.GCP_INSTANCE).name(name).build();
+    }
+
+    private void assertStatuses(ListenableFuture<List<CloudResourceStatus>> result, CloudResource... resources) throws Exception {
+        assertTrue(result.isDone());
+        List<CloudResourceStatus> resourceStatuses = result.get();
+        assertEquals(resources.length, resourceStatuses.size());
+        for (int i = 0; i < resources.length; i++) {
+            assertSame(resources[i], resourceStatuses.get(i).getCloudResource());
+        }
+    }
+}
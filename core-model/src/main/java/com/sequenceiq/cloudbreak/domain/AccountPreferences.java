@@ -1,5 +1,6 @@
 package com.sequenceiq.cloudbreak.domain;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.NamedQueries;
@@ -14,6 +15,7 @@ import java.util.List;
 import org.apache.commons.lang3.StringUtils;
 
 @Entity
+@Cacheable
 @Table(name = "account_preferences")
 @NamedQueries({
         @NamedQuery(
@@ -1,5 +1,6 @@
 package com.sequenceiq.cloudbreak.domain;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -16,6 +17,7 @@ import javax.persistence.UniqueConstraint;
 import com.sequenceiq.cloudbreak.common.type.ResourceStatus;
 
 @Entity
+@Cacheable
 @Table(name = "Blueprint", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "account", "name" })
 })
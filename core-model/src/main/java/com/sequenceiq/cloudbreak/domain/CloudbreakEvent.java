@@ -30,7 +30,12 @@ import com.sequenceiq.cloudbreak.common.type.Status;
         @NamedQuery(
                 name = "CloudbreakEvent.findCloudbreakEventsForStack",
                 query = "SELECT cbe FROM CloudbreakEvent cbe "
-                        + "WHERE cbe.stackId= :stackId")
+                        + "WHERE cbe.stackId= :stackId"),
+        @NamedQuery(
+                name = "CloudbreakEvent.findEventsForUsageGeneration",
+                query = "SELECT cbe FROM CloudbreakEvent cbe "
+                        + "WHERE cbe.stackId > :afterStackId AND cbe.eventTimestamp >= :since "
+                        + "ORDER BY cbe.stackId ASC, cbe.eventTimestamp ASC, cbe.id ASC")
 })
 @Table(name = "cloudbreakevent")
 public class CloudbreakEvent implements ProvisionEntity {
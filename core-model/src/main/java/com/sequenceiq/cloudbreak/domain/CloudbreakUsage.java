@@ -6,9 +6,20 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 import javax.persistence.SequenceGenerator;
 
 @Entity
+@NamedQueries({
+        @NamedQuery(
+                name = "CloudbreakUsage.aggregateDailySince",
+                query = "SELECT NEW com.sequenceiq.cloudbreak.domain.CloudbreakUsageRollup(u.day, u.owner, u.account, u.provider, u.region, "
+                        + "SUM(u.instanceHours), SUM(u.costs)) "
+                        + "FROM CloudbreakUsage u "
+                        + "WHERE u.day >= :since "
+                        + "GROUP BY u.day, u.owner, u.account, u.provider, u.region")
+})
 public class CloudbreakUsage implements ProvisionEntity {
 
     @Id
@@ -0,0 +1,140 @@
+package com.sequenceiq.cloudbreak.domain;
+
+import java.util.Date;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.SequenceGenerator;
+
+/**
+ * Instance hours and costs of the usages of a day or a month, aggregated per account, owner, provider and region.
+ */
+@Entity
+@NamedQueries({
+        @NamedQuery(
+                name = "CloudbreakUsageRollup.deleteSince",
+                query = "DELETE FROM CloudbreakUsageRollup r "
+                        + "WHERE r.granularity= :granularity "
+                        + "AND r.periodStart >= :since"),
+        @NamedQuery(
+                name = "CloudbreakUsageRollup.findDailySince",
+                query = "SELECT r FROM CloudbreakUsageRollup r "
+                        + "WHERE r.granularity = 'DAILY' "
+                        + "AND r.periodStart >= :since")
+})
+public class CloudbreakUsageRollup implements ProvisionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO, generator = "cloudbreakusagerollup_generator")
+    @SequenceGenerator(name = "cloudbreakusagerollup_generator", sequenceName = "cloudbreakusagerollup_id_seq", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private UsageRollupGranularity granularity;
+
+    private Date periodStart;
+
+    private String owner;
+
+    private String account;
+
+    private String provider;
+
+    private String region;
+
+    private Long instanceHours;
+
+    private Double costs;
+
+    public CloudbreakUsageRollup() {
+    }
+
+    public CloudbreakUsageRollup(Date periodStart, String owner, String account, String provider, String region, Long instanceHours,
+            Double costs) {
+        this.periodStart = periodStart;
+        this.owner = owner;
+        this.account = account;
+        this.provider = provider;
+        this.region = region;
+        this.instanceHours = instanceHours;
+        this.costs = costs;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public UsageRollupGranularity getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(UsageRollupGranularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public Date getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(Date periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public void setAccount(String account) {
+        this.account = account;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public Long getInstanceHours() {
+        return instanceHours;
+    }
+
+    public void setInstanceHours(Long instanceHours) {
+        this.instanceHours = instanceHours;
+    }
+
+    public Double getCosts() {
+        return costs;
+    }
+
+    public void setCosts(Double costs) {
+        this.costs = costs;
+    }
+}
@@ -0,0 +1,95 @@
+package com.sequenceiq.cloudbreak.domain;
+
+import java.util.Date;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.NamedNativeQuery;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+
+@Entity
+@NamedNativeQuery(
+        name = "FlowLock.create",
+        query = "INSERT INTO flowlock (lockkey, fencingtoken) "
+                + "SELECT :lockKey, 0 "
+                + "WHERE NOT EXISTS (SELECT lockkey FROM flowlock WHERE lockkey= :lockKey)")
+@NamedQueries({
+        @NamedQuery(
+                name = "FlowLock.acquire",
+                query = "UPDATE FlowLock l "
+                        + "SET l.owner= :owner, l.fencingToken= l.fencingToken + 1, l.expires= :expires "
+                        + "WHERE l.lockKey= :lockKey "
+                        + "AND (l.owner IS NULL OR l.expires < :now)"),
+        @NamedQuery(
+                name = "FlowLock.renew",
+                query = "UPDATE FlowLock l "
+                        + "SET l.expires= :expires "
+                        + "WHERE l.lockKey= :lockKey "
+                        + "AND l.owner= :owner "
+                        + "AND l.fencingToken= :fencingToken"),
+        @NamedQuery(
+                name = "FlowLock.release",
+                query = "UPDATE FlowLock l "
+                        + "SET l.owner= NULL, l.expires= NULL "
+                        + "WHERE l.lockKey= :lockKey "
+                        + "AND l.owner= :owner "
+                        + "AND l.fencingToken= :fencingToken"),
+        @NamedQuery(
+                name = "FlowLock.findHeld",
+                query = "SELECT l FROM FlowLock l "
+                        + "WHERE l.lockKey= :lockKey "
+                        + "AND l.owner= :owner "
+                        + "AND l.fencingToken= :fencingToken")
+})
+public class FlowLock implements ProvisionEntity {
+
+    @Id
+    private String lockKey;
+
+    private String owner;
+
+    private Long fencingToken;
+
+    private Date expires;
+
+    public FlowLock() {
+    }
+
+    public FlowLock(String lockKey) {
+        this.lockKey = lockKey;
+        this.fencingToken = 0L;
+    }
+
+    public String getLockKey() {
+        return lockKey;
+    }
+
+    public void setLockKey(String lockKey) {
+        this.lockKey = lockKey;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Long getFencingToken() {
+        return fencingToken;
+    }
+
+    public void setFencingToken(Long fencingToken) {
+        this.fencingToken = fencingToken;
+    }
+
+    public Date getExpires() {
+        return expires;
+    }
+
+    public void setExpires(Date expires) {
+        this.expires = expires;
+    }
+}
@@ -2,6 +2,7 @@ package com.sequenceiq.cloudbreak.domain;
 
 import java.util.Map;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
@@ -21,6 +22,7 @@ import javax.persistence.UniqueConstraint;
 import com.sequenceiq.cloudbreak.common.type.PluginExecutionType;
 
 @Entity
+@Cacheable
 @Table(name = "recipe", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "account", "name" })
 })
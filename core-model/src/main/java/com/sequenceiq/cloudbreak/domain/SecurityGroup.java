@@ -3,6 +3,7 @@ package com.sequenceiq.cloudbreak.domain;
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -21,6 +22,7 @@ import javax.persistence.UniqueConstraint;
 import com.sequenceiq.cloudbreak.common.type.ResourceStatus;
 
 @Entity
+@Cacheable
 @Table(uniqueConstraints = {
         @UniqueConstraint(columnNames = { "account", "name" }),
 })
@@ -140,6 +140,42 @@ import com.sequenceiq.cloudbreak.common.type.Status;
                         + "LEFT JOIN FETCH ig.instanceMetaData "
                         + "WHERE s.account= :account "
                         + "AND s.status <> 'DELETE_COMPLETED' "),
+        @NamedQuery(
+                name = "Stack.findSummariesForUser",
+                query = "SELECT new com.sequenceiq.cloudbreak.domain.StackSummary(s.id, s.name, s.owner, s.account, s.publicInAccount, "
+                        + "s.status, s.statusReason, s.region, s.availabilityZone, s.platformVariant, cr.cloudPlatform, cl.name, cl.status, "
+                        + "s.created, SUM(ig.nodeCount), COUNT(ig.id)) "
+                        + "FROM Stack s "
+                        + "LEFT JOIN s.credential cr "
+                        + "LEFT JOIN s.cluster cl "
+                        + "LEFT JOIN s.instanceGroups ig "
+                        + "WHERE s.owner= :user "
+                        + "AND s.status <> 'DELETE_COMPLETED' "
+                        + "GROUP BY s.id, cr.id, cl.id"),
+        @NamedQuery(
+                name = "Stack.findPublicSummariesInAccountForUser",
+                query = "SELECT new com.sequenceiq.cloudbreak.domain.StackSummary(s.id, s.name, s.owner, s.account, s.publicInAccount, "
+                        + "s.status, s.statusReason, s.region, s.availabilityZone, s.platformVariant, cr.cloudPlatform, cl.name, cl.status, "
+                        + "s.created, SUM(ig.nodeCount), COUNT(ig.id)) "
+                        + "FROM Stack s "
+                        + "LEFT JOIN s.credential cr "
+                        + "LEFT JOIN s.cluster cl "
+                        + "LEFT JOIN s.instanceGroups ig "
+                        + "WHERE ((s.account= :account AND s.publicInAccount= true) OR s.owner= :user) "
+                        + "AND s.status <> 'DELETE_COMPLETED' "
+                        + "GROUP BY s.id, cr.id, cl.id"),
+        @NamedQuery(
+                name = "Stack.findAllSummariesInAccount",
+                query = "SELECT new com.sequenceiq.cloudbreak.domain.StackSummary(s.id, s.name, s.owner, s.account, s.publicInAccount, "
+                        + "s.status, s.statusReason, s.region, s.availabilityZone, s.platformVariant, cr.cloudPlatform, cl.name, cl.status, "
+                        + "s.created, SUM(ig.nodeCount), COUNT(ig.id)) "
+                        + "FROM Stack s "
+                        + "LEFT JOIN s.credential cr "
+                        + "LEFT JOIN s.cluster cl "
+                        + "LEFT JOIN s.instanceGroups ig "
+                        + "WHERE s.account= :account "
+                        + "AND s.status <> 'DELETE_COMPLETED' "
+                        + "GROUP BY s.id, cr.id, cl.id"),
         @NamedQuery(
                 name = "Stack.findByAmbari",
                 query = "SELECT s from Stack s "
@@ -205,7 +241,25 @@ import com.sequenceiq.cloudbreak.common.type.Status;
                 name = "Stack.findByStatuses",
                 query = "SELECT s FROM Stack s "
                         + "WHERE s.status IN :statuses"
-        )
+        ),
+        @NamedQuery(
+                name = "Stack.updateStatus",
+                query = "UPDATE Stack s "
+                        + "SET s.status= :status, s.version= s.version + 1 "
+                        + "WHERE s.id= :id "
+                        + "AND s.status <> 'DELETE_COMPLETED'"),
+        @NamedQuery(
+                name = "Stack.updateStatusAndReason",
+                query = "UPDATE Stack s "
+                        + "SET s.status= :status, s.statusReason= :statusReason, s.version= s.version + 1 "
+                        + "WHERE s.id= :id "
+                        + "AND s.status <> 'DELETE_COMPLETED'"),
+        @NamedQuery(
+                name = "Stack.updateStatusReason",
+                query = "UPDATE Stack s "
+                        + "SET s.statusReason= :statusReason, s.version= s.version + 1 "
+                        + "WHERE s.id= :id "
+                        + "AND s.status <> 'DELETE_COMPLETED'")
 })
 public class Stack implements ProvisionEntity {
 
@@ -0,0 +1,111 @@
+package com.sequenceiq.cloudbreak.domain;
+
+import com.sequenceiq.cloudbreak.common.type.Status;
+
+/**
+ * Read-only projection of a stack used by the list endpoints, filled by a JPQL constructor expression.
+ */
+public class StackSummary {
+
+    private final Long id;
+    private final String name;
+    private final String owner;
+    private final String account;
+    private final boolean publicInAccount;
+    private final Status status;
+    private final String statusReason;
+    private final String region;
+    private final String availabilityZone;
+    private final String platformVariant;
+    private final String cloudPlatform;
+    private final String clusterName;
+    private final Status clusterStatus;
+    private final Long created;
+    private final int nodeCount;
+    private final int instanceGroupCount;
+
+    public StackSummary(Long id, String name, String owner, String account, Boolean publicInAccount, Status status, String statusReason,
+            String region, String availabilityZone, String platformVariant, String cloudPlatform, String clusterName, Status clusterStatus,
+            Long created, Long nodeCount, Long instanceGroupCount) {
+        this.id = id;
+        this.name = name;
+        this.owner = owner;
+        this.account = account;
+        this.publicInAccount = Boolean.TRUE.equals(publicInAccount);
+        this.status = status;
+        this.statusReason = statusReason;
+        this.region = region;
+        this.availabilityZone = availabilityZone;
+        this.platformVariant = platformVariant;
+        this.cloudPlatform = cloudPlatform;
+        this.clusterName = clusterName;
+        this.clusterStatus = clusterStatus;
+        this.created = created;
+        this.nodeCount = nodeCount == null ? 0 : nodeCount.intValue();
+        this.instanceGroupCount = instanceGroupCount == null ? 0 : instanceGroupCount.intValue();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public boolean isPublicInAccount() {
+        return publicInAccount;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getStatusReason() {
+        return statusReason;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public String getAvailabilityZone() {
+        return availabilityZone;
+    }
+
+    public String getPlatformVariant() {
+        return platformVariant;
+    }
+
+    public String getCloudPlatform() {
+        return cloudPlatform;
+    }
+
+    public String getClusterName() {
+        return clusterName;
+    }
+
+    public Status getClusterStatus() {
+        return clusterStatus;
+    }
+
+    public Long getCreated() {
+        return created;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getInstanceGroupCount() {
+        return instanceGroupCount;
+    }
+}
@@ -0,0 +1,87 @@
+package com.sequenceiq.cloudbreak.domain;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.SequenceGenerator;
+
+@Entity
+@NamedQueries({
+        @NamedQuery(
+                name = "UsageGenerationCheckpoint.findUnfinished",
+                query = "SELECT c FROM UsageGenerationCheckpoint c "
+                        + "WHERE c.finished IS NULL "
+                        + "ORDER BY c.id DESC")
+})
+public class UsageGenerationCheckpoint implements ProvisionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO, generator = "usagegenerationcheckpoint_generator")
+    @SequenceGenerator(name = "usagegenerationcheckpoint_generator", sequenceName = "usagegenerationcheckpoint_id_seq", allocationSize = 1)
+    private Long id;
+
+    private Date since;
+
+    private Long lastStackId;
+
+    private Date started;
+
+    private Date finished;
+
+    @Column(columnDefinition = "TEXT")
+    private String completedRanges;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Date getSince() {
+        return since;
+    }
+
+    public void setSince(Date since) {
+        this.since = since;
+    }
+
+    public Long getLastStackId() {
+        return lastStackId;
+    }
+
+    public void setLastStackId(Long lastStackId) {
+        this.lastStackId = lastStackId;
+    }
+
+    public Date getStarted() {
+        return started;
+    }
+
+    public void setStarted(Date started) {
+        this.started = started;
+    }
+
+    public Date getFinished() {
+        return finished;
+    }
+
+    public void setFinished(Date finished) {
+        this.finished = finished;
+    }
+
+    public String getCompletedRanges() {
+        return completedRanges;
+    }
+
+    public void setCompletedRanges(String completedRanges) {
+        this.completedRanges = completedRanges;
+    }
+}
@@ -0,0 +1,6 @@
+package com.sequenceiq.cloudbreak.domain;
+
+public enum UsageRollupGranularity {
+    DAILY,
+    MONTHLY
+}
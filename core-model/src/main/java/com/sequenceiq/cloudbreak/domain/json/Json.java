@@ -1,15 +1,28 @@
 package com.sequenceiq.cloudbreak.domain.json;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.sequenceiq.cloudbreak.util.JsonUtil;
 
+/**
+ * Immutable JSON column value that parses its raw string at most once. It is changed with {@link #with(String, Object)} and
+ * {@link #without(String)}, which return a new instance.
+ */
 public class Json {
 
-    private String value;
+    private final String value;
+
+    private volatile JsonNode tree;
+
+    private volatile Map<String, Object> map;
 
     Json(String value) {
         this.value = value;
@@ -23,16 +36,84 @@ public class Json {
         return value;
     }
 
+    /**
+     * Binds a new, caller owned object from the parsed tree, so the result can be modified freely.
+     */
     public <T> T get(Class<T> valueType) throws IOException {
-        return JsonUtil.readValue(value, valueType);
+        return JsonUtil.treeToValue(getTree(), valueType);
     }
 
     public Map<String, Object> getMap() {
-        try {
-            return get(Map.class);
-        } catch (IOException e) {
-            return Collections.emptyMap();
+        Map<String, Object> result = map;
+        if (result == null) {
+            try {
+                result = (Map<String, Object>) unmodifiable(get(Map.class));
+            } catch (IOException | RuntimeException e) {
+                result = Collections.emptyMap();
+            }
+            map = result;
+        }
+        return result;
+    }
+
+    public Json with(String key, Object keyValue) throws JsonProcessingException {
+        Map<String, Object> copy = new LinkedHashMap<>(getMap());
+        copy.put(key, keyValue);
+        return new Json(copy);
+    }
+
+    public Json without(String key) throws JsonProcessingException {
+        if (!getMap().containsKey(key)) {
+            return this;
+        }
+        Map<String, Object> copy = new LinkedHashMap<>(getMap());
+        copy.remove(key);
+        return new Json(copy);
+    }
+
+    private JsonNode getTree() throws IOException {
+        JsonNode result = tree;
+        if (result == null) {
+            result = JsonUtil.readTree(value);
+            if (result == null) {
+                throw new JsonMappingException("No content to map in the JSON value");
+            }
+            tree = result;
         }
+        return result;
     }
 
+    private static Object unmodifiable(Object object) {
+        if (object instanceof Map) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) object).entrySet()) {
+                result.put(entry.getKey(), unmodifiable(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(result);
+        } else if (object instanceof List) {
+            List<Object> result = new ArrayList<>();
+            for (Object element : (List<Object>) object) {
+                result.add(unmodifiable(element));
+            }
+            return Collections.unmodifiableList(result);
+        }
+        return object;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Json json = (Json) o;
+        return value == null ? json.value == null : value.equals(json.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value == null ? 0 : value.hashCode();
+    }
 }
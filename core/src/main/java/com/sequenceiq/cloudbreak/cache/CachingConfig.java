@@ -18,6 +18,8 @@ import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import net.sf.ehcache.config.CacheConfiguration;
+
 @Configuration
 @EnableCaching
 @EnableAutoConfiguration
@@ -29,6 +31,8 @@ public class CachingConfig implements CachingConfigurer {
 
     @Inject
     private List<CacheDefinition> cacheDefinitions;
+    @Inject
+    private EntityCacheRegions entityCacheRegions;
     private Map<Class, CacheDefinition> classCacheDefinitionMap = new HashMap<>();
 
     @PostConstruct
@@ -38,13 +42,19 @@ public class CachingConfig implements CachingConfigurer {
         }
     }
 
-    @Bean
+    /**
+     * Created as the ehcache singleton, so the Hibernate second-level cache (SingletonEhCacheRegionFactory) uses the same manager.
+     */
+    @Bean(destroyMethod = "shutdown")
     public net.sf.ehcache.CacheManager ehCacheManager() {
         net.sf.ehcache.config.Configuration config = new net.sf.ehcache.config.Configuration();
         for (CacheDefinition cacheDefinition : cacheDefinitions) {
             config.addCache(cacheDefinition.cacheConfiguration());
         }
-        return net.sf.ehcache.CacheManager.newInstance(config);
+        for (CacheConfiguration cacheConfiguration : entityCacheRegions.cacheConfigurations()) {
+            config.addCache(cacheConfiguration);
+        }
+        return net.sf.ehcache.CacheManager.create(config);
     }
 
     @Bean
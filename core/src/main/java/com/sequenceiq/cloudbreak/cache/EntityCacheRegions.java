@@ -0,0 +1,90 @@
+package com.sequenceiq.cloudbreak.cache;
+
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_ENTITY_CACHE_MAX_ENTRIES;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_ENTITY_CACHE_TTL_SECONDS;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_QUERY_CACHE_MAX_ENTRIES;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_QUERY_CACHE_TTL_SECONDS;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.domain.AccountPreferences;
+import com.sequenceiq.cloudbreak.domain.Blueprint;
+import com.sequenceiq.cloudbreak.domain.Credential;
+import com.sequenceiq.cloudbreak.domain.Network;
+import com.sequenceiq.cloudbreak.domain.Recipe;
+import com.sequenceiq.cloudbreak.domain.SecurityGroup;
+import com.sequenceiq.cloudbreak.domain.Template;
+
+import net.sf.ehcache.config.CacheConfiguration;
+
+/**
+ * The ehcache regions of the Hibernate second-level cache, one per cached entity class.
+ */
+@Component
+public class EntityCacheRegions {
+
+    public static final String QUERY_CACHE_REGION = "org.hibernate.cache.internal.StandardQueryCache";
+    public static final String TIMESTAMPS_CACHE_REGION = "org.hibernate.cache.spi.UpdateTimestampsCache";
+
+    private static final List<Class<?>> CACHED_ENTITIES = Arrays.<Class<?>>asList(Blueprint.class, Template.class, Credential.class,
+            Network.class, SecurityGroup.class, Recipe.class, AccountPreferences.class);
+
+    @Inject
+    private Environment environment;
+
+    @Value("${cb.db.entity.cache.ttl.seconds:" + CB_DB_ENTITY_CACHE_TTL_SECONDS + "}")
+    private long entityTtl;
+
+    @Value("${cb.db.entity.cache.max.entries:" + CB_DB_ENTITY_CACHE_MAX_ENTRIES + "}")
+    private long entityMaxEntries;
+
+    @Value("${cb.db.query.cache.ttl.seconds:" + CB_DB_QUERY_CACHE_TTL_SECONDS + "}")
+    private long queryTtl;
+
+    @Value("${cb.db.query.cache.max.entries:" + CB_DB_QUERY_CACHE_MAX_ENTRIES + "}")
+    private long queryMaxEntries;
+
+    public List<String> regionNames() {
+        List<String> names = new ArrayList<>();
+        for (Class<?> entity : CACHED_ENTITIES) {
+            names.add(entity.getName());
+        }
+        names.add(QUERY_CACHE_REGION);
+        return names;
+    }
+
+    public List<CacheConfiguration> cacheConfigurations() {
+        List<CacheConfiguration> configurations = new ArrayList<>();
+        for (Class<?> entity : CACHED_ENTITIES) {
+            String prefix = "cb.db.entity.cache." + entity.getSimpleName().toLowerCase() + ".";
+            long ttl = environment.getProperty(prefix + "ttl.seconds", Long.class, entityTtl);
+            long maxEntries = environment.getProperty(prefix + "max.entries", Long.class, entityMaxEntries);
+            configurations.add(region(entity.getName(), ttl, maxEntries));
+        }
+        configurations.add(region(QUERY_CACHE_REGION, queryTtl, queryMaxEntries));
+        // the update timestamps must outlive every cached query result, otherwise stale results could be served
+        CacheConfiguration timestamps = new CacheConfiguration();
+        timestamps.setName(TIMESTAMPS_CACHE_REGION);
+        timestamps.setEternal(true);
+        timestamps.setMaxEntriesLocalHeap(0);
+        configurations.add(timestamps);
+        return configurations;
+    }
+
+    private CacheConfiguration region(String name, long ttl, long maxEntries) {
+        CacheConfiguration cacheConfiguration = new CacheConfiguration();
+        cacheConfiguration.setName(name);
+        cacheConfiguration.setMemoryStoreEvictionPolicy("LRU");
+        cacheConfiguration.setMaxEntriesLocalHeap(maxEntries);
+        cacheConfiguration.setTimeToLiveSeconds(ttl);
+        return cacheConfiguration;
+    }
+}
@@ -2,8 +2,15 @@ package com.sequenceiq.cloudbreak.concurrent;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 
+import javax.inject.Inject;
+
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -12,19 +19,33 @@ import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.stereotype.Component;
 
-import com.google.common.util.concurrent.Striped;
 import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationException;
 import com.sequenceiq.cloudbreak.core.flow.context.FlowContext;
 
+/**
+ * Serializes the {@link LockedMethod} executions and skips the concurrent {@link GuardedMethod} executions of the same stack,
+ * with the locks of the {@link DatabaseLockRegistry}.
+ */
 @Component
 @Aspect
 public class ConcurrentMethodExecutionAspect {
     private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentMethodExecutionAspect.class);
-    private static final int STRIPES = 10;
+    private static final String METRIC_PREFIX = "concurrent.";
+
+    @Inject
+    private DatabaseLockRegistry flowLockProvider;
+
+    @Inject
+    private GaugeService gaugeService;
 
-    private Striped<Lock> locks = Striped.lazyWeakLock(STRIPES);
+    @Inject
+    private CounterService counterService;
+
+    private final ConcurrentMap<List<Object>, String> lockPrefixes = new ConcurrentHashMap<>();
 
     @Pointcut("execution(@com.sequenceiq.cloudbreak.concurrent.GuardedMethod * *(..))")
     public void guardedMethod() {
@@ -49,35 +70,48 @@ public class ConcurrentMethodExecutionAspect {
     @Around("com.sequenceiq.cloudbreak.concurrent.ConcurrentMethodExecutionAspect.lockedMethodWithFlowContextArg()")
     public Object executeLockedMethod(ProceedingJoinPoint joinPoint) throws Throwable {
         Long stackId = getStackId(joinPoint);
-        String lockPrefix = getLockedMethodLockPrefix(joinPoint);
+        String lockPrefix = getLockPrefix(LockedMethod.class, joinPoint);
         String lockKey = createLockKey(lockPrefix, stackId);
-        Lock lock = locks.get(lockKey);
-        if (!lock.tryLock()) {
-            logWaitingOperation(lockPrefix, stackId);
-            lock.lock();
-            logContinueOperation(lockPrefix, stackId);
-        }
+        Lock lock = flowLockProvider.retain(lockKey, stackId);
         try {
-            return joinPoint.proceed();
+            if (!lock.tryLock()) {
+                logWaitingOperation(lockPrefix, stackId);
+                long start = System.nanoTime();
+                lock.lock();
+                long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                gaugeService.submit(metricName(lockPrefix) + "lock.wait.ms", waited);
+                counterService.increment(metricName(lockPrefix) + "lock.waits");
+                logContinueOperation(lockPrefix, stackId);
+            }
+            try {
+                return joinPoint.proceed();
+            } finally {
+                lock.unlock();
+            }
         } finally {
-            lock.unlock();
+            flowLockProvider.release(lockKey);
         }
     }
 
     @Around("com.sequenceiq.cloudbreak.concurrent.ConcurrentMethodExecutionAspect.guardedMethodWithFlowContextArg()")
     public Object executeGuardedMethod(ProceedingJoinPoint joinPoint) throws Throwable {
         Long stackId = getStackId(joinPoint);
-        String lockPrefix = getGuardedMethodLockPrefix(joinPoint);
+        String lockPrefix = getLockPrefix(GuardedMethod.class, joinPoint);
         String lockKey = createLockKey(lockPrefix, stackId);
-        Lock lock = locks.get(lockKey);
-        if (lock.tryLock()) {
-            try {
-                return joinPoint.proceed();
-            } finally {
-                lock.unlock();
+        Lock lock = flowLockProvider.retain(lockKey, stackId);
+        try {
+            if (lock.tryLock()) {
+                try {
+                    return joinPoint.proceed();
+                } finally {
+                    lock.unlock();
+                }
+            } else {
+                counterService.increment(metricName(lockPrefix) + "guarded.skipped");
+                return skipMethodExecution(lockPrefix, stackId);
             }
-        } else {
-            return skipMethodExecution(lockPrefix, stackId);
+        } finally {
+            flowLockProvider.release(lockKey);
         }
     }
 
@@ -85,27 +119,34 @@ public class ConcurrentMethodExecutionAspect {
         return stackId == null ? lockPrefix : lockPrefix + String.valueOf(stackId);
     }
 
-    private String getGuardedMethodLockPrefix(JoinPoint joinPoint) {
-        try {
-            return getAnnotation(GuardedMethod.class, joinPoint).lockPrefix();
-        } catch (Exception ex) {
-            return "";
-        }
+    private String metricName(String lockPrefix) {
+        return METRIC_PREFIX + (lockPrefix.isEmpty() ? "" : lockPrefix.toLowerCase() + ".");
     }
 
-    private String getLockedMethodLockPrefix(JoinPoint joinPoint) {
-        try {
-            return getAnnotation(LockedMethod.class, joinPoint).lockPrefix();
-        } catch (Exception ex) {
-            return "";
+    private String getLockPrefix(Class<? extends Annotation> clazz, JoinPoint joinPoint) {
+        Method signatureMethod = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        List<Object> key = Arrays.<Object>asList(clazz, joinPoint.getTarget().getClass(), signatureMethod);
+        String lockPrefix = lockPrefixes.get(key);
+        if (lockPrefix == null) {
+            try {
+                lockPrefix = readLockPrefix(clazz, joinPoint.getTarget().getClass().getDeclaredMethod(signatureMethod.getName(),
+                        signatureMethod.getParameterTypes()));
+            } catch (Exception ex) {
+                lockPrefix = "";
+            }
+            lockPrefixes.put(key, lockPrefix);
         }
+        return lockPrefix;
     }
 
-    private <T extends Annotation> T getAnnotation(Class<T> clazz, JoinPoint joinPoint) throws NoSuchMethodException {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        Method method = joinPoint.getTarget().getClass().getDeclaredMethod(joinPoint.getSignature().getName(),
-                methodSignature.getMethod().getParameterTypes());
-        return method.getAnnotation(clazz);
+    private String readLockPrefix(Class<? extends Annotation> clazz, Method method) {
+        Annotation annotation = method.getAnnotation(clazz);
+        if (annotation instanceof LockedMethod) {
+            return ((LockedMethod) annotation).lockPrefix();
+        } else if (annotation instanceof GuardedMethod) {
+            return ((GuardedMethod) annotation).lockPrefix();
+        }
+        return "";
     }
 
     private Long getStackId(JoinPoint joinPoint) {
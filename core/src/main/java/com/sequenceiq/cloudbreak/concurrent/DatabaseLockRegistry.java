@@ -0,0 +1,367 @@
+package com.sequenceiq.cloudbreak.concurrent;
+
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_FLOW_LOCK_LEASE_MS;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_FLOW_LOCK_POLL_INTERVAL_MS;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_FLOW_LOCK_PROVIDER;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_FLOW_LOCK_RENEW_INTERVAL_MS;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationException;
+import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
+import com.sequenceiq.cloudbreak.repository.FlowLockRepository;
+
+/**
+ * Locks shared by the Cloudbreak instances that use the same database as leases in the flowlock table, or in-JVM locks if
+ * cb.flow.lock.provider is local. Every acquisition increments the fencing token of the lease, so the writes fenced by
+ * {@link #fence()} are rejected after the lease is lost.
+ */
+@Component
+public class DatabaseLockRegistry implements FlowLockProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseLockRegistry.class);
+
+    @Value("${cb.flow.lock.provider:" + CB_FLOW_LOCK_PROVIDER + "}")
+    private String lockProvider;
+
+    @Value("${cb.flow.lock.lease.ms:" + CB_FLOW_LOCK_LEASE_MS + "}")
+    private long leaseDuration;
+
+    @Value("${cb.flow.lock.poll.interval.ms:" + CB_FLOW_LOCK_POLL_INTERVAL_MS + "}")
+    private long pollInterval;
+
+    @Inject
+    private FlowLockRepository flowLockRepository;
+
+    @Inject
+    private LockRegistry lockRegistry;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private final ConcurrentMap<String, Lease> leases = new ConcurrentHashMap<>();
+
+    private boolean enabled;
+
+    private final ThreadLocal<Map<String, Lease>> heldLeases = new ThreadLocal<Map<String, Lease>>() {
+        @Override
+        protected Map<String, Lease> initialValue() {
+            return new HashMap<>();
+        }
+    };
+
+    @PostConstruct
+    public void init() {
+        enabled = "database".equalsIgnoreCase(lockProvider);
+        LOGGER.info("Flow locks are provided by the {}.", enabled ? "database" : "JVM");
+    }
+
+    @Override
+    public Lock retain(String key, Long stackId) {
+        ReentrantLock local = lockRegistry.retain(key);
+        return enabled ? new LeasedLock(key, stackId, local) : local;
+    }
+
+    @Override
+    public void release(String key) {
+        lockRegistry.release(key);
+    }
+
+    /**
+     * Throws a {@link CancellationException} if a lease held by the current thread has been lost. Has to be called in the
+     * transaction of the write.
+     */
+    public void fence() {
+        if (!enabled) {
+            return;
+        }
+        for (Lease lease : heldLeases.get().values()) {
+            if (lease.lost || flowLockRepository.findHeld(lease.key, owner, lease.fencingToken) == null) {
+                throw new CancellationException(String.format("The lease of lock %s has been lost, the write is rejected.", lease.key));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cb.flow.lock.renew.interval.ms:" + CB_FLOW_LOCK_RENEW_INTERVAL_MS + "}")
+    public void renewLeases() {
+        for (Lease lease : leases.values()) {
+            try {
+                if (flowLockRepository.renew(lease.key, owner, lease.fencingToken, expires(new Date())) == 0) {
+                    LOGGER.error("The lease of lock {} has been lost, another instance may have taken it over.", lease.key);
+                    lease.lost = true;
+                    leases.remove(lease.key, lease);
+                    cancelStack(lease);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to renew the lease of lock {}.", lease.key, e);
+            }
+        }
+    }
+
+    private boolean acquireLease(String key, Long stackId) {
+        Date now = new Date();
+        if (flowLockRepository.acquire(key, owner, now, expires(now)) == 0) {
+            if (flowLockRepository.exists(key)) {
+                return false;
+            }
+            if (!createLock(key) || flowLockRepository.acquire(key, owner, now, expires(now)) == 0) {
+                return false;
+            }
+        }
+        Lease lease = new Lease(key, stackId, flowLockRepository.findOne(key).getFencingToken());
+        leases.put(key, lease);
+        heldLeases.get().put(key, lease);
+        if (stackId != null) {
+            InMemoryStateStore.renewCancellationToken(stackId);
+        }
+        return true;
+    }
+
+    private boolean createLock(String key) {
+        try {
+            if (flowLockRepository.create(key) == 1) {
+                return true;
+            }
+        } catch (DataIntegrityViolationException e) {
+            LOGGER.debug("Failed to create lock {}.", key, e);
+        }
+        LOGGER.debug("Lock {} has been created by another instance.", key);
+        return false;
+    }
+
+    private void releaseLease(String key) {
+        Lease lease = heldLeases.get().remove(key);
+        if (lease != null) {
+            leases.remove(key, lease);
+        }
+        if (lease == null || lease.lost || flowLockRepository.release(key, owner, lease.fencingToken) == 0) {
+            LOGGER.warn("The lease of lock {} had been lost before it was released.", key);
+        }
+    }
+
+    private void cancelStack(Lease lease) {
+        if (lease.stackId != null) {
+            LOGGER.warn("Cancelling the running operations of stack {}, because the lease of lock {} has been lost.", lease.stackId, lease.key);
+            InMemoryStateStore.getCancellationToken(lease.stackId).cancel();
+        }
+    }
+
+    private Date expires(Date now) {
+        return new Date(now.getTime() + leaseDuration);
+    }
+
+    private static final class Lease {
+        private final String key;
+        private final Long stackId;
+        private final Long fencingToken;
+        private volatile boolean lost;
+
+        private Lease(String key, Long stackId, Long fencingToken) {
+            this.key = key;
+            this.stackId = stackId;
+            this.fencingToken = fencingToken;
+        }
+    }
+
+    private final class LeasedLock implements Lock {
+        private final String key;
+        private final Long stackId;
+        private final ReentrantLock local;
+
+        private LeasedLock(String key, Long stackId, ReentrantLock local) {
+            this.key = key;
+            this.stackId = stackId;
+            this.local = local;
+        }
+
+        @Override
+        public void lock() {
+            local.lock();
+            if (local.getHoldCount() == 1) {
+                try {
+                    acquireLeaseUninterruptibly();
+                } catch (RuntimeException e) {
+                    local.unlock();
+                    throw e;
+                }
+            }
+        }
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            local.lockInterruptibly();
+            try {
+                while (!leased()) {
+                    Thread.sleep(pollInterval);
+                }
+            } catch (InterruptedException e) {
+                local.unlock();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            return local.tryLock() && leasedOrUnlock();
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(time);
+            if (!local.tryLock(time, unit)) {
+                return false;
+            }
+            try {
+                while (!leased()) {
+                    long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remaining <= 0) {
+                        local.unlock();
+                        return false;
+                    }
+                    Thread.sleep(Math.min(remaining, pollInterval));
+                }
+                return true;
+            } catch (InterruptedException e) {
+                local.unlock();
+                throw e;
+            }
+        }
+
+        @Override
+        public void unlock() {
+            try {
+                if (local.getHoldCount() == 1) {
+                    releaseLease(key);
+                }
+            } finally {
+                local.unlock();
+            }
+        }
+
+        @Override
+        public Condition newCondition() {
+            return new LeasedCondition(this, local.newCondition());
+        }
+
+        private void acquireLeaseUninterruptibly() {
+            boolean interrupted = false;
+            while (!acquireLease(key, stackId)) {
+                try {
+                    Thread.sleep(pollInterval);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private boolean leased() {
+            try {
+                return local.getHoldCount() > 1 || acquireLease(key, stackId);
+            } catch (RuntimeException e) {
+                local.unlock();
+                throw e;
+            }
+        }
+
+        private boolean leasedOrUnlock() {
+            if (leased()) {
+                return true;
+            }
+            local.unlock();
+            return false;
+        }
+    }
+
+    /**
+     * Waiting releases the lease, so the other instances can take the lock meanwhile.
+     */
+    private final class LeasedCondition implements Condition {
+        private final LeasedLock lock;
+        private final Condition condition;
+
+        private LeasedCondition(LeasedLock lock, Condition condition) {
+            this.lock = lock;
+            this.condition = condition;
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            releaseLease(lock.key);
+            try {
+                condition.await();
+            } finally {
+                lock.acquireLeaseUninterruptibly();
+            }
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            releaseLease(lock.key);
+            try {
+                condition.awaitUninterruptibly();
+            } finally {
+                lock.acquireLeaseUninterruptibly();
+            }
+        }
+
+        @Override
+        public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            releaseLease(lock.key);
+            try {
+                return condition.awaitNanos(nanosTimeout);
+            } finally {
+                lock.acquireLeaseUninterruptibly();
+            }
+        }
+
+        @Override
+        public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            releaseLease(lock.key);
+            try {
+                return condition.await(time, unit);
+            } finally {
+                lock.acquireLeaseUninterruptibly();
+            }
+        }
+
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            releaseLease(lock.key);
+            try {
+                return condition.awaitUntil(deadline);
+            } finally {
+                lock.acquireLeaseUninterruptibly();
+            }
+        }
+
+        @Override
+        public void signal() {
+            condition.signal();
+        }
+
+        @Override
+        public void signalAll() {
+            condition.signalAll();
+        }
+    }
+}
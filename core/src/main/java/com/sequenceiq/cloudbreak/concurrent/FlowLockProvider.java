@@ -0,0 +1,16 @@
+package com.sequenceiq.cloudbreak.concurrent;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Provides the locks of the {@link LockedMethod} and {@link GuardedMethod} executions.
+ */
+public interface FlowLockProvider {
+
+    /**
+     * Returns the lock of the key, which has to be released with {@link #release(String)} when it is not needed anymore.
+     */
+    Lock retain(String key, Long stackId);
+
+    void release(String key);
+}
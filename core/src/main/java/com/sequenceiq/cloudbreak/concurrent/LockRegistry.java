@@ -0,0 +1,53 @@
+package com.sequenceiq.cloudbreak.concurrent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds one reference counted lock per key in the JVM, so operations on different stacks never wait for each other.
+ */
+@Component
+public class LockRegistry implements FlowLockProvider {
+
+    private final Map<String, KeyLock> locks = new HashMap<>();
+
+    @Override
+    public ReentrantLock retain(String key, Long stackId) {
+        return retain(key);
+    }
+
+    public ReentrantLock retain(String key) {
+        synchronized (locks) {
+            KeyLock lock = locks.get(key);
+            if (lock == null) {
+                lock = new KeyLock();
+                locks.put(key, lock);
+            }
+            lock.references++;
+            return lock;
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        synchronized (locks) {
+            KeyLock lock = locks.get(key);
+            if (lock != null && --lock.references == 0) {
+                locks.remove(key);
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (locks) {
+            return locks.size();
+        }
+    }
+
+    private static final class KeyLock extends ReentrantLock {
+        private int references;
+    }
+}
@@ -2,8 +2,11 @@ package com.sequenceiq.cloudbreak.conf;
 
 import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_CONTAINER_THREADPOOL_CAPACITY_SIZE;
 import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_CONTAINER_THREADPOOL_CORE_SIZE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_CONTINUATION_THREADPOOL_CAPACITY_SIZE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_CONTINUATION_THREADPOOL_CORE_SIZE;
 import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_INTERMEDIATE_THREADPOOL_CAPACITY_SIZE;
 import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_INTERMEDIATE_THREADPOOL_CORE_SIZE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_POLLING_SCHEDULER_POOL_SIZE;
 import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_SUPPORTED_CONTAINER_ORCHESTRATORS;
 import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_THREADPOOL_CAPACITY_SIZE;
 import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_THREADPOOL_CORE_SIZE;
@@ -37,13 +40,15 @@ import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.client.RestOperations;
 import org.springframework.web.client.RestTemplate;
 
 import com.google.common.collect.Maps;
+import com.sequenceiq.cloudbreak.cloud.executor.ExecutorRegistry;
 import com.sequenceiq.cloudbreak.controller.validation.blueprint.StackServiceComponentDescriptorMapFactory;
 import com.sequenceiq.cloudbreak.core.CloudbreakException;
 import com.sequenceiq.cloudbreak.core.bootstrap.service.ExecutorBasedParallelContainerRunner;
@@ -82,12 +87,27 @@ public class AppConfig {
     @Value("${cb.container.threadpool.capacity.size:" + CB_CONTAINER_THREADPOOL_CAPACITY_SIZE + "}")
     private int containerteQueueCapacity;
 
+    @Value("${cb.continuation.threadpool.core.size:" + CB_CONTINUATION_THREADPOOL_CORE_SIZE + "}")
+    private int continuationCorePoolSize;
+
+    @Value("${cb.continuation.threadpool.capacity.size:" + CB_CONTINUATION_THREADPOOL_CAPACITY_SIZE + "}")
+    private int continuationQueueCapacity;
+
+    @Value("${cb.polling.scheduler.pool.size:" + CB_POLLING_SCHEDULER_POOL_SIZE + "}")
+    private int pollingSchedulerPoolSize;
+
     @Inject
     private List<FileSystemConfigurator> fileSystemConfigurators;
 
     @Inject
     private ConfigurableEnvironment environment;
 
+    @Inject
+    private IoExecutorFactory ioExecutorFactory;
+
+    @Inject
+    private ExecutorRegistry executorRegistry;
+
     @PostConstruct
     public void init() throws IOException {
         Security.addProvider(new org.bouncycastle.jce.provider.BouncyCastleProvider());
@@ -151,32 +171,27 @@ public class AppConfig {
 
     @Bean
     public AsyncTaskExecutor intermediateBuilderExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(intermediateCorePoolSize);
-        executor.setQueueCapacity(intermediateQueueCapacity);
-        executor.setThreadNamePrefix("intermediateBuilderExecutor-");
-        executor.initialize();
-        return executor;
+        return ioExecutorFactory.create("intermediateBuilderExecutor", intermediateCorePoolSize, intermediateQueueCapacity);
     }
 
     @Bean
     public AsyncTaskExecutor resourceBuilderExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(corePoolSize);
-        executor.setQueueCapacity(queueCapacity);
-        executor.setThreadNamePrefix("resourceBuilderExecutor-");
-        executor.initialize();
-        return executor;
+        return ioExecutorFactory.create("resourceBuilderExecutor", corePoolSize, queueCapacity);
+    }
+
+    @Bean
+    public AsyncTaskExecutor continuationExecutor() {
+        return ioExecutorFactory.create("continuationExecutor", continuationCorePoolSize, continuationQueueCapacity);
     }
 
     @Bean
     public AsyncTaskExecutor containerBootstrapBuilderExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(containerCorePoolSize);
-        executor.setQueueCapacity(containerteQueueCapacity);
-        executor.setThreadNamePrefix("containerBootstrapBuilderExecutor-");
-        executor.initialize();
-        return executor;
+        return ioExecutorFactory.create("containerBootstrapBuilderExecutor", containerCorePoolSize, containerteQueueCapacity);
+    }
+
+    @Bean
+    public TaskScheduler pollingScheduler() {
+        return new ConcurrentTaskScheduler(executorRegistry.newScheduledThreadPool("pollingScheduler", pollingSchedulerPoolSize));
     }
 
     @Bean
@@ -2,16 +2,20 @@ package com.sequenceiq.cloudbreak.conf;
 
 import java.util.concurrent.Executor;
 
+import javax.inject.Inject;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
+import com.sequenceiq.cloudbreak.cloud.executor.ExecutorRegistry;
+
 @Configuration
 @EnableAsync
 @EnableScheduling
@@ -21,20 +25,20 @@ public class AsyncConfig implements AsyncConfigurer, SchedulingConfigurer {
     private static final int MAX_POOL_SIZE = 42;
     private static final int QUEUE_CAPACITY = 11;
 
+    @Inject
+    private IoExecutorFactory ioExecutorFactory;
+
+    @Inject
+    private ExecutorRegistry executorRegistry;
+
     @Override
     public Executor getAsyncExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(CORE_POOL_SIZE);
-        executor.setMaxPoolSize(MAX_POOL_SIZE);
-        executor.setQueueCapacity(QUEUE_CAPACITY);
-        executor.setThreadNamePrefix("asyncExecutor-");
-        executor.initialize();
-        return executor;
+        return ioExecutorFactory.create("asyncExecutor", CORE_POOL_SIZE, MAX_POOL_SIZE, QUEUE_CAPACITY);
     }
 
     @Bean
-    public ThreadPoolTaskScheduler taskScheduler() {
-        return new ThreadPoolTaskScheduler();
+    public TaskScheduler taskScheduler() {
+        return new ConcurrentTaskScheduler(executorRegistry.newScheduledThreadPool("taskScheduler", 1));
     }
 
     @Override
@@ -3,21 +3,30 @@ package com.sequenceiq.cloudbreak.conf;
 import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_ENV_DB;
 import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_ENV_PASS;
 import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_ENV_USER;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_JDBC_BATCH_SIZE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_POOL_EVICTION_INTERVAL_MS;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_POOL_MAX_ACTIVE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_POOL_MAX_WAIT_MS;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_POOL_MIN_EVICTABLE_IDLE_MS;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_POOL_MIN_IDLE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_POOL_STATEMENT_CACHE_SIZE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_POOL_VALIDATION_INTERVAL_MS;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_DB_POOL_VALIDATION_QUERY;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
-import javax.sql.DataSource;
+import javax.persistence.SharedCacheMode;
 
 import java.util.Properties;
 
+import org.apache.tomcat.jdbc.pool.PoolProperties;
 import org.postgresql.Driver;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
-import org.springframework.jdbc.datasource.SimpleDriverDataSource;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
@@ -26,6 +35,8 @@ import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import com.sequenceiq.cloudbreak.metrics.InstrumentedDataSource;
+
 @Configuration
 @EnableTransactionManagement
 public class DatabaseConfig {
@@ -45,18 +56,63 @@ public class DatabaseConfig {
     @Value("${cb.hibernate.debug:false}")
     private boolean debug;
 
+    @Value("${cb.db.pool.min.idle:" + CB_DB_POOL_MIN_IDLE + "}")
+    private int poolMinIdle;
+
+    @Value("${cb.db.pool.max.active:" + CB_DB_POOL_MAX_ACTIVE + "}")
+    private int poolMaxActive;
+
+    @Value("${cb.db.pool.max.wait.ms:" + CB_DB_POOL_MAX_WAIT_MS + "}")
+    private int poolMaxWait;
+
+    @Value("${cb.db.pool.validation.query:" + CB_DB_POOL_VALIDATION_QUERY + "}")
+    private String poolValidationQuery;
+
+    @Value("${cb.db.pool.validation.interval.ms:" + CB_DB_POOL_VALIDATION_INTERVAL_MS + "}")
+    private long poolValidationInterval;
+
+    @Value("${cb.db.pool.eviction.interval.ms:" + CB_DB_POOL_EVICTION_INTERVAL_MS + "}")
+    private int poolEvictionInterval;
+
+    @Value("${cb.db.pool.min.evictable.idle.ms:" + CB_DB_POOL_MIN_EVICTABLE_IDLE_MS + "}")
+    private int poolMinEvictableIdle;
+
+    @Value("${cb.db.pool.statement.cache.size:" + CB_DB_POOL_STATEMENT_CACHE_SIZE + "}")
+    private int poolStatementCacheSize;
+
+    @Value("${cb.db.jdbc.batch.size:" + CB_DB_JDBC_BATCH_SIZE + "}")
+    private int jdbcBatchSize;
+
+    @Value("${cb.db.second.level.cache.enabled:true}")
+    private boolean secondLevelCacheEnabled;
+
     @Inject
     @Named("databaseAddress")
     private String databaseAddress;
 
-    @Bean
-    public DataSource dataSource() {
-        SimpleDriverDataSource dataSource = new SimpleDriverDataSource();
-        dataSource.setDriverClass(Driver.class);
-        dataSource.setUrl(String.format("jdbc:postgresql://%s/%s", databaseAddress, dbName));
-        dataSource.setUsername(dbUser);
-        dataSource.setPassword(dbPassword);
-        return dataSource;
+    @Bean(destroyMethod = "close")
+    public InstrumentedDataSource dataSource() {
+        PoolProperties poolProperties = new PoolProperties();
+        poolProperties.setDriverClassName(Driver.class.getName());
+        poolProperties.setUrl(String.format("jdbc:postgresql://%s/%s", databaseAddress, dbName));
+        poolProperties.setUsername(dbUser);
+        poolProperties.setPassword(dbPassword);
+        poolProperties.setInitialSize(poolMinIdle);
+        poolProperties.setMinIdle(poolMinIdle);
+        poolProperties.setMaxIdle(poolMaxActive);
+        poolProperties.setMaxActive(poolMaxActive);
+        poolProperties.setMaxWait(poolMaxWait);
+        poolProperties.setFairQueue(true);
+        poolProperties.setTestOnBorrow(true);
+        poolProperties.setTestWhileIdle(true);
+        poolProperties.setValidationQuery(poolValidationQuery);
+        poolProperties.setValidationInterval(poolValidationInterval);
+        poolProperties.setTimeBetweenEvictionRunsMillis(poolEvictionInterval);
+        poolProperties.setMinEvictableIdleTimeMillis(poolMinEvictableIdle);
+        poolProperties.setJdbcInterceptors(String.format("ConnectionState;StatementCache(prepared=true,callable=false,max=%d)", poolStatementCacheSize));
+        poolProperties.setJmxEnabled(true);
+        poolProperties.setName("cloudbreak-core");
+        return new InstrumentedDataSource(poolProperties);
     }
 
     @Bean
@@ -73,7 +129,7 @@ public class DatabaseConfig {
     }
 
     @Bean
-    @DependsOn("databaseUpMigration")
+    @DependsOn({ "databaseUpMigration", "ehCacheManager" })
     public LocalContainerEntityManagerFactoryBean entityManagerFactory() {
         LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
 
@@ -82,6 +138,7 @@ public class DatabaseConfig {
 
         entityManagerFactory.setJpaVendorAdapter(jpaVendorAdapter());
         entityManagerFactory.setJpaProperties(jpaProperties());
+        entityManagerFactory.setSharedCacheMode(secondLevelCacheEnabled ? SharedCacheMode.ENABLE_SELECTIVE : SharedCacheMode.NONE);
         entityManagerFactory.afterPropertiesSet();
         return entityManagerFactory;
     }
@@ -101,6 +158,13 @@ public class DatabaseConfig {
         properties.setProperty("hibernate.format_sql", Boolean.toString(debug));
         properties.setProperty("hibernate.use_sql_comments", Boolean.toString(debug));
         properties.setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+        properties.setProperty("hibernate.jdbc.batch_size", Integer.toString(jdbcBatchSize));
+        properties.setProperty("hibernate.order_inserts", "true");
+        properties.setProperty("hibernate.order_updates", "true");
+        properties.setProperty("hibernate.cache.use_second_level_cache", Boolean.toString(secondLevelCacheEnabled));
+        properties.setProperty("hibernate.cache.use_query_cache", Boolean.toString(secondLevelCacheEnabled));
+        properties.setProperty("hibernate.cache.region.factory_class", "org.hibernate.cache.ehcache.SingletonEhCacheRegionFactory");
+        properties.setProperty("hibernate.cache.default_cache_concurrency_strategy", "read-write");
         return properties;
     }
 }
@@ -0,0 +1,60 @@
+package com.sequenceiq.cloudbreak.conf;
+
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_ELASTIC_THREADPOOL_KEEPALIVE_SECONDS;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_ELASTIC_THREADPOOL_MAX_SIZE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_EXECUTOR_MODE;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.cloud.executor.ExecutorRegistry;
+
+/**
+ * Creates the executors of the blocking cloud, Ambari, Consul and Docker calls, with fixed or elastic thread pools.
+ */
+@Component
+public class IoExecutorFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IoExecutorFactory.class);
+
+    private static final String ELASTIC_MODE = "elastic";
+    private static final int FIXED_KEEPALIVE_SECONDS = 60;
+
+    @Value("${cb.executor.mode:" + CB_EXECUTOR_MODE + "}")
+    private String mode;
+
+    @Value("${cb.elastic.threadpool.max.size:" + CB_ELASTIC_THREADPOOL_MAX_SIZE + "}")
+    private int elasticMaxPoolSize;
+
+    @Value("${cb.elastic.threadpool.keepalive.seconds:" + CB_ELASTIC_THREADPOOL_KEEPALIVE_SECONDS + "}")
+    private int elasticKeepAliveSeconds;
+
+    @Inject
+    private ExecutorRegistry executorRegistry;
+
+    public ConcurrentTaskExecutor create(String name, int corePoolSize, int maxPoolSize, int queueCapacity) {
+        ThreadPoolExecutor executor;
+        if (isElastic()) {
+            executor = executorRegistry.newThreadPool(name, elasticMaxPoolSize, elasticMaxPoolSize, elasticKeepAliveSeconds, true, queueCapacity);
+        } else {
+            executor = executorRegistry.newThreadPool(name, corePoolSize, maxPoolSize, FIXED_KEEPALIVE_SECONDS, false, queueCapacity);
+        }
+        LOGGER.info("{} has been created with {} core and {} max threads.", name, executor.getCorePoolSize(), executor.getMaximumPoolSize());
+        return new ConcurrentTaskExecutor(executor);
+    }
+
+    public ConcurrentTaskExecutor create(String name, int corePoolSize, int queueCapacity) {
+        return create(name, corePoolSize, Integer.MAX_VALUE, queueCapacity);
+    }
+
+    private boolean isElastic() {
+        return ELASTIC_MODE.equalsIgnoreCase(mode);
+    }
+}
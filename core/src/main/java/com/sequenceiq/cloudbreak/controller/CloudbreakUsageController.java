@@ -18,8 +18,10 @@ import com.sequenceiq.cloudbreak.controller.doc.ControllerDescription;
 import com.sequenceiq.cloudbreak.controller.doc.Notes;
 import com.sequenceiq.cloudbreak.controller.doc.OperationDescriptions.UsagesOpDescription;
 import com.sequenceiq.cloudbreak.controller.json.CloudbreakUsageJson;
+import com.sequenceiq.cloudbreak.controller.json.CloudbreakUsageRollupPageJson;
 import com.sequenceiq.cloudbreak.domain.CbUsageFilterParameters;
 import com.sequenceiq.cloudbreak.domain.CbUser;
+import com.sequenceiq.cloudbreak.domain.UsageRollupGranularity;
 import com.sequenceiq.cloudbreak.facade.CloudbreakUsagesFacade;
 import com.sequenceiq.cloudbreak.logger.MDCBuilder;
 import com.wordnik.swagger.annotations.Api;
@@ -29,6 +31,8 @@ import com.wordnik.swagger.annotations.ApiOperation;
 @Api(value = "/usages", description = ControllerDescription.USAGES_DESCRIPTION, position = 6)
 public class CloudbreakUsageController {
 
+    private static final String DEFAULT_ROLLUP_PAGE_SIZE = "100";
+
     @Inject
     private CloudbreakUsagesFacade cloudbreakUsagesFacade;
 
@@ -80,6 +84,63 @@ public class CloudbreakUsageController {
         return new ResponseEntity<>(usages, HttpStatus.OK);
     }
 
+    @ApiOperation(value = UsagesOpDescription.GET_ALL_ROLLUPS, produces = ContentType.JSON, notes = Notes.USAGE_NOTES)
+    @RequestMapping(method = RequestMethod.GET, value = "/usages/rollups")
+    @ResponseBody
+    public ResponseEntity<CloudbreakUsageRollupPageJson> deployerUsageRollups(@ModelAttribute("user") CbUser user,
+            @RequestParam(value = "granularity", defaultValue = "DAILY") UsageRollupGranularity granularity,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = DEFAULT_ROLLUP_PAGE_SIZE) int size,
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestParam(value = "filterenddate", required = false) Long filterEndDate,
+            @RequestParam(value = "user", required = false) String userId,
+            @RequestParam(value = "account", required = false) String accountId,
+            @RequestParam(value = "cloud", required = false) String cloud,
+            @RequestParam(value = "zone", required = false) String zone) {
+        MDCBuilder.buildUserMdcContext(user);
+        CbUsageFilterParameters params = new CbUsageFilterParameters.Builder().setAccount(accountId).setOwner(userId)
+                .setSince(since).setCloud(cloud).setRegion(zone).setFilterEndDate(filterEndDate).build();
+        CloudbreakUsageRollupPageJson rollups = cloudbreakUsagesFacade.getUsageRollupsFor(params, granularity, page, size);
+        return new ResponseEntity<>(rollups, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = UsagesOpDescription.GET_PUBLIC_ROLLUPS, produces = ContentType.JSON, notes = Notes.USAGE_NOTES)
+    @RequestMapping(method = RequestMethod.GET, value = "/account/usages/rollups")
+    @ResponseBody
+    public ResponseEntity<CloudbreakUsageRollupPageJson> accountUsageRollups(@ModelAttribute("user") CbUser user,
+            @RequestParam(value = "granularity", defaultValue = "DAILY") UsageRollupGranularity granularity,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = DEFAULT_ROLLUP_PAGE_SIZE) int size,
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestParam(value = "filterenddate", required = false) Long filterEndDate,
+            @RequestParam(value = "user", required = false) String userId,
+            @RequestParam(value = "cloud", required = false) String cloud,
+            @RequestParam(value = "zone", required = false) String zone) {
+        MDCBuilder.buildUserMdcContext(user);
+        CbUsageFilterParameters params = new CbUsageFilterParameters.Builder().setAccount(user.getAccount()).setOwner(userId)
+                .setSince(since).setCloud(cloud).setRegion(zone).setFilterEndDate(filterEndDate).build();
+        CloudbreakUsageRollupPageJson rollups = cloudbreakUsagesFacade.getUsageRollupsFor(params, granularity, page, size);
+        return new ResponseEntity<>(rollups, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = UsagesOpDescription.GET_PRIVATE_ROLLUPS, produces = ContentType.JSON, notes = Notes.USAGE_NOTES)
+    @RequestMapping(method = RequestMethod.GET, value = "/user/usages/rollups")
+    @ResponseBody
+    public ResponseEntity<CloudbreakUsageRollupPageJson> userUsageRollups(@ModelAttribute("user") CbUser user,
+            @RequestParam(value = "granularity", defaultValue = "DAILY") UsageRollupGranularity granularity,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = DEFAULT_ROLLUP_PAGE_SIZE) int size,
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestParam(value = "filterenddate", required = false) Long filterEndDate,
+            @RequestParam(value = "cloud", required = false) String cloud,
+            @RequestParam(value = "zone", required = false) String zone) {
+        MDCBuilder.buildUserMdcContext(user);
+        CbUsageFilterParameters params = new CbUsageFilterParameters.Builder().setAccount(user.getAccount()).setOwner(user.getUserId())
+                .setSince(since).setCloud(cloud).setRegion(zone).setFilterEndDate(filterEndDate).build();
+        CloudbreakUsageRollupPageJson rollups = cloudbreakUsagesFacade.getUsageRollupsFor(params, granularity, page, size);
+        return new ResponseEntity<>(rollups, HttpStatus.OK);
+    }
+
     @ApiOperation(value = UsagesOpDescription.GENERATE, produces = ContentType.JSON, notes = Notes.USAGE_NOTES)
     @RequestMapping(method = RequestMethod.GET, value = "/usages/generate")
     @ResponseBody
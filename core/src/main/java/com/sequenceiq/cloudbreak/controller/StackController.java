@@ -31,11 +31,13 @@ import com.sequenceiq.cloudbreak.controller.json.IdJson;
 import com.sequenceiq.cloudbreak.controller.json.PlatformVariantsJson;
 import com.sequenceiq.cloudbreak.controller.json.StackRequest;
 import com.sequenceiq.cloudbreak.controller.json.StackResponse;
+import com.sequenceiq.cloudbreak.controller.json.StackSummaryResponse;
 import com.sequenceiq.cloudbreak.controller.json.StackValidationRequest;
 import com.sequenceiq.cloudbreak.controller.json.TemplateResponse;
 import com.sequenceiq.cloudbreak.controller.json.UpdateStackJson;
 import com.sequenceiq.cloudbreak.domain.CbUser;
 import com.sequenceiq.cloudbreak.domain.Stack;
+import com.sequenceiq.cloudbreak.domain.StackSummary;
 import com.sequenceiq.cloudbreak.domain.StackValidation;
 import com.sequenceiq.cloudbreak.logger.MDCBuilder;
 import com.sequenceiq.cloudbreak.service.TlsSecurityService;
@@ -95,6 +97,15 @@ public class StackController {
         return new ResponseEntity<>(convertStacks(stacks), HttpStatus.OK);
     }
 
+    @ApiOperation(value = StackOpDescription.GET_PRIVATE_SUMMARY, produces = ContentType.JSON, notes = Notes.STACK_NOTES)
+    @RequestMapping(value = "user/stacks", method = RequestMethod.GET, params = "summary=true")
+    @ResponseBody
+    public ResponseEntity<Set<StackSummaryResponse>> getPrivateStackSummaries(@ModelAttribute("user") CbUser user) {
+        MDCBuilder.buildUserMdcContext(user);
+        Set<StackSummary> stacks = stackService.retrievePrivateStackSummaries(user);
+        return new ResponseEntity<>(convertStackSummaries(stacks), HttpStatus.OK);
+    }
+
     @ApiOperation(value = StackOpDescription.GET_PUBLIC, produces = ContentType.JSON, notes = "")
     protected Set<StackResponse> convertStacks(Set<Stack> stacks) {
         return (Set<StackResponse>) conversionService.convert(stacks, TypeDescriptor.forObject(stacks),
@@ -111,6 +122,15 @@ public class StackController {
         return new ResponseEntity<>(convertStacks(stacks), HttpStatus.OK);
     }
 
+    @ApiOperation(value = StackOpDescription.GET_PUBLIC_SUMMARY, produces = ContentType.JSON, notes = Notes.STACK_NOTES)
+    @RequestMapping(value = "account/stacks", method = RequestMethod.GET, params = "summary=true")
+    @ResponseBody
+    public ResponseEntity<Set<StackSummaryResponse>> getAccountStackSummaries(@ModelAttribute("user") CbUser user) {
+        MDCBuilder.buildUserMdcContext(user);
+        Set<StackSummary> stacks = stackService.retrieveAccountStackSummaries(user);
+        return new ResponseEntity<>(convertStackSummaries(stacks), HttpStatus.OK);
+    }
+
     @ApiOperation(value = StackOpDescription.GET_BY_ID, produces = ContentType.JSON, notes = Notes.STACK_NOTES)
     @RequestMapping(value = "stacks/{id}", method = RequestMethod.GET)
     @ResponseBody
@@ -263,6 +283,11 @@ public class StackController {
         return new ResponseEntity<>(new IdJson(stack.getId()), HttpStatus.CREATED);
     }
 
+    private Set<StackSummaryResponse> convertStackSummaries(Set<StackSummary> stacks) {
+        return (Set<StackSummaryResponse>) conversionService.convert(stacks, TypeDescriptor.forObject(stacks),
+                TypeDescriptor.collection(Set.class, TypeDescriptor.valueOf(StackSummaryResponse.class)));
+    }
+
     private void validateAccountPreferences(Stack stack, CbUser user) {
         try {
             accountPreferencesValidator.validate(stack, user.getAccount(), user.getUserId());
@@ -10,6 +10,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -21,6 +23,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.sequenceiq.cloudbreak.cloud.executor.ExecutorSaturatedException;
 import com.sequenceiq.cloudbreak.controller.BadRequestException;
 import com.sequenceiq.cloudbreak.controller.NotFoundException;
 import com.sequenceiq.cloudbreak.controller.json.ExceptionResult;
@@ -33,6 +36,8 @@ import com.sequenceiq.cloudbreak.service.subscription.SubscriptionAlreadyExistEx
 public class ExceptionControllerAdvice {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ExceptionControllerAdvice.class);
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final String RETRY_AFTER_SECONDS = "30";
 
     @ExceptionHandler({ AuthenticationCredentialsNotFoundException.class })
     public ResponseEntity<ExceptionResult> unauthorized(Exception e) {
@@ -108,6 +113,16 @@ public class ExceptionControllerAdvice {
         return new ResponseEntity<>(new ExceptionResult(e.getMessage()), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler({ ExecutorSaturatedException.class, TaskRejectedException.class })
+    public ResponseEntity<ExceptionResult> serviceUnavailable(Exception e) {
+        MDCBuilder.buildMdcContext();
+        LOGGER.warn(e.getMessage(), e);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RETRY_AFTER_HEADER, RETRY_AFTER_SECONDS);
+        return new ResponseEntity<>(new ExceptionResult("The server is busy, please retry the request later."), headers,
+                HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler({ Exception.class, RuntimeException.class })
     public ResponseEntity<ExceptionResult> serverError(Exception e) {
         MDCBuilder.buildMdcContext();
@@ -57,6 +57,9 @@ public class ModelDescriptions {
         public static final String CERTIFICATE = "certificate used by the gateway";
         public static final String CLUSTER_STATUS = "status of the cluster";
         public static final String PLATFORM_VARIANT = "cloud provider api variant";
+        public static final String NODE_COUNT = "number of nodes in the stack";
+        public static final String INSTANCE_GROUP_COUNT = "number of instance groups in the stack";
+        public static final String CREATED = "creation time of the stack in long";
     }
 
     public static class ClusterModelDescription {
@@ -146,6 +149,13 @@ public class ModelDescriptions {
         public static final String INSTANCE_HOURS = "hours since the instance is running";
         public static final String INSTANCE_TYPE = "type of instance";
         public static final String INSTANCE_GROUP = "group name of instance";
+        public static final String GRANULARITY = "granularity of the aggregated usage (DAILY or MONTHLY)";
+        public static final String PERIOD = "day (yyyy-MM-dd) or month (yyyy-MM) of the aggregated usage";
+        public static final String ROLLUPS = "aggregated usages of the page";
+        public static final String PAGE = "zero based index of the page";
+        public static final String PAGE_SIZE = "maximum number of elements on a page";
+        public static final String TOTAL_ELEMENTS = "number of all elements matching the filter";
+        public static final String TOTAL_PAGES = "number of all pages";
     }
 
     public static class EventModelDescription {
@@ -48,6 +48,8 @@ public class OperationDescriptions {
         public static final String POST_PUBLIC = "create stack as public resource";
         public static final String GET_PRIVATE = "retrieve private stack";
         public static final String GET_PUBLIC = "retrieve public and private (owned) stacks";
+        public static final String GET_PRIVATE_SUMMARY = "retrieve summary of private stacks";
+        public static final String GET_PUBLIC_SUMMARY = "retrieve summary of public and private (owned) stacks";
         public static final String GET_PRIVATE_BY_NAME = "retrieve a private stack by name";
         public static final String GET_PUBLIC_BY_NAME = "retrieve a public or private (owned) stack by name";
         public static final String GET_BY_ID = "retrieve stack by id";
@@ -90,6 +92,9 @@ public class OperationDescriptions {
         public static final String GET_PUBLIC = "retrieve public and private (owned) usages by filter parameters";
         public static final String GET_PRIVATE = "retrieve private usages by filter parameters";
         public static final String GENERATE = "generate usages";
+        public static final String GET_ALL_ROLLUPS = "retrieve daily or monthly aggregated usages by filter parameters, paged";
+        public static final String GET_PUBLIC_ROLLUPS = "retrieve daily or monthly aggregated public and private (owned) usages by filter parameters, paged";
+        public static final String GET_PRIVATE_ROLLUPS = "retrieve daily or monthly aggregated private usages by filter parameters, paged";
     }
 
     public static class EventOpDescription {
@@ -0,0 +1,98 @@
+package com.sequenceiq.cloudbreak.controller.json;
+
+import com.sequenceiq.cloudbreak.controller.doc.ModelDescriptions;
+import com.sequenceiq.cloudbreak.controller.doc.ModelDescriptions.StackModelDescription;
+import com.sequenceiq.cloudbreak.controller.doc.ModelDescriptions.UsageModelDescription;
+import com.wordnik.swagger.annotations.ApiModel;
+import com.wordnik.swagger.annotations.ApiModelProperty;
+
+@ApiModel("CloudbreakUsageRollup")
+public class CloudbreakUsageRollupJson implements JsonEntity {
+    @ApiModelProperty(UsageModelDescription.GRANULARITY)
+    private String granularity;
+
+    @ApiModelProperty(UsageModelDescription.PERIOD)
+    private String period;
+
+    @ApiModelProperty(ModelDescriptions.OWNER)
+    private String owner;
+
+    @ApiModelProperty(ModelDescriptions.ACCOUNT)
+    private String account;
+
+    @ApiModelProperty(UsageModelDescription.PROVIDER)
+    private String provider;
+
+    @ApiModelProperty(StackModelDescription.REGION)
+    private String region;
+
+    @ApiModelProperty(UsageModelDescription.INSTANCE_HOURS)
+    private Long instanceHours;
+
+    @ApiModelProperty(UsageModelDescription.COSTS)
+    private Double costs;
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(String granularity) {
+        this.granularity = granularity;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public void setAccount(String account) {
+        this.account = account;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public Long getInstanceHours() {
+        return instanceHours;
+    }
+
+    public void setInstanceHours(Long instanceHours) {
+        this.instanceHours = instanceHours;
+    }
+
+    public Double getCosts() {
+        return costs;
+    }
+
+    public void setCosts(Double costs) {
+        this.costs = costs;
+    }
+}
@@ -0,0 +1,65 @@
+package com.sequenceiq.cloudbreak.controller.json;
+
+import java.util.List;
+
+import com.sequenceiq.cloudbreak.controller.doc.ModelDescriptions.UsageModelDescription;
+import com.wordnik.swagger.annotations.ApiModel;
+import com.wordnik.swagger.annotations.ApiModelProperty;
+
+@ApiModel("CloudbreakUsageRollupPage")
+public class CloudbreakUsageRollupPageJson implements JsonEntity {
+    @ApiModelProperty(UsageModelDescription.ROLLUPS)
+    private List<CloudbreakUsageRollupJson> rollups;
+
+    @ApiModelProperty(UsageModelDescription.PAGE)
+    private int page;
+
+    @ApiModelProperty(UsageModelDescription.PAGE_SIZE)
+    private int size;
+
+    @ApiModelProperty(UsageModelDescription.TOTAL_ELEMENTS)
+    private long totalElements;
+
+    @ApiModelProperty(UsageModelDescription.TOTAL_PAGES)
+    private int totalPages;
+
+    public List<CloudbreakUsageRollupJson> getRollups() {
+        return rollups;
+    }
+
+    public void setRollups(List<CloudbreakUsageRollupJson> rollups) {
+        this.rollups = rollups;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+}
@@ -0,0 +1,174 @@
+package com.sequenceiq.cloudbreak.controller.json;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sequenceiq.cloudbreak.common.type.Status;
+import com.sequenceiq.cloudbreak.controller.doc.ModelDescriptions;
+import com.sequenceiq.cloudbreak.controller.doc.ModelDescriptions.ClusterModelDescription;
+import com.sequenceiq.cloudbreak.controller.doc.ModelDescriptions.StackModelDescription;
+import com.wordnik.swagger.annotations.ApiModel;
+import com.wordnik.swagger.annotations.ApiModelProperty;
+
+@ApiModel("StackSummary")
+public class StackSummaryResponse implements JsonEntity {
+    @ApiModelProperty(StackModelDescription.STACK_ID)
+    private Long id;
+    @ApiModelProperty(StackModelDescription.STACK_NAME)
+    private String name;
+    @ApiModelProperty(ModelDescriptions.OWNER)
+    private String owner;
+    @ApiModelProperty(ModelDescriptions.ACCOUNT)
+    private String account;
+    @ApiModelProperty(ModelDescriptions.PUBLIC_IN_ACCOUNT)
+    private boolean publicInAccount;
+    @ApiModelProperty(StackModelDescription.STACK_STATUS)
+    private Status status;
+    @ApiModelProperty(StackModelDescription.STATUS_REASON)
+    private String statusReason;
+    @ApiModelProperty(ModelDescriptions.CLOUD_PLATFORM)
+    private String cloudPlatform;
+    @ApiModelProperty(StackModelDescription.PLATFORM_VARIANT)
+    private String platformVariant;
+    @ApiModelProperty(StackModelDescription.REGION)
+    private String region;
+    @ApiModelProperty(StackModelDescription.AVAILABILITY_ZONE)
+    private String availabilityZone;
+    @ApiModelProperty(ClusterModelDescription.CLUSTER_NAME)
+    private String clusterName;
+    @ApiModelProperty(StackModelDescription.CLUSTER_STATUS)
+    private Status clusterStatus;
+    @ApiModelProperty(StackModelDescription.NODE_COUNT)
+    private Integer nodeCount;
+    @ApiModelProperty(StackModelDescription.INSTANCE_GROUP_COUNT)
+    private Integer instanceGroupCount;
+    @ApiModelProperty(StackModelDescription.CREATED)
+    private Long created;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public void setAccount(String account) {
+        this.account = account;
+    }
+
+    @JsonProperty("public")
+    public boolean isPublicInAccount() {
+        return publicInAccount;
+    }
+
+    public void setPublicInAccount(boolean publicInAccount) {
+        this.publicInAccount = publicInAccount;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getStatusReason() {
+        return statusReason;
+    }
+
+    public void setStatusReason(String statusReason) {
+        this.statusReason = statusReason;
+    }
+
+    public String getCloudPlatform() {
+        return cloudPlatform;
+    }
+
+    public void setCloudPlatform(String cloudPlatform) {
+        this.cloudPlatform = cloudPlatform;
+    }
+
+    public String getPlatformVariant() {
+        return platformVariant;
+    }
+
+    public void setPlatformVariant(String platformVariant) {
+        this.platformVariant = platformVariant;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public String getAvailabilityZone() {
+        return availabilityZone;
+    }
+
+    public void setAvailabilityZone(String availabilityZone) {
+        this.availabilityZone = availabilityZone;
+    }
+
+    public String getClusterName() {
+        return clusterName;
+    }
+
+    public void setClusterName(String clusterName) {
+        this.clusterName = clusterName;
+    }
+
+    public Status getClusterStatus() {
+        return clusterStatus;
+    }
+
+    public void setClusterStatus(Status clusterStatus) {
+        this.clusterStatus = clusterStatus;
+    }
+
+    public Integer getNodeCount() {
+        return nodeCount;
+    }
+
+    public void setNodeCount(Integer nodeCount) {
+        this.nodeCount = nodeCount;
+    }
+
+    public Integer getInstanceGroupCount() {
+        return instanceGroupCount;
+    }
+
+    public void setInstanceGroupCount(Integer instanceGroupCount) {
+        this.instanceGroupCount = instanceGroupCount;
+    }
+
+    public Long getCreated() {
+        return created;
+    }
+
+    public void setCreated(Long created) {
+        this.created = created;
+    }
+}
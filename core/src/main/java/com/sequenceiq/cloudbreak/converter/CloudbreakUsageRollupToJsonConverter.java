@@ -0,0 +1,30 @@
+package com.sequenceiq.cloudbreak.converter;
+
+import java.text.SimpleDateFormat;
+
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.controller.json.CloudbreakUsageRollupJson;
+import com.sequenceiq.cloudbreak.domain.CloudbreakUsageRollup;
+import com.sequenceiq.cloudbreak.domain.UsageRollupGranularity;
+
+@Component
+public class CloudbreakUsageRollupToJsonConverter extends AbstractConversionServiceAwareConverter<CloudbreakUsageRollup, CloudbreakUsageRollupJson> {
+    private static final String DAY_FORMAT = "yyyy-MM-dd";
+    private static final String MONTH_FORMAT = "yyyy-MM";
+
+    @Override
+    public CloudbreakUsageRollupJson convert(CloudbreakUsageRollup entity) {
+        CloudbreakUsageRollupJson json = new CloudbreakUsageRollupJson();
+        String format = UsageRollupGranularity.MONTHLY == entity.getGranularity() ? MONTH_FORMAT : DAY_FORMAT;
+        json.setGranularity(entity.getGranularity().name());
+        json.setPeriod(new SimpleDateFormat(format).format(entity.getPeriodStart()));
+        json.setOwner(entity.getOwner());
+        json.setAccount(entity.getAccount());
+        json.setProvider(entity.getProvider());
+        json.setRegion(entity.getRegion());
+        json.setInstanceHours(entity.getInstanceHours());
+        json.setCosts(entity.getCosts());
+        return json;
+    }
+}
@@ -0,0 +1,32 @@
+package com.sequenceiq.cloudbreak.converter;
+
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.controller.json.StackSummaryResponse;
+import com.sequenceiq.cloudbreak.domain.StackSummary;
+
+@Component
+public class StackSummaryToJsonConverter extends AbstractConversionServiceAwareConverter<StackSummary, StackSummaryResponse> {
+
+    @Override
+    public StackSummaryResponse convert(StackSummary source) {
+        StackSummaryResponse json = new StackSummaryResponse();
+        json.setId(source.getId());
+        json.setName(source.getName());
+        json.setOwner(source.getOwner());
+        json.setAccount(source.getAccount());
+        json.setPublicInAccount(source.isPublicInAccount());
+        json.setStatus(source.getStatus());
+        json.setStatusReason(source.getStatusReason());
+        json.setCloudPlatform(source.getCloudPlatform());
+        json.setPlatformVariant(source.getPlatformVariant());
+        json.setRegion(source.getRegion());
+        json.setAvailabilityZone(source.getAvailabilityZone());
+        json.setClusterName(source.getClusterName());
+        json.setClusterStatus(source.getClusterStatus());
+        json.setNodeCount(source.getNodeCount());
+        json.setInstanceGroupCount(source.getInstanceGroupCount());
+        json.setCreated(source.getCreated());
+        return json;
+    }
+}
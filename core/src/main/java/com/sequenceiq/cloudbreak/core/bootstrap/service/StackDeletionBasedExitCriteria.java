@@ -1,12 +1,9 @@
 package com.sequenceiq.cloudbreak.core.bootstrap.service;
 
-import static com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup.CANCELLED;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup;
 import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
 import com.sequenceiq.cloudbreak.orchestrator.state.ExitCriteria;
 import com.sequenceiq.cloudbreak.orchestrator.state.ExitCriteriaModel;
@@ -20,8 +17,7 @@ public class StackDeletionBasedExitCriteria implements ExitCriteria {
     public boolean isExitNeeded(ExitCriteriaModel exitCriteriaModel) {
         StackDeletionBasedExitCriteriaModel model = (StackDeletionBasedExitCriteriaModel) exitCriteriaModel;
         LOGGER.debug("Check isExitNeeded for model: {}", model);
-        PollGroup pollGroup = InMemoryStateStore.get(model.getStackId());
-        if (pollGroup != null && CANCELLED.equals(pollGroup)) {
+        if (InMemoryStateStore.getCancellationToken(model.getStackId()).isCancelled()) {
             LOGGER.warn("Stack is getting terminated, polling is cancelled.");
             return true;
         }
@@ -1,11 +1,18 @@
 package com.sequenceiq.cloudbreak.core.flow;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
 import javax.inject.Inject;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationException;
 import com.sequenceiq.cloudbreak.core.CloudbreakException;
 import com.sequenceiq.cloudbreak.core.flow.context.DefaultFlowContext;
@@ -42,30 +49,24 @@ public abstract class AbstractFlowHandler<T extends DefaultFlowContext> implemen
      * @param event the reactor event to be acted on
      */
     @Override
-    public void accept(Event<T> event) {
+    public void accept(final Event<T> event) {
         LOGGER.debug("Executing flow Logic on the event: {}", event);
-        Object result = null;
-        boolean success = false;
-        try {
-            result = execute(event);
-            success = true;
-        } catch (Exception t) {
-            if (t instanceof CancellationException || ExceptionUtils.getRootCause(t) instanceof CancellationException) {
-                LOGGER.warn("The flow has been cancelled.");
-                return;
-            }
-            // entry point to the event's custom error handler (if any)
-            consumeError(event, t);
-            try {
-                // performing the error flow
-                result = handleErrorFlow(t, event.getData());
-            } catch (Exception e) {
-                LOGGER.error("Exception during error handling flow, (propagating further!):", e);
-                throw new CloudbreakFlowException(e);
-            }
+        final ListenableFuture<?> future = start(event);
+        if (future.isDone()) {
+            resume(event, future);
+        } else {
+            future.addListener(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        resume(event, future);
+                    } catch (RuntimeException e) {
+                        LOGGER.error("Failed to resume the flow after the asynchronous execution:", e);
+                        consumeError(event, e);
+                    }
+                }
+            }, MoreExecutors.sameThreadExecutor());
         }
-        Object payload = assemblePayload(result);
-        next(payload, success);
     }
 
     /**
@@ -76,6 +77,17 @@ public abstract class AbstractFlowHandler<T extends DefaultFlowContext> implemen
      */
     protected abstract Object execute(Event<T> event) throws CloudbreakException;
 
+    /**
+     * Asynchronous variant of the handler's logic, the flow proceeds when the returned future completes.
+     *
+     * @param event the reactor event received
+     * @return the future result of the execution
+     * @throws CloudbreakException if an error occurs before the handler could continue asynchronously
+     */
+    protected ListenableFuture<?> executeAsync(Event<T> event) throws CloudbreakException {
+        return Futures.immediateFuture(execute(event));
+    }
+
     /**
      * Proceeds to the next phase in the flow.
      */
@@ -125,4 +137,44 @@ public abstract class AbstractFlowHandler<T extends DefaultFlowContext> implemen
         return flowFacade;
     }
 
+    private ListenableFuture<?> start(Event<T> event) {
+        try {
+            return executeAsync(event);
+        } catch (Exception e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    private void resume(Event<T> event, Future<?> future) {
+        Object result;
+        boolean success = false;
+        try {
+            result = Uninterruptibles.getUninterruptibly(future);
+            success = true;
+        } catch (java.util.concurrent.CancellationException e) {
+            LOGGER.warn("The flow has been cancelled.");
+            return;
+        } catch (ExecutionException e) {
+            Throwable t = e.getCause();
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            if (t instanceof CancellationException || ExceptionUtils.getRootCause(t) instanceof CancellationException) {
+                LOGGER.warn("The flow has been cancelled.");
+                return;
+            }
+            // entry point to the event's custom error handler (if any)
+            consumeError(event, t);
+            try {
+                // performing the error flow
+                result = handleErrorFlow(t, event.getData());
+            } catch (Exception ex) {
+                LOGGER.error("Exception during error handling flow, (propagating further!):", ex);
+                throw new CloudbreakFlowException(ex);
+            }
+        }
+        Object payload = assemblePayload(result);
+        next(payload, success);
+    }
+
 }
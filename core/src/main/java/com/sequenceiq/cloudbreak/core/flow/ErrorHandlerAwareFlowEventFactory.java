@@ -4,6 +4,9 @@ import javax.inject.Inject;
 
 import org.springframework.stereotype.Service;
 
+import com.sequenceiq.cloudbreak.cloud.reactor.ChannelRoutingDispatcher;
+import com.sequenceiq.cloudbreak.core.flow.context.FlowContext;
+
 import reactor.bus.Event;
 
 /**
@@ -17,7 +20,11 @@ public class ErrorHandlerAwareFlowEventFactory implements FlowEventFactory<Objec
 
     @Override
     public Event<Object> createEvent(Object payLoad, String eventKey) {
-        return new Event(null, payLoad, errorHandler);
+        Event.Headers headers = new Event.Headers();
+        if (payLoad instanceof FlowContext && ((FlowContext) payLoad).getStackId() != null) {
+            headers.set(ChannelRoutingDispatcher.MAILBOX_HEADER, ((FlowContext) payLoad).getStackId());
+        }
+        return new Event(headers, payLoad, errorHandler);
     }
 
 }
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.sequenceiq.cloudbreak.core.CloudbreakException;
 import com.sequenceiq.cloudbreak.core.flow.AbstractFlowHandler;
 import com.sequenceiq.cloudbreak.core.flow.FlowHandler;
@@ -21,4 +22,10 @@ public class StackStartHandler extends AbstractFlowHandler<StackStatusUpdateCont
         LOGGER.info("Stack started. Context: {}", stackStatusUpdateContext);
         return stackStatusUpdateContext;
     }
+
+    @Override
+    protected ListenableFuture<?> executeAsync(Event<StackStatusUpdateContext> event) throws CloudbreakException {
+        LOGGER.info("executeAsync() for phase: {}", event.getKey());
+        return getFlowFacade().startStackAsync(event.getData());
+    }
 }
@@ -1,5 +1,6 @@
 package com.sequenceiq.cloudbreak.core.flow.service;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.sequenceiq.cloudbreak.core.CloudbreakException;
 import com.sequenceiq.cloudbreak.core.flow.context.FlowContext;
 
@@ -34,6 +35,8 @@ public interface FlowFacade {
 
     FlowContext startStack(FlowContext context) throws CloudbreakException;
 
+    ListenableFuture<FlowContext> startStackAsync(FlowContext context) throws CloudbreakException;
+
     FlowContext stopStack(FlowContext context) throws CloudbreakException;
 
     FlowContext stopStackRequested(FlowContext context) throws CloudbreakException;
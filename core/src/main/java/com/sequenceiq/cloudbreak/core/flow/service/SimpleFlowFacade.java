@@ -10,6 +10,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.google.common.util.concurrent.FutureFallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.sequenceiq.cloudbreak.common.type.BillingStatus;
 import com.sequenceiq.cloudbreak.concurrent.LockedMethod;
 import com.sequenceiq.cloudbreak.core.CloudbreakException;
@@ -224,6 +227,23 @@ public class SimpleFlowFacade implements FlowFacade {
         }
     }
 
+    @Override
+    public ListenableFuture<FlowContext> startStackAsync(FlowContext context) throws CloudbreakException {
+        LOGGER.debug("Starting stack asynchronously. Context: {}", context);
+        try {
+            return Futures.withFallback(stackFacade.startAsync(context), new FutureFallback<FlowContext>() {
+                @Override
+                public ListenableFuture<FlowContext> create(Throwable t) throws Exception {
+                    LOGGER.error("Exception during stack start!: {}", t.getMessage());
+                    throw new CloudbreakException(t);
+                }
+            });
+        } catch (Exception e) {
+            LOGGER.error("Exception during stack start!: {}", e.getMessage());
+            throw new CloudbreakException(e);
+        }
+    }
+
     @Override
     @LockedMethod(lockPrefix = "stopStack")
     public FlowContext stopStack(FlowContext context) throws CloudbreakException {
@@ -28,6 +28,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.FutureFallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.sequenceiq.cloudbreak.common.type.OnFailureAction;
 import com.sequenceiq.cloudbreak.controller.json.HostGroupAdjustmentJson;
 import com.sequenceiq.cloudbreak.core.CloudbreakException;
@@ -147,14 +151,9 @@ public class SimpleStackFacade implements StackFacade {
     public FlowContext start(FlowContext context) throws CloudbreakException {
         StackStatusUpdateContext actualContext = (StackStatusUpdateContext) context;
         try {
-            Stack stack = stackService.getById(actualContext.getStackId());
-            MDCBuilder.buildMdcContext(stack);
-            stackUpdater.updateStackStatus(actualContext.getStackId(), START_IN_PROGRESS, "Cluster infrastructure is now starting.");
-            fireEventAndLog(actualContext.getStackId(), actualContext, Msg.STACK_INFRASTRUCTURE_STARTING, START_IN_PROGRESS.name());
+            Stack stack = beforeStart(actualContext);
             context = stackStartService.start(actualContext);
-            stackUpdater.updateStackStatus(stack.getId(), AVAILABLE, "Cluster infrastructure started successfully.");
-            fireEventAndLog(stack.getId(), context, Msg.STACK_INFRASTRUCTURE_STARTED, AVAILABLE.name());
-            fireEventAndLog(stack.getId(), context, Msg.STACK_BILLING_STARTED, BILLING_STARTED.name());
+            afterStart(stack, context);
         } catch (Exception e) {
             LOGGER.error("Exception during the stack start process.", e.getMessage());
             throw new CloudbreakException(e);
@@ -162,6 +161,32 @@ public class SimpleStackFacade implements StackFacade {
         return context;
     }
 
+    @Override
+    public ListenableFuture<FlowContext> startAsync(FlowContext context) throws CloudbreakException {
+        StackStatusUpdateContext actualContext = (StackStatusUpdateContext) context;
+        try {
+            final Stack stack = beforeStart(actualContext);
+            ListenableFuture<FlowContext> started = Futures.transform(stackStartService.startAsync(actualContext), new Function<FlowContext, FlowContext>() {
+                @Override
+                public FlowContext apply(FlowContext startedContext) {
+                    MDCBuilder.buildMdcContext(stack);
+                    afterStart(stack, startedContext);
+                    return startedContext;
+                }
+            });
+            return Futures.withFallback(started, new FutureFallback<FlowContext>() {
+                @Override
+                public ListenableFuture<FlowContext> create(Throwable t) throws Exception {
+                    LOGGER.error("Exception during the stack start process.", t.getMessage());
+                    throw new CloudbreakException(t);
+                }
+            });
+        } catch (Exception e) {
+            LOGGER.error("Exception during the stack start process.", e.getMessage());
+            throw new CloudbreakException(e);
+        }
+    }
+
     @Override
     public FlowContext stop(FlowContext context) throws CloudbreakException {
         StackStatusUpdateContext actualContext = (StackStatusUpdateContext) context;
@@ -523,6 +548,20 @@ public class SimpleStackFacade implements StackFacade {
         }
     }
 
+    private Stack beforeStart(StackStatusUpdateContext context) {
+        Stack stack = stackService.getById(context.getStackId());
+        MDCBuilder.buildMdcContext(stack);
+        stackUpdater.updateStackStatus(context.getStackId(), START_IN_PROGRESS, "Cluster infrastructure is now starting.");
+        fireEventAndLog(context.getStackId(), context, Msg.STACK_INFRASTRUCTURE_STARTING, START_IN_PROGRESS.name());
+        return stack;
+    }
+
+    private void afterStart(Stack stack, FlowContext context) {
+        stackUpdater.updateStackStatus(stack.getId(), AVAILABLE, "Cluster infrastructure started successfully.");
+        fireEventAndLog(stack.getId(), context, Msg.STACK_INFRASTRUCTURE_STARTED, AVAILABLE.name());
+        fireEventAndLog(stack.getId(), context, Msg.STACK_BILLING_STARTED, BILLING_STARTED.name());
+    }
+
     private void fireEventAndLog(Long stackId, FlowContext context, Msg msgCode, String eventType, Object... args) {
         LOGGER.debug("{} [STACK_FLOW_STEP]. Context: {}", msgCode, context);
         String message = messagesService.getMessage(msgCode.code(), Arrays.asList(args));
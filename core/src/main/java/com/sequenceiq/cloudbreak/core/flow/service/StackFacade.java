@@ -1,5 +1,6 @@
 package com.sequenceiq.cloudbreak.core.flow.service;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.sequenceiq.cloudbreak.core.CloudbreakException;
 import com.sequenceiq.cloudbreak.core.flow.context.FlowContext;
 
@@ -13,6 +14,8 @@ public interface StackFacade {
 
     FlowContext start(FlowContext context) throws CloudbreakException;
 
+    ListenableFuture<FlowContext> startAsync(FlowContext context) throws CloudbreakException;
+
     FlowContext stop(FlowContext context) throws CloudbreakException;
 
     FlowContext handleCreationFailure(FlowContext context) throws CloudbreakException;
@@ -6,6 +6,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.sequenceiq.cloudbreak.core.CloudbreakException;
 import com.sequenceiq.cloudbreak.core.flow.context.FlowContext;
 import com.sequenceiq.cloudbreak.core.flow.context.StackStatusUpdateContext;
@@ -30,4 +33,15 @@ public class StackStartService {
         connector.startAll(stack);
         return stackStatusUpdateContext;
     }
+
+    public ListenableFuture<FlowContext> startAsync(FlowContext context) {
+        final StackStatusUpdateContext stackStatusUpdateContext = (StackStatusUpdateContext) context;
+        Stack stack = stackRepository.findOneWithLists(stackStatusUpdateContext.getStackId());
+        return Futures.transform(connector.startAllAsync(stack), new Function<Void, FlowContext>() {
+            @Override
+            public FlowContext apply(Void input) {
+                return stackStatusUpdateContext;
+            }
+        });
+    }
 }
@@ -3,12 +3,16 @@ package com.sequenceiq.cloudbreak.facade;
 import java.util.List;
 
 import com.sequenceiq.cloudbreak.controller.json.CloudbreakUsageJson;
+import com.sequenceiq.cloudbreak.controller.json.CloudbreakUsageRollupPageJson;
 import com.sequenceiq.cloudbreak.domain.CbUsageFilterParameters;
+import com.sequenceiq.cloudbreak.domain.UsageRollupGranularity;
 
 public interface CloudbreakUsagesFacade {
 
     List<CloudbreakUsageJson> getUsagesFor(CbUsageFilterParameters params);
 
+    CloudbreakUsageRollupPageJson getUsageRollupsFor(CbUsageFilterParameters params, UsageRollupGranularity granularity, int page, int size);
+
     void generateUserUsages();
 
 }
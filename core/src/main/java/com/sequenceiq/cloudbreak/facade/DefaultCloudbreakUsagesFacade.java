@@ -8,11 +8,18 @@ import javax.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import com.sequenceiq.cloudbreak.controller.json.CloudbreakUsageJson;
+import com.sequenceiq.cloudbreak.controller.json.CloudbreakUsageRollupJson;
+import com.sequenceiq.cloudbreak.controller.json.CloudbreakUsageRollupPageJson;
 import com.sequenceiq.cloudbreak.domain.CbUsageFilterParameters;
 import com.sequenceiq.cloudbreak.domain.CloudbreakUsage;
+import com.sequenceiq.cloudbreak.domain.CloudbreakUsageRollup;
+import com.sequenceiq.cloudbreak.domain.UsageRollupGranularity;
 import com.sequenceiq.cloudbreak.service.usages.CloudbreakUsageGeneratorService;
 import com.sequenceiq.cloudbreak.service.usages.CloudbreakUsagesRetrievalService;
 
@@ -20,6 +27,9 @@ import com.sequenceiq.cloudbreak.service.usages.CloudbreakUsagesRetrievalService
 @Transactional
 public class DefaultCloudbreakUsagesFacade implements CloudbreakUsagesFacade {
 
+    private static final int MAX_ROLLUP_PAGE_SIZE = 1000;
+    private static final Sort ROLLUP_SORT = new Sort("periodStart", "account", "owner", "provider", "region", "id");
+
     @Inject
     private CloudbreakUsagesRetrievalService cloudbreakUsagesService;
 
@@ -38,6 +48,22 @@ public class DefaultCloudbreakUsagesFacade implements CloudbreakUsagesFacade {
                         TypeDescriptor.valueOf(CloudbreakUsageJson.class)));
     }
 
+    @Override
+    public CloudbreakUsageRollupPageJson getUsageRollupsFor(CbUsageFilterParameters params, UsageRollupGranularity granularity, int page,
+            int size) {
+        PageRequest pageRequest = new PageRequest(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_ROLLUP_PAGE_SIZE), ROLLUP_SORT);
+        Page<CloudbreakUsageRollup> rollups = cloudbreakUsagesService.findUsageRollupsFor(params, granularity, pageRequest);
+        CloudbreakUsageRollupPageJson json = new CloudbreakUsageRollupPageJson();
+        json.setRollups((List<CloudbreakUsageRollupJson>) conversionService
+                .convert(rollups.getContent(), TypeDescriptor.forObject(rollups.getContent()), TypeDescriptor.collection(List.class,
+                        TypeDescriptor.valueOf(CloudbreakUsageRollupJson.class))));
+        json.setPage(rollups.getNumber());
+        json.setSize(rollups.getSize());
+        json.setTotalElements(rollups.getTotalElements());
+        json.setTotalPages(rollups.getTotalPages());
+        return json;
+    }
+
     @Override
     public void generateUserUsages() {
         cloudbreakUsageGeneratorService.generate();
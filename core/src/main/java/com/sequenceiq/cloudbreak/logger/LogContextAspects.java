@@ -29,7 +29,7 @@ public class LogContextAspects {
     public void interceptResourcePersistenceHandlerAcceptMethod() {
     }
 
-    @Pointcut("execution(public * com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler.schedule(..))")
+    @Pointcut("execution(public * com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler.schedule*(..))")
     public void interceptSchedulerScheduleMethod() {
     }
 
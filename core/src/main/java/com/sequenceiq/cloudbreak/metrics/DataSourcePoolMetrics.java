@@ -0,0 +1,35 @@
+package com.sequenceiq.cloudbreak.metrics;
+
+import javax.inject.Inject;
+
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the state of the core connection pool to the actuator metrics endpoint.
+ */
+@Component
+public class DataSourcePoolMetrics {
+
+    private static final String PREFIX = "datasource.primary.";
+
+    @Inject
+    private InstrumentedDataSource dataSource;
+
+    @Inject
+    private GaugeService gaugeService;
+
+    @Scheduled(fixedDelayString = "${cb.db.pool.metrics.interval.ms:10000}")
+    public void publish() {
+        gaugeService.submit(PREFIX + "active", dataSource.getActive());
+        gaugeService.submit(PREFIX + "idle", dataSource.getIdle());
+        gaugeService.submit(PREFIX + "size", dataSource.getSize());
+        gaugeService.submit(PREFIX + "max", dataSource.getMaxActive());
+        gaugeService.submit(PREFIX + "waiting", dataSource.getWaitCount());
+        gaugeService.submit(PREFIX + "acquired", dataSource.getAcquireCount());
+        gaugeService.submit(PREFIX + "wait.avg.ms", dataSource.getAverageAcquireTimeMillis());
+        gaugeService.submit(PREFIX + "wait.max.ms", dataSource.drainMaxAcquireTimeMillis());
+        gaugeService.submit(PREFIX + "timeouts", dataSource.getTimeoutCount());
+    }
+}
@@ -0,0 +1,48 @@
+package com.sequenceiq.cloudbreak.metrics;
+
+import javax.inject.Inject;
+
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.cache.EntityCacheRegions;
+
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.statistics.StatisticsGateway;
+
+/**
+ * Publishes the hit and miss counts of the second-level cache regions to the actuator metrics endpoint.
+ */
+@Component
+public class EntityCacheMetrics {
+
+    private static final String PREFIX = "cache.";
+
+    @Inject
+    private CacheManager cacheManager;
+
+    @Inject
+    private EntityCacheRegions entityCacheRegions;
+
+    @Inject
+    private GaugeService gaugeService;
+
+    @Scheduled(fixedDelayString = "${cb.db.cache.metrics.interval.ms:10000}")
+    public void publish() {
+        for (String regionName : entityCacheRegions.regionNames()) {
+            Ehcache cache = cacheManager.getEhcache(regionName);
+            if (cache != null) {
+                String prefix = PREFIX + regionName.substring(regionName.lastIndexOf('.') + 1).toLowerCase() + ".";
+                StatisticsGateway statistics = cache.getStatistics();
+                gaugeService.submit(prefix + "hits", statistics.cacheHitCount());
+                gaugeService.submit(prefix + "misses", statistics.cacheMissCount());
+                gaugeService.submit(prefix + "hit.ratio", statistics.cacheHitRatio());
+                gaugeService.submit(prefix + "size", statistics.getSize());
+                gaugeService.submit(prefix + "evicted", statistics.cacheEvictedCount());
+                gaugeService.submit(prefix + "expired", statistics.cacheExpiredCount());
+            }
+        }
+    }
+}
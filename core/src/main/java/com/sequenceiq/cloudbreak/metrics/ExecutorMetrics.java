@@ -0,0 +1,46 @@
+package com.sequenceiq.cloudbreak.metrics;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import javax.inject.Inject;
+
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.cloud.executor.ExecutorRegistry;
+import com.sequenceiq.cloudbreak.cloud.executor.ExecutorStatistics;
+
+/**
+ * Publishes the state of the pools of the {@link ExecutorRegistry} to the actuator metrics endpoint.
+ */
+@Component
+public class ExecutorMetrics {
+
+    private static final String PREFIX = "executor.";
+
+    @Inject
+    private ExecutorRegistry executorRegistry;
+
+    @Inject
+    private GaugeService gaugeService;
+
+    @Scheduled(fixedDelayString = "${cb.executor.metrics.interval.ms:10000}")
+    public void publish() {
+        for (String name : executorRegistry.getNames()) {
+            String prefix = PREFIX + name + ".";
+            ThreadPoolExecutor executor = executorRegistry.getExecutor(name);
+            ExecutorStatistics statistics = executorRegistry.getStatistics(name);
+            ExecutorStatistics.Sample sample = statistics.drain();
+            gaugeService.submit(prefix + "active", executor.getActiveCount());
+            gaugeService.submit(prefix + "size", executor.getPoolSize());
+            gaugeService.submit(prefix + "queue.size", executor.getQueue().size());
+            gaugeService.submit(prefix + "tasks", sample.getTasks());
+            gaugeService.submit(prefix + "wait.avg.ms", sample.getWaitAvg());
+            gaugeService.submit(prefix + "wait.max.ms", sample.getWaitMax());
+            gaugeService.submit(prefix + "run.avg.ms", sample.getRunAvg());
+            gaugeService.submit(prefix + "run.max.ms", sample.getRunMax());
+            gaugeService.submit(prefix + "rejected", statistics.getRejectedCount());
+        }
+    }
+}
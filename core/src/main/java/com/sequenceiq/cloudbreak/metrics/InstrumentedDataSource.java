@@ -0,0 +1,80 @@
+package com.sequenceiq.cloudbreak.metrics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.apache.tomcat.jdbc.pool.PoolConfiguration;
+import org.apache.tomcat.jdbc.pool.PoolExhaustedException;
+
+/**
+ * Tomcat JDBC pool which keeps track of how long callers wait for a connection and how many of them gave up.
+ */
+public class InstrumentedDataSource extends DataSource {
+
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong acquireTimeNanos = new AtomicLong();
+    private final AtomicLong maxAcquireTimeNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    public InstrumentedDataSource(PoolConfiguration poolProperties) {
+        super(poolProperties);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection();
+        } catch (PoolExhaustedException e) {
+            timeoutCount.incrementAndGet();
+            throw e;
+        } finally {
+            recordAcquireTime(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection(username, password);
+        } catch (PoolExhaustedException e) {
+            timeoutCount.incrementAndGet();
+            throw e;
+        } finally {
+            recordAcquireTime(System.nanoTime() - start);
+        }
+    }
+
+    public long getAcquireCount() {
+        return acquireCount.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    public double getAverageAcquireTimeMillis() {
+        long count = acquireCount.get();
+        return count == 0 ? 0 : (double) acquireTimeNanos.get() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Returns the longest wait observed since the previous call and starts a new measurement window.
+     */
+    public long drainMaxAcquireTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxAcquireTimeNanos.getAndSet(0));
+    }
+
+    private void recordAcquireTime(long elapsed) {
+        acquireCount.incrementAndGet();
+        acquireTimeNanos.addAndGet(elapsed);
+        long max = maxAcquireTimeNanos.get();
+        while (elapsed > max && !maxAcquireTimeNanos.compareAndSet(max, elapsed)) {
+            max = maxAcquireTimeNanos.get();
+        }
+    }
+}
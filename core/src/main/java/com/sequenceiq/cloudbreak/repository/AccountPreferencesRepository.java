@@ -1,12 +1,19 @@
 package com.sequenceiq.cloudbreak.repository;
 
-import com.sequenceiq.cloudbreak.domain.AccountPreferences;
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import com.sequenceiq.cloudbreak.domain.AccountPreferences;
+
 @EntityType(entityClass = AccountPreferences.class)
 public interface AccountPreferencesRepository extends CrudRepository<AccountPreferences, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     AccountPreferences findByAccount(@Param("account") String account);
 
 }
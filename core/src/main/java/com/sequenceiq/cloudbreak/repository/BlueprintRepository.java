@@ -1,7 +1,12 @@
 package com.sequenceiq.cloudbreak.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import java.util.Set;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
@@ -12,6 +17,7 @@ public interface BlueprintRepository extends CrudRepository<Blueprint, Long> {
 
     Blueprint findOne(@Param("id") Long id);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Blueprint findOneByName(@Param("name") String name, @Param("account") String account);
 
     Set<Blueprint> findForUser(@Param("user") String user);
@@ -20,10 +26,13 @@ public interface BlueprintRepository extends CrudRepository<Blueprint, Long> {
 
     Set<Blueprint> findAllInAccount(@Param("account") String account);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Blueprint findByNameInAccount(@Param("name") String name, @Param("account") String account, @Param("owner") String owner);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Blueprint findByIdInAccount(@Param("id") Long id, @Param("account") String account);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Blueprint findByNameInUser(@Param("name") String name, @Param("owner") String owner);
 
     Set<Blueprint> findAllDefaultInAccount(@Param("account") String account);
@@ -1,11 +1,17 @@
 package com.sequenceiq.cloudbreak.repository;
 
+import java.util.Date;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import com.sequenceiq.cloudbreak.domain.CloudbreakUsage;
+import com.sequenceiq.cloudbreak.domain.CloudbreakUsageRollup;
 
 @EntityType(entityClass = CloudbreakUsage.class)
 public interface CloudbreakUsageRepository extends CrudRepository<CloudbreakUsage, Long>, JpaSpecificationExecutor {
 
+    List<CloudbreakUsageRollup> aggregateDailySince(@Param("since") Date since);
 }
@@ -0,0 +1,23 @@
+package com.sequenceiq.cloudbreak.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sequenceiq.cloudbreak.domain.CloudbreakUsageRollup;
+import com.sequenceiq.cloudbreak.domain.UsageRollupGranularity;
+
+@EntityType(entityClass = CloudbreakUsageRollup.class)
+public interface CloudbreakUsageRollupRepository extends CrudRepository<CloudbreakUsageRollup, Long>, JpaSpecificationExecutor {
+
+    @Modifying
+    @Transactional
+    int deleteSince(@Param("granularity") UsageRollupGranularity granularity, @Param("since") Date since);
+
+    List<CloudbreakUsageRollup> findDailySince(@Param("since") Date since);
+}
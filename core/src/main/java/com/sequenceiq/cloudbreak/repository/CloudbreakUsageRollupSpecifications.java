@@ -0,0 +1,58 @@
+package com.sequenceiq.cloudbreak.repository;
+
+import java.util.Date;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.sequenceiq.cloudbreak.domain.CloudbreakUsageRollup;
+import com.sequenceiq.cloudbreak.domain.UsageRollupGranularity;
+
+public class CloudbreakUsageRollupSpecifications {
+    private CloudbreakUsageRollupSpecifications() {
+    }
+
+    public static Specification<CloudbreakUsageRollup> rollupsWithGranularity(final UsageRollupGranularity granularity) {
+        return new Specification<CloudbreakUsageRollup>() {
+            @Override
+            public Predicate toPredicate(final Root<CloudbreakUsageRollup> rollupRoot, final CriteriaQuery<?> query,
+                    final CriteriaBuilder cb) {
+                return cb.equal(rollupRoot.get("granularity"), granularity);
+            }
+        };
+    }
+
+    public static Specification<CloudbreakUsageRollup> rollupsSince(final Long since) {
+        return new Specification<CloudbreakUsageRollup>() {
+            @Override
+            public Predicate toPredicate(final Root<CloudbreakUsageRollup> rollupRoot, final CriteriaQuery<?> query,
+                    final CriteriaBuilder cb) {
+                return (since == null) ? cb.and() : cb.greaterThanOrEqualTo(rollupRoot.<Date>get("periodStart"), new Date(since));
+            }
+        };
+    }
+
+    public static Specification<CloudbreakUsageRollup> rollupsWithStringFields(final String field, final String value) {
+        return new Specification<CloudbreakUsageRollup>() {
+            @Override
+            public Predicate toPredicate(final Root<CloudbreakUsageRollup> rollupRoot, final CriteriaQuery<?> query,
+                    final CriteriaBuilder cb) {
+                return (value == null) ? cb.and() : cb.equal(rollupRoot.get(field), value);
+            }
+        };
+    }
+
+    public static Specification<CloudbreakUsageRollup> rollupsBefore(final Long date) {
+        return new Specification<CloudbreakUsageRollup>() {
+            @Override
+            public Predicate toPredicate(final Root<CloudbreakUsageRollup> rollupRoot, final CriteriaQuery<?> query,
+                    final CriteriaBuilder cb) {
+                return (date == null) ? cb.and() : cb.lessThan(rollupRoot.<Date>get("periodStart"), new Date(date));
+            }
+        };
+    }
+}
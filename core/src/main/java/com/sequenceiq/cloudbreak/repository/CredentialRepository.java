@@ -1,7 +1,12 @@
 package com.sequenceiq.cloudbreak.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import java.util.Set;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.security.access.prepost.PostAuthorize;
@@ -15,6 +20,7 @@ public interface CredentialRepository extends CrudRepository<Credential, Long> {
     Credential findOne(@Param("id") Long id);
 
     @PostAuthorize("hasPermission(returnObject,'read')")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Credential findOneByName(@Param("name") String name, @Param("account") String account);
 
     Set<Credential> findForUser(@Param("user") String user);
@@ -23,10 +29,13 @@ public interface CredentialRepository extends CrudRepository<Credential, Long> {
 
     Set<Credential> findAllInAccount(@Param("account") String account);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Credential findByNameInAccount(@Param("name") String name, @Param("account") String account, @Param("owner") String owner);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Credential findByIdInAccount(@Param("id") Long id, @Param("account") String account);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Credential findByNameInUser(@Param("name") String name, @Param("owner") String owner);
 
 }
\ No newline at end of file
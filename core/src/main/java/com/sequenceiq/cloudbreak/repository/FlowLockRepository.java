@@ -0,0 +1,39 @@
+package com.sequenceiq.cloudbreak.repository;
+
+import java.util.Date;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sequenceiq.cloudbreak.domain.FlowLock;
+
+@EntityType(entityClass = FlowLock.class)
+public interface FlowLockRepository extends CrudRepository<FlowLock, String> {
+
+    @Modifying
+    @Transactional
+    int create(@Param("lockKey") String lockKey);
+
+    @Modifying
+    @Transactional
+    int acquire(@Param("lockKey") String lockKey, @Param("owner") String owner, @Param("now") Date now, @Param("expires") Date expires);
+
+    @Modifying
+    @Transactional
+    int renew(@Param("lockKey") String lockKey, @Param("owner") String owner, @Param("fencingToken") Long fencingToken,
+            @Param("expires") Date expires);
+
+    @Modifying
+    @Transactional
+    int release(@Param("lockKey") String lockKey, @Param("owner") String owner, @Param("fencingToken") Long fencingToken);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Transactional(propagation = Propagation.MANDATORY)
+    FlowLock findHeld(@Param("lockKey") String lockKey, @Param("owner") String owner, @Param("fencingToken") Long fencingToken);
+}
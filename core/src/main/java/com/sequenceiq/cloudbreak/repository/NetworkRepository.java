@@ -1,7 +1,12 @@
 package com.sequenceiq.cloudbreak.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import java.util.Set;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.security.access.prepost.PostAuthorize;
@@ -12,13 +17,17 @@ import com.sequenceiq.cloudbreak.domain.Network;
 public interface NetworkRepository extends CrudRepository<Network, Long> {
 
     @PostAuthorize("hasPermission(returnObject,'read')")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Network findOneById(@Param("id") Long id);
 
     @PostAuthorize("hasPermission(returnObject,'read')")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Network findOneByName(@Param("name") String name, @Param("account") String account);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Network findByNameForUser(@Param("name") String name, @Param("owner") String userId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Network findByNameInAccount(@Param("name") String name, @Param("account") String account);
 
     Set<Network> findByName(@Param("name") String name);
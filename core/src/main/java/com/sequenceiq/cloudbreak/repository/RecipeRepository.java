@@ -1,7 +1,12 @@
 package com.sequenceiq.cloudbreak.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import java.util.Set;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
@@ -12,6 +17,7 @@ public interface RecipeRepository extends CrudRepository<Recipe, Long> {
 
     Recipe findOne(@Param("id") Long id);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Recipe findByNameInAccount(@Param("name") String name, @Param("account") String account);
 
     Set<Recipe> findPublicInAccountForUser(@Param("owner") String userId, @Param("account") String account);
@@ -20,6 +26,7 @@ public interface RecipeRepository extends CrudRepository<Recipe, Long> {
 
     Set<Recipe> findForUser(@Param("owner") String userId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Recipe findByNameForUser(@Param("name") String name, @Param("owner") String userId);
 
 }
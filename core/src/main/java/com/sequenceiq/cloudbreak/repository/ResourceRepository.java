@@ -1,5 +1,8 @@
 package com.sequenceiq.cloudbreak.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
@@ -12,4 +15,6 @@ public interface ResourceRepository extends CrudRepository<Resource, Long> {
     Resource findOne(@Param("id") Long id);
 
     Resource findByStackIdAndNameAndType(@Param("stackId") Long stackId, @Param("name") String name, @Param("type") ResourceType type);
+
+    List<Resource> findByStackIdAndNames(@Param("stackId") Long stackId, @Param("names") Collection<String> names);
 }
@@ -3,11 +3,14 @@ package com.sequenceiq.cloudbreak.repository;
 import java.util.List;
 import java.util.Set;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.sequenceiq.cloudbreak.common.type.Status;
 import com.sequenceiq.cloudbreak.domain.Stack;
+import com.sequenceiq.cloudbreak.domain.StackSummary;
 
 @EntityType(entityClass = Stack.class)
 public interface StackRepository extends CrudRepository<Stack, Long> {
@@ -26,6 +29,12 @@ public interface StackRepository extends CrudRepository<Stack, Long> {
 
     Set<Stack> findAllInAccount(@Param("account") String account);
 
+    Set<StackSummary> findSummariesForUser(@Param("user") String user);
+
+    Set<StackSummary> findPublicSummariesInAccountForUser(@Param("user") String user, @Param("account") String account);
+
+    Set<StackSummary> findAllSummariesInAccount(@Param("account") String account);
+
     Stack findOneWithLists(@Param("id") Long id);
 
     List<Stack> findAllStackForTemplate(@Param("id") Long id);
@@ -53,4 +62,16 @@ public interface StackRepository extends CrudRepository<Stack, Long> {
     List<Stack> findAllAlive();
 
     List<Stack> findByStatuses(@Param("statuses") List<Status> statuses);
+
+    @Modifying
+    @Transactional
+    int updateStatus(@Param("id") Long id, @Param("status") Status status);
+
+    @Modifying
+    @Transactional
+    int updateStatusAndReason(@Param("id") Long id, @Param("status") Status status, @Param("statusReason") String statusReason);
+
+    @Modifying
+    @Transactional
+    int updateStatusReason(@Param("id") Long id, @Param("statusReason") String statusReason);
 }
@@ -7,9 +7,11 @@ import javax.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
 import com.sequenceiq.cloudbreak.common.type.Status;
+import com.sequenceiq.cloudbreak.concurrent.DatabaseLockRegistry;
 import com.sequenceiq.cloudbreak.converter.scheduler.StatusToPollGroupConverter;
 import com.sequenceiq.cloudbreak.domain.Resource;
 import com.sequenceiq.cloudbreak.domain.Stack;
@@ -25,12 +27,16 @@ public class StackUpdater {
     private ResourceRepository resourceRepository;
     @Inject
     private StatusToPollGroupConverter statusToPollGroupConverter;
+    @Inject
+    private DatabaseLockRegistry databaseLockRegistry;
 
-    public Stack updateStackStatus(Long stackId, Status status) {
+    @Transactional
+    public boolean updateStackStatus(Long stackId, Status status) {
         return doUpdateStackStatus(stackId, status, "");
     }
 
-    public Stack updateStackStatus(Long stackId, Status status, String statusReason) {
+    @Transactional
+    public boolean updateStackStatus(Long stackId, Status status, String statusReason) {
         return doUpdateStackStatus(stackId, status, statusReason);
     }
 
@@ -48,22 +54,30 @@ public class StackUpdater {
         resourceRepository.delete(resources);
     }
 
-    private Stack doUpdateStackStatus(Long stackId, Status status, String statusReason) {
-        Stack stack = stackRepository.findById(stackId);
-        if (!stack.isDeleteCompleted()) {
-            if (status != null) {
-                stack.setStatus(status);
-            }
-            if (statusReason != null) {
-                stack.setStatusReason(statusReason);
-            }
+    private boolean doUpdateStackStatus(Long stackId, Status status, String statusReason) {
+        if (status == null && statusReason == null) {
+            return false;
+        }
+        databaseLockRegistry.fence();
+        if (executeStatusUpdate(stackId, status, statusReason) == 0) {
+            LOGGER.info("Status of stack '{}' was not updated to {}, the stack does not exist or it is already deleted.", stackId, status);
+            return false;
+        }
+        if (Status.DELETE_COMPLETED.equals(status)) {
+            InMemoryStateStore.delete(stackId);
+        } else if (status != null) {
             InMemoryStateStore.put(stackId, statusToPollGroupConverter.convert(status));
-            if (Status.DELETE_COMPLETED.equals(status)) {
-                InMemoryStateStore.delete(stackId);
-            }
-            stack = stackRepository.save(stack);
         }
-        return stack;
+        return true;
+    }
+
+    private int executeStatusUpdate(Long stackId, Status status, String statusReason) {
+        if (status == null) {
+            return stackRepository.updateStatusReason(stackId, statusReason);
+        }
+        return statusReason == null
+                ? stackRepository.updateStatus(stackId, status)
+                : stackRepository.updateStatusAndReason(stackId, status, statusReason);
     }
 
 }
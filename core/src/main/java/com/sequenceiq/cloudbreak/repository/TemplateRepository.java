@@ -1,7 +1,12 @@
 package com.sequenceiq.cloudbreak.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 import java.util.Set;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
@@ -18,12 +23,16 @@ public interface TemplateRepository extends CrudRepository<Template, Long> {
 
     Set<Template> findAllInAccount(@Param("account") String account);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Template findOneByName(@Param("name") String name, @Param("account") String account);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Template findByNameInAccount(@Param("name") String name, @Param("account") String account, @Param("owner") String owner);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Template findByIdInAccount(@Param("id") Long id, @Param("account") String account);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Template findByNameInUser(@Param("name") String name, @Param("owner") String owner);
 
     Set<Template> findAllDefaultInAccount(@Param("account") String account);
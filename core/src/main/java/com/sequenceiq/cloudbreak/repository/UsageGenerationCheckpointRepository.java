@@ -0,0 +1,13 @@
+package com.sequenceiq.cloudbreak.repository;
+
+import java.util.List;
+
+import org.springframework.data.repository.CrudRepository;
+
+import com.sequenceiq.cloudbreak.domain.UsageGenerationCheckpoint;
+
+@EntityType(entityClass = UsageGenerationCheckpoint.class)
+public interface UsageGenerationCheckpointRepository extends CrudRepository<UsageGenerationCheckpoint, Long> {
+
+    List<UsageGenerationCheckpoint> findUnfinished();
+}
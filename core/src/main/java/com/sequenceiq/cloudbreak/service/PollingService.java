@@ -1,14 +1,32 @@
 package com.sequenceiq.cloudbreak.service;
 
+import java.util.Date;
+
+import javax.inject.Inject;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.sequenceiq.cloudbreak.cloud.scheduler.PollingStrategy;
+import com.sequenceiq.cloudbreak.cloud.scheduler.PollingStrategyFactory;
+
 @Component
 public class PollingService<T> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PollingService.class);
 
+    @Inject
+    @Qualifier("pollingScheduler")
+    private TaskScheduler pollingScheduler;
+
+    @Inject
+    private PollingStrategyFactory pollingStrategyFactory;
+
     /**
      * Executes a {@link StatusCheckerTask} until it signals success, or the
      * maximum attempts are reached. A {@link StatusCheckerTask} has no
@@ -20,14 +38,78 @@ public class PollingService<T> {
      * @param maxAttempts signals how many times will the status check be executed before timeout
      */
     public PollingResult pollWithTimeout(StatusCheckerTask<T> statusCheckerTask, T t, int interval, int maxAttempts, int maxFailure) {
-        boolean success = false;
-        boolean timeout = false;
-        int attempts = 0;
-        int failures = 0;
-        Exception actual = null;
-        boolean exit = statusCheckerTask.exitPolling(t);
-        while (!success && !timeout && !exit) {
+        Poll poll = new Poll(statusCheckerTask, t, interval, maxAttempts, maxFailure);
+        PollingResult result = poll.start();
+        while (result == null) {
+            result = poll.attempt();
+            if (result == null) {
+                sleep(poll.nextDelay());
+                result = poll.next();
+            }
+        }
+        return result;
+    }
+
+    public PollingResult pollWithTimeoutSingleFailure(StatusCheckerTask<T> statusCheckerTask, T t, int interval, int maxAttempts) {
+        return pollWithTimeout(statusCheckerTask, t, interval, maxAttempts, 1);
+    }
+
+    /**
+     * Same as {@link #pollWithTimeout}, but no thread is held between the attempts.
+     *
+     * @param interval    waits this many milliseconds between status checking attempts
+     * @param maxAttempts signals how many times will the status check be executed before timeout
+     */
+    public ListenableFuture<PollingResult> pollWithTimeoutAsync(StatusCheckerTask<T> statusCheckerTask, T t, int interval, int maxAttempts,
+            int maxFailure) {
+        AsyncPoll asyncPoll = new AsyncPoll(new Poll(statusCheckerTask, t, interval, maxAttempts, maxFailure));
+        pollingScheduler.schedule(asyncPoll, new Date());
+        return asyncPoll.getFuture();
+    }
+
+    public ListenableFuture<PollingResult> pollWithTimeoutSingleFailureAsync(StatusCheckerTask<T> statusCheckerTask, T t, int interval,
+            int maxAttempts) {
+        return pollWithTimeoutAsync(statusCheckerTask, t, interval, maxAttempts, 1);
+    }
+
+    private void sleep(long duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            LOGGER.info("Interrupted exception occurred during polling.", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class Poll {
+        private final StatusCheckerTask<T> statusCheckerTask;
+        private final T t;
+        private final PollingStrategy strategy;
+        private final long timeBudget;
+        private final int maxAttempts;
+        private final int maxFailure;
+        private int attempts;
+        private int failures;
+        private long delay;
+        private long waited;
+        private Exception actual;
+
+        private Poll(StatusCheckerTask<T> statusCheckerTask, T t, int interval, int maxAttempts, int maxFailure) {
+            this.statusCheckerTask = statusCheckerTask;
+            this.t = t;
+            this.strategy = pollingStrategyFactory.forTask(statusCheckerTask, interval);
+            this.timeBudget = (long) interval * maxAttempts;
+            this.maxAttempts = maxAttempts;
+            this.maxFailure = maxFailure;
+        }
+
+        private PollingResult start() {
+            return statusCheckerTask.exitPolling(t) ? exit() : null;
+        }
+
+        private PollingResult attempt() {
             LOGGER.info("Polling attempt {}.", attempts);
+            boolean success = false;
             try {
                 success = statusCheckerTask.checkStatus(t);
             } catch (Exception ex) {
@@ -44,36 +126,65 @@ public class PollingService<T> {
                 LOGGER.info(statusCheckerTask.successMessage(t));
                 return PollingResult.SUCCESS;
             }
-            sleep(interval);
+            return null;
+        }
+
+        private long nextDelay() {
+            delay = strategy.nextDelay(attempts + 1, delay);
+            waited += delay;
+            return delay;
+        }
+
+        private PollingResult next() {
             attempts++;
-            if (maxAttempts > 0) {
-                timeout = attempts >= maxAttempts;
+            boolean timeout = maxAttempts > 0 && (attempts >= maxAttempts || timeBudget > 0 && waited >= timeBudget);
+            boolean exit = statusCheckerTask.exitPolling(t);
+            if (timeout) {
+                LOGGER.info("Poller timeout.");
+                statusCheckerTask.handleTimeout(t);
+                return PollingResult.TIMEOUT;
             }
-            exit = statusCheckerTask.exitPolling(t);
-        }
-        if (timeout) {
-            LOGGER.info("Poller timeout.");
-            statusCheckerTask.handleTimeout(t);
-            return PollingResult.TIMEOUT;
+            return exit ? exit() : null;
         }
-        if (exit) {
+
+        private PollingResult exit() {
             LOGGER.info("Poller exiting.");
             return PollingResult.EXIT;
         }
-        return PollingResult.SUCCESS;
     }
 
-    public PollingResult pollWithTimeoutSingleFailure(StatusCheckerTask<T> statusCheckerTask, T t, int interval, int maxAttempts) {
-        return pollWithTimeout(statusCheckerTask, t, interval, maxAttempts, 1);
-    }
+    private final class AsyncPoll implements Runnable {
+        private final Poll poll;
+        private final SettableFuture<PollingResult> future = SettableFuture.create();
+        private boolean started;
 
-    private void sleep(int duration) {
-        try {
-            Thread.sleep(duration);
-        } catch (InterruptedException e) {
-            LOGGER.info("Interrupted exception occurred during polling.", e);
-            Thread.currentThread().interrupt();
+        private AsyncPoll(Poll poll) {
+            this.poll = poll;
         }
-    }
 
-}
\ No newline at end of file
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                PollingResult result = started ? poll.next() : poll.start();
+                started = true;
+                if (result == null) {
+                    result = poll.attempt();
+                }
+                if (result == null) {
+                    pollingScheduler.schedule(this, new Date(System.currentTimeMillis() + poll.nextDelay()));
+                } else {
+                    future.set(result);
+                }
+            } catch (RuntimeException e) {
+                future.setException(e);
+            }
+        }
+
+        private ListenableFuture<PollingResult> getFuture() {
+            return future;
+        }
+    }
+}
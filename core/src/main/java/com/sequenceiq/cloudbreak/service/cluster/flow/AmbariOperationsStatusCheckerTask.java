@@ -2,8 +2,10 @@ package com.sequenceiq.cloudbreak.service.cluster.flow;
 
 import java.math.BigDecimal;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 
@@ -13,6 +15,7 @@ import org.springframework.stereotype.Component;
 
 import com.google.common.base.Optional;
 import com.sequenceiq.ambari.client.AmbariClient;
+import com.sequenceiq.cloudbreak.cloud.scheduler.PollingHints;
 import com.sequenceiq.cloudbreak.domain.Stack;
 import com.sequenceiq.cloudbreak.service.StackBasedStatusCheckerTask;
 import com.sequenceiq.cloudbreak.service.cluster.AmbariOperationFailedException;
@@ -20,7 +23,7 @@ import com.sequenceiq.cloudbreak.service.notification.Notification;
 import com.sequenceiq.cloudbreak.service.notification.NotificationSender;
 
 @Component
-public class AmbariOperationsStatusCheckerTask extends StackBasedStatusCheckerTask<AmbariOperations> {
+public class AmbariOperationsStatusCheckerTask extends StackBasedStatusCheckerTask<AmbariOperations> implements PollingHints {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AmbariOperationsStatusCheckerTask.class);
 
@@ -28,38 +31,53 @@ public class AmbariOperationsStatusCheckerTask extends StackBasedStatusCheckerTa
     private static final BigDecimal FAILED = new BigDecimal(-1.0);
     private static final BigDecimal PENDING = new BigDecimal(0);
     private static final int MAX_RETRY = 3;
+    private static final long EXPECTED_DURATION = TimeUnit.MINUTES.toMillis(10);
 
     @Inject
     private NotificationSender notificationSender;
 
+    @Inject
+    private AmbariProgressTracker ambariProgressTracker;
+
     @Override
     public boolean checkStatus(AmbariOperations t) {
         Map<String, Integer> installRequests = t.getRequests();
+        AmbariClient ambariClient = t.getAmbariClient();
+        Map<String, BigDecimal> progress = new HashMap<>();
         boolean allFinished = true;
         for (Entry<String, Integer> request : installRequests.entrySet()) {
-            AmbariClient ambariClient = t.getAmbariClient();
             BigDecimal installProgress = Optional.fromNullable(ambariClient.getRequestProgress(request.getValue())).or(PENDING);
             LOGGER.info("Ambari operation: '{}', Progress: {}", request.getKey(), installProgress);
-            notificationSender.send(getAmbariProgressNotification(installProgress.longValue(), t.getStack(), t.getAmbariOperationType()));
+            progress.put(request.getKey(), installProgress);
             allFinished = allFinished && COMPLETED.compareTo(installProgress) == 0;
-            if (FAILED.compareTo(installProgress) == 0) {
-                boolean failed = true;
-                for (int i = 0; i < MAX_RETRY; i++) {
-                    if (ambariClient.getRequestProgress(request.getValue()).compareTo(FAILED) != 0) {
-                        failed = false;
-                        break;
-                    }
-                }
-                if (failed) {
-                    notificationSender.send(getAmbariProgressNotification(Long.parseLong("100"), t.getStack(), t.getAmbariOperationType()));
-                    throw new AmbariOperationFailedException(String.format("Ambari operation failed: [component: '%s', requestID: '%s']", request.getKey(),
-                            request.getValue()));
-                }
+        }
+        Long aggregatedProgress = ambariProgressTracker.update(t.getStack().getId(), t.getAmbariOperationType(), progress);
+        if (aggregatedProgress != null) {
+            notificationSender.send(getAmbariProgressNotification(aggregatedProgress, t.getStack(), t.getAmbariOperationType()));
+        }
+        for (Entry<String, Integer> request : installRequests.entrySet()) {
+            if (FAILED.compareTo(progress.get(request.getKey())) == 0) {
+                checkFailure(t, request);
             }
         }
+        if (allFinished) {
+            ambariProgressTracker.finish(t.getStack().getId(), t.getAmbariOperationType());
+        }
         return allFinished;
     }
 
+    private void checkFailure(AmbariOperations t, Entry<String, Integer> request) {
+        for (int i = 0; i < MAX_RETRY; i++) {
+            if (t.getAmbariClient().getRequestProgress(request.getValue()).compareTo(FAILED) != 0) {
+                return;
+            }
+        }
+        ambariProgressTracker.finish(t.getStack().getId(), t.getAmbariOperationType());
+        notificationSender.send(getAmbariProgressNotification(Long.parseLong("100"), t.getStack(), t.getAmbariOperationType()));
+        throw new AmbariOperationFailedException(String.format("Ambari operation failed: [component: '%s', requestID: '%s']", request.getKey(),
+                request.getValue()));
+    }
+
     private Notification getAmbariProgressNotification(Long progressValue, Stack stack, AmbariOperationType ambariOperationType) {
         Notification notification = new Notification();
         notification.setEventType(ambariOperationType.name());
@@ -77,9 +95,19 @@ public class AmbariOperationsStatusCheckerTask extends StackBasedStatusCheckerTa
 
     @Override
     public void handleTimeout(AmbariOperations t) {
+        ambariProgressTracker.finish(t.getStack().getId(), t.getAmbariOperationType());
         throw new IllegalStateException(String.format("Ambari operations timed out: %s", t.getRequests()));
     }
 
+    @Override
+    public boolean exitPolling(AmbariOperations t) {
+        boolean exit = super.exitPolling(t);
+        if (exit) {
+            ambariProgressTracker.finish(t.getStack().getId(), t.getAmbariOperationType());
+        }
+        return exit;
+    }
+
     @Override
     public String successMessage(AmbariOperations t) {
         return String.format("Requested Ambari operations completed: %s", t.getRequests().toString());
@@ -90,4 +118,13 @@ public class AmbariOperationsStatusCheckerTask extends StackBasedStatusCheckerTa
         LOGGER.error("Ambari operation failed.", e);
     }
 
+    @Override
+    public String pollingType() {
+        return "ambari.operations";
+    }
+
+    @Override
+    public long expectedDuration() {
+        return EXPECTED_DURATION;
+    }
 }
@@ -0,0 +1,85 @@
+package com.sequenceiq.cloudbreak.service.cluster.flow;
+
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_AMBARI_PROGRESS_HEARTBEAT_MS;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the last reported progress of the Ambari requests of a stack and operation, so a notification is only sent when the
+ * progress changed or the heartbeat interval elapsed.
+ */
+@Component
+public class AmbariProgressTracker {
+
+    private static final int MAX_PROGRESS = 100;
+    private static final int EXPIRY_HEARTBEATS = 10;
+
+    @Value("${cb.ambari.progress.heartbeat.ms:" + CB_AMBARI_PROGRESS_HEARTBEAT_MS + "}")
+    private long heartbeatInterval;
+
+    private final ConcurrentMap<List<Object>, ReportedProgress> reported = new ConcurrentHashMap<>();
+
+    /**
+     * Records the progress of the requests polled in one tick.
+     *
+     * @return the aggregated progress to be sent, or null if there is nothing new to report
+     */
+    public Long update(Long stackId, AmbariOperationType operationType, Map<String, BigDecimal> progress) {
+        List<Object> key = Arrays.<Object>asList(stackId, operationType);
+        Map<String, Long> current = new HashMap<>();
+        long sum = 0;
+        for (Map.Entry<String, BigDecimal> entry : progress.entrySet()) {
+            long value = Math.min(MAX_PROGRESS, Math.max(0, entry.getValue().longValue()));
+            current.put(entry.getKey(), value);
+            sum += value;
+        }
+        long now = System.currentTimeMillis();
+        expire(now);
+        ReportedProgress last = reported.get(key);
+        if (last != null && last.progress.equals(current) && now - last.timestamp < heartbeatInterval) {
+            return null;
+        }
+        reported.put(key, new ReportedProgress(current, now));
+        return current.isEmpty() ? 0 : sum / current.size();
+    }
+
+    /**
+     * Forgets the progress of a finished, failed or timed out operation.
+     */
+    public void finish(Long stackId, AmbariOperationType operationType) {
+        reported.remove(Arrays.<Object>asList(stackId, operationType));
+    }
+
+    int size() {
+        return reported.size();
+    }
+
+    private void expire(long now) {
+        Iterator<ReportedProgress> iterator = reported.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().timestamp > EXPIRY_HEARTBEATS * heartbeatInterval) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class ReportedProgress {
+        private final Map<String, Long> progress;
+        private final long timestamp;
+
+        private ReportedProgress(Map<String, Long> progress, long timestamp) {
+            this.progress = progress;
+            this.timestamp = timestamp;
+        }
+    }
+}
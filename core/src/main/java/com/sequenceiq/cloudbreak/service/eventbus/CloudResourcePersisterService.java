@@ -1,18 +1,28 @@
 package com.sequenceiq.cloudbreak.service.eventbus;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.sequenceiq.cloudbreak.cloud.model.CloudResource;
 import com.sequenceiq.cloudbreak.cloud.notification.model.ResourceNotification;
+import com.sequenceiq.cloudbreak.cloud.service.BatchPersister;
+import com.sequenceiq.cloudbreak.common.type.ResourceType;
 import com.sequenceiq.cloudbreak.domain.Resource;
 import com.sequenceiq.cloudbreak.domain.Stack;
 import com.sequenceiq.cloudbreak.repository.ResourceRepository;
 import com.sequenceiq.cloudbreak.repository.StackRepository;
 
 @Component
-public class CloudResourcePersisterService extends AbstractCloudPersisterService<ResourceNotification> {
+public class CloudResourcePersisterService extends AbstractCloudPersisterService<ResourceNotification> implements BatchPersister<ResourceNotification> {
     private static final Logger LOGGER = LoggerFactory.getLogger(CloudResourcePersisterService.class);
 
     @Override
@@ -58,6 +68,56 @@ public class CloudResourcePersisterService extends AbstractCloudPersisterService
         return null;
     }
 
+    @Override
+    @Transactional
+    public void persistAll(List<ResourceNotification> notifications) {
+        Long stackId = getStackId(notifications);
+        LOGGER.debug("{} resource allocation notifications received for stack: {}", notifications.size(), stackId);
+        Stack stack = getStackRepository().findByIdLazy(stackId);
+        List<Resource> resources = new ArrayList<>(notifications.size());
+        for (ResourceNotification notification : notifications) {
+            Resource resource = getConversionService().convert(notification.getCloudResource(), Resource.class);
+            resource.setStack(stack);
+            resources.add(resource);
+        }
+        getResourceRepository().save(resources);
+    }
+
+    @Override
+    @Transactional
+    public void updateAll(List<ResourceNotification> notifications) {
+        Long stackId = getStackId(notifications);
+        LOGGER.debug("{} resource update notifications received for stack: {}", notifications.size(), stackId);
+        Stack stack = getStackRepository().findByIdLazy(stackId);
+        Map<String, Resource> persistedResources = findPersistedResources(stackId, notifications);
+        List<Resource> resources = new ArrayList<>(notifications.size());
+        for (ResourceNotification notification : notifications) {
+            CloudResource cloudResource = notification.getCloudResource();
+            Resource resource = getConversionService().convert(cloudResource, Resource.class);
+            updateWithPersistedFields(resource, persistedResources.get(resourceKey(cloudResource.getName(), cloudResource.getType())));
+            resource.setStack(stack);
+            resources.add(resource);
+        }
+        getResourceRepository().save(resources);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll(List<ResourceNotification> notifications) {
+        Long stackId = getStackId(notifications);
+        LOGGER.debug("{} resource deletion notifications received for stack: {}", notifications.size(), stackId);
+        Map<String, Resource> persistedResources = findPersistedResources(stackId, notifications);
+        List<Resource> resources = new ArrayList<>(notifications.size());
+        for (ResourceNotification notification : notifications) {
+            CloudResource cloudResource = notification.getCloudResource();
+            Resource resource = persistedResources.get(resourceKey(cloudResource.getName(), cloudResource.getType()));
+            if (resource != null) {
+                resources.add(resource);
+            }
+        }
+        getResourceRepository().delete(resources);
+    }
+
     private StackRepository getStackRepository() {
         return getRepositoryForEntity(Stack.class);
     }
@@ -66,6 +126,26 @@ public class CloudResourcePersisterService extends AbstractCloudPersisterService
         return getRepositoryForEntity(Resource.class);
     }
 
+    private Long getStackId(List<ResourceNotification> notifications) {
+        return notifications.get(0).getCloudContext().getId();
+    }
+
+    private Map<String, Resource> findPersistedResources(Long stackId, List<ResourceNotification> notifications) {
+        Set<String> names = new HashSet<>();
+        for (ResourceNotification notification : notifications) {
+            names.add(notification.getCloudResource().getName());
+        }
+        Map<String, Resource> persistedResources = new HashMap<>();
+        for (Resource resource : getResourceRepository().findByStackIdAndNames(stackId, names)) {
+            persistedResources.put(resourceKey(resource.getResourceName(), resource.getResourceType()), resource);
+        }
+        return persistedResources;
+    }
+
+    private String resourceKey(String name, ResourceType type) {
+        return type + ":" + name;
+    }
+
     private Resource updateWithPersistedFields(Resource resource, Resource persistedResource) {
         if (persistedResource != null) {
             resource.setId(persistedResource.getId());
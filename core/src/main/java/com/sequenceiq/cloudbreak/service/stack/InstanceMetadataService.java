@@ -1,5 +1,7 @@
 package com.sequenceiq.cloudbreak.service.stack;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -16,6 +18,7 @@ import com.sequenceiq.cloudbreak.common.type.InstanceGroupType;
 import com.sequenceiq.cloudbreak.domain.InstanceGroup;
 import com.sequenceiq.cloudbreak.domain.InstanceMetaData;
 import com.sequenceiq.cloudbreak.domain.Stack;
+import com.sequenceiq.cloudbreak.repository.InstanceGroupRepository;
 import com.sequenceiq.cloudbreak.repository.InstanceMetaDataRepository;
 
 @Service
@@ -24,33 +27,68 @@ public class InstanceMetadataService {
     @Inject
     private InstanceMetaDataRepository instanceMetaDataRepository;
 
+    @Inject
+    private InstanceGroupRepository instanceGroupRepository;
+
     public void updateInstanceStatus(Set<InstanceGroup> instanceGroup,
             Map<InstanceGroupType, com.sequenceiq.cloudbreak.common.type.InstanceStatus> newStatusByGroupType) {
         for (InstanceGroup group : instanceGroup) {
             com.sequenceiq.cloudbreak.common.type.InstanceStatus newStatus = newStatusByGroupType.get(group.getInstanceGroupType());
             if (newStatus != null) {
-                for (InstanceMetaData instanceMetaData : group.getInstanceMetaData()) {
-                    instanceMetaData.setInstanceStatus(newStatus);
-                    instanceMetaDataRepository.save(instanceMetaData);
-                }
+                updateInstanceStatuses(group.getInstanceMetaData(), newStatus);
             }
         }
     }
 
     public void updateInstanceStatus(Set<InstanceGroup> instanceGroup, com.sequenceiq.cloudbreak.common.type.InstanceStatus newStatus,
             Set<String> candidateAddresses) {
+        List<InstanceMetaData> candidates = new ArrayList<>();
         for (InstanceGroup group : instanceGroup) {
             for (InstanceMetaData instanceMetaData : group.getInstanceMetaData()) {
                 if (candidateAddresses.contains(instanceMetaData.getPrivateIp())) {
-                    instanceMetaData.setInstanceStatus(newStatus);
-                    instanceMetaDataRepository.save(instanceMetaData);
+                    candidates.add(instanceMetaData);
                 }
             }
         }
+        updateInstanceStatuses(candidates, newStatus);
+    }
+
+    /**
+     * Saves the instances in one transaction, so they are sent to the database as JDBC batches.
+     */
+    public void saveAll(Collection<InstanceMetaData> instances) {
+        if (!instances.isEmpty()) {
+            instanceMetaDataRepository.save(instances);
+        }
+    }
+
+    public void updateInstanceStatuses(Collection<InstanceMetaData> instances, com.sequenceiq.cloudbreak.common.type.InstanceStatus newStatus) {
+        for (InstanceMetaData instanceMetaData : instances) {
+            instanceMetaData.setInstanceStatus(newStatus);
+        }
+        saveAll(instances);
+    }
+
+    /**
+     * Adds the node count changes to the instance groups and saves every changed group once.
+     */
+    public void updateNodeCounts(Map<InstanceGroup, Integer> nodeCountChanges) {
+        List<InstanceGroup> changedGroups = new ArrayList<>();
+        for (Map.Entry<InstanceGroup, Integer> nodeCountChange : nodeCountChanges.entrySet()) {
+            if (nodeCountChange.getValue() != 0) {
+                InstanceGroup instanceGroup = nodeCountChange.getKey();
+                instanceGroup.setNodeCount(instanceGroup.getNodeCount() + nodeCountChange.getValue());
+                changedGroups.add(instanceGroup);
+            }
+        }
+        if (!changedGroups.isEmpty()) {
+            instanceGroupRepository.save(changedGroups);
+        }
     }
 
     public void saveInstanceRequests(Stack stack, List<Group> groups) {
         Set<InstanceGroup> instanceGroups = stack.getInstanceGroups();
+        List<InstanceMetaData> requests = new ArrayList<>();
         for (Group group : groups) {
             InstanceGroup instanceGroup = getInstanceGroup(instanceGroups, group.getName());
             for (CloudInstance cloudInstance : group.getInstances()) {
@@ -60,10 +98,11 @@ public class InstanceMetadataService {
                     instanceMetaData.setPrivateId(instanceTemplate.getPrivateId());
                     instanceMetaData.setInstanceStatus(com.sequenceiq.cloudbreak.common.type.InstanceStatus.REQUESTED);
                     instanceMetaData.setInstanceGroup(instanceGroup);
-                    instanceMetaDataRepository.save(instanceMetaData);
+                    requests.add(instanceMetaData);
                 }
             }
         }
+        saveAll(requests);
     }
 
     public void deleteInstanceRequest(long stackId, long privateId) {
@@ -43,6 +43,7 @@ import com.sequenceiq.cloudbreak.domain.HostGroup;
 import com.sequenceiq.cloudbreak.domain.InstanceGroup;
 import com.sequenceiq.cloudbreak.domain.InstanceMetaData;
 import com.sequenceiq.cloudbreak.domain.Stack;
+import com.sequenceiq.cloudbreak.domain.StackSummary;
 import com.sequenceiq.cloudbreak.domain.StackValidation;
 import com.sequenceiq.cloudbreak.logger.MDCBuilder;
 import com.sequenceiq.cloudbreak.repository.ClusterRepository;
@@ -114,6 +115,18 @@ public class StackService {
         }
     }
 
+    public Set<StackSummary> retrievePrivateStackSummaries(CbUser user) {
+        return stackRepository.findSummariesForUser(user.getUserId());
+    }
+
+    public Set<StackSummary> retrieveAccountStackSummaries(CbUser user) {
+        if (user.getRoles().contains(CbUserRole.ADMIN)) {
+            return stackRepository.findAllSummariesInAccount(user.getAccount());
+        } else {
+            return stackRepository.findPublicSummariesInAccountForUser(user.getUserId(), user.getAccount());
+        }
+    }
+
     public Set<Stack> retrieveAccountStacks(String account) {
         return stackRepository.findAllInAccount(account);
     }
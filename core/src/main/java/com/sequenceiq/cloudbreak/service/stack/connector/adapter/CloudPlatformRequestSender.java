@@ -0,0 +1,99 @@
+package com.sequenceiq.cloudbreak.service.stack.connector.adapter;
+
+import java.util.Date;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.sequenceiq.cloudbreak.cloud.event.CloudPlatformRequest;
+import com.sequenceiq.cloudbreak.service.stack.connector.OperationException;
+
+import reactor.bus.Event;
+import reactor.bus.EventBus;
+import reactor.fn.Consumer;
+import reactor.rx.Promise;
+
+/**
+ * Sends the requests of the cloud platform adapters to the cloud handlers and processes their results, blocking or
+ * asynchronously.
+ */
+@Component
+public class CloudPlatformRequestSender {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CloudPlatformRequestSender.class);
+    private static final long RESULT_TIMEOUT_MS = TimeUnit.HOURS.toMillis(1);
+
+    @Inject
+    private EventBus eventBus;
+
+    @Inject
+    @Qualifier("continuationExecutor")
+    private Executor continuationExecutor;
+
+    @Inject
+    @Qualifier("pollingScheduler")
+    private TaskScheduler pollingScheduler;
+
+    public <T, R> R sendAndWait(CloudPlatformRequest<T> request, Function<T, R> resultHandler) {
+        send(request);
+        try {
+            T result = request.await();
+            LOGGER.info("Result: {}", result);
+            return resultHandler.apply(result);
+        } catch (InterruptedException e) {
+            LOGGER.error(String.format("Error while waiting for the result of %s", request), e);
+            throw new OperationException(e);
+        }
+    }
+
+    /**
+     * Sends the request and returns a future that completes with the result processed by the handler on the continuation
+     * executor.
+     */
+    public <T, R> ListenableFuture<R> sendAsync(CloudPlatformRequest<T> request, Function<T, R> resultHandler) {
+        final SettableFuture<T> result = SettableFuture.create();
+        request.getResult().onComplete(new Consumer<Promise<T>>() {
+            @Override
+            public void accept(Promise<T> promise) {
+                if (promise.isSuccess()) {
+                    LOGGER.info("Result: {}", promise.get());
+                    result.set(promise.get());
+                } else {
+                    result.setException(promise.reason());
+                }
+            }
+        });
+        final ScheduledFuture<?> timeout = pollingScheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                result.setException(new OperationException("Operation timed out, couldn't retrieve result"));
+            }
+        }, new Date(System.currentTimeMillis() + RESULT_TIMEOUT_MS));
+        result.addListener(new Runnable() {
+            @Override
+            public void run() {
+                timeout.cancel(false);
+            }
+        }, MoreExecutors.sameThreadExecutor());
+        send(request);
+        return Futures.transform(result, resultHandler, continuationExecutor);
+    }
+
+    private void send(CloudPlatformRequest<?> request) {
+        LOGGER.info("Triggering event: {}", request);
+        eventBus.notify(request.selector(), Event.wrap(request));
+    }
+}
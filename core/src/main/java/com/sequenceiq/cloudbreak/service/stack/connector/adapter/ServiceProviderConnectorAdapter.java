@@ -19,7 +19,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.sequenceiq.cloudbreak.cloud.PlatformParameters;
 import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
 import com.sequenceiq.cloudbreak.cloud.event.instance.GetSSHFingerprintsRequest;
@@ -78,10 +80,28 @@ public class ServiceProviderConnectorAdapter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ServiceProviderConnectorAdapter.class);
     private static final String ROLLBACK_MESSAGE = "stack.infrastructure.create.rollback";
+    private static final Function<StopInstancesResult, Void> STOP_RESULT_HANDLER = new Function<StopInstancesResult, Void>() {
+        @Override
+        public Void apply(StopInstancesResult res) {
+            if (res.isFailed()) {
+                Exception exception = res.getException();
+                LOGGER.error("Failed to stop the stack", exception);
+                throw new OperationException(exception);
+            }
+            for (CloudVmInstanceStatus instanceStatus : res.getResults().getResults()) {
+                if (instanceStatus.getStatus().equals(InstanceStatus.FAILED)) {
+                    throw new OperationException("Failed to stop the following instance: " + instanceStatus.getCloudInstance());
+                }
+            }
+            return null;
+        }
+    };
 
     @Inject
     private EventBus eventBus;
     @Inject
+    private CloudPlatformRequestSender requestSender;
+    @Inject
     private StackToCloudStackConverter cloudStackConverter;
     @Inject
     private InstanceMetaDataToCloudInstanceConverter metadataConverter;
@@ -99,121 +119,41 @@ public class ServiceProviderConnectorAdapter {
     private InstanceMetadataService instanceMetadataService;
 
     public Set<Resource> buildStack(Stack stack, Map<String, Object> setupProperties) {
-        LOGGER.info("Assembling launch request for stack: {}", stack);
-        Location location = location(region(stack.getRegion()), availabilityZone(stack.getAvailabilityZone()));
-        CloudContext cloudContext = new CloudContext(stack.getId(), stack.getName(), stack.cloudPlatform(), stack.getOwner(), stack.getPlatformVariant(),
-                location);
-        CloudCredential cloudCredential = credentialConverter.convert(stack.getCredential());
-        CloudStack cloudStack = cloudStackConverter.convert(stack);
-        instanceMetadataService.saveInstanceRequests(stack, cloudStack.getGroups());
-        FailurePolicy policy = Optional.fromNullable(stack.getFailurePolicy()).or(new FailurePolicy());
-        LaunchStackRequest launchRequest = new LaunchStackRequest(cloudContext, cloudCredential, cloudStack, policy.getAdjustmentType(), policy.getThreshold());
-        LOGGER.info("Triggering event: {}", launchRequest);
-        eventBus.notify(launchRequest.selector(), Event.wrap(launchRequest));
-        try {
-            LaunchStackResult res = launchRequest.await();
-            LOGGER.info("Result: {}", res);
-            validateResourceResults(cloudContext, res);
-            List<CloudResourceStatus> results = res.getResults();
-            updateNodeCount(stack.getId(), cloudStack.getGroups(), results, true);
-            return transformResults(results, stack);
-        } catch (InterruptedException e) {
-            LOGGER.error("Error while launching stack", e);
-            throw new OperationException("Unexpected exception occurred during build stack: " + e.getMessage());
-        }
+        LaunchStackRequest launchRequest = launchRequest(stack);
+        return requestSender.sendAndWait(launchRequest, launchResultHandler(stack, launchRequest));
+    }
+
+    public ListenableFuture<Set<Resource>> buildStackAsync(Stack stack, Map<String, Object> setupProperties) {
+        LaunchStackRequest launchRequest = launchRequest(stack);
+        return requestSender.sendAsync(launchRequest, launchResultHandler(stack, launchRequest));
     }
 
     public void startAll(Stack stack) {
-        LOGGER.info("Assembling start request for stack: {}", stack);
-        Location location = location(region(stack.getRegion()), availabilityZone(stack.getAvailabilityZone()));
-        CloudContext cloudContext = new CloudContext(stack.getId(), stack.getName(), stack.cloudPlatform(), stack.getOwner(), stack.getPlatformVariant(),
-                location);
-        CloudCredential cloudCredential = credentialConverter.convert(stack.getCredential());
-        List<CloudInstance> instances = metadataConverter.convert(stack.getInstanceMetaDataAsList());
-        List<CloudResource> resources = cloudResourceConverter.convert(stack.getResources());
-        StartInstancesRequest startRequest = new StartInstancesRequest(cloudContext, cloudCredential, resources, instances);
-        LOGGER.info("Triggering event: {}", startRequest);
-        eventBus.notify(startRequest.selector(), Event.wrap(startRequest));
-        try {
-            StartInstancesResult res = startRequest.await();
-            LOGGER.info("Result: {}", res);
-            if (res.isFailed()) {
-                Exception exception = res.getException();
-                LOGGER.error(format("Failed to start the stack: %s", cloudContext), exception);
-                throw new OperationException(exception);
-            } else {
-                for (CloudVmInstanceStatus instanceStatus : res.getResults().getResults()) {
-                    if (instanceStatus.getStatus().equals(InstanceStatus.FAILED)) {
-                        throw new OperationException("Failed to start the following instance: " + instanceStatus.getCloudInstance());
-                    }
-                }
-            }
-        } catch (InterruptedException e) {
-            LOGGER.error("Error while starting the stack", e);
-            throw new OperationException(e);
-        }
+        StartInstancesRequest startRequest = startRequest(stack);
+        requestSender.sendAndWait(startRequest, startResultHandler(startRequest.getCloudContext()));
+    }
+
+    public ListenableFuture<Void> startAllAsync(Stack stack) {
+        StartInstancesRequest startRequest = startRequest(stack);
+        return requestSender.sendAsync(startRequest, startResultHandler(startRequest.getCloudContext()));
     }
 
     public void stopAll(Stack stack) {
-        LOGGER.info("Assembling stop request for stack: {}", stack);
-        Location location = location(region(stack.getRegion()), availabilityZone(stack.getAvailabilityZone()));
-        CloudContext cloudContext = new CloudContext(stack.getId(), stack.getName(), stack.cloudPlatform(), stack.getOwner(), stack.getPlatformVariant(),
-                location);
-        CloudCredential cloudCredential = credentialConverter.convert(stack.getCredential());
-        List<CloudInstance> instances = metadataConverter.convert(stack.getInstanceMetaDataAsList());
-        List<CloudResource> resources = cloudResourceConverter.convert(stack.getResources());
-        StopInstancesRequest<StopInstancesResult> stopRequest = new StopInstancesRequest<>(cloudContext, cloudCredential, resources, instances);
-        LOGGER.info("Triggering event: {}", stopRequest);
-        eventBus.notify(stopRequest.selector(), Event.wrap(stopRequest));
-        try {
-            StopInstancesResult res = stopRequest.await();
-            LOGGER.info("Result: {}", res);
-            if (res.isFailed()) {
-                Exception exception = res.getException();
-                LOGGER.error("Failed to stop the stack", exception);
-                throw new OperationException(exception);
-            } else {
-                for (CloudVmInstanceStatus instanceStatus : res.getResults().getResults()) {
-                    if (instanceStatus.getStatus().equals(InstanceStatus.FAILED)) {
-                        throw new OperationException("Failed to stop the following instance: " + instanceStatus.getCloudInstance());
-                    }
-                }
-            }
-        } catch (InterruptedException e) {
-            LOGGER.error("Error while stopping the stack", e);
-            throw new OperationException(e);
-        }
+        requestSender.sendAndWait(stopRequest(stack), STOP_RESULT_HANDLER);
+    }
+
+    public ListenableFuture<Void> stopAllAsync(Stack stack) {
+        return requestSender.sendAsync(stopRequest(stack), STOP_RESULT_HANDLER);
     }
 
     public Set<Resource> addInstances(Stack stack, Integer adjustment, String instanceGroup) {
-        LOGGER.debug("Assembling upscale stack event for stack: {}", stack);
-        Location location = location(region(stack.getRegion()), availabilityZone(stack.getAvailabilityZone()));
-        CloudContext cloudContext = new CloudContext(stack.getId(), stack.getName(), stack.cloudPlatform(), stack.getOwner(), stack.getPlatformVariant(),
-                location);
-        CloudCredential cloudCredential = credentialConverter.convert(stack.getCredential());
-        InstanceGroup group = stack.getInstanceGroupByInstanceGroupName(instanceGroup);
-        group.setNodeCount(group.getNodeCount() + adjustment);
-        CloudStack cloudStack = cloudStackConverter.convert(stack);
-        instanceMetadataService.saveInstanceRequests(stack, cloudStack.getGroups());
-        List<CloudResource> resources = cloudResourceConverter.convert(stack.getResources());
-        UpscaleStackRequest<UpscaleStackResult> upscaleRequest = new UpscaleStackRequest<>(cloudContext, cloudCredential, cloudStack, resources);
-        LOGGER.info("Triggering upscale stack event: {}", upscaleRequest);
-        eventBus.notify(upscaleRequest.selector(), Event.wrap(upscaleRequest));
-        try {
-            UpscaleStackResult res = upscaleRequest.await();
-            LOGGER.info("Upscale stack result: {}", res);
-            List<CloudResourceStatus> results = res.getResults();
-            validateResourceResults(cloudContext, res);
-            updateNodeCount(stack.getId(), cloudStack.getGroups(), results, false);
-            Set<Resource> resourceSet = transformResults(results, stack);
-            if (resourceSet.isEmpty()) {
-                throw new OperationException("Failed to upscale the cluster since all create request failed: " + results.get(0).getStatusReason());
-            }
-            return resourceSet;
-        } catch (InterruptedException e) {
-            LOGGER.error("Error while upscaling the stack", e);
-            throw new OperationException(e);
-        }
+        UpscaleStackRequest<UpscaleStackResult> upscaleRequest = upscaleRequest(stack, adjustment, instanceGroup);
+        return requestSender.sendAndWait(upscaleRequest, upscaleResultHandler(stack, upscaleRequest));
+    }
+
+    public ListenableFuture<Set<Resource>> addInstancesAsync(Stack stack, Integer adjustment, String instanceGroup) {
+        UpscaleStackRequest<UpscaleStackResult> upscaleRequest = upscaleRequest(stack, adjustment, instanceGroup);
+        return requestSender.sendAsync(upscaleRequest, upscaleResultHandler(stack, upscaleRequest));
     }
 
     public Set<String> removeInstances(Stack stack, Set<String> instanceIds, String instanceGroup) {
@@ -379,6 +319,96 @@ public class ServiceProviderConnectorAdapter {
         }
     }
 
+    private LaunchStackRequest launchRequest(Stack stack) {
+        LOGGER.info("Assembling launch request for stack: {}", stack);
+        CloudContext cloudContext = cloudContext(stack);
+        CloudCredential cloudCredential = credentialConverter.convert(stack.getCredential());
+        CloudStack cloudStack = cloudStackConverter.convert(stack);
+        instanceMetadataService.saveInstanceRequests(stack, cloudStack.getGroups());
+        FailurePolicy policy = Optional.fromNullable(stack.getFailurePolicy()).or(new FailurePolicy());
+        return new LaunchStackRequest(cloudContext, cloudCredential, cloudStack, policy.getAdjustmentType(), policy.getThreshold());
+    }
+
+    private Function<LaunchStackResult, Set<Resource>> launchResultHandler(final Stack stack, final LaunchStackRequest launchRequest) {
+        return new Function<LaunchStackResult, Set<Resource>>() {
+            @Override
+            public Set<Resource> apply(LaunchStackResult res) {
+                validateResourceResults(launchRequest.getCloudContext(), res);
+                List<CloudResourceStatus> results = res.getResults();
+                updateNodeCount(stack.getId(), launchRequest.getCloudStack().getGroups(), results, true);
+                return transformResults(results, stack);
+            }
+        };
+    }
+
+    private StartInstancesRequest startRequest(Stack stack) {
+        LOGGER.info("Assembling start request for stack: {}", stack);
+        CloudCredential cloudCredential = credentialConverter.convert(stack.getCredential());
+        List<CloudInstance> instances = metadataConverter.convert(stack.getInstanceMetaDataAsList());
+        List<CloudResource> resources = cloudResourceConverter.convert(stack.getResources());
+        return new StartInstancesRequest(cloudContext(stack), cloudCredential, resources, instances);
+    }
+
+    private Function<StartInstancesResult, Void> startResultHandler(final CloudContext cloudContext) {
+        return new Function<StartInstancesResult, Void>() {
+            @Override
+            public Void apply(StartInstancesResult res) {
+                if (res.isFailed()) {
+                    Exception exception = res.getException();
+                    LOGGER.error(format("Failed to start the stack: %s", cloudContext), exception);
+                    throw new OperationException(exception);
+                }
+                for (CloudVmInstanceStatus instanceStatus : res.getResults().getResults()) {
+                    if (instanceStatus.getStatus().equals(InstanceStatus.FAILED)) {
+                        throw new OperationException("Failed to start the following instance: " + instanceStatus.getCloudInstance());
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    private StopInstancesRequest<StopInstancesResult> stopRequest(Stack stack) {
+        LOGGER.info("Assembling stop request for stack: {}", stack);
+        CloudCredential cloudCredential = credentialConverter.convert(stack.getCredential());
+        List<CloudInstance> instances = metadataConverter.convert(stack.getInstanceMetaDataAsList());
+        List<CloudResource> resources = cloudResourceConverter.convert(stack.getResources());
+        return new StopInstancesRequest<>(cloudContext(stack), cloudCredential, resources, instances);
+    }
+
+    private UpscaleStackRequest<UpscaleStackResult> upscaleRequest(Stack stack, Integer adjustment, String instanceGroup) {
+        LOGGER.debug("Assembling upscale stack event for stack: {}", stack);
+        CloudCredential cloudCredential = credentialConverter.convert(stack.getCredential());
+        InstanceGroup group = stack.getInstanceGroupByInstanceGroupName(instanceGroup);
+        group.setNodeCount(group.getNodeCount() + adjustment);
+        CloudStack cloudStack = cloudStackConverter.convert(stack);
+        instanceMetadataService.saveInstanceRequests(stack, cloudStack.getGroups());
+        List<CloudResource> resources = cloudResourceConverter.convert(stack.getResources());
+        return new UpscaleStackRequest<>(cloudContext(stack), cloudCredential, cloudStack, resources);
+    }
+
+    private Function<UpscaleStackResult, Set<Resource>> upscaleResultHandler(final Stack stack,
+            final UpscaleStackRequest<UpscaleStackResult> upscaleRequest) {
+        return new Function<UpscaleStackResult, Set<Resource>>() {
+            @Override
+            public Set<Resource> apply(UpscaleStackResult res) {
+                List<CloudResourceStatus> results = res.getResults();
+                validateResourceResults(upscaleRequest.getCloudContext(), res);
+                updateNodeCount(stack.getId(), upscaleRequest.getCloudStack().getGroups(), results, false);
+                Set<Resource> resourceSet = transformResults(results, stack);
+                if (resourceSet.isEmpty()) {
+                    throw new OperationException("Failed to upscale the cluster since all create request failed: " + results.get(0).getStatusReason());
+                }
+                return resourceSet;
+            }
+        };
+    }
+
+    private CloudContext cloudContext(Stack stack) {
+        Location location = location(region(stack.getRegion()), availabilityZone(stack.getAvailabilityZone()));
+        return new CloudContext(stack.getId(), stack.getName(), stack.cloudPlatform(), stack.getOwner(), stack.getPlatformVariant(), location);
+    }
+
     private Set<Resource> transformResults(List<CloudResourceStatus> cloudResourceStatuses, Stack stack) {
         Set<Resource> retSet = new HashSet<>();
         for (CloudResourceStatus cloudResourceStatus : cloudResourceStatuses) {
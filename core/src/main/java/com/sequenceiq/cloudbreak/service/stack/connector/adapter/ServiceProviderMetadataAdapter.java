@@ -16,6 +16,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
 import com.sequenceiq.cloudbreak.cloud.event.instance.CollectMetadataRequest;
 import com.sequenceiq.cloudbreak.cloud.event.instance.CollectMetadataResult;
@@ -45,10 +47,23 @@ import reactor.bus.EventBus;
 public class ServiceProviderMetadataAdapter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ServiceProviderMetadataAdapter.class);
+    private static final Function<CollectMetadataResult, List<CloudVmMetaDataStatus>> COLLECT_METADATA_RESULT_HANDLER =
+            new Function<CollectMetadataResult, List<CloudVmMetaDataStatus>>() {
+                @Override
+                public List<CloudVmMetaDataStatus> apply(CollectMetadataResult res) {
+                    if (res.getException() != null) {
+                        LOGGER.error(format("Failed to collect metadata, stack: %s", res.getCloudContext()), res.getException());
+                        return Collections.emptyList();
+                    }
+                    return res.getResults();
+                }
+            };
 
     @Inject
     private EventBus eventBus;
     @Inject
+    private CloudPlatformRequestSender requestSender;
+    @Inject
     private StackToCloudStackConverter cloudStackConverter;
     @Inject
     private InstanceMetaDataToCloudInstanceConverter metadataConverter;
@@ -58,51 +73,19 @@ public class ServiceProviderMetadataAdapter {
     private ResourceToCloudResourceConverter cloudResourceConverter;
 
     public List<CloudVmMetaDataStatus> collectMetadata(Stack stack) {
-        Location location = location(region(stack.getRegion()), availabilityZone(stack.getAvailabilityZone()));
-        CloudContext cloudContext = new CloudContext(stack.getId(), stack.getName(), stack.cloudPlatform(), stack.getOwner(), stack.getPlatformVariant(),
-                location);
-        CloudCredential cloudCredential = credentialConverter.convert(stack.getCredential());
-        List<CloudInstance> cloudInstances = cloudStackConverter.buildInstances(stack);
-        List<CloudResource> cloudResources = cloudResourceConverter.convert(stack.getResources());
-        CollectMetadataRequest cmr = new CollectMetadataRequest(cloudContext, cloudCredential, cloudResources, cloudInstances);
-        LOGGER.info("Triggering event: {}", cmr);
-        eventBus.notify(cmr.selector(CollectMetadataRequest.class), Event.wrap(cmr));
-        try {
-            CollectMetadataResult res = cmr.await();
-            LOGGER.info("Result: {}", res);
-            if (res.getException() != null) {
-                LOGGER.error("Failed to collect metadata", res.getException());
-                return Collections.emptyList();
-            }
-            return res.getResults();
-        } catch (InterruptedException e) {
-            LOGGER.error(format("Error while executing collectMetadata, stack: %s", cloudContext), e);
-            throw new OperationException(e);
-        }
+        return requestSender.sendAndWait(collectMetadataRequest(stack, cloudStackConverter.buildInstances(stack)), COLLECT_METADATA_RESULT_HANDLER);
+    }
+
+    public ListenableFuture<List<CloudVmMetaDataStatus>> collectMetadataAsync(Stack stack) {
+        return requestSender.sendAsync(collectMetadataRequest(stack, cloudStackConverter.buildInstances(stack)), COLLECT_METADATA_RESULT_HANDLER);
     }
 
     public List<CloudVmMetaDataStatus> collectNewMetadata(Stack stack) {
-        Location location = location(region(stack.getRegion()), availabilityZone(stack.getAvailabilityZone()));
-        CloudContext cloudContext = new CloudContext(stack.getId(), stack.getName(), stack.cloudPlatform(), stack.getOwner(), stack.getPlatformVariant(),
-                location);
-        CloudCredential cloudCredential = credentialConverter.convert(stack.getCredential());
-        List<CloudInstance> cloudInstances = getNewInstances(stack);
-        List<CloudResource> cloudResources = cloudResourceConverter.convert(stack.getResources());
-        CollectMetadataRequest cmr = new CollectMetadataRequest(cloudContext, cloudCredential, cloudResources, cloudInstances);
-        LOGGER.info("Triggering event: {}", cmr);
-        eventBus.notify(cmr.selector(CollectMetadataRequest.class), Event.wrap(cmr));
-        try {
-            CollectMetadataResult res = cmr.await();
-            LOGGER.info("Result: {}", res);
-            if (res.getException() != null) {
-                LOGGER.error(format("Failed to collect metadata, stack: %s", cloudContext), res.getException());
-                return Collections.emptyList();
-            }
-            return res.getResults();
-        } catch (InterruptedException e) {
-            LOGGER.error(format("Error while collecting new metadata for stack: %s", cloudContext), e);
-            throw new OperationException(e);
-        }
+        return requestSender.sendAndWait(collectMetadataRequest(stack, getNewInstances(stack)), COLLECT_METADATA_RESULT_HANDLER);
+    }
+
+    public ListenableFuture<List<CloudVmMetaDataStatus>> collectNewMetadataAsync(Stack stack) {
+        return requestSender.sendAsync(collectMetadataRequest(stack, getNewInstances(stack)), COLLECT_METADATA_RESULT_HANDLER);
     }
 
     public InstanceSyncState getState(Stack stack, InstanceGroup instanceGroup, String instanceId) {
@@ -144,6 +127,15 @@ public class ServiceProviderMetadataAdapter {
         return null;
     }
 
+    private CollectMetadataRequest collectMetadataRequest(Stack stack, List<CloudInstance> cloudInstances) {
+        Location location = location(region(stack.getRegion()), availabilityZone(stack.getAvailabilityZone()));
+        CloudContext cloudContext = new CloudContext(stack.getId(), stack.getName(), stack.cloudPlatform(), stack.getOwner(), stack.getPlatformVariant(),
+                location);
+        CloudCredential cloudCredential = credentialConverter.convert(stack.getCredential());
+        List<CloudResource> cloudResources = cloudResourceConverter.convert(stack.getResources());
+        return new CollectMetadataRequest(cloudContext, cloudCredential, cloudResources, cloudInstances);
+    }
+
     private List<CloudInstance> getNewInstances(Stack stack) {
         List<CloudInstance> cloudInstances = cloudStackConverter.buildInstances(stack);
         Iterator<CloudInstance> iterator = cloudInstances.iterator();
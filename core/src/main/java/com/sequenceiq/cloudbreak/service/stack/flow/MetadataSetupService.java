@@ -4,8 +4,10 @@ import static com.sequenceiq.cloudbreak.common.type.Status.AVAILABLE;
 import static com.sequenceiq.cloudbreak.common.type.Status.UPDATE_IN_PROGRESS;
 
 import java.util.Calendar;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -29,6 +31,7 @@ import com.sequenceiq.cloudbreak.repository.InstanceMetaDataRepository;
 import com.sequenceiq.cloudbreak.service.cluster.ClusterService;
 import com.sequenceiq.cloudbreak.service.events.CloudbreakEventService;
 import com.sequenceiq.cloudbreak.service.messages.CloudbreakMessagesService;
+import com.sequenceiq.cloudbreak.service.stack.InstanceMetadataService;
 import com.sequenceiq.cloudbreak.service.stack.StackService;
 import com.sequenceiq.cloudbreak.service.stack.connector.adapter.ServiceProviderMetadataAdapter;
 
@@ -45,6 +48,9 @@ public class MetadataSetupService {
     @Inject
     private InstanceMetaDataRepository instanceMetaDataRepository;
 
+    @Inject
+    private InstanceMetadataService instanceMetadataService;
+
     @Inject
     private StackService stackService;
 
@@ -117,6 +123,7 @@ public class MetadataSetupService {
         Boolean ambariServerFound = false;
         Set<InstanceMetaData> updatedInstanceMetadata = new HashSet<>();
         Set<InstanceMetaData> allInstanceMetadata = instanceMetaDataRepository.findNotTerminatedForStack(stack.getId());
+        Map<String, InstanceGroup> instanceGroups = new HashMap<>();
         for (CloudVmMetaDataStatus cloudVmMetaDataStatus : cloudVmMetaDataStatusList) {
             CloudInstance cloudInstance = cloudVmMetaDataStatus.getCloudVmInstanceStatus().getCloudInstance();
             CloudInstanceMetaData md = cloudVmMetaDataStatus.getMetaData();
@@ -127,7 +134,11 @@ public class MetadataSetupService {
             // CB 1.0.x clusters do not have private id thus we cannot correlate them with instance groups thus keep the original one
             String group = instanceMetaDataEntry.getInstanceGroup() == null ? cloudInstance.getTemplate().getGroupName() : instanceMetaDataEntry
                     .getInstanceGroup().getGroupName();
-            InstanceGroup instanceGroup = instanceGroupRepository.findOneByGroupNameInStack(stack.getId(), group);
+            InstanceGroup instanceGroup = instanceGroups.get(group);
+            if (instanceGroup == null) {
+                instanceGroup = instanceGroupRepository.findOneByGroupNameInStack(stack.getId(), group);
+                instanceGroups.put(group, instanceGroup);
+            }
             instanceMetaDataEntry.setPrivateIp(md.getPrivateIp());
             instanceMetaDataEntry.setPublicIp(md.getPublicIp());
             instanceMetaDataEntry.setHypervisor(md.getHypervisor());
@@ -144,9 +155,9 @@ public class MetadataSetupService {
             if (status != null) {
                 instanceMetaDataEntry.setInstanceStatus(status);
             }
-            instanceMetaDataRepository.save(instanceMetaDataEntry);
             updatedInstanceMetadata.add(instanceMetaDataEntry);
         }
+        instanceMetadataService.saveAll(updatedInstanceMetadata);
         return updatedInstanceMetadata;
     }
 
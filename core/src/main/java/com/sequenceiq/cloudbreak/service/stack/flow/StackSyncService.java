@@ -6,8 +6,11 @@ import static com.sequenceiq.cloudbreak.common.type.Status.DELETE_FAILED;
 import static com.sequenceiq.cloudbreak.common.type.Status.STOPPED;
 import static com.sequenceiq.cloudbreak.common.type.Status.WAIT_FOR_SYNC;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,13 +33,13 @@ import com.sequenceiq.cloudbreak.domain.InstanceMetaData;
 import com.sequenceiq.cloudbreak.domain.Resource;
 import com.sequenceiq.cloudbreak.domain.Stack;
 import com.sequenceiq.cloudbreak.repository.HostMetadataRepository;
-import com.sequenceiq.cloudbreak.repository.InstanceGroupRepository;
 import com.sequenceiq.cloudbreak.repository.InstanceMetaDataRepository;
 import com.sequenceiq.cloudbreak.repository.ResourceRepository;
 import com.sequenceiq.cloudbreak.repository.StackUpdater;
 import com.sequenceiq.cloudbreak.service.cluster.flow.AmbariClusterConnector;
 import com.sequenceiq.cloudbreak.service.events.CloudbreakEventService;
 import com.sequenceiq.cloudbreak.service.messages.CloudbreakMessagesService;
+import com.sequenceiq.cloudbreak.service.stack.InstanceMetadataService;
 import com.sequenceiq.cloudbreak.service.stack.StackService;
 import com.sequenceiq.cloudbreak.service.stack.connector.adapter.ServiceProviderMetadataAdapter;
 
@@ -55,7 +58,7 @@ public class StackSyncService {
     @Inject
     private InstanceMetaDataRepository instanceMetaDataRepository;
     @Inject
-    private InstanceGroupRepository instanceGroupRepository;
+    private InstanceMetadataService instanceMetadataService;
     @Inject
     private HostMetadataRepository hostMetadataRepository;
     @Inject
@@ -105,17 +108,30 @@ public class StackSyncService {
         Long stackId = stack.getId();
         Set<InstanceMetaData> instances = instanceMetaDataRepository.findNotTerminatedForStack(stackId);
         Map<InstanceSyncState, Integer> instanceStateCounts = initInstanceStateCounts();
+        MetaDataChanges changes = new MetaDataChanges();
+        try {
+            syncInstances(stack, instances, instanceStateCounts, changes);
+        } finally {
+            instanceMetadataService.saveAll(changes.getInstances());
+            instanceMetadataService.updateNodeCounts(changes.getNodeCountChanges());
+        }
+        handleSyncResult(stack, instanceStateCounts, stackStatusUpdateEnabled);
+    }
+
+    private void syncInstances(Stack stack, Set<InstanceMetaData> instances, Map<InstanceSyncState, Integer> instanceStateCounts,
+            MetaDataChanges changes) {
+        Long stackId = stack.getId();
         for (InstanceMetaData instance : instances) {
             InstanceGroup instanceGroup = instance.getInstanceGroup();
             try {
                 InstanceSyncState state = metadata.getState(stack, instanceGroup, instance.getInstanceId());
                 ResourceType instanceResourceType = metadata.getInstanceResourceType();
                 if (InstanceSyncState.DELETED.equals(state) && !instance.isTerminated()) {
-                    syncDeletedInstance(stack, stackId, instanceStateCounts, instance, instanceGroup, instanceResourceType);
+                    syncDeletedInstance(stack, instanceStateCounts, instance, instanceGroup, instanceResourceType, changes);
                 } else if (InstanceSyncState.RUNNING.equals(state)) {
-                    syncRunningInstance(stack, stackId, instanceStateCounts, instance, instanceGroup);
+                    syncRunningInstance(stack, instanceStateCounts, instance, instanceGroup, changes);
                 } else if (InstanceSyncState.STOPPED.equals(state)) {
-                    syncStoppedInstance(stack, stackId, instanceStateCounts, instance, instanceGroup, instanceResourceType);
+                    syncStoppedInstance(stack, instanceStateCounts, instance, instanceGroup, instanceResourceType, changes);
                 } else {
                     instanceStateCounts.put(InstanceSyncState.IN_PROGRESS, instanceStateCounts.get(InstanceSyncState.IN_PROGRESS) + 1);
                 }
@@ -126,44 +142,44 @@ public class StackSyncService {
                 instanceStateCounts.put(InstanceSyncState.UNKNOWN, instanceStateCounts.get(InstanceSyncState.UNKNOWN) + 1);
             }
         }
-        handleSyncResult(stack, instanceStateCounts, stackStatusUpdateEnabled);
     }
 
-    private void syncStoppedInstance(Stack stack, Long stackId, Map<InstanceSyncState, Integer> instanceStateCounts, InstanceMetaData instance,
-            InstanceGroup instanceGroup, ResourceType instanceResourceType) {
+    private void syncStoppedInstance(Stack stack, Map<InstanceSyncState, Integer> instanceStateCounts, InstanceMetaData instance,
+            InstanceGroup instanceGroup, ResourceType instanceResourceType, MetaDataChanges changes) {
         instanceStateCounts.put(InstanceSyncState.STOPPED, instanceStateCounts.get(InstanceSyncState.STOPPED) + 1);
         if (!instance.isTerminated() && !stack.isStopped()) {
             LOGGER.info("Instance '{}' is reported as stopped on the cloud provider, setting its state to STOPPED.", instance.getInstanceId());
-            deleteResourceIfNeeded(stackId, instance, instanceResourceType);
-            updateMetaDataToTerminated(stackId, instance, instanceGroup);
+            deleteResourceIfNeeded(stack.getId(), instance, instanceResourceType);
+            updateMetaDataToTerminated(stack.getId(), instance, instanceGroup, changes);
         }
     }
 
-    private void syncRunningInstance(Stack stack, Long stackId, Map<InstanceSyncState, Integer> instanceStateCounts, InstanceMetaData instance,
-            InstanceGroup instanceGroup) {
+    private void syncRunningInstance(Stack stack, Map<InstanceSyncState, Integer> instanceStateCounts, InstanceMetaData instance,
+            InstanceGroup instanceGroup, MetaDataChanges changes) {
+        Long stackId = stack.getId();
         instanceStateCounts.put(InstanceSyncState.RUNNING, instanceStateCounts.get(InstanceSyncState.RUNNING) + 1);
         if (stack.getStatus() == WAIT_FOR_SYNC && instance.isCreated()) {
             LOGGER.info("Instance '{}' is reported as created on the cloud provider but not member of the cluster, setting its state to FAILED.",
                     instance.getInstanceId());
             instance.setInstanceStatus(InstanceStatus.FAILED);
-            instanceMetaDataRepository.save(instance);
+            changes.add(instance);
             eventService.fireCloudbreakEvent(stackId, CREATE_FAILED.name(),
                     cloudbreakMessagesService.getMessage(Msg.STACK_SYNC_INSTANCE_FAILED.code(), Arrays.asList(instance.getDiscoveryFQDN())));
         } else if (!instance.isRunning() && !instance.isDecommissioned() && !instance.isCreated() && !instance.isFailed()) {
             LOGGER.info("Instance '{}' is reported as running on the cloud provider, updating metadata.", instance.getInstanceId());
             createResourceIfNeeded(stack, instance, instanceGroup);
-            updateMetaDataToRunning(stackId, stack.getCluster(), instance, instanceGroup);
+            updateMetaDataToRunning(stackId, stack.getCluster(), instance, instanceGroup, changes);
         }
     }
 
-    private void syncDeletedInstance(Stack stack, Long stackId, Map<InstanceSyncState, Integer> instanceStateCounts, InstanceMetaData instance,
-            InstanceGroup instanceGroup, ResourceType instanceResourceType) {
+    private void syncDeletedInstance(Stack stack, Map<InstanceSyncState, Integer> instanceStateCounts, InstanceMetaData instance,
+            InstanceGroup instanceGroup, ResourceType instanceResourceType, MetaDataChanges changes) {
         instanceStateCounts.put(InstanceSyncState.DELETED, instanceStateCounts.get(InstanceSyncState.DELETED) + 1);
         deleteHostFromCluster(stack, instance);
         if (!instance.isTerminated()) {
             LOGGER.info("Instance '{}' is reported as deleted on the cloud provider, setting its state to TERMINATED.", instance.getInstanceId());
-            deleteResourceIfNeeded(stackId, instance, instanceResourceType);
-            updateMetaDataToTerminated(stackId, instance, instanceGroup);
+            deleteResourceIfNeeded(stack.getId(), instance, instanceResourceType);
+            updateMetaDataToTerminated(stack.getId(), instance, instanceGroup, changes);
         }
     }
 
@@ -255,17 +271,16 @@ public class StackSyncService {
         }
     }
 
-    private void updateMetaDataToTerminated(Long stackId, InstanceMetaData instanceMetaData, InstanceGroup instanceGroup) {
-        instanceGroup.setNodeCount(instanceGroup.getNodeCount() - 1);
+    private void updateMetaDataToTerminated(Long stackId, InstanceMetaData instanceMetaData, InstanceGroup instanceGroup, MetaDataChanges changes) {
         instanceMetaData.setInstanceStatus(InstanceStatus.TERMINATED);
-        instanceMetaDataRepository.save(instanceMetaData);
-        instanceGroupRepository.save(instanceGroup);
+        changes.add(instanceMetaData);
+        changes.changeNodeCount(instanceGroup, -1);
         eventService.fireCloudbreakEvent(stackId, AVAILABLE.name(),
                 cloudbreakMessagesService.getMessage(Msg.STACK_SYNC_INSTANCE_DELETED_CBMETADATA.code(), Arrays.asList(instanceMetaData.getDiscoveryFQDN())));
     }
 
-    private void updateMetaDataToRunning(Long stackId, Cluster cluster, InstanceMetaData instanceMetaData, InstanceGroup instanceGroup) {
-        instanceGroup.setNodeCount(instanceGroup.getNodeCount() + 1);
+    private void updateMetaDataToRunning(Long stackId, Cluster cluster, InstanceMetaData instanceMetaData, InstanceGroup instanceGroup,
+            MetaDataChanges changes) {
         HostMetadata hostMetadata = hostMetadataRepository.findHostInClusterByName(cluster.getId(), instanceMetaData.getDiscoveryFQDN());
         if (hostMetadata != null) {
             LOGGER.info("Instance '{}' was found in the cluster metadata, setting it's state to REGISTERED.", instanceMetaData.getInstanceId());
@@ -274,11 +289,31 @@ public class StackSyncService {
             LOGGER.info("Instance '{}' was not found in the cluster metadata, setting it's state to UNREGISTERED.", instanceMetaData.getInstanceId());
             instanceMetaData.setInstanceStatus(InstanceStatus.UNREGISTERED);
         }
-        instanceMetaDataRepository.save(instanceMetaData);
-        instanceGroupRepository.save(instanceGroup);
+        changes.add(instanceMetaData);
+        changes.changeNodeCount(instanceGroup, 1);
         eventService.fireCloudbreakEvent(stackId, AVAILABLE.name(),
                 cloudbreakMessagesService.getMessage(Msg.STACK_SYNC_INSTANCE_RUNNING.code(), Arrays.asList(instanceMetaData.getDiscoveryFQDN())));
     }
 
+    private static final class MetaDataChanges {
+        private final List<InstanceMetaData> instances = new ArrayList<>();
+        private final Map<InstanceGroup, Integer> nodeCountChanges = new LinkedHashMap<>();
 
+        private void add(InstanceMetaData instanceMetaData) {
+            instances.add(instanceMetaData);
+        }
+
+        private void changeNodeCount(InstanceGroup instanceGroup, int change) {
+            Integer current = nodeCountChanges.get(instanceGroup);
+            nodeCountChanges.put(instanceGroup, current == null ? change : current + change);
+        }
+
+        private List<InstanceMetaData> getInstances() {
+            return instances;
+        }
+
+        private Map<InstanceGroup, Integer> getNodeCountChanges() {
+            return nodeCountChanges;
+        }
+    }
 }
\ No newline at end of file
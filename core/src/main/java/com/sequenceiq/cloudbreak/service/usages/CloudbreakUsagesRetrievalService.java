@@ -2,9 +2,16 @@ package com.sequenceiq.cloudbreak.service.usages;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import com.sequenceiq.cloudbreak.domain.CbUsageFilterParameters;
 import com.sequenceiq.cloudbreak.domain.CloudbreakUsage;
+import com.sequenceiq.cloudbreak.domain.CloudbreakUsageRollup;
+import com.sequenceiq.cloudbreak.domain.UsageRollupGranularity;
 
 public interface CloudbreakUsagesRetrievalService {
     List<CloudbreakUsage> findUsagesFor(CbUsageFilterParameters params);
+
+    Page<CloudbreakUsageRollup> findUsageRollupsFor(CbUsageFilterParameters params, UsageRollupGranularity granularity, Pageable pageable);
 }
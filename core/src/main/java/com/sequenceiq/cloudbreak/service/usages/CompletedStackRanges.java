@@ -0,0 +1,63 @@
+package com.sequenceiq.cloudbreak.service.usages;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+
+/**
+ * The committed stack id ranges of a usage generation that are not yet contiguous with its checkpoint, stored as
+ * 'afterStackId:lastStackId'.
+ */
+final class CompletedStackRanges {
+
+    private static final String RANGE_SEPARATOR = ",";
+    private static final String BOUND_SEPARATOR = ":";
+
+    private final NavigableMap<Long, Long> ranges = new TreeMap<>();
+
+    private CompletedStackRanges() {
+    }
+
+    static CompletedStackRanges parse(String value) {
+        CompletedStackRanges result = new CompletedStackRanges();
+        if (value != null) {
+            for (String range : Splitter.on(RANGE_SEPARATOR).omitEmptyStrings().trimResults().split(value)) {
+                int separator = range.indexOf(BOUND_SEPARATOR);
+                result.add(Long.valueOf(range.substring(0, separator)), Long.valueOf(range.substring(separator + 1)));
+            }
+        }
+        return result;
+    }
+
+    void add(Long afterStackId, Long lastStackId) {
+        ranges.put(afterStackId, lastStackId);
+    }
+
+    /**
+     * Removes the ranges that continue the given last processed stack without a gap and returns the new last processed stack.
+     */
+    Long advance(Long lastStackId) {
+        Long last = lastStackId;
+        Long next = ranges.remove(last);
+        while (next != null) {
+            last = next;
+            next = ranges.remove(last);
+        }
+        return last;
+    }
+
+    Map.Entry<Long, Long> rangeOf(Long stackId) {
+        Map.Entry<Long, Long> range = ranges.lowerEntry(stackId);
+        return range != null && stackId <= range.getValue() ? range : null;
+    }
+
+    String format() {
+        if (ranges.isEmpty()) {
+            return null;
+        }
+        return Joiner.on(RANGE_SEPARATOR).withKeyValueSeparator(BOUND_SEPARATOR).join(ranges);
+    }
+}
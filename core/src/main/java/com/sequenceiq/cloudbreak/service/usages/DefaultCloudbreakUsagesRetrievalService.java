@@ -4,12 +4,18 @@ import java.util.List;
 
 import javax.inject.Inject;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specifications;
 import org.springframework.stereotype.Service;
 
 import com.sequenceiq.cloudbreak.domain.CbUsageFilterParameters;
 import com.sequenceiq.cloudbreak.domain.CloudbreakUsage;
+import com.sequenceiq.cloudbreak.domain.CloudbreakUsageRollup;
+import com.sequenceiq.cloudbreak.domain.UsageRollupGranularity;
 import com.sequenceiq.cloudbreak.repository.CloudbreakUsageRepository;
+import com.sequenceiq.cloudbreak.repository.CloudbreakUsageRollupRepository;
+import com.sequenceiq.cloudbreak.repository.CloudbreakUsageRollupSpecifications;
 import com.sequenceiq.cloudbreak.repository.CloudbreakUsageSpecifications;
 
 @Service
@@ -18,6 +24,9 @@ public class DefaultCloudbreakUsagesRetrievalService implements CloudbreakUsages
     @Inject
     private CloudbreakUsageRepository usageRepository;
 
+    @Inject
+    private CloudbreakUsageRollupRepository rollupRepository;
+
     @Override
     public List<CloudbreakUsage> findUsagesFor(CbUsageFilterParameters params) {
         List<CloudbreakUsage> usages = usageRepository.findAll(
@@ -29,4 +38,16 @@ public class DefaultCloudbreakUsagesRetrievalService implements CloudbreakUsages
                 .and(CloudbreakUsageSpecifications.usagesWithStringFields("region", params.getRegion())));
         return usages;
     }
+
+    @Override
+    public Page<CloudbreakUsageRollup> findUsageRollupsFor(CbUsageFilterParameters params, UsageRollupGranularity granularity, Pageable pageable) {
+        return rollupRepository.findAll(
+                Specifications.where(CloudbreakUsageRollupSpecifications.rollupsWithGranularity(granularity))
+                .and(CloudbreakUsageRollupSpecifications.rollupsWithStringFields("account", params.getAccount()))
+                .and(CloudbreakUsageRollupSpecifications.rollupsWithStringFields("owner", params.getOwner()))
+                .and(CloudbreakUsageRollupSpecifications.rollupsSince(params.getSince()))
+                .and(CloudbreakUsageRollupSpecifications.rollupsBefore(params.getFilterEndDate()))
+                .and(CloudbreakUsageRollupSpecifications.rollupsWithStringFields("provider", params.getCloud()))
+                .and(CloudbreakUsageRollupSpecifications.rollupsWithStringFields("region", params.getRegion())), pageable);
+    }
 }
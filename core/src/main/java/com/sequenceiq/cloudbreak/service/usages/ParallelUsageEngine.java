@@ -0,0 +1,250 @@
+package com.sequenceiq.cloudbreak.service.usages;
+
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_USAGE_GENERATION_BATCH_SIZE;
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_USAGE_GENERATION_PARALLELISM;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.persistence.LockTimeoutException;
+import javax.persistence.PessimisticLockException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.domain.CloudbreakEvent;
+import com.sequenceiq.cloudbreak.domain.UsageGenerationCheckpoint;
+import com.sequenceiq.cloudbreak.service.CloudbreakServiceException;
+
+/**
+ * Generates the usages of a run in parallel on a bounded fork-join pool, in stack id ranges written by the
+ * {@link UsageBatchWriter}.
+ */
+@Component
+public class ParallelUsageEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelUsageEngine.class);
+
+    private static final String METRIC_PREFIX = "usage.generation.";
+    private static final int SEGMENTS_IN_FLIGHT = 2;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    @Inject
+    private StackEventReader stackEventReader;
+
+    @Inject
+    private UsageBatchWriter usageBatchWriter;
+
+    @Inject
+    private GaugeService gaugeService;
+
+    @Value("${cb.usage.generation.parallelism:" + CB_USAGE_GENERATION_PARALLELISM + "}")
+    private int parallelism;
+
+    @Value("${cb.usage.generation.batch.size:" + CB_USAGE_GENERATION_BATCH_SIZE + "}")
+    private int batchSize;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Returns when all ranges are committed, or throws the first failure once the ranges in flight are finished.
+     */
+    public void run(UsageGenerationCheckpoint checkpoint) {
+        long start = System.currentTimeMillis();
+        SegmentCollector collector = new SegmentCollector(checkpoint);
+        Date since = checkpoint.getSince() == null ? new Date(0) : checkpoint.getSince();
+        RuntimeException failure = null;
+        try {
+            stackEventReader.read(since, checkpoint.getLastStackId(), collector);
+            collector.finish();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        int usages = 0;
+        for (ForkJoinTask<Integer> task : collector.getTasks()) {
+            try {
+                usages += task.join();
+            } catch (RuntimeException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (failure != null) {
+            throw new CloudbreakServiceException("Usage generation failed, it will be resumed from the last committed ranges.", failure);
+        }
+        publish(collector.getStacks(), collector.getEvents(), usages, System.currentTimeMillis() - start);
+    }
+
+    private void publish(int stacks, int events, int usages, long duration) {
+        double seconds = Math.max(duration, 1L) / MILLIS_PER_SECOND;
+        double stacksPerSecond = stacks / seconds;
+        double eventsPerSecond = events / seconds;
+        LOGGER.info("Usage generation processed {} stacks and {} events into {} usages in {} ms with parallelism {} ({} stacks/s, {} events/s)",
+                stacks, events, usages, duration, parallelism, Math.round(stacksPerSecond), Math.round(eventsPerSecond));
+        gaugeService.submit(METRIC_PREFIX + "stacks", stacks);
+        gaugeService.submit(METRIC_PREFIX + "events", events);
+        gaugeService.submit(METRIC_PREFIX + "usages", usages);
+        gaugeService.submit(METRIC_PREFIX + "duration.ms", duration);
+        gaugeService.submit(METRIC_PREFIX + "stacks.per.second", stacksPerSecond);
+        gaugeService.submit(METRIC_PREFIX + "events.per.second", eventsPerSecond);
+    }
+
+    private final class SegmentCollector implements StackEventsHandler {
+        private final Long checkpointId;
+        private final CompletedStackRanges completedRanges;
+        private final Semaphore inFlight = new Semaphore(SEGMENTS_IN_FLIGHT);
+        private final List<ForkJoinTask<Integer>> tasks = new ArrayList<>();
+        private Map<Long, List<CloudbreakEvent>> segment = new LinkedHashMap<>();
+        private Long boundary;
+        private Long lastStackId;
+        private int stacks;
+        private int events;
+
+        private SegmentCollector(UsageGenerationCheckpoint checkpoint) {
+            checkpointId = checkpoint.getId();
+            completedRanges = CompletedStackRanges.parse(checkpoint.getCompletedRanges());
+            boundary = checkpoint.getLastStackId();
+        }
+
+        @Override
+        public void handle(Long stackId, List<CloudbreakEvent> stackEvents) {
+            Map.Entry<Long, Long> completed = completedRanges.rangeOf(stackId);
+            if (completed != null) {
+                if (!segment.isEmpty() || boundary < completed.getKey()) {
+                    submit(completed.getKey());
+                }
+                boundary = completed.getValue();
+            } else {
+                segment.put(stackId, stackEvents);
+                lastStackId = stackId;
+                stacks++;
+                events += stackEvents.size();
+                if (segment.size() >= parallelism * batchSize) {
+                    submit(stackId);
+                }
+            }
+        }
+
+        private void finish() {
+            if (!segment.isEmpty()) {
+                submit(lastStackId);
+            }
+        }
+
+        private void submit(Long segmentLastStackId) {
+            acquire();
+            for (ForkJoinTask<Integer> task : tasks) {
+                if (task.isCompletedAbnormally()) {
+                    inFlight.release();
+                    throw new CloudbreakServiceException("Usage generation of a stack range failed.", task.getException());
+                }
+            }
+            StackRangeTask task = new StackRangeTask(checkpointId, boundary, segmentLastStackId, segment, inFlight);
+            tasks.add(pool.submit(task));
+            segment = new LinkedHashMap<>();
+            boundary = segmentLastStackId;
+        }
+
+        private void acquire() {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CloudbreakServiceException("Usage generation was interrupted.", e);
+            }
+        }
+
+        private List<ForkJoinTask<Integer>> getTasks() {
+            return tasks;
+        }
+
+        private int getStacks() {
+            return stacks;
+        }
+
+        private int getEvents() {
+            return events;
+        }
+    }
+
+    private final class StackRangeTask extends RecursiveTask<Integer> {
+        private final Long checkpointId;
+        private final Long afterStackId;
+        private final Long lastStackId;
+        private final Map<Long, List<CloudbreakEvent>> stackEvents;
+        private final Semaphore permit;
+
+        private StackRangeTask(Long checkpointId, Long afterStackId, Long lastStackId, Map<Long, List<CloudbreakEvent>> stackEvents,
+                Semaphore permit) {
+            this.checkpointId = checkpointId;
+            this.afterStackId = afterStackId;
+            this.lastStackId = lastStackId;
+            this.stackEvents = stackEvents;
+            this.permit = permit;
+        }
+
+        @Override
+        protected Integer compute() {
+            try {
+                return stackEvents.size() <= batchSize ? write() : split();
+            } finally {
+                if (permit != null) {
+                    permit.release();
+                }
+            }
+        }
+
+        private Integer split() {
+            List<Long> stackIds = new ArrayList<>(stackEvents.keySet());
+            Long middleStackId = stackIds.get((stackIds.size() - 1) / 2);
+            Map<Long, List<CloudbreakEvent>> head = new LinkedHashMap<>();
+            Map<Long, List<CloudbreakEvent>> tail = new LinkedHashMap<>();
+            for (Map.Entry<Long, List<CloudbreakEvent>> entry : stackEvents.entrySet()) {
+                (entry.getKey() <= middleStackId ? head : tail).put(entry.getKey(), entry.getValue());
+            }
+            StackRangeTask first = new StackRangeTask(checkpointId, afterStackId, middleStackId, head, null);
+            StackRangeTask second = new StackRangeTask(checkpointId, middleStackId, lastStackId, tail, null);
+            first.fork();
+            int secondUsages = second.compute();
+            return first.join() + secondUsages;
+        }
+
+        private Integer write() {
+            int attempt = 1;
+            while (true) {
+                try {
+                    return usageBatchWriter.write(checkpointId, afterStackId, lastStackId, stackEvents);
+                } catch (ConcurrencyFailureException | PessimisticLockException | LockTimeoutException e) {
+                    if (attempt++ >= MAX_ATTEMPTS) {
+                        throw e;
+                    }
+                    LOGGER.warn("Writing the usages of stack range ({}, {}] failed on a lock, retrying.", afterStackId, lastStackId, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.sequenceiq.cloudbreak.service.usages;
+
+import static com.sequenceiq.cloudbreak.EnvironmentVariableConfig.CB_USAGE_GENERATION_FETCH_SIZE;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sequenceiq.cloudbreak.domain.CloudbreakEvent;
+
+/**
+ * Streams the cloudbreak events ordered by stack id and hands them to the handler one stack at a time, so only the events of the
+ * current stack are kept in memory.
+ */
+@Component
+public class StackEventReader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StackEventReader.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${cb.usage.generation.fetch.size:" + CB_USAGE_GENERATION_FETCH_SIZE + "}")
+    private int fetchSize;
+
+    @Transactional(readOnly = true)
+    public void read(Date since, Long afterStackId, StackEventsHandler handler) {
+        Session session = entityManager.unwrap(Session.class);
+        ScrollableResults results = session.getNamedQuery("CloudbreakEvent.findEventsForUsageGeneration")
+                .setParameter("since", since)
+                .setParameter("afterStackId", afterStackId)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        try {
+            Long stackId = null;
+            List<CloudbreakEvent> stackEvents = new ArrayList<>();
+            while (results.next()) {
+                CloudbreakEvent event = (CloudbreakEvent) results.get(0);
+                session.evict(event);
+                if (!event.getStackId().equals(stackId) && !stackEvents.isEmpty()) {
+                    handler.handle(stackId, stackEvents);
+                    stackEvents = new ArrayList<>();
+                }
+                stackId = event.getStackId();
+                stackEvents.add(event);
+            }
+            if (!stackEvents.isEmpty()) {
+                handler.handle(stackId, stackEvents);
+            }
+        } finally {
+            results.close();
+        }
+        LOGGER.info("Finished reading the events of the stacks after stack id '{}' since '{}'.", afterStackId, since);
+    }
+}
@@ -0,0 +1,10 @@
+package com.sequenceiq.cloudbreak.service.usages;
+
+import java.util.List;
+
+import com.sequenceiq.cloudbreak.domain.CloudbreakEvent;
+
+public interface StackEventsHandler {
+
+    void handle(Long stackId, List<CloudbreakEvent> stackEvents);
+}
@@ -0,0 +1,113 @@
+package com.sequenceiq.cloudbreak.service.usages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sequenceiq.cloudbreak.domain.CloudbreakEvent;
+import com.sequenceiq.cloudbreak.domain.CloudbreakUsage;
+import com.sequenceiq.cloudbreak.domain.InstanceGroup;
+import com.sequenceiq.cloudbreak.domain.Stack;
+import com.sequenceiq.cloudbreak.domain.Template;
+import com.sequenceiq.cloudbreak.domain.UsageGenerationCheckpoint;
+import com.sequenceiq.cloudbreak.repository.CloudbreakEventRepository;
+import com.sequenceiq.cloudbreak.repository.CloudbreakUsageRepository;
+import com.sequenceiq.cloudbreak.repository.FileSystemRepository;
+import com.sequenceiq.cloudbreak.repository.StackRepository;
+import com.sequenceiq.cloudbreak.repository.TemplateRepository;
+
+/**
+ * Generates and saves the usages of a range of stacks in a new transaction and records the completed range on the checkpoint.
+ */
+@Component
+public class UsageBatchWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UsageBatchWriter.class);
+
+    @Inject
+    private CloudbreakUsageRepository usageRepository;
+
+    @Inject
+    private CloudbreakEventRepository eventRepository;
+
+    @Inject
+    private StackUsageGenerator stackUsageGenerator;
+
+    @Inject
+    private StackRepository stackRepository;
+
+    @Inject
+    private TemplateRepository templateRepository;
+
+    @Inject
+    private FileSystemRepository fileSystemRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Processes the stacks of the (afterStackId, lastStackId] range and returns the number of saved usages.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int write(Long checkpointId, Long afterStackId, Long lastStackId, Map<Long, List<CloudbreakEvent>> stackEvents) {
+        List<CloudbreakUsage> usages = new ArrayList<>();
+        for (Map.Entry<Long, List<CloudbreakEvent>> stackEventEntry : stackEvents.entrySet()) {
+            LOGGER.debug("Processing stack {}", stackEventEntry.getKey());
+            usages.addAll(stackUsageGenerator.generate(stackEventEntry.getValue()));
+            deleteTerminatedStack(stackEventEntry.getKey());
+        }
+        usageRepository.save(usages);
+        completeRange(checkpointId, afterStackId, lastStackId);
+        LOGGER.info("{} usages saved for {} stacks of range ({}, {}]", usages.size(), stackEvents.size(), afterStackId, lastStackId);
+        return usages.size();
+    }
+
+    private void completeRange(Long checkpointId, Long afterStackId, Long lastStackId) {
+        // flush the deletions first, so the checkpoint lock is never held while waiting for row locks of another range
+        entityManager.flush();
+        UsageGenerationCheckpoint checkpoint = entityManager.find(UsageGenerationCheckpoint.class, checkpointId, LockModeType.PESSIMISTIC_WRITE);
+        CompletedStackRanges ranges = CompletedStackRanges.parse(checkpoint.getCompletedRanges());
+        ranges.add(afterStackId, lastStackId);
+        checkpoint.setLastStackId(ranges.advance(checkpoint.getLastStackId()));
+        checkpoint.setCompletedRanges(ranges.format());
+    }
+
+    private void deleteTerminatedStack(Long stackId) {
+        Stack stack = stackRepository.findById(stackId);
+        if (stack != null && stack.isDeleteCompleted()) {
+            Long fsId = null;
+            if (stack.getCluster() != null && stack.getCluster().getFileSystem() != null) {
+                fsId = stack.getCluster().getFileSystem().getId();
+            }
+            stackRepository.delete(stack);
+            deleteTemplatesOfStack(stack);
+            if (fsId != null) {
+                fileSystemRepository.delete(fsId);
+            }
+            eventRepository.delete(eventRepository.findCloudbreakEventsForStack(stackId));
+        }
+    }
+
+    private void deleteTemplatesOfStack(Stack stack) {
+        for (InstanceGroup instanceGroup : stack.getInstanceGroups()) {
+            Template template = instanceGroup.getTemplate();
+            if (template != null) {
+                List<Stack> allStackForTemplate = stackRepository.findAllStackForTemplate(template.getId());
+                if (template.isDeleted() && allStackForTemplate.size() <= 1) {
+                    templateRepository.delete(template);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.sequenceiq.cloudbreak.service.usages;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sequenceiq.cloudbreak.domain.CloudbreakUsageRollup;
+import com.sequenceiq.cloudbreak.domain.UsageRollupGranularity;
+import com.sequenceiq.cloudbreak.repository.CloudbreakUsageRepository;
+import com.sequenceiq.cloudbreak.repository.CloudbreakUsageRollupRepository;
+
+/**
+ * Rebuilds the daily and monthly usage rollups of the generated days, so running it again for the same period is safe.
+ */
+@Component
+public class UsageRollupGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UsageRollupGenerator.class);
+
+    @Inject
+    private CloudbreakUsageRepository usageRepository;
+
+    @Inject
+    private CloudbreakUsageRollupRepository rollupRepository;
+
+    @Transactional
+    public void generate(Date since) {
+        Date dayStart = since == null ? new Date(0) : startOfDay(since);
+        Date monthStart = startOfMonth(dayStart);
+        rollupRepository.deleteSince(UsageRollupGranularity.DAILY, dayStart);
+        rollupRepository.deleteSince(UsageRollupGranularity.MONTHLY, monthStart);
+
+        List<CloudbreakUsageRollup> dailyRollups = usageRepository.aggregateDailySince(dayStart);
+        for (CloudbreakUsageRollup dailyRollup : dailyRollups) {
+            dailyRollup.setGranularity(UsageRollupGranularity.DAILY);
+        }
+        rollupRepository.save(dailyRollups);
+
+        Map<List<Object>, CloudbreakUsageRollup> monthlyRollups = new LinkedHashMap<>();
+        for (CloudbreakUsageRollup dailyRollup : rollupRepository.findDailySince(monthStart)) {
+            Date month = startOfMonth(dailyRollup.getPeriodStart());
+            List<Object> key = Arrays.<Object>asList(month, dailyRollup.getOwner(), dailyRollup.getAccount(), dailyRollup.getProvider(),
+                    dailyRollup.getRegion());
+            CloudbreakUsageRollup monthlyRollup = monthlyRollups.get(key);
+            if (monthlyRollup == null) {
+                monthlyRollup = new CloudbreakUsageRollup(month, dailyRollup.getOwner(), dailyRollup.getAccount(), dailyRollup.getProvider(),
+                        dailyRollup.getRegion(), 0L, 0.0);
+                monthlyRollup.setGranularity(UsageRollupGranularity.MONTHLY);
+                monthlyRollups.put(key, monthlyRollup);
+            }
+            monthlyRollup.setInstanceHours(monthlyRollup.getInstanceHours() + valueOf(dailyRollup.getInstanceHours()));
+            monthlyRollup.setCosts(monthlyRollup.getCosts() + valueOf(dailyRollup.getCosts()));
+        }
+        rollupRepository.save(monthlyRollups.values());
+        LOGGER.info("{} daily usage rollups rebuilt since '{}', {} monthly usage rollups rebuilt since '{}'.", dailyRollups.size(), dayStart,
+                monthlyRollups.size(), monthStart);
+    }
+
+    private Date startOfDay(Date date) {
+        return startOfDayCalendar(date).getTime();
+    }
+
+    private Date startOfMonth(Date date) {
+        Calendar cal = startOfDayCalendar(date);
+        cal.set(Calendar.DAY_OF_MONTH, 1);
+        return cal.getTime();
+    }
+
+    private Calendar startOfDayCalendar(Date date) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(date);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        return cal;
+    }
+
+    private long valueOf(Long value) {
+        return value == null ? 0L : value;
+    }
+
+    private double valueOf(Double value) {
+        return value == null ? 0.0 : value;
+    }
+}
@@ -0,0 +1,28 @@
+-- // usage_generation_checkpoint
+-- Migration SQL that makes the change goes here.
+
+CREATE TABLE usagegenerationcheckpoint
+(
+    id          bigint NOT NULL,
+    since       timestamp without time zone,
+    laststackid bigint NOT NULL,
+    started     timestamp without time zone NOT NULL,
+    finished    timestamp without time zone
+);
+
+CREATE SEQUENCE usagegenerationcheckpoint_id_seq START WITH 1 INCREMENT BY 1 NO MINVALUE NO MAXVALUE CACHE 1;
+
+ALTER TABLE ONLY usagegenerationcheckpoint
+    ADD CONSTRAINT usagegenerationcheckpoint_pkey PRIMARY KEY (id);
+
+CREATE INDEX idx_cloudbreakevent_stackid_eventtimestamp ON cloudbreakevent (stackid, eventtimestamp);
+
+
+-- //@UNDO
+-- SQL to undo the change goes here.
+
+DROP INDEX IF EXISTS idx_cloudbreakevent_stackid_eventtimestamp;
+
+DROP SEQUENCE usagegenerationcheckpoint_id_seq;
+
+DROP TABLE IF EXISTS usagegenerationcheckpoint;
@@ -0,0 +1,10 @@
+-- // usage_generation_completed_ranges
+-- Migration SQL that makes the change goes here.
+
+ALTER TABLE usagegenerationcheckpoint ADD COLUMN completedranges TEXT;
+
+
+-- //@UNDO
+-- SQL to undo the change goes here.
+
+ALTER TABLE usagegenerationcheckpoint DROP COLUMN IF EXISTS completedranges;
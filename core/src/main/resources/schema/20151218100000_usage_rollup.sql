@@ -0,0 +1,34 @@
+-- // usage_rollup
+-- Migration SQL that makes the change goes here.
+
+CREATE TABLE cloudbreakusagerollup
+(
+    id            bigint NOT NULL,
+    granularity   character varying(255) NOT NULL,
+    periodstart   timestamp without time zone NOT NULL,
+    owner         character varying(255),
+    account       character varying(255),
+    provider      character varying(255),
+    region        character varying(255),
+    instancehours bigint,
+    costs         double precision
+);
+
+CREATE SEQUENCE cloudbreakusagerollup_id_seq START WITH 1 INCREMENT BY 1 NO MINVALUE NO MAXVALUE CACHE 1;
+
+ALTER TABLE ONLY cloudbreakusagerollup
+    ADD CONSTRAINT cloudbreakusagerollup_pkey PRIMARY KEY (id);
+
+CREATE INDEX idx_cloudbreakusagerollup_granularity_account_periodstart ON cloudbreakusagerollup (granularity, account, periodstart);
+
+CREATE INDEX idx_cloudbreakusage_day ON cloudbreakusage (day);
+
+
+-- //@UNDO
+-- SQL to undo the change goes here.
+
+DROP INDEX IF EXISTS idx_cloudbreakusage_day;
+
+DROP SEQUENCE cloudbreakusagerollup_id_seq;
+
+DROP TABLE IF EXISTS cloudbreakusagerollup;
@@ -0,0 +1,19 @@
+-- // flow_lock
+-- Migration SQL that makes the change goes here.
+
+CREATE TABLE flowlock
+(
+    lockkey      character varying(255) NOT NULL,
+    owner        character varying(255),
+    fencingtoken bigint NOT NULL,
+    expires      timestamp without time zone
+);
+
+ALTER TABLE ONLY flowlock
+    ADD CONSTRAINT flowlock_pkey PRIMARY KEY (lockkey);
+
+
+-- //@UNDO
+-- SQL to undo the change goes here.
+
+DROP TABLE IF EXISTS flowlock;
@@ -0,0 +1,79 @@
+package com.sequenceiq.cloudbreak.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.domain.Blueprint;
+import com.sequenceiq.cloudbreak.domain.Credential;
+
+import net.sf.ehcache.config.CacheConfiguration;
+
+public class EntityCacheRegionsTest {
+
+    private EntityCacheRegions underTest;
+    private MockEnvironment environment;
+
+    @Before
+    public void before() {
+        underTest = new EntityCacheRegions();
+        environment = new MockEnvironment();
+        ReflectionTestUtils.setField(underTest, "environment", environment);
+        ReflectionTestUtils.setField(underTest, "entityTtl", 600L);
+        ReflectionTestUtils.setField(underTest, "entityMaxEntries", 1000L);
+        ReflectionTestUtils.setField(underTest, "queryTtl", 300L);
+        ReflectionTestUtils.setField(underTest, "queryMaxEntries", 5000L);
+    }
+
+    @Test
+    public void testCacheConfigurationsShouldUseTheDefaultsWhenTheEntityIsNotOverridden() {
+        //WHEN
+        Map<String, CacheConfiguration> result = byName(underTest.cacheConfigurations());
+        //THEN
+        CacheConfiguration blueprint = result.get(Blueprint.class.getName());
+        assertEquals(600L, blueprint.getTimeToLiveSeconds());
+        assertEquals(1000L, blueprint.getMaxEntriesLocalHeap());
+        CacheConfiguration query = result.get(EntityCacheRegions.QUERY_CACHE_REGION);
+        assertEquals(300L, query.getTimeToLiveSeconds());
+        assertEquals(5000L, query.getMaxEntriesLocalHeap());
+    }
+
+    @Test
+    public void testCacheConfigurationsShouldApplyTheOverridesOfTheEntity() {
+        //GIVEN
+        environment.setProperty("cb.db.entity.cache.credential.ttl.seconds", "60");
+        environment.setProperty("cb.db.entity.cache.credential.max.entries", "10");
+        //WHEN
+        Map<String, CacheConfiguration> result = byName(underTest.cacheConfigurations());
+        //THEN
+        CacheConfiguration credential = result.get(Credential.class.getName());
+        assertEquals(60L, credential.getTimeToLiveSeconds());
+        assertEquals(10L, credential.getMaxEntriesLocalHeap());
+        assertEquals(600L, result.get(Blueprint.class.getName()).getTimeToLiveSeconds());
+    }
+
+    @Test
+    public void testCacheConfigurationsShouldKeepTheUpdateTimestampsForever() {
+        //WHEN
+        Map<String, CacheConfiguration> result = byName(underTest.cacheConfigurations());
+        //THEN
+        assertTrue(result.get(EntityCacheRegions.TIMESTAMPS_CACHE_REGION).isEternal());
+        assertEquals(result.size() - 1, underTest.regionNames().size());
+    }
+
+    private Map<String, CacheConfiguration> byName(List<CacheConfiguration> configurations) {
+        Map<String, CacheConfiguration> result = new HashMap<>();
+        for (CacheConfiguration configuration : configurations) {
+            result.put(configuration.getName(), configuration);
+        }
+        return result;
+    }
+}
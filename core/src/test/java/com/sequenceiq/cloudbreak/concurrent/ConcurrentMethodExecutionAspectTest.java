@@ -0,0 +1,281 @@
+package com.sequenceiq.cloudbreak.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.sequenceiq.cloudbreak.cloud.executor.MailboxExecutor;
+import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationException;
+import com.sequenceiq.cloudbreak.core.flow.context.DefaultFlowContext;
+import com.sequenceiq.cloudbreak.core.flow.context.FlowContext;
+
+public class ConcurrentMethodExecutionAspectTest {
+
+    private static final int WAIT_SECONDS = 5;
+
+    private ConcurrentMethodExecutionAspect underTest;
+    private LockRegistry lockRegistry;
+    private GaugeService gaugeService;
+    private CounterService counterService;
+    private ExecutorService executor;
+
+    @Before
+    public void before() {
+        underTest = new ConcurrentMethodExecutionAspect();
+        lockRegistry = new LockRegistry();
+        gaugeService = mock(GaugeService.class);
+        counterService = mock(CounterService.class);
+        executor = Executors.newFixedThreadPool(2);
+        DatabaseLockRegistry flowLockProvider = new DatabaseLockRegistry();
+        ReflectionTestUtils.setField(flowLockProvider, "lockRegistry", lockRegistry);
+        ReflectionTestUtils.setField(flowLockProvider, "lockProvider", "local");
+        flowLockProvider.init();
+        ReflectionTestUtils.setField(underTest, "flowLockProvider", flowLockProvider);
+        ReflectionTestUtils.setField(underTest, "gaugeService", gaugeService);
+        ReflectionTestUtils.setField(underTest, "counterService", counterService);
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLockedMethodsOfDifferentStacksShouldNotWaitForEachOther() throws Exception {
+        //GIVEN
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> first = executor.submit(locked(blockingJoinPoint("locked", 1L, running, release)));
+        running.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        //WHEN
+        Object result = locked(joinPoint("locked", 2L)).call();
+        //THEN
+        assertEquals("done", result);
+        release.countDown();
+        first.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        verify(gaugeService, never()).submit(anyString(), anyDouble());
+        assertEquals(0, lockRegistry.size());
+    }
+
+    @Test
+    public void testLockedMethodsOfTheSameStackShouldWaitAndRecordTheWaitTime() throws Exception {
+        //GIVEN
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> first = executor.submit(locked(blockingJoinPoint("locked", 1L, running, release)));
+        running.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        Future<Object> second = executor.submit(locked(joinPoint("locked", 1L)));
+        awaitWaitingThread("lockedOperation1");
+        //WHEN
+        release.countDown();
+        //THEN
+        assertEquals("done", first.get(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("done", second.get(WAIT_SECONDS, TimeUnit.SECONDS));
+        verify(gaugeService).submit(eq("concurrent.lockedoperation.lock.wait.ms"), anyDouble());
+        verify(counterService).increment("concurrent.lockedoperation.lock.waits");
+        assertEquals(0, lockRegistry.size());
+    }
+
+    @Test
+    public void testGuardedMethodShouldBeSkippedWhenItIsRunningOnTheSameStack() throws Exception {
+        //GIVEN
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> first = executor.submit(guarded(blockingJoinPoint("guarded", 1L, running, release)));
+        running.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        //WHEN
+        try {
+            guarded(joinPoint("guarded", 1L)).call();
+            fail("CancellationException expected");
+        } catch (CancellationException e) {
+            //THEN
+            assertTrue(e.getMessage().contains("guardedOperation"));
+        }
+        release.countDown();
+        first.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        verify(counterService, times(1)).increment("concurrent.guardedoperation.guarded.skipped");
+        assertEquals(0, lockRegistry.size());
+    }
+
+    @Test
+    public void testGuardedMethodShouldBeSkippedInTheMailboxOfTheStackWhenAnotherThreadRunsIt() throws Exception {
+        //GIVEN
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> first = executor.submit(guarded(blockingJoinPoint("guarded", 1L, running, release)));
+        running.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        final Callable<Object> second = guarded(joinPoint("guarded", 1L));
+        final List<Object> results = new ArrayList<>();
+        MailboxExecutor mailboxes = new MailboxExecutor("flows", MoreExecutors.sameThreadExecutor());
+        //WHEN
+        mailboxes.execute(1L, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    results.add(second.call());
+                } catch (Exception e) {
+                    results.add(e);
+                }
+            }
+        });
+        //THEN
+        assertEquals(1, results.size());
+        assertTrue(results.get(0) instanceof CancellationException);
+        release.countDown();
+        assertEquals("done", first.get(WAIT_SECONDS, TimeUnit.SECONDS));
+        verify(counterService, times(1)).increment("concurrent.guardedoperation.guarded.skipped");
+        assertEquals(0, lockRegistry.size());
+    }
+
+    @Test
+    public void testLockedMethodShouldHoldTheLockInTheMailboxOfTheStack() throws Exception {
+        //GIVEN
+        final ProceedingJoinPoint joinPoint = joinPoint("locked", 1L);
+        final List<Object> heldLocks = new ArrayList<>();
+        given(proceed(joinPoint)).willAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                ReentrantLock lock = lockRegistry.retain("lockedOperation1");
+                heldLocks.add(lock.isHeldByCurrentThread());
+                lockRegistry.release("lockedOperation1");
+                return "done";
+            }
+        });
+        MailboxExecutor mailboxes = new MailboxExecutor("flows", MoreExecutors.sameThreadExecutor());
+        //WHEN
+        mailboxes.execute(1L, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    locked(joinPoint).call();
+                } catch (Exception e) {
+                    heldLocks.add(e);
+                }
+            }
+        });
+        //THEN
+        assertEquals(Arrays.<Object>asList(true), heldLocks);
+        assertEquals(0, lockRegistry.size());
+    }
+
+    private void awaitWaitingThread(String lockKey) throws InterruptedException {
+        ReentrantLock lock = (ReentrantLock) lockRegistry.retain(lockKey);
+        try {
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(WAIT_SECONDS);
+            while (!lock.hasQueuedThreads() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            lockRegistry.release(lockKey);
+        }
+    }
+
+    private Callable<Object> locked(final ProceedingJoinPoint joinPoint) {
+        return new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                try {
+                    return underTest.executeLockedMethod(joinPoint);
+                } catch (Exception e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new ExecutionException(t);
+                }
+            }
+        };
+    }
+
+    private Callable<Object> guarded(final ProceedingJoinPoint joinPoint) {
+        return new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                try {
+                    return underTest.executeGuardedMethod(joinPoint);
+                } catch (Exception e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new ExecutionException(t);
+                }
+            }
+        };
+    }
+
+    private ProceedingJoinPoint blockingJoinPoint(String methodName, Long stackId, final CountDownLatch running, final CountDownLatch release)
+            throws Exception {
+        ProceedingJoinPoint joinPoint = joinPoint(methodName, stackId);
+        given(proceed(joinPoint)).willAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws InterruptedException {
+                running.countDown();
+                release.await(WAIT_SECONDS, TimeUnit.SECONDS);
+                return "done";
+            }
+        });
+        return joinPoint;
+    }
+
+    private ProceedingJoinPoint joinPoint(String methodName, Long stackId) throws Exception {
+        Method method = Flows.class.getDeclaredMethod(methodName, FlowContext.class);
+        MethodSignature signature = mock(MethodSignature.class);
+        given(signature.getMethod()).willReturn(method);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        given(joinPoint.getSignature()).willReturn(signature);
+        given(joinPoint.getTarget()).willReturn(new Flows());
+        given(joinPoint.getArgs()).willReturn(new Object[]{new DefaultFlowContext(stackId, null)});
+        given(proceed(joinPoint)).willReturn("done");
+        return joinPoint;
+    }
+
+    private Object proceed(ProceedingJoinPoint joinPoint) throws Exception {
+        try {
+            return joinPoint.proceed();
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new ExecutionException(t);
+        }
+    }
+
+    private static class Flows {
+        @LockedMethod(lockPrefix = "lockedOperation")
+        public void locked(FlowContext context) {
+        }
+
+        @GuardedMethod(lockPrefix = "guardedOperation")
+        public void guarded(FlowContext context) {
+        }
+    }
+}
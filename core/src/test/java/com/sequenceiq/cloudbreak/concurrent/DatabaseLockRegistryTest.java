@@ -0,0 +1,241 @@
+package com.sequenceiq.cloudbreak.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationException;
+import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
+import com.sequenceiq.cloudbreak.domain.FlowLock;
+import com.sequenceiq.cloudbreak.repository.FlowLockRepository;
+
+public class DatabaseLockRegistryTest {
+
+    private static final String KEY = "stopStack1";
+    private static final long LEASE = 60000L;
+    private static final Long FENCING_TOKEN = 7L;
+    private static final Long STACK_ID = 1L;
+
+    @InjectMocks
+    private DatabaseLockRegistry underTest;
+
+    @Mock
+    private FlowLockRepository flowLockRepository;
+
+    private LockRegistry lockRegistry;
+
+    @After
+    public void after() {
+        InMemoryStateStore.delete(STACK_ID);
+    }
+
+    @Before
+    public void before() {
+        underTest = new DatabaseLockRegistry();
+        MockitoAnnotations.initMocks(this);
+        lockRegistry = new LockRegistry();
+        ReflectionTestUtils.setField(underTest, "lockRegistry", lockRegistry);
+        ReflectionTestUtils.setField(underTest, "leaseDuration", LEASE);
+        ReflectionTestUtils.setField(underTest, "pollInterval", 1L);
+        ReflectionTestUtils.setField(underTest, "lockProvider", "database");
+        underTest.init();
+        FlowLock flowLock = new FlowLock(KEY);
+        flowLock.setFencingToken(FENCING_TOKEN);
+        given(flowLockRepository.findOne(KEY)).willReturn(flowLock);
+    }
+
+    @Test
+    public void testTryLockShouldAcquireTheLeaseAndUnlockShouldReleaseItWithTheFencingToken() {
+        //GIVEN
+        given(flowLockRepository.acquire(eq(KEY), anyString(), any(Date.class), any(Date.class))).willReturn(1);
+        Lock lock = underTest.retain(KEY, STACK_ID);
+        //WHEN
+        boolean locked = lock.tryLock();
+        lock.unlock();
+        underTest.release(KEY);
+        //THEN
+        assertTrue(locked);
+        verify(flowLockRepository).release(eq(KEY), anyString(), eq(FENCING_TOKEN));
+        assertEquals(0, lockRegistry.size());
+    }
+
+    @Test
+    public void testLocalProviderShouldReturnTheInJvmLockWithoutLeases() {
+        //GIVEN
+        ReflectionTestUtils.setField(underTest, "lockProvider", "local");
+        underTest.init();
+        Lock lock = underTest.retain(KEY, STACK_ID);
+        //WHEN
+        boolean locked = lock.tryLock();
+        underTest.fence();
+        lock.unlock();
+        underTest.release(KEY);
+        //THEN
+        assertTrue(locked);
+        assertEquals(0, lockRegistry.size());
+        verifyZeroInteractions(flowLockRepository);
+    }
+
+    @Test
+    public void testTryLockShouldFailAndReleaseTheLocalLockWhenTheLeaseIsHeldByAnotherInstance() {
+        //GIVEN
+        given(flowLockRepository.acquire(eq(KEY), anyString(), any(Date.class), any(Date.class))).willReturn(0);
+        given(flowLockRepository.exists(KEY)).willReturn(true);
+        Lock lock = underTest.retain(KEY, STACK_ID);
+        //WHEN
+        boolean locked = lock.tryLock();
+        //THEN
+        assertFalse(locked);
+        assertFalse(lockRegistry.retain(KEY).isLocked());
+        verify(flowLockRepository, never()).create(anyString());
+    }
+
+    @Test
+    public void testLockShouldCreateTheMissingLockAndWaitForTheLease() {
+        //GIVEN
+        given(flowLockRepository.acquire(eq(KEY), anyString(), any(Date.class), any(Date.class))).willReturn(0, 0, 0, 1);
+        given(flowLockRepository.exists(KEY)).willReturn(false, true);
+        given(flowLockRepository.create(KEY)).willReturn(1);
+        Lock lock = underTest.retain(KEY, STACK_ID);
+        //WHEN
+        lock.lock();
+        //THEN
+        verify(flowLockRepository).create(KEY);
+        verify(flowLockRepository, times(4)).acquire(eq(KEY), anyString(), any(Date.class), any(Date.class));
+        assertTrue(lockRegistry.retain(KEY).isHeldByCurrentThread());
+    }
+
+    @Test
+    public void testTryLockShouldFailWhenAnotherInstanceCreatedTheLockMeanwhile() {
+        //GIVEN
+        given(flowLockRepository.acquire(eq(KEY), anyString(), any(Date.class), any(Date.class))).willReturn(0);
+        given(flowLockRepository.exists(KEY)).willReturn(false);
+        given(flowLockRepository.create(KEY)).willThrow(new DataIntegrityViolationException("duplicate key"));
+        Lock lock = underTest.retain(KEY, STACK_ID);
+        //WHEN
+        boolean locked = lock.tryLock();
+        //THEN
+        assertFalse(locked);
+        assertFalse(lockRegistry.retain(KEY).isLocked());
+        verify(flowLockRepository, times(1)).acquire(eq(KEY), anyString(), any(Date.class), any(Date.class));
+    }
+
+    @Test
+    public void testReentrantLockShouldNotAcquireTheLeaseAgain() {
+        //GIVEN
+        given(flowLockRepository.acquire(eq(KEY), anyString(), any(Date.class), any(Date.class))).willReturn(1);
+        Lock lock = underTest.retain(KEY, STACK_ID);
+        //WHEN
+        lock.lock();
+        assertTrue(lock.tryLock());
+        lock.unlock();
+        //THEN
+        verify(flowLockRepository, times(1)).acquire(eq(KEY), anyString(), any(Date.class), any(Date.class));
+        verify(flowLockRepository, never()).release(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    public void testFenceShouldLockTheRowsOfTheHeldLeases() {
+        //GIVEN
+        given(flowLockRepository.acquire(eq(KEY), anyString(), any(Date.class), any(Date.class))).willReturn(1);
+        given(flowLockRepository.findHeld(eq(KEY), anyString(), eq(FENCING_TOKEN))).willReturn(new FlowLock(KEY));
+        Lock lock = underTest.retain(KEY, STACK_ID);
+        lock.lock();
+        //WHEN
+        underTest.fence();
+        lock.unlock();
+        underTest.fence();
+        //THEN
+        verify(flowLockRepository, times(1)).findHeld(eq(KEY), anyString(), eq(FENCING_TOKEN));
+    }
+
+    @Test(expected = CancellationException.class)
+    public void testFenceShouldRejectTheWriteWhenTheLeaseHasBeenTakenOver() {
+        //GIVEN
+        given(flowLockRepository.acquire(eq(KEY), anyString(), any(Date.class), any(Date.class))).willReturn(1);
+        Lock lock = underTest.retain(KEY, STACK_ID);
+        lock.lock();
+        try {
+            //WHEN
+            underTest.fence();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    public void testRenewLeasesShouldCancelTheStackAndFenceTheWritesOfTheLostLeases() {
+        //GIVEN
+        given(flowLockRepository.acquire(eq(KEY), anyString(), any(Date.class), any(Date.class))).willReturn(1);
+        given(flowLockRepository.renew(eq(KEY), anyString(), eq(FENCING_TOKEN), any(Date.class))).willReturn(0);
+        Lock lock = underTest.retain(KEY, STACK_ID);
+        lock.lock();
+        //WHEN
+        underTest.renewLeases();
+        boolean fenced = false;
+        try {
+            underTest.fence();
+        } catch (CancellationException e) {
+            fenced = true;
+        }
+        lock.unlock();
+        //THEN
+        assertTrue(fenced);
+        assertTrue(InMemoryStateStore.getCancellationToken(STACK_ID).isCancelled());
+        verify(flowLockRepository, never()).findHeld(anyString(), anyString(), anyLong());
+        verify(flowLockRepository, never()).release(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    public void testLockShouldRenewTheCancellationTokenOfTheStack() {
+        //GIVEN
+        given(flowLockRepository.acquire(eq(KEY), anyString(), any(Date.class), any(Date.class))).willReturn(1);
+        InMemoryStateStore.getCancellationToken(STACK_ID).cancel();
+        Lock lock = underTest.retain(KEY, STACK_ID);
+        //WHEN
+        lock.lock();
+        lock.unlock();
+        //THEN
+        assertFalse(InMemoryStateStore.getCancellationToken(STACK_ID).isCancelled());
+    }
+
+    @Test
+    public void testAwaitingAConditionShouldReleaseAndReacquireTheLease() throws InterruptedException {
+        //GIVEN
+        given(flowLockRepository.acquire(eq(KEY), anyString(), any(Date.class), any(Date.class))).willReturn(1);
+        given(flowLockRepository.release(eq(KEY), anyString(), eq(FENCING_TOKEN))).willReturn(1);
+        Lock lock = underTest.retain(KEY, STACK_ID);
+        lock.lock();
+        Condition condition = lock.newCondition();
+        //WHEN
+        boolean signalled = condition.await(1, TimeUnit.MILLISECONDS);
+        lock.unlock();
+        //THEN
+        assertFalse(signalled);
+        verify(flowLockRepository, times(2)).acquire(eq(KEY), anyString(), any(Date.class), any(Date.class));
+        verify(flowLockRepository, times(2)).release(eq(KEY), anyString(), eq(FENCING_TOKEN));
+    }
+}
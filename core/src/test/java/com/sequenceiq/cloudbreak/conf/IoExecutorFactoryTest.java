@@ -0,0 +1,156 @@
+package com.sequenceiq.cloudbreak.conf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.cloud.executor.ExecutorRegistry;
+import com.sequenceiq.cloudbreak.cloud.executor.ExecutorSaturatedException;
+
+public class IoExecutorFactoryTest {
+
+    private static final String NAME = "testExecutor";
+    private static final int CORE_POOL_SIZE = 7;
+    private static final int MAX_POOL_SIZE = 42;
+    private static final int QUEUE_CAPACITY = 11;
+    private static final int ELASTIC_MAX_POOL_SIZE = 400;
+    private static final int ELASTIC_KEEPALIVE_SECONDS = 60;
+    private static final long TIMEOUT = 5000L;
+
+    private IoExecutorFactory underTest;
+    private ExecutorRegistry executorRegistry;
+    private CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void before() {
+        underTest = new IoExecutorFactory();
+        executorRegistry = new ExecutorRegistry();
+        ReflectionTestUtils.setField(executorRegistry, "environment", new StandardEnvironment());
+        ReflectionTestUtils.setField(executorRegistry, "rejectionPolicy", "fail-fast");
+        ReflectionTestUtils.setField(executorRegistry, "rejectionTimeout", TIMEOUT);
+        ReflectionTestUtils.setField(underTest, "executorRegistry", executorRegistry);
+        ReflectionTestUtils.setField(underTest, "mode", "fixed");
+        ReflectionTestUtils.setField(underTest, "elasticMaxPoolSize", ELASTIC_MAX_POOL_SIZE);
+        ReflectionTestUtils.setField(underTest, "elasticKeepAliveSeconds", ELASTIC_KEEPALIVE_SECONDS);
+    }
+
+    @After
+    public void after() {
+        release.countDown();
+        executorRegistry.shutdown();
+    }
+
+    @Test
+    public void testCreateShouldKeepTheConfiguredPoolInFixedMode() {
+        //GIVEN
+        //WHEN
+        ThreadPoolExecutor executor = pool(underTest.create(NAME, CORE_POOL_SIZE, MAX_POOL_SIZE, QUEUE_CAPACITY));
+        //THEN
+        assertEquals(CORE_POOL_SIZE, executor.getCorePoolSize());
+        assertEquals(MAX_POOL_SIZE, executor.getMaximumPoolSize());
+        assertEquals(QUEUE_CAPACITY, executor.getQueue().remainingCapacity());
+        assertFalse(executor.allowsCoreThreadTimeOut());
+        assertSame(executor, executorRegistry.getExecutor(NAME));
+    }
+
+    @Test
+    public void testCreateShouldStartThreadsOnDemandInElasticMode() {
+        //GIVEN
+        ReflectionTestUtils.setField(underTest, "mode", "elastic");
+        //WHEN
+        ThreadPoolExecutor executor = pool(underTest.create(NAME, CORE_POOL_SIZE, QUEUE_CAPACITY));
+        //THEN
+        assertEquals(ELASTIC_MAX_POOL_SIZE, executor.getCorePoolSize());
+        assertEquals(ELASTIC_MAX_POOL_SIZE, executor.getMaximumPoolSize());
+        assertEquals(ELASTIC_KEEPALIVE_SECONDS, executor.getKeepAliveTime(TimeUnit.SECONDS));
+        assertEquals(QUEUE_CAPACITY, executor.getQueue().remainingCapacity());
+        assertTrue(executor.allowsCoreThreadTimeOut());
+    }
+
+    @Test
+    public void testSaturatedPoolShouldFailFast() throws Exception {
+        //GIVEN
+        ConcurrentTaskExecutor executor = underTest.create(NAME, 1, 1, 1);
+        saturate(executor);
+        //WHEN
+        try {
+            executor.submit(blocking());
+            fail("The saturated pool should reject the task.");
+        } catch (TaskRejectedException e) {
+            //THEN
+            assertTrue(e.getCause() instanceof ExecutorSaturatedException);
+        }
+        assertEquals(1, executorRegistry.getStatistics(NAME).getRejectedCount());
+    }
+
+    @Test
+    public void testSaturatedPoolShouldRunTheTaskOnTheCallerThread() throws Exception {
+        //GIVEN
+        ReflectionTestUtils.setField(executorRegistry, "rejectionPolicy", "caller-runs");
+        ConcurrentTaskExecutor executor = underTest.create(NAME, 1, 1, 1);
+        saturate(executor);
+        //WHEN
+        Future<String> result = executor.submit(new Callable<String>() {
+            @Override
+            public String call() {
+                return Thread.currentThread().getName();
+            }
+        });
+        //THEN
+        assertTrue(result.isDone());
+        assertEquals(Thread.currentThread().getName(), result.get());
+    }
+
+    @Test
+    public void testSaturatedPoolShouldBlockUntilTheQueueHasSpace() throws Exception {
+        //GIVEN
+        ReflectionTestUtils.setField(executorRegistry, "rejectionPolicy", "block");
+        ConcurrentTaskExecutor executor = underTest.create(NAME, 1, 1, 1);
+        saturate(executor);
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                release.countDown();
+            }
+        }).start();
+        //WHEN
+        Future<Boolean> result = executor.submit(blocking());
+        //THEN
+        assertTrue(result.get(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertEquals(0, executorRegistry.getStatistics(NAME).getRejectedCount());
+    }
+
+    private ThreadPoolExecutor pool(ConcurrentTaskExecutor executor) {
+        return (ThreadPoolExecutor) executor.getConcurrentExecutor();
+    }
+
+    private void saturate(ConcurrentTaskExecutor executor) {
+        executor.submit(blocking());
+        executor.submit(blocking());
+    }
+
+    private Callable<Boolean> blocking() {
+        return new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws InterruptedException {
+                return release.await(TIMEOUT, TimeUnit.MILLISECONDS);
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.sequenceiq.cloudbreak.converter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Calendar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sequenceiq.cloudbreak.controller.json.CloudbreakUsageRollupJson;
+import com.sequenceiq.cloudbreak.domain.CloudbreakUsageRollup;
+import com.sequenceiq.cloudbreak.domain.UsageRollupGranularity;
+
+public class CloudbreakUsageRollupToJsonConverterTest extends AbstractEntityConverterTest<CloudbreakUsageRollup> {
+
+    private CloudbreakUsageRollupToJsonConverter underTest;
+
+    @Before
+    public void setUp() {
+        underTest = new CloudbreakUsageRollupToJsonConverter();
+    }
+
+    @Test
+    public void testConvertDailyRollup() {
+        // GIVEN
+        // WHEN
+        CloudbreakUsageRollupJson result = underTest.convert(getSource());
+        // THEN
+        assertEquals("DAILY", result.getGranularity());
+        assertEquals("2015-12-15", result.getPeriod());
+        assertEquals("AWS", result.getProvider());
+        assertAllFieldsNotNull(result);
+    }
+
+    @Test
+    public void testConvertMonthlyRollup() {
+        // GIVEN
+        getSource().setGranularity(UsageRollupGranularity.MONTHLY);
+        // WHEN
+        CloudbreakUsageRollupJson result = underTest.convert(getSource());
+        // THEN
+        assertEquals("MONTHLY", result.getGranularity());
+        assertEquals("2015-12", result.getPeriod());
+    }
+
+    @Override
+    public CloudbreakUsageRollup createSource() {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(2015, Calendar.DECEMBER, 15);
+        CloudbreakUsageRollup rollup = new CloudbreakUsageRollup(cal.getTime(), "owner", "account", "AWS", "eu-west-1", 24L, 2.4);
+        rollup.setGranularity(UsageRollupGranularity.DAILY);
+        return rollup;
+    }
+}
@@ -0,0 +1,147 @@
+package com.sequenceiq.cloudbreak.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sequenceiq.cloudbreak.TestUtil;
+import com.sequenceiq.cloudbreak.common.type.InstanceGroupType;
+import com.sequenceiq.cloudbreak.common.type.ResourceType;
+import com.sequenceiq.cloudbreak.common.type.Status;
+import com.sequenceiq.cloudbreak.controller.json.StackResponse;
+import com.sequenceiq.cloudbreak.controller.json.StackSummaryResponse;
+import com.sequenceiq.cloudbreak.domain.InstanceGroup;
+import com.sequenceiq.cloudbreak.domain.Resource;
+import com.sequenceiq.cloudbreak.domain.Stack;
+import com.sequenceiq.cloudbreak.domain.StackSummary;
+
+/**
+ * Compares the full stack list path with the summary path for 500 stacks with 50 nodes each. The hydrated stacks are built in
+ * memory, so the numbers cover the object graph size, the conversion and the serialization of the response, and the row count
+ * the fetch join query would return. Run it with -Dcb.benchmark=true.
+ */
+public class StackListBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StackListBenchmarkTest.class);
+
+    private static final int STACK_COUNT = 500;
+    private static final int NODES_PER_GROUP = 25;
+    private static final int RESOURCES_PER_STACK = 50;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+
+    private final DefaultConversionService conversionService = new DefaultConversionService();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Set<Stack> stacks;
+    private Set<StackSummary> summaries;
+
+    @Before
+    public void setUp() {
+        assumeTrue(Boolean.getBoolean("cb.benchmark"));
+        register(new StackToJsonConverter());
+        register(new InstanceGroupToJsonConverter());
+        register(new MetaDataToJsonConverter());
+        register(new StackSummaryToJsonConverter());
+        stacks = new HashSet<>();
+        summaries = new HashSet<>();
+        for (long i = 0; i < STACK_COUNT; i++) {
+            Stack stack = stack(i);
+            stacks.add(stack);
+            summaries.add(new StackSummary(stack.getId(), stack.getName(), stack.getOwner(), stack.getAccount(), true, stack.getStatus(),
+                    stack.getStatusReason(), stack.getRegion(), null, null, stack.cloudPlatform(), null, null, stack.getCreated(),
+                    Long.valueOf(stack.getFullNodeCount()), Long.valueOf(stack.getInstanceGroups().size())));
+        }
+    }
+
+    @Test
+    public void compareFullAndSummaryListPaths() throws Exception {
+        long fetchJoinRows = 0;
+        long hydratedEntities = 0;
+        for (Stack stack : stacks) {
+            fetchJoinRows += (long) stack.getResources().size() * stack.getFullNodeCount();
+            hydratedEntities += 1 + stack.getResources().size() + stack.getInstanceGroups().size() + stack.getFullNodeCount();
+        }
+        LOGGER.info("Full path: {} rows returned by the fetch join query, {} entities hydrated", fetchJoinRows, hydratedEntities);
+        LOGGER.info("Summary path: {} rows returned by the projection query, no entities hydrated", summaries.size());
+
+        int fullSize = 0;
+        int summarySize = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            fullSize = fullPath();
+            summarySize = summaryPath();
+        }
+        long fullTime = 0;
+        long summaryTime = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            fullPath();
+            fullTime += System.nanoTime() - start;
+            start = System.nanoTime();
+            summaryPath();
+            summaryTime += System.nanoTime() - start;
+        }
+        LOGGER.info("Full path: {} ms/op, response size {} bytes", TimeUnit.NANOSECONDS.toMillis(fullTime / MEASURED_ROUNDS), fullSize);
+        LOGGER.info("Summary path: {} ms/op, response size {} bytes", TimeUnit.NANOSECONDS.toMillis(summaryTime / MEASURED_ROUNDS), summarySize);
+        assertEquals(STACK_COUNT, stacks.size());
+    }
+
+    private int fullPath() throws Exception {
+        Object responses = conversionService.convert(stacks, TypeDescriptor.forObject(stacks),
+                TypeDescriptor.collection(Set.class, TypeDescriptor.valueOf(StackResponse.class)));
+        return objectMapper.writeValueAsBytes(responses).length;
+    }
+
+    private int summaryPath() throws Exception {
+        Object responses = conversionService.convert(summaries, TypeDescriptor.forObject(summaries),
+                TypeDescriptor.collection(Set.class, TypeDescriptor.valueOf(StackSummaryResponse.class)));
+        return objectMapper.writeValueAsBytes(responses).length;
+    }
+
+    private void register(Converter<?, ?> converter) {
+        ReflectionTestUtils.setField(converter, "conversionService", conversionService);
+        conversionService.addConverter(converter);
+    }
+
+    private Stack stack(long id) {
+        Stack stack = TestUtil.stack(Status.AVAILABLE, TestUtil.awsCredential());
+        stack.setId(id);
+        stack.setName("stack-" + id);
+        Set<InstanceGroup> instanceGroups = new HashSet<>();
+        instanceGroups.add(instanceGroup(id * 2, InstanceGroupType.GATEWAY));
+        instanceGroups.add(instanceGroup(id * 2 + 1, InstanceGroupType.CORE));
+        stack.setInstanceGroups(instanceGroups);
+        Set<Resource> resources = new HashSet<>();
+        for (long i = 0; i < RESOURCES_PER_STACK; i++) {
+            Resource resource = new Resource();
+            resource.setId(id * RESOURCES_PER_STACK + i);
+            resource.setResourceName("resource-" + i);
+            resource.setResourceType(ResourceType.OPENSTACK_ATTACHED_DISK);
+            resource.setInstanceGroup("master");
+            resource.setStack(stack);
+            resources.add(resource);
+        }
+        stack.setResources(resources);
+        return stack;
+    }
+
+    private InstanceGroup instanceGroup(long id, InstanceGroupType type) {
+        InstanceGroup instanceGroup = TestUtil.instanceGroup(id, type, TestUtil.awsTemplate(1L), NODES_PER_GROUP);
+        instanceGroup.setGroupName("group-" + id);
+        instanceGroup.setInstanceMetaData(TestUtil.generateInstanceMetaDatas(NODES_PER_GROUP, id * NODES_PER_GROUP, instanceGroup));
+        return instanceGroup;
+    }
+}
@@ -0,0 +1,49 @@
+package com.sequenceiq.cloudbreak.converter;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sequenceiq.cloudbreak.common.type.Status;
+import com.sequenceiq.cloudbreak.controller.json.StackSummaryResponse;
+import com.sequenceiq.cloudbreak.domain.StackSummary;
+
+public class StackSummaryToJsonConverterTest extends AbstractEntityConverterTest<StackSummary> {
+
+    private StackSummaryToJsonConverter underTest;
+
+    @Before
+    public void setUp() {
+        underTest = new StackSummaryToJsonConverter();
+    }
+
+    @Test
+    public void testConvert() {
+        // GIVEN
+        // WHEN
+        StackSummaryResponse result = underTest.convert(getSource());
+        // THEN
+        assertEquals(Integer.valueOf(12), result.getNodeCount());
+        assertEquals(Integer.valueOf(2), result.getInstanceGroupCount());
+        assertAllFieldsNotNull(result);
+    }
+
+    @Test
+    public void testConvertWithoutInstanceGroups() {
+        // GIVEN
+        StackSummary source = new StackSummary(1L, "simplestack", "owner", "account", true, Status.REQUESTED, "", "eu-west-1", "eu-west-1a",
+                "AWS", "AWS", null, null, 1L, null, 0L);
+        // WHEN
+        StackSummaryResponse result = underTest.convert(source);
+        // THEN
+        assertEquals(Integer.valueOf(0), result.getNodeCount());
+        assertEquals(Integer.valueOf(0), result.getInstanceGroupCount());
+    }
+
+    @Override
+    public StackSummary createSource() {
+        return new StackSummary(1L, "simplestack", "owner", "account", true, Status.AVAILABLE, "", "eu-west-1", "eu-west-1a", "AWS", "AWS",
+                "simplecluster", Status.AVAILABLE, 1L, 12L, 2L);
+    }
+}
@@ -0,0 +1,143 @@
+package com.sequenceiq.cloudbreak.core.flow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.sequenceiq.cloudbreak.cloud.model.Platform;
+import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationException;
+import com.sequenceiq.cloudbreak.common.type.CloudConstants;
+import com.sequenceiq.cloudbreak.core.CloudbreakException;
+import com.sequenceiq.cloudbreak.core.flow.context.DefaultFlowContext;
+
+import reactor.bus.Event;
+import reactor.fn.Consumer;
+
+public class AbstractFlowHandlerTest {
+
+    private static final Long STACK_ID = 1L;
+
+    private TestFlowHandler underTest;
+    private FlowManager flowManager;
+    private DefaultFlowContext context;
+    private List<Throwable> errors;
+    private Event<DefaultFlowContext> event;
+
+    @Before
+    public void before() {
+        underTest = new TestFlowHandler();
+        flowManager = mock(FlowManager.class);
+        ReflectionTestUtils.setField(underTest, "flowManager", flowManager);
+        context = new DefaultFlowContext(STACK_ID, Platform.platform(CloudConstants.GCP));
+        errors = new ArrayList<>();
+        event = new Event<>(null, context, new Consumer<Throwable>() {
+            @Override
+            public void accept(Throwable throwable) {
+                errors.add(throwable);
+            }
+        });
+    }
+
+    @Test
+    public void testFlowShouldProceedWhenTheAsynchronousExecutionCompletes() {
+        //GIVEN
+        Object result = new Object();
+        //WHEN
+        underTest.accept(event);
+        verify(flowManager, never()).triggerNext(any(Class.class), anyObject(), anyBoolean());
+        underTest.future.set(result);
+        //THEN
+        verify(flowManager).triggerNext(TestFlowHandler.class, result, true);
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void testFailedFutureShouldTriggerTheErrorFlow() {
+        //GIVEN
+        CloudbreakException failure = new CloudbreakException("failed");
+        //WHEN
+        underTest.accept(event);
+        underTest.future.setException(failure);
+        //THEN
+        assertEquals(1, errors.size());
+        assertSame(failure, errors.get(0));
+        assertEquals("failed", context.getErrorReason());
+        verify(flowManager).triggerNext(TestFlowHandler.class, context, false);
+    }
+
+    @Test
+    public void testFailureOfTheResumedErrorFlowShouldBeDelegatedToTheErrorHandler() {
+        //GIVEN
+        underTest.errorFlowFailure = new IllegalStateException("error flow failed");
+        //WHEN
+        underTest.accept(event);
+        underTest.future.setException(new CloudbreakException("failed"));
+        //THEN
+        assertEquals(2, errors.size());
+        assertTrue(errors.get(1) instanceof CloudbreakFlowException);
+        assertSame(underTest.errorFlowFailure, errors.get(1).getCause());
+        verify(flowManager, never()).triggerNext(any(Class.class), anyObject(), anyBoolean());
+    }
+
+    @Test
+    public void testCancelledFutureShouldStopTheFlow() {
+        //GIVEN
+        //WHEN
+        underTest.accept(event);
+        underTest.future.cancel(true);
+        //THEN
+        assertTrue(errors.isEmpty());
+        assertNull(context.getErrorReason());
+        verify(flowManager, never()).triggerNext(any(Class.class), anyObject(), anyBoolean());
+    }
+
+    @Test
+    public void testCancelledStackShouldStopTheFlow() {
+        //GIVEN
+        //WHEN
+        underTest.accept(event);
+        underTest.future.setException(new CancellationException("cancelled"));
+        //THEN
+        assertTrue(errors.isEmpty());
+        verify(flowManager, never()).triggerNext(any(Class.class), anyObject(), anyBoolean());
+    }
+
+    private static class TestFlowHandler extends AbstractFlowHandler<DefaultFlowContext> {
+        private final SettableFuture<Object> future = SettableFuture.create();
+        private Exception errorFlowFailure;
+
+        @Override
+        protected Object execute(Event<DefaultFlowContext> event) throws CloudbreakException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected ListenableFuture<?> executeAsync(Event<DefaultFlowContext> event) {
+            return future;
+        }
+
+        @Override
+        protected Object handleErrorFlow(Throwable throwable, DefaultFlowContext data) throws Exception {
+            if (errorFlowFailure != null) {
+                throw errorFlowFailure;
+            }
+            return super.handleErrorFlow(throwable, data);
+        }
+    }
+}
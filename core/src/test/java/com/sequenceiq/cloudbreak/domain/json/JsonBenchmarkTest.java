@@ -0,0 +1,92 @@
+package com.sequenceiq.cloudbreak.domain.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sequenceiq.cloudbreak.util.JsonUtil;
+
+/**
+ * Compares repeated getMap() calls on a parsed-once Json with re-parsing the raw value on every call, which is what the column
+ * type did before. The attribute map has 2000 entries with nested maps and lists, and every round reads it 100 times, as the
+ * converters and flows do with stack and credential attributes. Run it with -Dcb.benchmark=true.
+ */
+public class JsonBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonBenchmarkTest.class);
+
+    private static final int ATTRIBUTE_COUNT = 2000;
+    private static final int READS_PER_ROUND = 100;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 50;
+
+    private String value;
+
+    @Before
+    public void setUp() throws IOException {
+        assumeTrue(Boolean.getBoolean("cb.benchmark"));
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < ATTRIBUTE_COUNT; i++) {
+            Map<String, Object> nested = new LinkedHashMap<>();
+            nested.put("name", "attribute-" + i);
+            nested.put("size", i);
+            List<String> values = new ArrayList<>();
+            values.add("value-" + i);
+            values.add("other-" + i);
+            nested.put("values", values);
+            attributes.put("key-" + i, nested);
+        }
+        value = JsonUtil.writeValueAsString(attributes);
+    }
+
+    @Test
+    public void compareParsedOnceAndReparsedGetMap() throws Exception {
+        int parsedOnceSize = 0;
+        int reparsedSize = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            parsedOnceSize = parsedOnce();
+            reparsedSize = reparsed();
+        }
+        long parsedOnceTime = 0;
+        long reparsedTime = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            parsedOnce();
+            parsedOnceTime += System.nanoTime() - start;
+            start = System.nanoTime();
+            reparsed();
+            reparsedTime += System.nanoTime() - start;
+        }
+        LOGGER.info("Parsed once: {} us/op", TimeUnit.NANOSECONDS.toMicros(parsedOnceTime / MEASURED_ROUNDS));
+        LOGGER.info("Re-parsed on every call: {} us/op", TimeUnit.NANOSECONDS.toMicros(reparsedTime / MEASURED_ROUNDS));
+        assertEquals(reparsedSize, parsedOnceSize);
+    }
+
+    private int parsedOnce() {
+        Json json = new Json(value);
+        int size = 0;
+        for (int i = 0; i < READS_PER_ROUND; i++) {
+            size = json.getMap().size();
+        }
+        return size;
+    }
+
+    private int reparsed() throws IOException {
+        int size = 0;
+        for (int i = 0; i < READS_PER_ROUND; i++) {
+            size = JsonUtil.readValue(value, Map.class).size();
+        }
+        return size;
+    }
+}
@@ -1,7 +1,9 @@
 package com.sequenceiq.cloudbreak.domain.json;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.junit.Assert;
@@ -34,4 +36,69 @@ public class JsonTest {
         json = new Json(covertedAgain);
         Assert.assertEquals(expected, json.getValue());
     }
+
+    @Test
+    public void testGetMapShouldParseOnceAndReturnTheSameUnmodifiableView() throws JsonProcessingException {
+        Json json = new Json(attributes());
+        Map<String, Object> map = json.getMap();
+        Assert.assertSame(map, json.getMap());
+        Assert.assertEquals("eu-west-1", map.get("region"));
+        try {
+            ((Map<String, Object>) map.get("tags")).put("owner", "other");
+            Assert.fail("Nested maps should be unmodifiable");
+        } catch (UnsupportedOperationException e) {
+            Assert.assertEquals("admin", ((Map<String, Object>) json.getMap().get("tags")).get("owner"));
+        }
+    }
+
+    @Test
+    public void testGetShouldReturnANewInstanceOnEveryCall() throws IOException {
+        Json json = new Json(attributes());
+        Map<String, Object> first = json.get(Map.class);
+        first.put("region", "us-east-1");
+        Assert.assertEquals("eu-west-1", json.get(Map.class).get("region"));
+        Assert.assertEquals("eu-west-1", json.getMap().get("region"));
+    }
+
+    @Test
+    public void testWithShouldCopyTheValueAndLeaveTheOriginalUnchanged() throws JsonProcessingException {
+        Json json = new Json(attributes());
+        Json changed = json.with("region", "us-east-1");
+        Assert.assertEquals("eu-west-1", json.getMap().get("region"));
+        Assert.assertEquals("us-east-1", changed.getMap().get("region"));
+        Assert.assertEquals("admin", ((Map<String, Object>) changed.getMap().get("tags")).get("owner"));
+        Assert.assertNotEquals(json, changed);
+    }
+
+    @Test
+    public void testWithoutShouldRemoveTheKeyFromTheCopy() throws JsonProcessingException {
+        Json json = new Json(attributes());
+        Json changed = json.without("region");
+        Assert.assertFalse(changed.getMap().containsKey("region"));
+        Assert.assertTrue(json.getMap().containsKey("region"));
+        Assert.assertSame(changed, changed.without("region"));
+    }
+
+    @Test
+    public void testEqualsShouldCompareTheRawValues() throws JsonProcessingException {
+        Assert.assertEquals(new Json(attributes()), new Json(attributes()));
+        Assert.assertEquals(new Json(attributes()).hashCode(), new Json(attributes()).hashCode());
+    }
+
+    @Test
+    public void testGetMapShouldReturnAnEmptyMapWhenTheValueIsNotAnObject() {
+        Assert.assertTrue(new Json("[1, 2]").getMap().isEmpty());
+        Assert.assertTrue(new Json("").getMap().isEmpty());
+        Assert.assertTrue(new Json((String) null).getMap().isEmpty());
+    }
+
+    private Map<String, Object> attributes() {
+        Map<String, Object> tags = new HashMap<>();
+        tags.put("owner", "admin");
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("region", "eu-west-1");
+        attributes.put("tags", tags);
+        attributes.put("zones", Arrays.asList("a", "b"));
+        return attributes;
+    }
 }
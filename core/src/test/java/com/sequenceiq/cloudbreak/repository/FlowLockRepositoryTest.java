@@ -0,0 +1,118 @@
+package com.sequenceiq.cloudbreak.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.Date;
+import java.util.Properties;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.concurrent.DatabaseLockRegistry;
+import com.sequenceiq.cloudbreak.concurrent.LockRegistry;
+import com.sequenceiq.cloudbreak.domain.FlowLock;
+
+public class FlowLockRepositoryTest {
+
+    private static final String KEY = "stopStack1";
+    private static final String OTHER_INSTANCE = "other";
+    private static final long LEASE = 60000L;
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private FlowLockRepository flowLockRepository;
+
+    @Before
+    public void before() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:flowlock;DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        Properties properties = new Properties();
+        properties.setProperty("hibernate.hbm2ddl.auto", "create-drop");
+        properties.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setPackagesToScan("com.sequenceiq.cloudbreak.domain");
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaProperties(properties);
+        entityManagerFactory.afterPropertiesSet();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("entityManagerFactory", entityManagerFactory);
+        beanFactory.registerSingleton("transactionManager", new JpaTransactionManager(entityManagerFactory.getObject()));
+        JpaRepositoryFactoryBean<FlowLockRepository, FlowLock, String> repositoryFactory = new JpaRepositoryFactoryBean<>();
+        repositoryFactory.setRepositoryInterface(FlowLockRepository.class);
+        repositoryFactory.setEntityManager(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory.getObject()));
+        repositoryFactory.setBeanFactory(beanFactory);
+        repositoryFactory.afterPropertiesSet();
+        flowLockRepository = repositoryFactory.getObject();
+    }
+
+    @After
+    public void after() {
+        entityManagerFactory.destroy();
+    }
+
+    @Test
+    public void testCreateShouldNotResetTheLockOfAnotherInstance() {
+        //GIVEN
+        Date now = new Date();
+        assertEquals(1, flowLockRepository.create(KEY));
+        assertEquals(1, flowLockRepository.acquire(KEY, OTHER_INSTANCE, now, expires(now)));
+        //WHEN
+        int created = flowLockRepository.create(KEY);
+        //THEN
+        assertEquals(0, created);
+        FlowLock flowLock = flowLockRepository.findOne(KEY);
+        assertEquals(OTHER_INSTANCE, flowLock.getOwner());
+        assertEquals(Long.valueOf(1L), flowLock.getFencingToken());
+        assertEquals(0, flowLockRepository.acquire(KEY, "instance", now, expires(now)));
+    }
+
+    @Test
+    public void testLockCreatedAndAcquiredByAnotherInstanceAfterTheExistenceCheckShouldNotBeTakenOver() {
+        //GIVEN
+        FlowLockRepository racingRepository = mock(FlowLockRepository.class, delegatesTo(flowLockRepository));
+        given(racingRepository.exists(KEY)).willAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) {
+                boolean exists = flowLockRepository.exists(KEY);
+                Date now = new Date();
+                flowLockRepository.create(KEY);
+                flowLockRepository.acquire(KEY, OTHER_INSTANCE, now, expires(now));
+                return exists;
+            }
+        });
+        DatabaseLockRegistry underTest = new DatabaseLockRegistry();
+        ReflectionTestUtils.setField(underTest, "flowLockRepository", racingRepository);
+        ReflectionTestUtils.setField(underTest, "lockRegistry", new LockRegistry());
+        ReflectionTestUtils.setField(underTest, "leaseDuration", LEASE);
+        ReflectionTestUtils.setField(underTest, "lockProvider", "database");
+        underTest.init();
+        Lock lock = underTest.retain(KEY, null);
+        //WHEN
+        boolean locked = lock.tryLock();
+        //THEN
+        assertFalse(locked);
+        FlowLock flowLock = flowLockRepository.findOne(KEY);
+        assertEquals(OTHER_INSTANCE, flowLock.getOwner());
+        assertEquals(Long.valueOf(1L), flowLock.getFencingToken());
+    }
+
+    private Date expires(Date now) {
+        return new Date(now.getTime() + LEASE);
+    }
+}
@@ -0,0 +1,118 @@
+package com.sequenceiq.cloudbreak.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Properties;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.RollbackException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import com.sequenceiq.cloudbreak.common.type.Status;
+import com.sequenceiq.cloudbreak.domain.Stack;
+
+public class StackStatusUpdateQueryTest {
+
+    private EntityManagerFactory entityManagerFactory;
+    private Long stackId;
+
+    @Before
+    public void before() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:stackstatus;DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        Properties properties = new Properties();
+        properties.setProperty("hibernate.hbm2ddl.auto", "create-drop");
+        properties.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setPackagesToScan("com.sequenceiq.cloudbreak.domain");
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaProperties(properties);
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        Stack stack = new Stack();
+        stack.setName("stack");
+        stack.setStatus(Status.CREATE_IN_PROGRESS);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.persist(stack);
+        entityManager.getTransaction().commit();
+        entityManager.close();
+        stackId = stack.getId();
+    }
+
+    @After
+    public void after() {
+        entityManagerFactory.close();
+    }
+
+    @Test
+    public void testStaleStackShouldNotOverwriteTheUpdatedStatus() {
+        //GIVEN
+        EntityManager flowEntityManager = entityManagerFactory.createEntityManager();
+        Stack staleStack = flowEntityManager.find(Stack.class, stackId);
+        //WHEN
+        assertEquals(1, updateStatus("Stack.updateStatusAndReason", Status.AVAILABLE, "started"));
+        staleStack.setDescription("changed by a flow");
+        flowEntityManager.getTransaction().begin();
+        try {
+            flowEntityManager.merge(staleStack);
+            flowEntityManager.getTransaction().commit();
+            fail("The stale stack should not be saved");
+        } catch (RollbackException | OptimisticLockException e) {
+            //THEN
+            flowEntityManager.close();
+        }
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        Stack stack = entityManager.find(Stack.class, stackId);
+        assertEquals(Status.AVAILABLE, stack.getStatus());
+        assertEquals("started", stack.getStatusReason());
+        entityManager.close();
+    }
+
+    @Test
+    public void testStatusUpdatesShouldIncrementTheVersion() {
+        //GIVEN
+        Long version = find().getVersion();
+        //WHEN
+        updateStatus("Stack.updateStatus", Status.UPDATE_IN_PROGRESS, null);
+        updateStatus("Stack.updateStatusReason", null, "reason");
+        //THEN
+        Stack stack = find();
+        assertEquals(Long.valueOf(version + 2), stack.getVersion());
+        assertEquals(Status.UPDATE_IN_PROGRESS, stack.getStatus());
+        assertEquals("reason", stack.getStatusReason());
+    }
+
+    private int updateStatus(String queryName, Status status, String statusReason) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        javax.persistence.Query query = entityManager.createNamedQuery(queryName).setParameter("id", stackId);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (statusReason != null) {
+            query.setParameter("statusReason", statusReason);
+        }
+        int updated = query.executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.close();
+        return updated;
+    }
+
+    private Stack find() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        Stack stack = entityManager.find(Stack.class, stackId);
+        entityManager.close();
+        return stack;
+    }
+}
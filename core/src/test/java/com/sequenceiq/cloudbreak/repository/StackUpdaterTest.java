@@ -1,12 +1,16 @@
 package com.sequenceiq.cloudbreak.repository;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,7 +24,10 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import com.sequenceiq.cloudbreak.TestUtil;
+import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationException;
 import com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup;
+import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
+import com.sequenceiq.cloudbreak.concurrent.DatabaseLockRegistry;
 import com.sequenceiq.cloudbreak.converter.scheduler.StatusToPollGroupConverter;
 import com.sequenceiq.cloudbreak.domain.Resource;
 import com.sequenceiq.cloudbreak.domain.Stack;
@@ -42,36 +49,91 @@ public class StackUpdaterTest {
     @Mock
     private StatusToPollGroupConverter statusToPollGroupConverter;
 
+    @Mock
+    private DatabaseLockRegistry databaseLockRegistry;
+
     @InjectMocks
     private StackUpdater underTest;
 
     @Test
     public void updateStackStatusWithoutStatusReasonThenNoNotificationSentOnWebsocket() {
-        Stack stack = TestUtil.stack();
+        when(stackRepository.updateStatusAndReason(1L, Status.AVAILABLE, "")).thenReturn(1);
+        when(statusToPollGroupConverter.convert(Status.AVAILABLE)).thenReturn(PollGroup.POLLABLE);
 
-        when(stackRepository.findById(anyLong())).thenReturn(stack);
-        when(stackRepository.save(any(Stack.class))).thenReturn(stack);
-        doNothing().when(cloudbreakEventService).fireCloudbreakEvent(anyLong(), anyString(), anyString());
-        when(statusToPollGroupConverter.convert(Status.DELETE_COMPLETED)).thenReturn(PollGroup.POLLABLE);
+        boolean updated = underTest.updateStackStatus(1L, Status.AVAILABLE);
 
-        Stack newStack = underTest.updateStackStatus(1L, Status.DELETE_COMPLETED);
-        assertEquals(Status.DELETE_COMPLETED, newStack.getStatus());
-        assertEquals("", newStack.getStatusReason());
+        assertTrue(updated);
+        assertEquals(PollGroup.POLLABLE, InMemoryStateStore.get(1L));
+        verify(stackRepository, times(0)).findById(anyLong());
         verify(cloudbreakEventService, times(0)).fireCloudbreakEvent(anyLong(), anyString(), anyString());
     }
 
     @Test
     public void updateStackStatusAndReasonThenNotificationSentOnWebsocket() {
-        Stack stack = TestUtil.stack();
+        InMemoryStateStore.put(1L, PollGroup.POLLABLE);
+        when(stackRepository.updateStatusAndReason(1L, Status.DELETE_COMPLETED, "test")).thenReturn(1);
 
-        when(stackRepository.findById(anyLong())).thenReturn(stack);
-        when(stackRepository.save(any(Stack.class))).thenReturn(stack);
-        doNothing().when(cloudbreakEventService).fireCloudbreakEvent(anyLong(), anyString(), anyString());
-        when(statusToPollGroupConverter.convert(Status.DELETE_COMPLETED)).thenReturn(PollGroup.POLLABLE);
+        boolean updated = underTest.updateStackStatus(1L, Status.DELETE_COMPLETED, "test");
+
+        assertTrue(updated);
+        assertNull(InMemoryStateStore.get(1L));
+        verify(stackRepository, times(0)).save(any(Stack.class));
+    }
+
+    @Test
+    public void updateStackStatusWithNullReasonKeepsTheReason() {
+        when(stackRepository.updateStatus(1L, Status.UPDATE_IN_PROGRESS)).thenReturn(1);
+        when(statusToPollGroupConverter.convert(Status.UPDATE_IN_PROGRESS)).thenReturn(PollGroup.POLLABLE);
+
+        boolean updated = underTest.updateStackStatus(1L, Status.UPDATE_IN_PROGRESS, null);
+
+        assertTrue(updated);
+        verify(stackRepository, times(0)).updateStatusAndReason(anyLong(), any(Status.class), anyString());
+    }
+
+    @Test
+    public void updateStackStatusWithNullStatusKeepsTheStatus() {
+        InMemoryStateStore.put(1L, PollGroup.POLLABLE);
+        when(stackRepository.updateStatusReason(1L, "reason")).thenReturn(1);
+
+        boolean updated = underTest.updateStackStatus(1L, null, "reason");
+
+        assertTrue(updated);
+        assertEquals(PollGroup.POLLABLE, InMemoryStateStore.get(1L));
+        verify(stackRepository, times(0)).updateStatus(anyLong(), any(Status.class));
+        verify(stackRepository, times(0)).updateStatusAndReason(anyLong(), any(Status.class), anyString());
+    }
+
+    @Test
+    public void updateStackStatusWithoutStatusAndReasonThenNothingChanges() {
+        boolean updated = underTest.updateStackStatus(1L, null, null);
+
+        assertFalse(updated);
+        verify(stackRepository, times(0)).updateStatusReason(anyLong(), anyString());
+    }
+
+    @Test
+    public void updateStackStatusOfDeletedStackThenNothingChanges() {
+        InMemoryStateStore.delete(1L);
+        when(stackRepository.updateStatusAndReason(1L, Status.AVAILABLE, "")).thenReturn(0);
+
+        boolean updated = underTest.updateStackStatus(1L, Status.AVAILABLE);
 
-        Stack newStack = underTest.updateStackStatus(1L, Status.DELETE_COMPLETED, "test");
-        assertEquals(Status.DELETE_COMPLETED, newStack.getStatus());
-        assertEquals("test", newStack.getStatusReason());
+        assertFalse(updated);
+        assertNull(InMemoryStateStore.get(1L));
+        verify(statusToPollGroupConverter, times(0)).convert(any(Status.class));
+    }
+
+    @Test
+    public void updateStackStatusAfterTheLeaseIsLostThenTheStatusIsNotWritten() {
+        doThrow(new CancellationException("lost")).when(databaseLockRegistry).fence();
+
+        try {
+            underTest.updateStackStatus(1L, Status.AVAILABLE);
+            fail("The write should have been fenced.");
+        } catch (CancellationException e) {
+            verify(stackRepository, times(0)).updateStatusAndReason(anyLong(), any(Status.class), anyString());
+        }
     }
 
     @Test
@@ -0,0 +1,165 @@
+package com.sequenceiq.cloudbreak.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.cloud.scheduler.PollingHints;
+import com.sequenceiq.cloudbreak.cloud.scheduler.PollingStrategyFactory;
+
+public class PollingServiceTest {
+
+    private static final String CONTEXT = "context";
+    private static final int WAIT_SECONDS = 5;
+
+    private PollingService<String> underTest;
+    private ThreadPoolTaskScheduler pollingScheduler;
+    private StatusCheckerTask<String> statusCheckerTask;
+
+    @Before
+    public void before() {
+        underTest = new PollingService<>();
+        pollingScheduler = new ThreadPoolTaskScheduler();
+        pollingScheduler.setPoolSize(1);
+        pollingScheduler.initialize();
+        ReflectionTestUtils.setField(underTest, "pollingScheduler", pollingScheduler);
+        PollingStrategyFactory pollingStrategyFactory = new PollingStrategyFactory();
+        ReflectionTestUtils.setField(pollingStrategyFactory, "environment", new MockEnvironment());
+        ReflectionTestUtils.setField(underTest, "pollingStrategyFactory", pollingStrategyFactory);
+        statusCheckerTask = mock(StatusCheckerTask.class);
+        given(statusCheckerTask.successMessage(CONTEXT)).willReturn("done");
+    }
+
+    @After
+    public void after() {
+        pollingScheduler.shutdown();
+    }
+
+    @Test
+    public void testPollWithTimeoutShouldReturnSuccessWhenTheCheckSucceeds() {
+        //GIVEN
+        given(statusCheckerTask.checkStatus(CONTEXT)).willReturn(false, false, true);
+        //WHEN
+        PollingResult result = underTest.pollWithTimeout(statusCheckerTask, CONTEXT, 1, 10, 1);
+        //THEN
+        assertEquals(PollingResult.SUCCESS, result);
+        verify(statusCheckerTask, times(3)).checkStatus(CONTEXT);
+    }
+
+    @Test
+    public void testPollWithTimeoutShouldTimeOutAfterMaxAttempts() {
+        //GIVEN
+        given(statusCheckerTask.checkStatus(CONTEXT)).willReturn(false);
+        //WHEN
+        PollingResult result = underTest.pollWithTimeout(statusCheckerTask, CONTEXT, 1, 3, 1);
+        //THEN
+        assertEquals(PollingResult.TIMEOUT, result);
+        verify(statusCheckerTask, times(3)).checkStatus(CONTEXT);
+        verify(statusCheckerTask).handleTimeout(CONTEXT);
+    }
+
+    @Test
+    public void testPollWithTimeoutShouldUseEveryAttemptWithoutInterval() {
+        //GIVEN
+        given(statusCheckerTask.checkStatus(CONTEXT)).willReturn(false);
+        //WHEN
+        PollingResult result = underTest.pollWithTimeout(statusCheckerTask, CONTEXT, 0, 3, 1);
+        //THEN
+        assertEquals(PollingResult.TIMEOUT, result);
+        verify(statusCheckerTask, times(3)).checkStatus(CONTEXT);
+    }
+
+    @Test
+    public void testPollWithTimeoutShouldKeepTheTimeBudgetWhenTheTaskBacksOff() {
+        //GIVEN
+        StatusCheckerTask<String> hintedTask = mock(StatusCheckerTask.class, withSettings().extraInterfaces(PollingHints.class));
+        given(((PollingHints) hintedTask).pollingType()).willReturn("test");
+        given(hintedTask.checkStatus(CONTEXT)).willReturn(false);
+        //WHEN
+        PollingResult result = underTest.pollWithTimeout(hintedTask, CONTEXT, 1, 10, 1);
+        //THEN
+        assertEquals(PollingResult.TIMEOUT, result);
+        verify(hintedTask, times(4)).checkStatus(CONTEXT);
+        verify(hintedTask).handleTimeout(CONTEXT);
+    }
+
+    @Test
+    public void testPollWithTimeoutShouldExitBeforeTheFirstAttempt() {
+        //GIVEN
+        given(statusCheckerTask.exitPolling(CONTEXT)).willReturn(true);
+        //WHEN
+        PollingResult result = underTest.pollWithTimeout(statusCheckerTask, CONTEXT, 1, 3, 1);
+        //THEN
+        assertEquals(PollingResult.EXIT, result);
+        verify(statusCheckerTask, never()).checkStatus(CONTEXT);
+    }
+
+    @Test
+    public void testPollWithTimeoutAsyncShouldCompleteWithSuccess() throws Exception {
+        //GIVEN
+        given(statusCheckerTask.checkStatus(CONTEXT)).willReturn(false, true);
+        //WHEN
+        PollingResult result = underTest.pollWithTimeoutAsync(statusCheckerTask, CONTEXT, 1, 10, 1).get(WAIT_SECONDS, TimeUnit.SECONDS);
+        //THEN
+        assertEquals(PollingResult.SUCCESS, result);
+        verify(statusCheckerTask, times(2)).checkStatus(CONTEXT);
+    }
+
+    @Test
+    public void testPollWithTimeoutAsyncShouldFailAfterMaxFailures() throws Exception {
+        //GIVEN
+        given(statusCheckerTask.checkStatus(CONTEXT)).willThrow(new IllegalStateException("unreachable"));
+        //WHEN
+        PollingResult result = underTest.pollWithTimeoutAsync(statusCheckerTask, CONTEXT, 1, 10, 2).get(WAIT_SECONDS, TimeUnit.SECONDS);
+        //THEN
+        assertEquals(PollingResult.FAILURE, result);
+        verify(statusCheckerTask, times(2)).checkStatus(CONTEXT);
+        verify(statusCheckerTask).handleException(any(IllegalStateException.class));
+    }
+
+    @Test
+    public void testPollWithTimeoutAsyncShouldExitWhenTheTaskSignalsIt() throws Exception {
+        //GIVEN
+        given(statusCheckerTask.checkStatus(CONTEXT)).willReturn(false);
+        given(statusCheckerTask.exitPolling(CONTEXT)).willReturn(false, false, true);
+        //WHEN
+        PollingResult result = underTest.pollWithTimeoutAsync(statusCheckerTask, CONTEXT, 1, 10, 1).get(WAIT_SECONDS, TimeUnit.SECONDS);
+        //THEN
+        assertEquals(PollingResult.EXIT, result);
+        verify(statusCheckerTask, times(2)).checkStatus(CONTEXT);
+    }
+
+    @Test
+    public void testPollWithTimeoutAsyncShouldCompleteExceptionallyWhenTheTimeoutHandlerThrows() throws Exception {
+        //GIVEN
+        given(statusCheckerTask.checkStatus(CONTEXT)).willReturn(false);
+        doThrow(new CloudbreakServiceException("timed out")).when(statusCheckerTask).handleTimeout(CONTEXT);
+        //WHEN
+        try {
+            underTest.pollWithTimeoutAsync(statusCheckerTask, CONTEXT, 1, 2, 1).get(WAIT_SECONDS, TimeUnit.SECONDS);
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            //THEN
+            assertTrue(e.getCause() instanceof CloudbreakServiceException);
+            verify(statusCheckerTask, times(2)).checkStatus(CONTEXT);
+        }
+    }
+}
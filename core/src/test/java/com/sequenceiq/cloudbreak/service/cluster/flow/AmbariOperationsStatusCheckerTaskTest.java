@@ -0,0 +1,75 @@
+package com.sequenceiq.cloudbreak.service.cluster.flow;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sequenceiq.ambari.client.AmbariClient;
+import com.sequenceiq.cloudbreak.TestUtil;
+import com.sequenceiq.cloudbreak.domain.Stack;
+import com.sequenceiq.cloudbreak.repository.StackRepository;
+import com.sequenceiq.cloudbreak.service.notification.NotificationSender;
+
+public class AmbariOperationsStatusCheckerTaskTest {
+
+    @InjectMocks
+    private AmbariOperationsStatusCheckerTask underTest;
+
+    @Mock
+    private StackRepository stackRepository;
+
+    @Mock
+    private NotificationSender notificationSender;
+
+    @Mock
+    private AmbariProgressTracker ambariProgressTracker;
+
+    @Mock
+    private AmbariClient ambariClient;
+
+    private Stack stack;
+    private AmbariOperations operations;
+
+    @Before
+    public void before() {
+        underTest = new AmbariOperationsStatusCheckerTask();
+        MockitoAnnotations.initMocks(this);
+        stack = TestUtil.stack();
+        operations = new AmbariOperations(stack, ambariClient, Collections.singletonMap("INSTALL_HDP", 1),
+                AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE);
+    }
+
+    @Test
+    public void testExitPollingShouldForgetTheProgressWhenTheStackIsDeleted() {
+        //GIVEN
+        given(stackRepository.findByIdLazy(stack.getId())).willReturn(null);
+        //WHEN
+        boolean exit = underTest.exitPolling(operations);
+        //THEN
+        assertTrue(exit);
+        verify(ambariProgressTracker).finish(stack.getId(), AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE);
+    }
+
+    @Test
+    public void testExitPollingShouldKeepTheProgressOfARunningStack() {
+        //GIVEN
+        given(stackRepository.findByIdLazy(stack.getId())).willReturn(stack);
+        //WHEN
+        boolean exit = underTest.exitPolling(operations);
+        //THEN
+        assertFalse(exit);
+        verify(ambariProgressTracker, never()).finish(anyLong(), any(AmbariOperationType.class));
+    }
+}
@@ -0,0 +1,106 @@
+package com.sequenceiq.cloudbreak.service.cluster.flow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class AmbariProgressTrackerTest {
+
+    private static final Long STACK_ID = 1L;
+    private static final Long OTHER_STACK_ID = 2L;
+    private static final long HEARTBEAT = 60000L;
+    private static final long EXPIRY_WAIT = 50L;
+
+    private AmbariProgressTracker underTest;
+
+    @Before
+    public void before() {
+        underTest = new AmbariProgressTracker();
+        ReflectionTestUtils.setField(underTest, "heartbeatInterval", HEARTBEAT);
+    }
+
+    @Test
+    public void testUpdateShouldReportTheAverageProgressOfTheRequests() {
+        //WHEN
+        Long progress = underTest.update(STACK_ID, AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE, progress(20, 60));
+        //THEN
+        assertEquals(Long.valueOf(40), progress);
+    }
+
+    @Test
+    public void testUpdateShouldNotReportUnchangedProgress() {
+        //GIVEN
+        underTest.update(STACK_ID, AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE, progress(20, 60));
+        //WHEN
+        Long progress = underTest.update(STACK_ID, AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE, progress(20, 60));
+        //THEN
+        assertNull(progress);
+    }
+
+    @Test
+    public void testUpdateShouldReportWhenAnyRequestMadeProgress() {
+        //GIVEN
+        underTest.update(STACK_ID, AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE, progress(20, 60));
+        //WHEN
+        Long progress = underTest.update(STACK_ID, AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE, progress(20, 80));
+        //THEN
+        assertEquals(Long.valueOf(50), progress);
+    }
+
+    @Test
+    public void testUpdateShouldReportUnchangedProgressAfterTheHeartbeatInterval() {
+        //GIVEN
+        ReflectionTestUtils.setField(underTest, "heartbeatInterval", 0L);
+        underTest.update(STACK_ID, AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE, progress(20, 60));
+        //WHEN
+        Long progress = underTest.update(STACK_ID, AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE, progress(20, 60));
+        //THEN
+        assertEquals(Long.valueOf(40), progress);
+    }
+
+    @Test
+    public void testUpdateShouldTrackTheOperationsSeparately() {
+        //GIVEN
+        underTest.update(STACK_ID, AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE, progress(20, 60));
+        //WHEN
+        Long progress = underTest.update(STACK_ID, AmbariOperationType.START_AMBARI_PROGRESS_STATE, progress(20, 60));
+        //THEN
+        assertEquals(Long.valueOf(40), progress);
+    }
+
+    @Test
+    public void testFinishShouldForgetTheReportedProgress() {
+        //GIVEN
+        underTest.update(STACK_ID, AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE, progress(20, 60));
+        //WHEN
+        underTest.finish(STACK_ID, AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE);
+        //THEN
+        assertEquals(Long.valueOf(40), underTest.update(STACK_ID, AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE, progress(20, 60)));
+    }
+
+    @Test
+    public void testUpdateShouldDropTheProgressOfTheOperationsThatAreNotPolledAnymore() throws InterruptedException {
+        //GIVEN
+        ReflectionTestUtils.setField(underTest, "heartbeatInterval", 1L);
+        underTest.update(STACK_ID, AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE, progress(20, 60));
+        Thread.sleep(EXPIRY_WAIT);
+        //WHEN
+        underTest.update(OTHER_STACK_ID, AmbariOperationType.INSTALL_AMBARI_PROGRESS_STATE, progress(20, 60));
+        //THEN
+        assertEquals(1, underTest.size());
+    }
+
+    private Map<String, BigDecimal> progress(int install, int start) {
+        Map<String, BigDecimal> progress = new HashMap<>();
+        progress.put("INSTALL_HDP", new BigDecimal(install));
+        progress.put("START_SERVICES", new BigDecimal(start));
+        return progress;
+    }
+}
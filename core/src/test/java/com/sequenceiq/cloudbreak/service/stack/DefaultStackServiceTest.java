@@ -71,7 +71,7 @@ public class DefaultStackServiceTest {
         Stack stack = stack(AVAILABLE, STOPPED);
         given(stackRepository.findOne(anyLong())).willReturn(stack);
         given(clusterRepository.findOneWithLists(anyLong())).willReturn(stack.getCluster());
-        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(stack);
+        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(true);
         underTest.updateStatus(1L, StatusRequest.STOPPED);
         verify(flowManager, times(1)).triggerStackStop(anyObject());
     }
@@ -81,7 +81,7 @@ public class DefaultStackServiceTest {
         Stack stack = stack(AVAILABLE, STOP_IN_PROGRESS);
         given(stackRepository.findOne(anyLong())).willReturn(stack);
         given(clusterRepository.findOneWithLists(anyLong())).willReturn(stack.getCluster());
-        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(stack);
+        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(true);
         underTest.updateStatus(1L, StatusRequest.STOPPED);
         verify(flowManager, times(1)).triggerStackStopRequested(anyObject());
     }
@@ -91,7 +91,7 @@ public class DefaultStackServiceTest {
         Stack stack = stack(AVAILABLE, STOPPED);
         given(stackRepository.findOne(anyLong())).willReturn(stack);
         given(clusterRepository.findOneWithLists(anyLong())).willReturn(stack.getCluster());
-        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(stack);
+        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(true);
         underTest.updateStatus(1L, StatusRequest.STOPPED);
         verify(flowManager, times(1)).triggerStackStop(anyObject());
     }
@@ -101,7 +101,7 @@ public class DefaultStackServiceTest {
         Stack stack = stack(STOP_FAILED, STOPPED);
         given(stackRepository.findOne(anyLong())).willReturn(stack);
         given(clusterRepository.findOneWithLists(anyLong())).willReturn(stack.getCluster());
-        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(stack);
+        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(true);
         underTest.updateStatus(1L, StatusRequest.STOPPED);
         verify(flowManager, times(1)).triggerStackStop(anyObject());
     }
@@ -111,7 +111,7 @@ public class DefaultStackServiceTest {
         Stack stack = stack(UPDATE_IN_PROGRESS, STOPPED);
         given(stackRepository.findOne(anyLong())).willReturn(stack);
         given(clusterRepository.findOneWithLists(anyLong())).willReturn(stack.getCluster());
-        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(stack);
+        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(true);
         underTest.updateStatus(1L, StatusRequest.STOPPED);
         verify(flowManager, times(1)).triggerStackStop(anyObject());
     }
@@ -122,7 +122,7 @@ public class DefaultStackServiceTest {
         Stack stack = stack(AVAILABLE, AVAILABLE);
         given(stackRepository.findOne(anyLong())).willReturn(stack);
         given(clusterRepository.findOneWithLists(anyLong())).willReturn(stack.getCluster());
-        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(stack);
+        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(true);
         underTest.updateStatus(1L, StatusRequest.STOPPED);
     }
 
@@ -131,7 +131,7 @@ public class DefaultStackServiceTest {
         Stack stack = stack(STOPPED, STOPPED);
         given(stackRepository.findOne(anyLong())).willReturn(stack);
         given(clusterRepository.findOneWithLists(anyLong())).willReturn(stack.getCluster());
-        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(stack);
+        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(true);
         underTest.updateStatus(1L, StatusRequest.STARTED);
         verify(flowManager, times(1)).triggerStackStart(anyObject());
     }
@@ -141,7 +141,7 @@ public class DefaultStackServiceTest {
         Stack stack = stack(UPDATE_IN_PROGRESS, STOPPED);
         given(stackRepository.findOne(anyLong())).willReturn(stack);
         given(clusterRepository.findOneWithLists(anyLong())).willReturn(stack.getCluster());
-        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(stack);
+        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(true);
         underTest.updateStatus(1L, StatusRequest.STARTED);
     }
 
@@ -150,7 +150,7 @@ public class DefaultStackServiceTest {
         Stack stack = stack(START_FAILED, STOPPED);
         given(stackRepository.findOne(anyLong())).willReturn(stack);
         given(clusterRepository.findOneWithLists(anyLong())).willReturn(stack.getCluster());
-        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(stack);
+        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(true);
         underTest.updateStatus(1L, StatusRequest.STARTED);
         verify(flowManager, times(1)).triggerStackStart(anyObject());
     }
@@ -160,7 +160,7 @@ public class DefaultStackServiceTest {
         Stack stack = stack(UPDATE_IN_PROGRESS, UPDATE_IN_PROGRESS);
         given(stackRepository.findOne(anyLong())).willReturn(stack);
         given(clusterRepository.findOneWithLists(anyLong())).willReturn(stack.getCluster());
-        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(stack);
+        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(true);
         underTest.updateStatus(1L, StatusRequest.STARTED);
     }
 
@@ -169,7 +169,7 @@ public class DefaultStackServiceTest {
         Stack stack = TestUtil.setEphemeral(TestUtil.stack(AVAILABLE, TestUtil.awsCredential()));
         given(stackRepository.findOne(anyLong())).willReturn(stack);
         given(clusterRepository.findOneWithLists(anyLong())).willReturn(stack.getCluster());
-        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(stack);
+        given(stackUpdater.updateStackStatus(anyLong(), any(Status.class))).willReturn(true);
         underTest.updateStatus(1L, StatusRequest.STOPPED);
     }
 
@@ -0,0 +1,125 @@
+package com.sequenceiq.cloudbreak.service.stack;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sequenceiq.cloudbreak.TestUtil;
+import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
+import com.sequenceiq.cloudbreak.cloud.model.Group;
+import com.sequenceiq.cloudbreak.cloud.model.InstanceTemplate;
+import com.sequenceiq.cloudbreak.cloud.model.Volume;
+import com.sequenceiq.cloudbreak.common.type.InstanceGroupType;
+import com.sequenceiq.cloudbreak.common.type.InstanceStatus;
+import com.sequenceiq.cloudbreak.domain.InstanceGroup;
+import com.sequenceiq.cloudbreak.domain.InstanceMetaData;
+import com.sequenceiq.cloudbreak.domain.Stack;
+import com.sequenceiq.cloudbreak.repository.InstanceGroupRepository;
+import com.sequenceiq.cloudbreak.repository.InstanceMetaDataRepository;
+
+public class InstanceMetadataServiceTest {
+
+    private static final int NODE_COUNT = 500;
+
+    @InjectMocks
+    private InstanceMetadataService underTest;
+    @Mock
+    private InstanceMetaDataRepository instanceMetaDataRepository;
+    @Mock
+    private InstanceGroupRepository instanceGroupRepository;
+
+    @Before
+    public void before() {
+        underTest = new InstanceMetadataService();
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testSaveInstanceRequestsShouldSaveTheRequestedInstancesInOneBatch() {
+        //GIVEN
+        InstanceGroup instanceGroup = TestUtil.instanceGroup(1L, InstanceGroupType.CORE, TestUtil.awsTemplate(1L));
+        instanceGroup.setGroupName("slave_1");
+        Stack stack = TestUtil.stack();
+        stack.setInstanceGroups(new HashSet<>(Arrays.asList(instanceGroup)));
+        List<CloudInstance> instances = new ArrayList<>();
+        for (long i = 0; i < NODE_COUNT; i++) {
+            instances.add(new CloudInstance(null, new InstanceTemplate("m3.medium", "slave_1", i, new ArrayList<Volume>(),
+                    com.sequenceiq.cloudbreak.cloud.model.InstanceStatus.CREATE_REQUESTED, new HashMap<String, Object>())));
+        }
+        instances.add(new CloudInstance("i-1", new InstanceTemplate("m3.medium", "slave_1", 0L, new ArrayList<Volume>(),
+                com.sequenceiq.cloudbreak.cloud.model.InstanceStatus.STARTED, new HashMap<String, Object>())));
+        ArgumentCaptor<Collection> saved = ArgumentCaptor.forClass(Collection.class);
+        //WHEN
+        underTest.saveInstanceRequests(stack, Arrays.asList(new Group("slave_1", InstanceGroupType.CORE, instances)));
+        //THEN
+        verify(instanceMetaDataRepository, times(1)).save(saved.capture());
+        assertEquals(NODE_COUNT, saved.getValue().size());
+        InstanceMetaData request = (InstanceMetaData) saved.getValue().iterator().next();
+        assertEquals(InstanceStatus.REQUESTED, request.getInstanceStatus());
+        assertEquals(instanceGroup, request.getInstanceGroup());
+    }
+
+    @Test
+    public void testUpdateInstanceStatusShouldSaveTheCandidatesInOneBatch() {
+        //GIVEN
+        InstanceGroup instanceGroup = TestUtil.instanceGroup(1L, InstanceGroupType.CORE, TestUtil.awsTemplate(1L));
+        Set<InstanceMetaData> instances = TestUtil.generateInstanceMetaDatas(3, 1L, instanceGroup);
+        int address = 0;
+        for (InstanceMetaData instance : instances) {
+            instance.setPrivateIp("10.0.0." + address++);
+        }
+        instanceGroup.setInstanceMetaData(instances);
+        InstanceMetaData candidate = instances.iterator().next();
+        ArgumentCaptor<Collection> saved = ArgumentCaptor.forClass(Collection.class);
+        //WHEN
+        underTest.updateInstanceStatus(new HashSet<>(Arrays.asList(instanceGroup)), InstanceStatus.UNREGISTERED,
+                new HashSet<>(Arrays.asList(candidate.getPrivateIp())));
+        //THEN
+        verify(instanceMetaDataRepository, times(1)).save(saved.capture());
+        assertEquals(Arrays.asList(candidate), new ArrayList<>(saved.getValue()));
+        assertEquals(InstanceStatus.UNREGISTERED, candidate.getInstanceStatus());
+    }
+
+    @Test
+    public void testUpdateNodeCountsShouldSaveEveryChangedGroupOnce() {
+        //GIVEN
+        InstanceGroup upscaled = TestUtil.instanceGroup(1L, InstanceGroupType.CORE, TestUtil.awsTemplate(1L), 2);
+        InstanceGroup unchanged = TestUtil.instanceGroup(2L, InstanceGroupType.CORE, TestUtil.awsTemplate(1L), 2);
+        Map<InstanceGroup, Integer> nodeCountChanges = new LinkedHashMap<>();
+        nodeCountChanges.put(upscaled, NODE_COUNT);
+        nodeCountChanges.put(unchanged, 0);
+        //WHEN
+        underTest.updateNodeCounts(nodeCountChanges);
+        //THEN
+        verify(instanceGroupRepository, times(1)).save(Arrays.asList(upscaled));
+        assertEquals(Integer.valueOf(NODE_COUNT + 2), upscaled.getNodeCount());
+        assertEquals(Integer.valueOf(2), unchanged.getNodeCount());
+    }
+
+    @Test
+    public void testSaveAllShouldNotCallTheRepositoryWithoutInstances() {
+        //WHEN
+        underTest.saveAll(new ArrayList<InstanceMetaData>());
+        //THEN
+        verify(instanceMetaDataRepository, never()).save(anyCollection());
+    }
+}
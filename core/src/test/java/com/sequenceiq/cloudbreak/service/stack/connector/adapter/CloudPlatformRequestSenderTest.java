@@ -0,0 +1,90 @@
+package com.sequenceiq.cloudbreak.service.stack.connector.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.Date;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.sequenceiq.cloudbreak.cloud.event.CloudPlatformRequest;
+import com.sequenceiq.cloudbreak.service.stack.connector.OperationException;
+
+import reactor.bus.Event;
+import reactor.bus.EventBus;
+
+public class CloudPlatformRequestSenderTest {
+
+    private static final Function<String, Integer> LENGTH = new Function<String, Integer>() {
+        @Override
+        public Integer apply(String input) {
+            return input.length();
+        }
+    };
+
+    private CloudPlatformRequestSender underTest;
+    private EventBus eventBus;
+    private TaskScheduler pollingScheduler;
+    private ScheduledFuture<?> timeout;
+
+    @Before
+    public void before() {
+        underTest = new CloudPlatformRequestSender();
+        eventBus = mock(EventBus.class);
+        pollingScheduler = mock(TaskScheduler.class);
+        timeout = mock(ScheduledFuture.class);
+        doReturn(timeout).when(pollingScheduler).schedule(any(Runnable.class), any(Date.class));
+        ReflectionTestUtils.setField(underTest, "eventBus", eventBus);
+        ReflectionTestUtils.setField(underTest, "pollingScheduler", pollingScheduler);
+        ReflectionTestUtils.setField(underTest, "continuationExecutor", MoreExecutors.sameThreadExecutor());
+    }
+
+    @Test
+    public void testSendAsyncShouldCompleteWhenTheResultArrives() throws Exception {
+        //GIVEN
+        CloudPlatformRequest<String> request = new CloudPlatformRequest<>(null, null);
+        //WHEN
+        ListenableFuture<Integer> future = underTest.sendAsync(request, LENGTH);
+        //THEN
+        verify(eventBus).notify(anyString(), any(Event.class));
+        assertFalse(future.isDone());
+        request.getResult().onNext("started");
+        assertEquals(Integer.valueOf(7), future.get());
+        verify(timeout).cancel(false);
+    }
+
+    @Test
+    public void testSendAsyncShouldFailWhenTheResultTimesOut() throws Exception {
+        //GIVEN
+        CloudPlatformRequest<String> request = new CloudPlatformRequest<>(null, null);
+        ListenableFuture<Integer> future = underTest.sendAsync(request, LENGTH);
+        ArgumentCaptor<Runnable> timeoutTask = ArgumentCaptor.forClass(Runnable.class);
+        verify(pollingScheduler).schedule(timeoutTask.capture(), any(Date.class));
+        //WHEN
+        timeoutTask.getValue().run();
+        //THEN
+        assertTrue(future.isDone());
+        try {
+            future.get();
+            fail("The future should have failed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof OperationException);
+        }
+    }
+}
@@ -1,258 +1,142 @@
 package com.sequenceiq.cloudbreak.service.usages;
 
-import static com.sequenceiq.cloudbreak.common.type.CloudConstants.AWS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyCollection;
-import static org.mockito.Mockito.atLeast;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
-import com.sequenceiq.cloudbreak.common.type.Status;
-import com.sequenceiq.cloudbreak.domain.CloudbreakEvent;
-import com.sequenceiq.cloudbreak.domain.CloudbreakUsage;
-import com.sequenceiq.cloudbreak.domain.InstanceGroup;
-import com.sequenceiq.cloudbreak.domain.Stack;
-import com.sequenceiq.cloudbreak.domain.Template;
-import com.sequenceiq.cloudbreak.repository.CloudbreakEventRepository;
+import com.sequenceiq.cloudbreak.domain.UsageGenerationCheckpoint;
 import com.sequenceiq.cloudbreak.repository.CloudbreakUsageRepository;
-import com.sequenceiq.cloudbreak.repository.StackRepository;
-import com.sequenceiq.cloudbreak.repository.TemplateRepository;
-import com.sequenceiq.cloudbreak.service.ServiceTestUtils;
+import com.sequenceiq.cloudbreak.repository.UsageGenerationCheckpointRepository;
+import com.sequenceiq.cloudbreak.service.CloudbreakServiceException;
 
 public class DefaultCloudbreakUsageGeneratorServiceTest {
 
+    private static final long DAY_IN_MILLIS = 24 * 60 * 60 * 1000L;
+
     @InjectMocks
     private DefaultCloudbreakUsageGeneratorService underTest;
     @Mock
     private CloudbreakUsageRepository usageRepository;
     @Mock
-    private CloudbreakEventRepository eventRepository;
-    @Mock
-    private StackUsageGenerator stackUsageGenerator;
+    private UsageGenerationCheckpointRepository checkpointRepository;
     @Mock
-    private StackRepository stackRepository;
+    private ParallelUsageEngine parallelUsageEngine;
     @Mock
-    private TemplateRepository templateRepository;
+    private UsageRollupGenerator usageRollupGenerator;
+
+    private UsageGenerationCheckpoint committed;
 
     @Before
     public void before() {
         underTest = new DefaultCloudbreakUsageGeneratorService();
         MockitoAnnotations.initMocks(this);
+        committed = new UsageGenerationCheckpoint();
+        committed.setId(1L);
+        committed.setLastStackId(3L);
+        given(checkpointRepository.findUnfinished()).willReturn(new ArrayList<UsageGenerationCheckpoint>());
+        given(checkpointRepository.findOne(1L)).willReturn(committed);
+        given(checkpointRepository.save(any(UsageGenerationCheckpoint.class))).willAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                UsageGenerationCheckpoint checkpoint = (UsageGenerationCheckpoint) invocation.getArguments()[0];
+                if (checkpoint.getId() == null) {
+                    checkpoint.setId(1L);
+                }
+                return checkpoint;
+            }
+        });
     }
 
     @Test
-    public void testGenerateUsagesShouldCallGeneratorOnAllEventsWhenUsagesHasNeverGenerated() {
+    public void testGenerateUsagesShouldProcessAllEventsWhenUsagesHasNeverGenerated() {
         //GIVEN
-        List<CloudbreakEvent> events = new ArrayList<>();
-        List<CloudbreakUsage> usages = new ArrayList<>();
         given(usageRepository.count()).willReturn(0L);
-        given(eventRepository.findAll(any(Sort.class))).willReturn(events);
-        given(stackUsageGenerator.generate(events)).willReturn(usages);
+        ArgumentCaptor<UsageGenerationCheckpoint> checkpoint = ArgumentCaptor.forClass(UsageGenerationCheckpoint.class);
         //WHEN
         underTest.generate();
         //THEN
-        verify(eventRepository).findAll(any(Sort.class));
-        verify(usageRepository).save(usages);
+        verify(parallelUsageEngine).run(checkpoint.capture());
+        verify(usageRollupGenerator).generate(null);
+        assertNull(checkpoint.getValue().getSince());
+        assertEquals(Long.valueOf(0L), checkpoint.getValue().getLastStackId());
+        assertNotNull(checkpoint.getValue().getStarted());
     }
 
     @Test
-    public void testGenerateUsagesShouldCallGeneratorOnLastDaysEventsWhenUsagesHasPreviouslyGenerated() {
+    public void testGenerateUsagesShouldProcessLastDaysEventsWhenUsagesHasPreviouslyGenerated() {
         //GIVEN
-        List<CloudbreakEvent> events = new ArrayList<>();
-        List<CloudbreakUsage> usages = new ArrayList<>();
         given(usageRepository.count()).willReturn(1L);
-        given(eventRepository.findAll(any(Specification.class), any(Sort.class))).willReturn(events);
-        given(stackUsageGenerator.generate(events)).willReturn(usages);
-        //WHEN
-        underTest.generate();
-        //THEN
-        verify(eventRepository).findAll(any(Specification.class), any(Sort.class));
-        verify(usageRepository).save(usages);
-    }
-
-    @Test
-    public void testGenerateShouldDeleteStackAndTheRelatedTemplatesWhenTheStackStateIsDeleteCompletedAndTemplateIsDeleted() throws Exception {
-        //GIVEN
-        List<CloudbreakEvent> events = Arrays.asList(ServiceTestUtils.createEvent(1L, 3, "", new Date()));
-        List<CloudbreakUsage> usages = new ArrayList<>();
-        given(usageRepository.count()).willReturn(0L);
-        given(eventRepository.findAll(any(Sort.class))).willReturn(events);
-        given(stackUsageGenerator.generate(events)).willReturn(usages);
-        Stack stack = ServiceTestUtils.createStack();
-        Template template = ServiceTestUtils.createTemplate(AWS);
-        template.setDeleted(true);
-        InstanceGroup instanceGroup = new InstanceGroup();
-        instanceGroup.setTemplate(template);
-        Set<InstanceGroup> instanceGroups = new HashSet<>();
-        instanceGroups.add(instanceGroup);
-        stack.setInstanceGroups(instanceGroups);
-        stack.setStatus(Status.DELETE_COMPLETED);
-        when(stackRepository.findById(1L)).thenReturn(stack);
-        when(stackRepository.findAllStackForTemplate(template.getId())).thenReturn(Arrays.asList(stack));
-        given(eventRepository.findCloudbreakEventsForStack(any(Long.class))).willReturn(new ArrayList<CloudbreakEvent>());
-        doNothing().when(eventRepository).delete(anyCollection());
-        //WHEN
-        underTest.generate();
-        //THEN
-        verify(eventRepository).findAll(any(Sort.class));
-        verify(usageRepository).save(usages);
-        verify(stackRepository).findById(1L);
-        verify(stackRepository, times(1)).delete(stack);
-        verify(stackRepository, times(1)).findAllStackForTemplate(template.getId());
-        verify(templateRepository, times(1)).delete(template);
-    }
-
-    @Test
-    public void testGenerateShouldNotDeleteStackWhenStackDoesNotExistWithId() throws Exception {
-        //GIVEN
-        List<CloudbreakEvent> events = Arrays.asList(ServiceTestUtils.createEvent(1L, 3, "", new Date()));
-        List<CloudbreakUsage> usages = new ArrayList<>();
-        given(usageRepository.count()).willReturn(0L);
-        given(eventRepository.findAll(any(Sort.class))).willReturn(events);
-        given(stackUsageGenerator.generate(events)).willReturn(usages);
-        Stack stack = ServiceTestUtils.createStack();
-        when(stackRepository.findById(1L)).thenReturn(null);
+        ArgumentCaptor<UsageGenerationCheckpoint> checkpoint = ArgumentCaptor.forClass(UsageGenerationCheckpoint.class);
         //WHEN
         underTest.generate();
         //THEN
-        verify(eventRepository).findAll(any(Sort.class));
-        verify(usageRepository).save(usages);
-        verify(stackRepository).findById(1L);
-        verify(stackRepository, never()).delete(any(Stack.class));
+        verify(parallelUsageEngine).run(checkpoint.capture());
+        long age = System.currentTimeMillis() - checkpoint.getValue().getSince().getTime();
+        assertTrue(age >= DAY_IN_MILLIS && age < 2 * DAY_IN_MILLIS);
+        verify(usageRollupGenerator).generate(checkpoint.getValue().getSince());
     }
 
     @Test
-    public void testGenerateShouldNotDeleteStackWhenStackStatusIsNotDeleteCompleted() throws Exception {
+    public void testGenerateShouldFinishTheCommittedCheckpoint() {
         //GIVEN
-        List<CloudbreakEvent> events = Arrays.asList(ServiceTestUtils.createEvent(1L, 3, "", new Date()));
-        List<CloudbreakUsage> usages = new ArrayList<>();
         given(usageRepository.count()).willReturn(0L);
-        given(eventRepository.findAll(any(Sort.class))).willReturn(events);
-        given(stackUsageGenerator.generate(events)).willReturn(usages);
-        Stack stack = ServiceTestUtils.createStack();
-        stack.setStatus(Status.AVAILABLE);
-        when(stackRepository.findById(1L)).thenReturn(stack);
         //WHEN
         underTest.generate();
         //THEN
-        verify(eventRepository).findAll(any(Sort.class));
-        verify(usageRepository).save(usages);
-        verify(stackRepository).findById(1L);
-        verify(stackRepository, never()).delete(stack);
+        verify(checkpointRepository).save(committed);
+        assertNotNull(committed.getFinished());
     }
 
     @Test
-    public void testGenerateShouldDeleteStackAndNotTheRelatedTemplatesWhenTheStackStateIsDeleteCompletedAndTemplateIsNotDeleted() throws Exception {
+    public void testGenerateShouldResumeFromTheUnfinishedCheckpoint() {
         //GIVEN
-        List<CloudbreakEvent> events = Arrays.asList(ServiceTestUtils.createEvent(1L, 3, "", new Date()));
-        List<CloudbreakUsage> usages = new ArrayList<>();
-        given(usageRepository.count()).willReturn(0L);
-        given(eventRepository.findAll(any(Sort.class))).willReturn(events);
-        given(stackUsageGenerator.generate(events)).willReturn(usages);
-        Stack stack = ServiceTestUtils.createStack();
-        Template template = ServiceTestUtils.createTemplate(AWS);
-        InstanceGroup instanceGroup = new InstanceGroup();
-        instanceGroup.setTemplate(template);
-        Set<InstanceGroup> instanceGroups = new HashSet<>();
-        instanceGroups.add(instanceGroup);
-        stack.setInstanceGroups(instanceGroups);
-        stack.setStatus(Status.DELETE_COMPLETED);
-        when(stackRepository.findById(1L)).thenReturn(stack);
-        when(stackRepository.findAllStackForTemplate(template.getId())).thenReturn(Arrays.asList(stack));
-        given(eventRepository.findCloudbreakEventsForStack(any(Long.class))).willReturn(new ArrayList<CloudbreakEvent>());
-        doNothing().when(eventRepository).delete(anyCollection());
+        UsageGenerationCheckpoint unfinished = new UsageGenerationCheckpoint();
+        unfinished.setId(1L);
+        unfinished.setLastStackId(5L);
+        unfinished.setStarted(new Date());
+        given(checkpointRepository.findUnfinished()).willReturn(Collections.singletonList(unfinished));
         //WHEN
         underTest.generate();
         //THEN
-        verify(eventRepository).findAll(any(Sort.class));
-        verify(usageRepository).save(usages);
-        verify(stackRepository).findById(1L);
-        verify(stackRepository, times(1)).delete(stack);
-        verify(stackRepository, times(1)).findAllStackForTemplate(template.getId());
-        verify(templateRepository, never()).delete(template);
+        verify(usageRepository, never()).count();
+        verify(parallelUsageEngine).run(unfinished);
+        assertNotNull(committed.getFinished());
     }
 
     @Test
-    public void testGenerateShouldDeleteStackAndNotTheRelatedTemplatesWhenTheStackStateIsDeleteCompletedAndTemplateIsReferedByMoreStack() throws Exception {
+    public void testGenerateShouldLeaveTheCheckpointUnfinishedWhenTheRunFails() {
         //GIVEN
-        List<CloudbreakEvent> events = Arrays.asList(ServiceTestUtils.createEvent(1L, 3, "", new Date()));
-        List<CloudbreakUsage> usages = new ArrayList<>();
         given(usageRepository.count()).willReturn(0L);
-        given(eventRepository.findAll(any(Sort.class))).willReturn(events);
-        given(stackUsageGenerator.generate(events)).willReturn(usages);
-        Stack stack = ServiceTestUtils.createStack();
-        Template template = ServiceTestUtils.createTemplate(AWS);
-        template.setDeleted(true);
-        InstanceGroup instanceGroup = new InstanceGroup();
-        instanceGroup.setTemplate(template);
-        Set<InstanceGroup> instanceGroups = new HashSet<>();
-        instanceGroups.add(instanceGroup);
-        stack.setInstanceGroups(instanceGroups);
-        stack.setStatus(Status.DELETE_COMPLETED);
-        when(stackRepository.findById(1L)).thenReturn(stack);
-        when(stackRepository.findAllStackForTemplate(template.getId())).thenReturn(Arrays.asList(stack, ServiceTestUtils.createStack()));
+        doThrow(new CloudbreakServiceException("failed")).when(parallelUsageEngine).run(any(UsageGenerationCheckpoint.class));
         //WHEN
-        underTest.generate();
-        //THEN
-        verify(eventRepository).findAll(any(Sort.class));
-        verify(usageRepository).save(usages);
-        verify(stackRepository).findById(1L);
-        verify(stackRepository, times(1)).delete(stack);
-        verify(stackRepository, times(1)).findAllStackForTemplate(template.getId());
-        verify(templateRepository, never()).delete(template);
-    }
-
-    @Test
-    public void testGenerateShouldDeleteStackAndNotTheRelatedTemplatesWhenTheStackStateIsDeleteCompletedAndTemplateIsDeleted() throws Exception {
-        //GIVEN
-        List<CloudbreakEvent> events = Arrays.asList(ServiceTestUtils.createEvent(1L, 3, "", new Date()));
-        List<CloudbreakUsage> usages = new ArrayList<>();
-        given(usageRepository.count()).willReturn(0L);
-        given(eventRepository.findAll(any(Sort.class))).willReturn(events);
-        given(stackUsageGenerator.generate(events)).willReturn(usages);
-        Template template = ServiceTestUtils.createTemplate(AWS);
-        template.setDeleted(true);
-        Stack stack = ServiceTestUtils.createStack();
-        InstanceGroup instanceGroup = new InstanceGroup();
-        instanceGroup.setTemplate(template);
-        InstanceGroup instanceGroup2 = new InstanceGroup();
-        instanceGroup2.setTemplate(template);
-        Set<InstanceGroup> instanceGroups = new HashSet<>();
-        instanceGroups.add(instanceGroup);
-        instanceGroups.add(instanceGroup2);
-        stack.setInstanceGroups(instanceGroups);
-        stack.setStatus(Status.DELETE_COMPLETED);
-        when(stackRepository.findById(1L)).thenReturn(stack);
-        when(stackRepository.findAllStackForTemplate(template.getId())).thenReturn(Arrays.asList(stack));
-        given(eventRepository.findCloudbreakEventsForStack(any(Long.class))).willReturn(new ArrayList<CloudbreakEvent>());
-        doNothing().when(eventRepository).delete(anyCollection());
-        //WHEN
-        underTest.generate();
-        //THEN
-        verify(eventRepository).findAll(any(Sort.class));
-        verify(usageRepository).save(usages);
-        verify(stackRepository).findById(1L);
-        verify(stackRepository, times(1)).delete(stack);
-        verify(stackRepository, atLeast(1)).findAllStackForTemplate(template.getId());
-        verify(templateRepository, atLeast(1)).delete(template);
+        try {
+            underTest.generate();
+            fail("Exception expected");
+        } catch (CloudbreakServiceException e) {
+            //THEN
+            verify(checkpointRepository, never()).findOne(1L);
+            verify(usageRollupGenerator, never()).generate(any(Date.class));
+            assertNull(committed.getFinished());
+        }
     }
-}
\ No newline at end of file
+}
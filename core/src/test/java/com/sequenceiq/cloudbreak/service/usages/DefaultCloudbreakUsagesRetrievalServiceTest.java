@@ -16,11 +16,18 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.sequenceiq.cloudbreak.domain.CbUsageFilterParameters;
 import com.sequenceiq.cloudbreak.domain.CloudbreakUsage;
+import com.sequenceiq.cloudbreak.domain.CloudbreakUsageRollup;
+import com.sequenceiq.cloudbreak.domain.UsageRollupGranularity;
 import com.sequenceiq.cloudbreak.repository.CloudbreakUsageRepository;
+import com.sequenceiq.cloudbreak.repository.CloudbreakUsageRollupRepository;
 
 public class DefaultCloudbreakUsagesRetrievalServiceTest {
     private static final String DUMMY_ACCOUNT = "account";
@@ -40,6 +47,9 @@ public class DefaultCloudbreakUsagesRetrievalServiceTest {
     @Mock
     private CloudbreakUsageRepository cloudbreakUsageRepository;
 
+    @Mock
+    private CloudbreakUsageRollupRepository rollupRepository;
+
     @Before
     public void setUp() {
         underTest = new DefaultCloudbreakUsagesRetrievalService();
@@ -72,4 +82,17 @@ public class DefaultCloudbreakUsagesRetrievalServiceTest {
         verify(cloudbreakUsageRepository, times(1)).findAll(any(Specification.class));
         assertEquals(0, result.size());
     }
+
+    @Test
+    public void testFindUsageRollupsFor() {
+        // GIVEN
+        Pageable pageable = new PageRequest(1, 10);
+        Page<CloudbreakUsageRollup> page = new PageImpl<>(Arrays.asList(new CloudbreakUsageRollup()), pageable, 11);
+        given(rollupRepository.findAll(any(Specification.class), any(Pageable.class))).willReturn(page);
+        // WHEN
+        Page<CloudbreakUsageRollup> result = underTest.findUsageRollupsFor(filterParameters, UsageRollupGranularity.MONTHLY, pageable);
+        // THEN
+        verify(rollupRepository, times(1)).findAll(any(Specification.class), any(Pageable.class));
+        assertEquals(page, result);
+    }
 }
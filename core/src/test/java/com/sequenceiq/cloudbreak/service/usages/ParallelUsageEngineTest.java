@@ -0,0 +1,176 @@
+package com.sequenceiq.cloudbreak.service.usages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.domain.CloudbreakEvent;
+import com.sequenceiq.cloudbreak.domain.UsageGenerationCheckpoint;
+import com.sequenceiq.cloudbreak.service.CloudbreakServiceException;
+import com.sequenceiq.cloudbreak.service.ServiceTestUtils;
+
+public class ParallelUsageEngineTest {
+
+    @InjectMocks
+    private ParallelUsageEngine underTest;
+    @Mock
+    private StackEventReader stackEventReader;
+    @Mock
+    private UsageBatchWriter usageBatchWriter;
+    @Mock
+    private GaugeService gaugeService;
+
+    private UsageGenerationCheckpoint checkpoint;
+    private List<List<Long>> writtenRanges;
+
+    @Before
+    public void before() {
+        underTest = new ParallelUsageEngine();
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(underTest, "parallelism", 2);
+        ReflectionTestUtils.setField(underTest, "batchSize", 2);
+        underTest.init();
+        checkpoint = new UsageGenerationCheckpoint();
+        checkpoint.setId(1L);
+        checkpoint.setLastStackId(0L);
+        writtenRanges = Collections.synchronizedList(new ArrayList<List<Long>>());
+        given(usageBatchWriter.write(anyLong(), anyLong(), anyLong(), anyMap())).willAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) {
+                Map<Long, List<CloudbreakEvent>> stackEvents = (Map<Long, List<CloudbreakEvent>>) invocation.getArguments()[3];
+                List<Long> range = new ArrayList<>();
+                range.add((Long) invocation.getArguments()[1]);
+                range.add((Long) invocation.getArguments()[2]);
+                range.addAll(stackEvents.keySet());
+                writtenRanges.add(range);
+                return stackEvents.size();
+            }
+        });
+    }
+
+    @After
+    public void after() {
+        underTest.destroy();
+    }
+
+    @Test
+    public void testRunShouldSplitTheStacksIntoContiguousRangesOfBatchSize() {
+        //GIVEN
+        readStacks(1L, 2L, 3L, 4L, 5L, 7L);
+        //WHEN
+        underTest.run(checkpoint);
+        //THEN
+        assertEquals(Arrays.asList(
+                Arrays.asList(0L, 2L, 1L, 2L),
+                Arrays.asList(2L, 4L, 3L, 4L),
+                Arrays.asList(4L, 7L, 5L, 7L)), sortedRanges());
+    }
+
+    @Test
+    public void testRunShouldSkipTheCommittedRangesAndCloseTheGapsAroundThem() {
+        //GIVEN
+        checkpoint.setLastStackId(1L);
+        checkpoint.setCompletedRanges("3:5,6:8");
+        readStacks(2L, 4L, 5L, 7L, 9L);
+        //WHEN
+        underTest.run(checkpoint);
+        //THEN
+        assertEquals(Arrays.asList(
+                Arrays.asList(1L, 3L, 2L),
+                Arrays.asList(5L, 6L),
+                Arrays.asList(8L, 9L, 9L)), sortedRanges());
+    }
+
+    @Test
+    public void testRunShouldRetryTheRangeWhenTheWriteFailsOnALock() {
+        //GIVEN
+        readStacks(1L);
+        given(usageBatchWriter.write(eq(1L), eq(0L), eq(1L), anyMap())).willThrow(new CannotAcquireLockException("deadlock")).willReturn(1);
+        //WHEN
+        underTest.run(checkpoint);
+        //THEN
+        verify(gaugeService).submit("usage.generation.usages", 1);
+    }
+
+    @Test
+    public void testRunShouldThrowTheFailureOfARange() {
+        //GIVEN
+        readStacks(1L, 2L, 3L);
+        given(usageBatchWriter.write(eq(1L), eq(2L), eq(3L), anyMap())).willThrow(new IllegalStateException("failed"));
+        //WHEN
+        try {
+            underTest.run(checkpoint);
+            fail("Exception expected");
+        } catch (CloudbreakServiceException e) {
+            //THEN
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testRunShouldPublishTheThroughputOfTheRun() {
+        //GIVEN
+        readStacks(1L, 2L, 3L);
+        //WHEN
+        underTest.run(checkpoint);
+        //THEN
+        verify(stackEventReader).read(eq(new Date(0)), eq(0L), any(StackEventsHandler.class));
+        verify(gaugeService).submit("usage.generation.stacks", 3);
+        verify(gaugeService).submit("usage.generation.events", 3);
+        verify(gaugeService).submit("usage.generation.usages", 3);
+        verify(gaugeService).submit(eq("usage.generation.stacks.per.second"), anyDouble());
+        verify(gaugeService).submit(eq("usage.generation.events.per.second"), anyDouble());
+    }
+
+    private void readStacks(final Long... stackIds) {
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                StackEventsHandler handler = (StackEventsHandler) invocation.getArguments()[2];
+                for (Long stackId : stackIds) {
+                    handler.handle(stackId, Arrays.asList(ServiceTestUtils.createEvent(stackId, 1, "", new Date(0))));
+                }
+                return null;
+            }
+        }).when(stackEventReader).read(any(Date.class), anyLong(), any(StackEventsHandler.class));
+    }
+
+    private List<List<Long>> sortedRanges() {
+        List<List<Long>> ranges = new ArrayList<>(writtenRanges);
+        Collections.sort(ranges, new Comparator<List<Long>>() {
+            @Override
+            public int compare(List<Long> o1, List<Long> o2) {
+                return o1.get(0).compareTo(o2.get(0));
+            }
+        });
+        return ranges;
+    }
+}
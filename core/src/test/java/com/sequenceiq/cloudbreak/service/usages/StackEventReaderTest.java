@@ -0,0 +1,104 @@
+package com.sequenceiq.cloudbreak.service.usages;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.domain.CloudbreakEvent;
+import com.sequenceiq.cloudbreak.service.ServiceTestUtils;
+
+public class StackEventReaderTest {
+
+    @InjectMocks
+    private StackEventReader underTest;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private Session session;
+    @Mock
+    private Query query;
+    @Mock
+    private ScrollableResults results;
+
+    @Before
+    public void before() {
+        underTest = new StackEventReader();
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(underTest, "fetchSize", 100);
+        given(entityManager.unwrap(Session.class)).willReturn(session);
+        given(session.getNamedQuery("CloudbreakEvent.findEventsForUsageGeneration")).willReturn(query);
+        given(query.setParameter(anyString(), any())).willReturn(query);
+        given(query.setFetchSize(anyInt())).willReturn(query);
+        given(query.setReadOnly(anyBoolean())).willReturn(query);
+        given(query.setCacheMode(any(CacheMode.class))).willReturn(query);
+        given(query.scroll(ScrollMode.FORWARD_ONLY)).willReturn(results);
+    }
+
+    @Test
+    public void testReadShouldHandTheEventsToTheHandlerStackByStack() {
+        //GIVEN
+        CloudbreakEvent first = ServiceTestUtils.createEvent(1L, 1, "", new Date());
+        CloudbreakEvent second = ServiceTestUtils.createEvent(1L, 2, "", new Date());
+        CloudbreakEvent third = ServiceTestUtils.createEvent(2L, 1, "", new Date());
+        given(results.next()).willReturn(true, true, true, false);
+        given(results.get(0)).willReturn(first, second, third);
+        final Map<Long, List<CloudbreakEvent>> handled = new LinkedHashMap<>();
+        //WHEN
+        underTest.read(new Date(0), 0L, new StackEventsHandler() {
+            @Override
+            public void handle(Long stackId, List<CloudbreakEvent> stackEvents) {
+                handled.put(stackId, stackEvents);
+            }
+        });
+        //THEN
+        assertEquals(Arrays.asList(1L, 2L), new ArrayList<>(handled.keySet()));
+        assertEquals(Arrays.asList(first, second), handled.get(1L));
+        assertEquals(Arrays.asList(third), handled.get(2L));
+        verify(query).setParameter("afterStackId", 0L);
+        verify(query).setFetchSize(100);
+        verify(session).evict(first);
+        verify(results).close();
+    }
+
+    @Test
+    public void testReadShouldNotCallTheHandlerWhenThereAreNoEvents() {
+        //GIVEN
+        given(results.next()).willReturn(false);
+        final List<Long> handled = new ArrayList<>();
+        //WHEN
+        underTest.read(new Date(0), 0L, new StackEventsHandler() {
+            @Override
+            public void handle(Long stackId, List<CloudbreakEvent> stackEvents) {
+                handled.add(stackId);
+            }
+        });
+        //THEN
+        assertEquals(0, handled.size());
+        verify(results).close();
+    }
+}
@@ -0,0 +1,260 @@
+package com.sequenceiq.cloudbreak.service.usages;
+
+import static com.sequenceiq.cloudbreak.common.type.CloudConstants.AWS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sequenceiq.cloudbreak.common.type.Status;
+import com.sequenceiq.cloudbreak.domain.CloudbreakEvent;
+import com.sequenceiq.cloudbreak.domain.CloudbreakUsage;
+import com.sequenceiq.cloudbreak.domain.InstanceGroup;
+import com.sequenceiq.cloudbreak.domain.Stack;
+import com.sequenceiq.cloudbreak.domain.Template;
+import com.sequenceiq.cloudbreak.domain.UsageGenerationCheckpoint;
+import com.sequenceiq.cloudbreak.repository.CloudbreakEventRepository;
+import com.sequenceiq.cloudbreak.repository.CloudbreakUsageRepository;
+import com.sequenceiq.cloudbreak.repository.FileSystemRepository;
+import com.sequenceiq.cloudbreak.repository.StackRepository;
+import com.sequenceiq.cloudbreak.repository.TemplateRepository;
+import com.sequenceiq.cloudbreak.service.ServiceTestUtils;
+
+public class UsageBatchWriterTest {
+
+    @InjectMocks
+    private UsageBatchWriter underTest;
+    @Mock
+    private CloudbreakUsageRepository usageRepository;
+    @Mock
+    private CloudbreakEventRepository eventRepository;
+    @Mock
+    private StackUsageGenerator stackUsageGenerator;
+    @Mock
+    private StackRepository stackRepository;
+    @Mock
+    private TemplateRepository templateRepository;
+    @Mock
+    private FileSystemRepository fileSystemRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    private List<CloudbreakEvent> events;
+    private List<CloudbreakUsage> usages;
+    private UsageGenerationCheckpoint checkpoint;
+
+    @Before
+    public void before() {
+        underTest = new UsageBatchWriter();
+        MockitoAnnotations.initMocks(this);
+        events = Arrays.asList(ServiceTestUtils.createEvent(1L, 3, "", new Date()));
+        usages = new ArrayList<>();
+        checkpoint = new UsageGenerationCheckpoint();
+        checkpoint.setId(1L);
+        checkpoint.setLastStackId(0L);
+        given(stackUsageGenerator.generate(events)).willReturn(usages);
+        given(entityManager.find(UsageGenerationCheckpoint.class, 1L, LockModeType.PESSIMISTIC_WRITE)).willReturn(checkpoint);
+    }
+
+    @Test
+    public void testWriteShouldSaveTheUsagesOfTheRangeAndAdvanceTheCheckpoint() {
+        //GIVEN
+        List<CloudbreakEvent> otherEvents = Arrays.asList(ServiceTestUtils.createEvent(2L, 3, "", new Date()));
+        CloudbreakUsage usage = new CloudbreakUsage();
+        CloudbreakUsage otherUsage = new CloudbreakUsage();
+        given(stackUsageGenerator.generate(events)).willReturn(Arrays.asList(usage));
+        given(stackUsageGenerator.generate(otherEvents)).willReturn(Arrays.asList(otherUsage));
+        Map<Long, List<CloudbreakEvent>> stackEvents = new LinkedHashMap<>();
+        stackEvents.put(1L, events);
+        stackEvents.put(2L, otherEvents);
+        //WHEN
+        int result = underTest.write(1L, 0L, 2L, stackEvents);
+        //THEN
+        verify(usageRepository).save(Arrays.asList(usage, otherUsage));
+        verify(entityManager).flush();
+        assertEquals(2, result);
+        assertEquals(Long.valueOf(2L), checkpoint.getLastStackId());
+        assertNull(checkpoint.getCompletedRanges());
+    }
+
+    @Test
+    public void testWriteShouldKeepTheRangeWhenAPreviousRangeIsNotCompletedYet() {
+        //WHEN
+        underTest.write(1L, 5L, 8L, stackEvents());
+        //THEN
+        assertEquals(Long.valueOf(0L), checkpoint.getLastStackId());
+        assertEquals("5:8", checkpoint.getCompletedRanges());
+    }
+
+    @Test
+    public void testWriteShouldAdvanceTheCheckpointOverTheFollowingCompletedRanges() {
+        //GIVEN
+        checkpoint.setCompletedRanges("5:8,10:12,8:9");
+        //WHEN
+        underTest.write(1L, 0L, 5L, stackEvents());
+        //THEN
+        assertEquals(Long.valueOf(9L), checkpoint.getLastStackId());
+        assertEquals("10:12", checkpoint.getCompletedRanges());
+    }
+
+    @Test
+    public void testWriteShouldDeleteStackAndTheRelatedTemplatesWhenTheStackStateIsDeleteCompletedAndTemplateIsDeleted() throws Exception {
+        //GIVEN
+        Stack stack = ServiceTestUtils.createStack();
+        Template template = ServiceTestUtils.createTemplate(AWS);
+        template.setDeleted(true);
+        InstanceGroup instanceGroup = new InstanceGroup();
+        instanceGroup.setTemplate(template);
+        Set<InstanceGroup> instanceGroups = new HashSet<>();
+        instanceGroups.add(instanceGroup);
+        stack.setInstanceGroups(instanceGroups);
+        stack.setStatus(Status.DELETE_COMPLETED);
+        when(stackRepository.findById(1L)).thenReturn(stack);
+        when(stackRepository.findAllStackForTemplate(template.getId())).thenReturn(Arrays.asList(stack));
+        given(eventRepository.findCloudbreakEventsForStack(any(Long.class))).willReturn(new ArrayList<CloudbreakEvent>());
+        doNothing().when(eventRepository).delete(anyCollection());
+        //WHEN
+        underTest.write(1L, 0L, 1L, stackEvents());
+        //THEN
+        verify(usageRepository).save(usages);
+        verify(stackRepository).findById(1L);
+        verify(stackRepository, times(1)).delete(stack);
+        verify(stackRepository, times(1)).findAllStackForTemplate(template.getId());
+        verify(templateRepository, times(1)).delete(template);
+    }
+
+    @Test
+    public void testWriteShouldNotDeleteStackWhenStackDoesNotExistWithId() throws Exception {
+        //GIVEN
+        when(stackRepository.findById(1L)).thenReturn(null);
+        //WHEN
+        underTest.write(1L, 0L, 1L, stackEvents());
+        //THEN
+        verify(usageRepository).save(usages);
+        verify(stackRepository).findById(1L);
+        verify(stackRepository, never()).delete(any(Stack.class));
+    }
+
+    @Test
+    public void testWriteShouldNotDeleteStackWhenStackStatusIsNotDeleteCompleted() throws Exception {
+        //GIVEN
+        Stack stack = ServiceTestUtils.createStack();
+        stack.setStatus(Status.AVAILABLE);
+        when(stackRepository.findById(1L)).thenReturn(stack);
+        //WHEN
+        underTest.write(1L, 0L, 1L, stackEvents());
+        //THEN
+        verify(usageRepository).save(usages);
+        verify(stackRepository).findById(1L);
+        verify(stackRepository, never()).delete(stack);
+    }
+
+    @Test
+    public void testWriteShouldDeleteStackAndNotTheRelatedTemplatesWhenTheStackStateIsDeleteCompletedAndTemplateIsNotDeleted() throws Exception {
+        //GIVEN
+        Stack stack = ServiceTestUtils.createStack();
+        Template template = ServiceTestUtils.createTemplate(AWS);
+        InstanceGroup instanceGroup = new InstanceGroup();
+        instanceGroup.setTemplate(template);
+        Set<InstanceGroup> instanceGroups = new HashSet<>();
+        instanceGroups.add(instanceGroup);
+        stack.setInstanceGroups(instanceGroups);
+        stack.setStatus(Status.DELETE_COMPLETED);
+        when(stackRepository.findById(1L)).thenReturn(stack);
+        when(stackRepository.findAllStackForTemplate(template.getId())).thenReturn(Arrays.asList(stack));
+        given(eventRepository.findCloudbreakEventsForStack(any(Long.class))).willReturn(new ArrayList<CloudbreakEvent>());
+        doNothing().when(eventRepository).delete(anyCollection());
+        //WHEN
+        underTest.write(1L, 0L, 1L, stackEvents());
+        //THEN
+        verify(usageRepository).save(usages);
+        verify(stackRepository).findById(1L);
+        verify(stackRepository, times(1)).delete(stack);
+        verify(stackRepository, times(1)).findAllStackForTemplate(template.getId());
+        verify(templateRepository, never()).delete(template);
+    }
+
+    @Test
+    public void testWriteShouldDeleteStackAndNotTheRelatedTemplatesWhenTheStackStateIsDeleteCompletedAndTemplateIsReferedByMoreStack() throws Exception {
+        //GIVEN
+        Stack stack = ServiceTestUtils.createStack();
+        Template template = ServiceTestUtils.createTemplate(AWS);
+        template.setDeleted(true);
+        InstanceGroup instanceGroup = new InstanceGroup();
+        instanceGroup.setTemplate(template);
+        Set<InstanceGroup> instanceGroups = new HashSet<>();
+        instanceGroups.add(instanceGroup);
+        stack.setInstanceGroups(instanceGroups);
+        stack.setStatus(Status.DELETE_COMPLETED);
+        when(stackRepository.findById(1L)).thenReturn(stack);
+        when(stackRepository.findAllStackForTemplate(template.getId())).thenReturn(Arrays.asList(stack, ServiceTestUtils.createStack()));
+        //WHEN
+        underTest.write(1L, 0L, 1L, stackEvents());
+        //THEN
+        verify(usageRepository).save(usages);
+        verify(stackRepository).findById(1L);
+        verify(stackRepository, times(1)).delete(stack);
+        verify(stackRepository, times(1)).findAllStackForTemplate(template.getId());
+        verify(templateRepository, never()).delete(template);
+    }
+
+    @Test
+    public void testWriteShouldDeleteStackAndTheRelatedTemplatesWhenTheTemplateIsUsedByMoreInstanceGroups() throws Exception {
+        //GIVEN
+        Template template = ServiceTestUtils.createTemplate(AWS);
+        template.setDeleted(true);
+        Stack stack = ServiceTestUtils.createStack();
+        InstanceGroup instanceGroup = new InstanceGroup();
+        instanceGroup.setTemplate(template);
+        InstanceGroup instanceGroup2 = new InstanceGroup();
+        instanceGroup2.setTemplate(template);
+        Set<InstanceGroup> instanceGroups = new HashSet<>();
+        instanceGroups.add(instanceGroup);
+        instanceGroups.add(instanceGroup2);
+        stack.setInstanceGroups(instanceGroups);
+        stack.setStatus(Status.DELETE_COMPLETED);
+        when(stackRepository.findById(1L)).thenReturn(stack);
+        when(stackRepository.findAllStackForTemplate(template.getId())).thenReturn(Arrays.asList(stack));
+        given(eventRepository.findCloudbreakEventsForStack(any(Long.class))).willReturn(new ArrayList<CloudbreakEvent>());
+        doNothing().when(eventRepository).delete(anyCollection());
+        //WHEN
+        underTest.write(1L, 0L, 1L, stackEvents());
+        //THEN
+        verify(usageRepository).save(usages);
+        verify(stackRepository).findById(1L);
+        verify(stackRepository, times(1)).delete(stack);
+        verify(stackRepository, atLeast(1)).findAllStackForTemplate(template.getId());
+        verify(templateRepository, atLeast(1)).delete(template);
+    }
+
+    private Map<Long, List<CloudbreakEvent>> stackEvents() {
+        Map<Long, List<CloudbreakEvent>> stackEvents = new LinkedHashMap<>();
+        stackEvents.put(1L, events);
+        return stackEvents;
+    }
+}
@@ -0,0 +1,103 @@
+package com.sequenceiq.cloudbreak.service.usages;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sequenceiq.cloudbreak.domain.CloudbreakUsageRollup;
+import com.sequenceiq.cloudbreak.domain.UsageRollupGranularity;
+import com.sequenceiq.cloudbreak.repository.CloudbreakUsageRepository;
+import com.sequenceiq.cloudbreak.repository.CloudbreakUsageRollupRepository;
+
+public class UsageRollupGeneratorTest {
+
+    @InjectMocks
+    private UsageRollupGenerator underTest;
+    @Mock
+    private CloudbreakUsageRepository usageRepository;
+    @Mock
+    private CloudbreakUsageRollupRepository rollupRepository;
+
+    @Before
+    public void before() {
+        underTest = new UsageRollupGenerator();
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testGenerateShouldReplaceTheDailyRollupsOfTheGeneratedDaysAndTheMonthlyRollupsOfTheirMonth() {
+        //GIVEN
+        CloudbreakUsageRollup daily = new CloudbreakUsageRollup(date(2015, Calendar.DECEMBER, 15, 0), "owner", "account", "AWS", "eu", 10L, 1.0);
+        given(usageRepository.aggregateDailySince(date(2015, Calendar.DECEMBER, 15, 0))).willReturn(Arrays.asList(daily));
+        //WHEN
+        underTest.generate(date(2015, Calendar.DECEMBER, 15, 12));
+        //THEN
+        verify(rollupRepository).deleteSince(UsageRollupGranularity.DAILY, date(2015, Calendar.DECEMBER, 15, 0));
+        verify(rollupRepository).deleteSince(UsageRollupGranularity.MONTHLY, date(2015, Calendar.DECEMBER, 1, 0));
+        verify(rollupRepository).save(Arrays.asList(daily));
+        assertEquals(UsageRollupGranularity.DAILY, daily.getGranularity());
+    }
+
+    @Test
+    public void testGenerateShouldSumTheDailyRollupsOfAMonthPerAccountOwnerProviderAndRegion() {
+        //GIVEN
+        given(rollupRepository.findDailySince(date(2015, Calendar.NOVEMBER, 1, 0))).willReturn(Arrays.asList(
+                new CloudbreakUsageRollup(date(2015, Calendar.NOVEMBER, 29, 0), "owner", "account", "AWS", "eu", 10L, 1.0),
+                new CloudbreakUsageRollup(date(2015, Calendar.NOVEMBER, 30, 0), "owner", "account", "AWS", "eu", 5L, 0.5),
+                new CloudbreakUsageRollup(date(2015, Calendar.NOVEMBER, 30, 0), "owner", "account", "GCP", "us", 2L, null),
+                new CloudbreakUsageRollup(date(2015, Calendar.DECEMBER, 1, 0), "owner", "account", "AWS", "eu", 1L, 0.1)));
+        ArgumentCaptor<Iterable> saved = ArgumentCaptor.forClass(Iterable.class);
+        //WHEN
+        underTest.generate(date(2015, Calendar.NOVEMBER, 29, 0));
+        //THEN
+        verify(rollupRepository, times(2)).save(saved.capture());
+        List<CloudbreakUsageRollup> monthly = new ArrayList<>();
+        for (Object rollup : saved.getAllValues().get(1)) {
+            monthly.add((CloudbreakUsageRollup) rollup);
+        }
+        assertEquals(3, monthly.size());
+        assertMonthly(monthly.get(0), date(2015, Calendar.NOVEMBER, 1, 0), "AWS", 15L, 1.5);
+        assertMonthly(monthly.get(1), date(2015, Calendar.NOVEMBER, 1, 0), "GCP", 2L, 0.0);
+        assertMonthly(monthly.get(2), date(2015, Calendar.DECEMBER, 1, 0), "AWS", 1L, 0.1);
+    }
+
+    @Test
+    public void testGenerateShouldRebuildEveryRollupWhenAllUsagesWereGenerated() {
+        //GIVEN
+        given(usageRepository.aggregateDailySince(any(Date.class))).willReturn(new ArrayList<CloudbreakUsageRollup>());
+        //WHEN
+        underTest.generate(null);
+        //THEN
+        verify(usageRepository).aggregateDailySince(new Date(0));
+    }
+
+    private void assertMonthly(CloudbreakUsageRollup rollup, Date month, String provider, Long instanceHours, Double costs) {
+        assertEquals(UsageRollupGranularity.MONTHLY, rollup.getGranularity());
+        assertEquals(month, rollup.getPeriodStart());
+        assertEquals(provider, rollup.getProvider());
+        assertEquals(instanceHours, rollup.getInstanceHours());
+        assertEquals(costs, rollup.getCosts(), 0.0001);
+    }
+
+    private Date date(int year, int month, int day, int hour) {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(year, month, day, hour, 0);
+        return cal.getTime();
+    }
+}